@@ -23,6 +23,8 @@ import org.nd4j.linalg.api.complex.IComplexNumber;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.linalg.ops.ElementWiseOp;
+import org.nd4j.linalg.ops.PrimitiveElementWiseOp;
+import org.nd4j.linalg.parallel.Parallel;
 
 import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
@@ -37,6 +39,13 @@ import java.util.List;
 public abstract class BaseDataBuffer implements DataBuffer {
 
     public static final int MAPPING_SIZE = 1 << 30;
+    //arithmetic used by execScalar and execPairwise
+    protected static final int ADD = 0;
+    protected static final int SUB = 1;
+    protected static final int MUL = 2;
+    protected static final int DIV = 3;
+    protected static final int RSUB = 4;
+    protected static final int RDIV = 5;
     protected final List<ByteBuffer> mappings = new ArrayList<>();
     protected int length;
     //memory mapped file
@@ -108,9 +117,13 @@ public abstract class BaseDataBuffer implements DataBuffer {
         if (data.length() != length())
             throw new IllegalArgumentException("Unable to assign buffer of length " + data.length() + " to this buffer of length " + length());
 
-        for (int i = 0; i < data.length(); i++) {
-            put(i, data.getDouble(i));
-        }
+        if (dataType() == DataBuffer.FLOAT)
+            putFloats(0, 1, data.asFloat(), 0, length());
+        else if (dataType() == DataBuffer.DOUBLE)
+            putDoubles(0, 1, data.asDouble(), 0, length());
+        else
+            for (int i = 0; i < data.length(); i++)
+                put(i, data.getDouble(i));
     }
 
 
@@ -144,27 +157,90 @@ public abstract class BaseDataBuffer implements DataBuffer {
 
     @Override
     public float[] getFloatsAt(int offset, int inc, int length) {
-        if (offset + length > length())
-            length -= offset;
-        float[] ret = new float[length];
-        for (int i = 0; i < length; i++) {
-            ret[i] = getFloat(i + offset);
-        }
+        float[] ret = new float[available(offset, inc, length)];
+        getFloats(offset, inc, ret, 0, ret.length);
         return ret;
     }
 
     @Override
     public double[] getDoublesAt(int offset, int inc, int length) {
-        if (offset + length > length())
-            length -= offset;
+        double[] ret = new double[available(offset, inc, length)];
+        getDoubles(offset, inc, ret, 0, ret.length);
+        return ret;
+    }
+
+    @Override
+    public void getDoubles(int offset, int inc, double[] dest, int destOffset, int length) {
+        checkRange(offset, inc, length);
+        for (int j = 0, i = offset; j < length; j++, i += inc)
+            dest[destOffset + j] = getDouble(i);
+    }
+
+    @Override
+    public void getFloats(int offset, int inc, float[] dest, int destOffset, int length) {
+        checkRange(offset, inc, length);
+        for (int j = 0, i = offset; j < length; j++, i += inc)
+            dest[destOffset + j] = getFloat(i);
+    }
+
+    @Override
+    public void putDoubles(int offset, int inc, double[] src, int srcOffset, int length) {
+        checkRange(offset, inc, length);
+        for (int j = 0, i = offset; j < length; j++, i += inc)
+            put(i, src[srcOffset + j]);
+    }
+
+    @Override
+    public void putFloats(int offset, int inc, float[] src, int srcOffset, int length) {
+        checkRange(offset, inc, length);
+        for (int j = 0, i = offset; j < length; j++, i += inc)
+            put(i, src[srcOffset + j]);
+    }
 
-        double[] ret = new double[length];
-        for (int i = 0; i < length; i++) {
-            ret[i] = getDouble(i + offset);
+    @Override
+    public void copyTo(int offset, int inc, DataBuffer dest, int destOffset, int destInc, int length) {
+        checkRange(offset, inc, length);
+        if (dest.dataType() == DataBuffer.FLOAT) {
+            float[] copy = new float[length];
+            getFloats(offset, inc, copy, 0, length);
+            dest.putFloats(destOffset, destInc, copy, 0, length);
+        } else {
+            double[] copy = new double[length];
+            getDoubles(offset, inc, copy, 0, length);
+            dest.putDoubles(destOffset, destInc, copy, 0, length);
         }
+    }
 
+    @Override
+    public java.nio.DoubleBuffer asNioDouble() {
+        throw new IllegalStateException("Unable to view a buffer of data type " + dataType() + " as doubles");
+    }
 
-        return ret;
+    @Override
+    public java.nio.FloatBuffer asNioFloat() {
+        throw new IllegalStateException("Unable to view a buffer of data type " + dataType() + " as floats");
+    }
+
+    /**
+     * The number of elements (at most length) in this
+     * buffer starting at offset spaced by inc
+     */
+    protected int available(int offset, int inc, int length) {
+        if (inc < 1)
+            throw new IllegalArgumentException("Increment must be >= 1");
+        if (offset >= length())
+            return 0;
+        return Math.max(0, Math.min(length, (length() - offset + inc - 1) / inc));
+    }
+
+    /**
+     * Ensure the elements starting at offset spaced by inc are in this buffer
+     */
+    protected void checkRange(int offset, int inc, int length) {
+        if (inc < 1)
+            throw new IllegalArgumentException("Increment must be >= 1");
+        if (offset < 0 || length < 0 || (length > 0 && offset + (long) (length - 1) * inc >= length()))
+            throw new IllegalArgumentException("Range of " + length + " elements from " + offset + " with increment " + inc + " is out of bounds for buffer of length " + length());
     }
 
     @Override
@@ -195,6 +271,8 @@ public abstract class BaseDataBuffer implements DataBuffer {
                 IComplexNumber result = op.apply(from, getComplex(i), i);
                 put(i, result);
             }
+        } else if (op instanceof PrimitiveElementWiseOp) {
+            applyPrimitive((PrimitiveElementWiseOp) op, offset);
         } else {
             for (int i = offset; i < length(); i++) {
                 double result = op.apply(from, getDouble(i), i);
@@ -204,6 +282,28 @@ public abstract class BaseDataBuffer implements DataBuffer {
 
     }
 
+    /**
+     * Apply a primitive operation to every element
+     * starting at the given offset without boxing
+     *
+     * @param op     the operation to apply
+     * @param offset the offset to start applying the function from
+     */
+    protected void applyPrimitive(final PrimitiveElementWiseOp op, final int offset) {
+        Parallel.forEach(length() - offset, new Parallel.RangeTask() {
+            @Override
+            public void run(int from, int to) {
+                if (dataType() == DataBuffer.FLOAT) {
+                    for (int i = offset + from; i < offset + to; i++)
+                        put(i, op.apply(getFloat(i)));
+                } else {
+                    for (int i = offset + from; i < offset + to; i++)
+                        put(i, op.apply(getDouble(i)));
+                }
+            }
+        });
+    }
+
     @Override
     public void put(int i, IComplexNumber result) {
         put(i,result.realComponent().doubleValue());
@@ -238,33 +338,22 @@ public abstract class BaseDataBuffer implements DataBuffer {
 
     @Override
     public void addi(Number n, int inc, int offset) {
-        for (int i = offset; i < length(); i += inc) {
-            put(i, getDouble(i) + n.doubleValue());
-        }
+        execScalar(ADD, n, inc, offset, this);
     }
 
     @Override
     public void subi(Number n, int inc, int offset) {
-        for (int i = offset; i < length(); i += inc) {
-            put(i, getDouble(i) - n.doubleValue());
-
-        }
+        execScalar(SUB, n, inc, offset, this);
     }
 
     @Override
     public void muli(Number n, int inc, int offset) {
-        for (int i = offset; i < length(); i += inc) {
-            put(i, getDouble(i) * n.doubleValue());
-
-        }
+        execScalar(MUL, n, inc, offset, this);
     }
 
     @Override
     public void divi(Number n, int inc, int offset) {
-        for (int i = offset; i < length(); i += inc) {
-            put(i, getDouble(i) / n.doubleValue());
-
-        }
+        execScalar(DIV, n, inc, offset, this);
     }
 
     @Override
@@ -289,369 +378,251 @@ public abstract class BaseDataBuffer implements DataBuffer {
 
     @Override
     public void addi(DataBuffer buffer, int n, int offset, int yOffset, int incx, int incy) {
-        if (incx == 1 && incy == 1 && offset == 0 && yOffset == 0) {
-            for (int i = 0; i < n; i++) {
-                put(i, getDouble(i) + buffer.getDouble(i));
-            }
-
-        } else {
-            for (int c = 0, xi = offset, yi = yOffset; c < n; c++, xi += incx, yi += incy) {
-                put(yi, getDouble(yi) + buffer.getDouble(xi));
-            }
-
-
-        }
-
+        execPairwise(ADD, buffer, n, offset, yOffset, incx, incy, this);
     }
 
     @Override
     public void subi(DataBuffer buffer, int n, int offset, int yOffset, int incx, int incy) {
-
-
-        if (incx == 1 && incy == 1 && offset == 0 && yOffset == 0) {
-            for (int i = 0; i < n; i++) {
-                put(i, getDouble(i) - buffer.getDouble(i));
-            }
-
-        } else {
-            for (int c = 0, xi = offset, yi = yOffset; c < n; c++, xi += incx, yi += incy) {
-                put(yi, getDouble(yi) - buffer.getDouble(xi));
-            }
-
-
-        }
+        execPairwise(SUB, buffer, n, offset, yOffset, incx, incy, this);
     }
 
     @Override
     public void muli(DataBuffer buffer, int n, int offset, int yOffset, int incx, int incy) {
-
-
-        if (incx == 1 && incy == 1 && offset == 0 && yOffset == 0) {
-            for (int i = 0; i < n; i++) {
-                put(i, getDouble(i) * buffer.getDouble(i));
-            }
-
-        } else {
-            for (int c = 0, xi = offset, yi = yOffset; c < n; c++, xi += incx, yi += incy) {
-                put(yi, getDouble(yi) * buffer.getDouble(xi));
-            }
-
-
-        }
+        execPairwise(MUL, buffer, n, offset, yOffset, incx, incy, this);
     }
 
     @Override
     public void divi(DataBuffer buffer, int n, int offset, int yOffset, int incx, int incy) {
-
-
-        if (incx == 1 && incy == 1 && offset == 0 && yOffset == 0) {
-            for (int i = 0; i < n; i++) {
-                put(i, getDouble(i) / buffer.getDouble(i));
-            }
-
-        } else {
-            for (int c = 0, xi = offset, yi = yOffset; c < n; c++, xi += incx, yi += incy) {
-                put(yi, getDouble(yi) / buffer.getDouble(xi));
-            }
-
-
-        }
+        execPairwise(DIV, buffer, n, offset, yOffset, incx, incy, this);
     }
 
     @Override
     public void rsubi(DataBuffer buffer, int n, int offset, int yOffset, int incx, int incy) {
-
-        if (incx == 1 && incy == 1 && offset == 0 && yOffset == 0) {
-            for (int i = 0; i < n; i++) {
-                put(i, buffer.getDouble(i) - getDouble(i));
-            }
-
-        } else {
-            for (int c = 0, xi = offset, yi = yOffset; c < n; c++, xi += incx, yi += incy) {
-                put(yi,  buffer.getDouble(xi) - getDouble(yi));
-            }
-
-
-        }
+        execPairwise(RSUB, buffer, n, offset, yOffset, incx, incy, this);
     }
 
     @Override
     public void rdivi(DataBuffer buffer, int n, int offset, int yOffset, int incx, int incy) {
-
-        if (incx == 1 && incy == 1 && offset == 0 && yOffset == 0) {
-            for (int i = 0; i < n; i++) {
-                put(i, buffer.getDouble(i) / getDouble(i));
-            }
-
-        } else {
-            for (int c = 0, xi = offset, yi = yOffset; c < n; c++, xi += incx, yi += incy) {
-                put(yi, buffer.getDouble(xi) / getDouble(yi));
-            }
-
-
-        }
+        execPairwise(RDIV, buffer, n, offset, yOffset, incx, incy, this);
     }
 
     @Override
     public void rsubi(DataBuffer buffer) {
-        for (int i = 0; i < buffer.length(); i++) {
-            put(i, buffer.getDouble(i) - getDouble(i));
-        }
+        execPairwise(RSUB, buffer, buffer.length(), 0, 0, 1, 1, this);
     }
 
     @Override
     public void rdivi(DataBuffer buffer) {
-        for (int i = 0; i < buffer.length(); i++) {
-            put(i, buffer.getDouble(i) / getDouble(i));
-        }
+        execPairwise(RDIV, buffer, buffer.length(), 0, 0, 1, 1, this);
     }
 
     @Override
     public void rdivi(Number n, int inc, int offset) {
-        for (int i = offset; i < length(); i += inc) {
-            put(i, n.doubleValue() / getDouble(i));
-
-        }
+        execScalar(RDIV, n, inc, offset, this);
     }
 
     @Override
     public void rsubi(Number n, int inc, int offset) {
-        for (int i = offset; i < length(); i += inc) {
-            put(i, n.doubleValue() / getDouble(i));
-
-        }
+        execScalar(RSUB, n, inc, offset, this);
     }
 
     @Override
     public void rdivi(Number n) {
-        rdivi(n,0,1);
+        rdivi(n, 1, 0);
     }
 
     @Override
     public void rsubi(Number n) {
-        rsubi(n,0,1);
+        rsubi(n, 1, 0);
     }
 
 
     @Override
     public void rsubi(DataBuffer buffer, int n, int offset, int yOffset, int incx, int incy, DataBuffer result) {
-        if (incx == 1 && incy == 1 && offset == 0 && yOffset == 0) {
-            for (int i = 0; i < n; i++) {
-                result.put(i, buffer.getDouble(i) - getDouble(i));
-            }
-
-        } else {
-            for (int c = 0, xi = offset, yi = yOffset; c < n; c++, xi += incx, yi += incy) {
-                result.put(yi, buffer.getDouble(xi) - getDouble(yi));
-            }
-
-
-        }
+        execPairwise(RSUB, buffer, n, offset, yOffset, incx, incy, result);
     }
 
     @Override
     public void rdivi(DataBuffer buffer, int n, int offset, int yOffset, int incx, int incy, DataBuffer result) {
-        if (incx == 1 && incy == 1 && offset == 0 && yOffset == 0) {
-            for (int i = 0; i < n; i++) {
-                result.put(i, buffer.getDouble(i) / getDouble(i));
-            }
-
-        } else {
-            for (int c = 0, xi = offset, yi = yOffset; c < n; c++, xi += incx, yi += incy) {
-                result.put(yi, buffer.getDouble(xi) / getDouble(yi));
-            }
-
-
-        }
+        execPairwise(RDIV, buffer, n, offset, yOffset, incx, incy, result);
     }
 
     @Override
     public void divi(DataBuffer buffer, int n, int offset, int yOffset, int incx, int incy, DataBuffer result) {
-        if (incx == 1 && incy == 1 && offset == 0 && yOffset == 0) {
-            for (int i = 0; i < n; i++) {
-                result.put(i, getDouble(i) / buffer.getDouble(i));
-            }
-
-        } else {
-            for (int c = 0, xi = offset, yi = yOffset; c < n; c++, xi += incx, yi += incy) {
-                result.put(yi, getDouble(yi) / buffer.getDouble(xi));
-            }
-
-
-        }
+        execPairwise(DIV, buffer, n, offset, yOffset, incx, incy, result);
     }
 
     @Override
     public void muli(DataBuffer buffer, int n, int offset, int yOffset, int incx, int incy, DataBuffer result) {
-        if (incx == 1 && incy == 1 && offset == 0 && yOffset == 0) {
-            for (int i = 0; i < n; i++) {
-                result.put(i, getDouble(i) * buffer.getDouble(i));
-            }
-
-        } else {
-            for (int c = 0, xi = offset, yi = yOffset; c < n; c++, xi += incx, yi += incy) {
-                result.put(yi, getDouble(yi) * buffer.getDouble(xi));
-            }
-
-
-        }
+        execPairwise(MUL, buffer, n, offset, yOffset, incx, incy, result);
     }
 
     @Override
     public void subi(DataBuffer buffer, int n, int offset, int yOffset, int incx, int incy, DataBuffer result) {
-        if (incx == 1 && incy == 1 && offset == 0 && yOffset == 0) {
-            for (int i = 0; i < n; i++) {
-                result.put(i, getDouble(i) - buffer.getDouble(i));
-            }
-
-        } else {
-            for (int c = 0, xi = offset, yi = yOffset; c < n; c++, xi += incx, yi += incy) {
-                result.put(yi, getDouble(yi) - buffer.getDouble(xi));
-            }
-
-
-        }
+        execPairwise(SUB, buffer, n, offset, yOffset, incx, incy, result);
     }
 
     @Override
     public void addi(DataBuffer buffer, int n, int offset, int yOffset, int incx, int incy, DataBuffer result) {
-        if (incx == 1 && incy == 1 && offset == 0 && yOffset == 0) {
-            for (int i = 0; i < n; i++) {
-                result.put(i, getDouble(i) + buffer.getDouble(i));
-            }
-
-        } else {
-            for (int c = 0, xi = offset, yi = yOffset; c < n; c++, xi += incx, yi += incy) {
-                result.put(yi, getDouble(yi) + buffer.getDouble(xi));
-            }
-
-
-        }
+        execPairwise(ADD, buffer, n, offset, yOffset, incx, incy, result);
     }
 
     @Override
     public void rsubi(DataBuffer buffer, DataBuffer result) {
-        for(int i = 0; i < length(); i++) {
-            result.put(i,buffer.getDouble(i) - getDouble(i));
-        }
+        execPairwise(RSUB, buffer, length(), 0, 0, 1, 1, result);
     }
 
     @Override
     public void rdivi(DataBuffer buffer, DataBuffer result) {
-        for(int i = 0; i < length(); i++) {
-            result.put(i,buffer.getDouble(i) / getDouble(i));
-        }
+        execPairwise(RDIV, buffer, length(), 0, 0, 1, 1, result);
     }
 
     @Override
     public void divi(DataBuffer buffer, DataBuffer result) {
-        for(int i = 0; i < length(); i++) {
-            result.put(i,getDouble(i) / buffer.getDouble(i));
-        }
+        execPairwise(DIV, buffer, length(), 0, 0, 1, 1, result);
     }
 
     @Override
     public void muli(DataBuffer buffer, DataBuffer result) {
-        for(int i = 0; i < length(); i++) {
-            result.put(i,getDouble(i) * buffer.getDouble(i));
-        }
+        execPairwise(MUL, buffer, length(), 0, 0, 1, 1, result);
     }
 
     @Override
     public void subi(DataBuffer buffer, DataBuffer result) {
-        for(int i = 0; i < length(); i++) {
-            result.put(i,getDouble(i) - buffer.getDouble(i));
-        }
+        execPairwise(SUB, buffer, length(), 0, 0, 1, 1, result);
     }
 
     @Override
     public void addi(DataBuffer buffer, DataBuffer result) {
-        for(int i = 0; i < length(); i++) {
-            result.put(i,getDouble(i) + buffer.getDouble(i));
-        }
+        execPairwise(ADD, buffer, length(), 0, 0, 1, 1, result);
     }
 
     @Override
     public void rdivi(Number n, int inc, int offset, DataBuffer result) {
-        for(int i = offset; i < length(); i+= inc) {
-            result.put(i,n.doubleValue() / getDouble(i));
-        }
+        execScalar(RDIV, n, inc, offset, result);
     }
 
     @Override
     public void divi(Number n, int inc, int offset, DataBuffer result) {
-        for(int i = offset; i < length(); i+= inc) {
-            result.put(i,getDouble(i) / n.doubleValue());
-        }
+        execScalar(DIV, n, inc, offset, result);
     }
 
     @Override
     public void muli(Number n, int inc, int offset, DataBuffer result) {
-        for(int i = offset; i < length(); i+= inc) {
-            result.put(i,getDouble(i) * n.doubleValue());
-        }
+        execScalar(MUL, n, inc, offset, result);
     }
 
     @Override
     public void rsubi(Number n, int inc, int offset, DataBuffer result) {
-        for(int i = offset; i < length(); i+= inc) {
-            result.put(i,n.doubleValue() - getDouble(i));
-        }
+        execScalar(RSUB, n, inc, offset, result);
     }
 
     @Override
     public void subi(Number n, int inc, int offset, DataBuffer result) {
-        for(int i = offset; i < length(); i+= inc) {
-            result.put(i,getDouble(i) - n.doubleValue());
-        }
+        execScalar(SUB, n, inc, offset, result);
     }
 
     @Override
     public void addi(Number n, int inc, int offset, DataBuffer result) {
-        for(int i = offset; i < length(); i+= inc) {
-            result.put(i,getDouble(i) + n.doubleValue());
-        }
+        execScalar(ADD, n, inc, offset, result);
     }
 
     @Override
     public void rdivi(Number n, DataBuffer result) {
-        for(int i = 0; i < length(); i++) {
-            result.put(i,n.doubleValue() / getDouble(i));
-        }
+        execScalar(RDIV, n, 1, 0, result);
     }
 
     @Override
     public void divi(Number n, DataBuffer result) {
-        for(int i = 0; i < length(); i++) {
-            result.put(i,getDouble(i) / n.doubleValue());
-        }
+        execScalar(DIV, n, 1, 0, result);
     }
 
     @Override
     public void muli(Number n, DataBuffer result) {
-        for(int i = 0; i < length(); i++) {
-            result.put(i,getDouble(i) * n.doubleValue());
-        }
+        execScalar(MUL, n, 1, 0, result);
     }
 
     @Override
     public void rsubi(Number n, DataBuffer result) {
-        for(int i = 0; i < length(); i++) {
-            result.put(i,n.doubleValue() - getDouble(i));
-        }
+        execScalar(RSUB, n, 1, 0, result);
     }
 
     @Override
     public void subi(Number n, DataBuffer result) {
-        for(int i = 0; i < length(); i++) {
-            result.put(i,getDouble(i) - n.doubleValue());
-        }
+        execScalar(SUB, n, 1, 0, result);
     }
 
     @Override
     public void addi(Number n, DataBuffer result) {
-        for(int i = 0; i < length(); i++) {
-            result.put(i,getDouble(i) + n.doubleValue());
+        execScalar(ADD, n, 1, 0, result);
+    }
+
+    /**
+     * Apply a scalar to every inc'th element starting at offset,
+     * writing the result to the same index of result.
+     * Large buffers are split across the {@link Parallel} pool.
+     *
+     * @param op     the arithmetic to apply
+     * @param n      the scalar
+     * @param inc    the increment
+     * @param offset the offset to start at
+     * @param result the buffer to write to
+     */
+    protected void execScalar(final int op, Number n, final int inc, final int offset, final DataBuffer result) {
+        if (inc < 1)
+            throw new IllegalArgumentException("Increment must be >= 1");
+        final double scalar = n.doubleValue();
+        int count = offset >= length() ? 0 : (length() - offset + inc - 1) / inc;
+        Parallel.forEach(count, new Parallel.RangeTask() {
+            @Override
+            public void run(int from, int to) {
+                for (int c = from, i = offset + from * inc; c < to; c++, i += inc)
+                    result.put(i, exec(op, getDouble(i), scalar));
+            }
+        });
+    }
+
+    /**
+     * Combine n elements of this buffer (starting at yOffset, incy apart)
+     * with n elements of buffer (starting at offset, incx apart),
+     * writing the result to result at the indices of this buffer.
+     * Large buffers are split across the {@link Parallel} pool.
+     *
+     * @param op      the arithmetic to apply
+     * @param buffer  the other buffer
+     * @param n       the number of elements
+     * @param offset  the offset of the other buffer
+     * @param yOffset the offset of this buffer
+     * @param incx    the increment of the other buffer
+     * @param incy    the increment of this buffer
+     * @param result  the buffer to write to
+     */
+    protected void execPairwise(final int op, final DataBuffer buffer, int n, final int offset, final int yOffset, final int incx, final int incy, final DataBuffer result) {
+        Parallel.forEach(n, new Parallel.RangeTask() {
+            @Override
+            public void run(int from, int to) {
+                for (int c = from, xi = offset + from * incx, yi = yOffset + from * incy; c < to; c++, xi += incx, yi += incy)
+                    result.put(yi, exec(op, getDouble(yi), buffer.getDouble(xi)));
+            }
+        });
+    }
+
+    protected static double exec(int op, double x, double y) {
+        switch (op) {
+            case ADD:
+                return x + y;
+            case SUB:
+                return x - y;
+            case MUL:
+                return x * y;
+            case DIV:
+                return x / y;
+            case RSUB:
+                return y - x;
+            case RDIV:
+                return y / x;
+            default:
+                throw new IllegalArgumentException("Illegal op " + op);
         }
     }
 
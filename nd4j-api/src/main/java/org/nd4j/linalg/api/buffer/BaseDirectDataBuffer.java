@@ -0,0 +1,399 @@
+/*
+ * Copyright 2015 Skymind,Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.nd4j.linalg.api.buffer;
+
+import org.nd4j.linalg.ops.PrimitiveElementWiseOp;
+import org.nd4j.linalg.util.ArrayUtil;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Base class for data buffers stored off heap in
+ * native order direct memory.
+ *
+ * The memory is split in to segments of at most {@link #MAPPING_SIZE}
+ * bytes so buffers may hold more than 2^31 elements. Those
+ * elements are reachable via the long indexed accessors,
+ * the int based {@link DataBuffer} methods only see the first 2^31 - 1.
+ *
+ * Memory is released either explicitly via {@link #destroy()}
+ * or when the reference count obtained via {@link #retain()}
+ * drops to zero on {@link #release()}.
+ *
+ * Note that {@link #asFloat()} and {@link #asDouble()} always
+ * return a copy of the data.
+ *
+ * @author Adam Gibson
+ */
+public abstract class BaseDirectDataBuffer extends BaseDataBuffer {
+
+    protected long directLength;
+    protected int elementSize;
+    //log2 of the number of elements per segment
+    protected int segmentShift;
+    protected long segmentMask;
+    protected ByteBuffer[] segments;
+    protected final AtomicInteger referenceCount = new AtomicInteger(1);
+
+    /**
+     * Allocate a buffer with the given length
+     *
+     * @param length      the number of elements in the buffer
+     * @param elementSize the number of bytes for each element
+     */
+    protected BaseDirectDataBuffer(long length, int elementSize) {
+        super((int) Math.min(length, Integer.MAX_VALUE));
+        if (length < 0)
+            throw new IllegalArgumentException("Length must be >= 0");
+        this.directLength = length;
+        this.elementSize = elementSize;
+        this.segmentShift = Integer.numberOfTrailingZeros(MAPPING_SIZE / elementSize);
+        this.segmentMask = (1L << segmentShift) - 1;
+        int numSegments = (int) ((length + segmentMask) >>> segmentShift);
+        segments = new ByteBuffer[numSegments];
+        long remaining = length;
+        for (int i = 0; i < numSegments; i++) {
+            long segmentLength = Math.min(remaining, 1L << segmentShift);
+            segments[i] = ByteBuffer.allocateDirect((int) segmentLength * elementSize).order(ByteOrder.nativeOrder());
+            remaining -= segmentLength;
+        }
+    }
+
+    /**
+     * Wrap existing memory (for example the mappings of a file).
+     * Every segment but the last must hold exactly
+     * {@link #MAPPING_SIZE} / elementSize elements.
+     *
+     * @param segments    the memory of the buffer
+     * @param length      the number of elements in the buffer
+     * @param elementSize the number of bytes for each element
+     */
+    protected BaseDirectDataBuffer(ByteBuffer[] segments, long length, int elementSize) {
+        super((int) Math.min(length, Integer.MAX_VALUE));
+        if (length < 0)
+            throw new IllegalArgumentException("Length must be >= 0");
+        this.directLength = length;
+        this.elementSize = elementSize;
+        this.segmentShift = Integer.numberOfTrailingZeros(MAPPING_SIZE / elementSize);
+        this.segmentMask = (1L << segmentShift) - 1;
+        long capacity = 0;
+        for (int i = 0; i < segments.length; i++) {
+            long segmentLength = segments[i].capacity() / elementSize;
+            if (i < segments.length - 1 && segmentLength != 1L << segmentShift)
+                throw new IllegalArgumentException("Segment " + i + " must hold " + (1L << segmentShift) + " elements");
+            capacity += segmentLength;
+        }
+        if (capacity < length)
+            throw new IllegalArgumentException("Segments hold " + capacity + " elements, " + length + " required");
+        this.segments = segments;
+    }
+
+    /**
+     * The number of elements in this buffer
+     *
+     * @return the length of the buffer as a long
+     */
+    public long longLength() {
+        return directLength;
+    }
+
+    /**
+     * The number of bytes for each individual element
+     *
+     * @return the number of bytes for each element
+     */
+    public int elementSize() {
+        return elementSize;
+    }
+
+    /**
+     * Increment the reference count of this buffer
+     *
+     * @return this buffer
+     */
+    public BaseDirectDataBuffer retain() {
+        if (referenceCount.getAndIncrement() <= 0) {
+            referenceCount.decrementAndGet();
+            throw new IllegalStateException("Unable to retain a buffer that has already been released");
+        }
+        return this;
+    }
+
+    /**
+     * Decrement the reference count of this buffer,
+     * freeing the underlying memory when it reaches zero
+     *
+     * @return true if the memory was freed
+     */
+    public boolean release() {
+        int count = referenceCount.decrementAndGet();
+        if (count == 0) {
+            free();
+            return true;
+        }
+        if (count < 0)
+            referenceCount.set(0);
+        return false;
+    }
+
+    /**
+     * The current reference count
+     *
+     * @return the number of references held on this buffer
+     */
+    public int referenceCount() {
+        return referenceCount.get();
+    }
+
+    /**
+     * Whether the memory of this buffer has been freed
+     *
+     * @return true if this buffer was destroyed
+     */
+    public boolean isDestroyed() {
+        return segments == null;
+    }
+
+    @Override
+    public int length() {
+        if (directLength > Integer.MAX_VALUE)
+            throw new IllegalStateException("Buffer of length " + directLength + " does not fit in an int, use longLength()");
+        return length;
+    }
+
+    /**
+     * Get element i in the buffer as a double
+     *
+     * @param i the element to get
+     * @return the element at this index
+     */
+    public abstract double getDouble(long i);
+
+    /**
+     * Get element i in the buffer as a float
+     *
+     * @param i the element to get
+     * @return the element at this index
+     */
+    public abstract float getFloat(long i);
+
+    /**
+     * Assign an element in the buffer to the specified index
+     *
+     * @param i       the index
+     * @param element the element to assign
+     */
+    public abstract void put(long i, double element);
+
+    /**
+     * Assign an element in the buffer to the specified index
+     *
+     * @param i       the index
+     * @param element the element to assign
+     */
+    public abstract void put(long i, float element);
+
+    @Override
+    public double getDouble(int i) {
+        return getDouble((long) i);
+    }
+
+    @Override
+    public float getFloat(int i) {
+        return getFloat((long) i);
+    }
+
+    @Override
+    public int getInt(int ix) {
+        return (int) getDouble((long) ix);
+    }
+
+    @Override
+    public Number getNumber(int i) {
+        return getDouble((long) i);
+    }
+
+    @Override
+    public void put(int i, double element) {
+        put((long) i, element);
+    }
+
+    @Override
+    public void put(int i, float element) {
+        put((long) i, element);
+    }
+
+    @Override
+    public void put(int i, int element) {
+        put((long) i, (double) element);
+    }
+
+    @Override
+    public void assign(Number value, int offset) {
+        for (long i = offset; i < directLength; i++)
+            put(i, value.doubleValue());
+    }
+
+    @Override
+    protected void applyPrimitive(PrimitiveElementWiseOp op, int offset) {
+        if (directLength <= Integer.MAX_VALUE) {
+            super.applyPrimitive(op, offset);
+        } else if (dataType() == DataBuffer.FLOAT) {
+            for (long i = offset; i < directLength; i++)
+                put(i, op.apply(getFloat(i)));
+        } else {
+            for (long i = offset; i < directLength; i++)
+                put(i, op.apply(getDouble(i)));
+        }
+    }
+
+    @Override
+    public void setData(int[] data) {
+        setData(ArrayUtil.toDoubles(data));
+    }
+
+    @Override
+    public byte[] asBytes() {
+        byte[] ret = new byte[length() * elementSize];
+        //same big endian layout as the heap buffers
+        ByteBuffer wrapped = ByteBuffer.wrap(ret);
+        for (int i = 0; i < length(); i++) {
+            if (dataType() == DataBuffer.FLOAT)
+                wrapped.putFloat(getFloat((long) i));
+            else
+                wrapped.putDouble(getDouble((long) i));
+        }
+        return ret;
+    }
+
+    @Override
+    public int[] asInt() {
+        int[] ret = new int[length()];
+        for (int i = 0; i < ret.length; i++)
+            ret[i] = (int) getDouble((long) i);
+        return ret;
+    }
+
+    @Override
+    public void flush() {
+        //already off heap
+    }
+
+    @Override
+    public void destroy() {
+        referenceCount.set(0);
+        free();
+    }
+
+    /**
+     * The segment holding element i
+     *
+     * @param i the element index
+     * @return the segment for the element
+     */
+    protected ByteBuffer segment(long i) {
+        return segments()[(int) (i >>> segmentShift)];
+    }
+
+    /**
+     * The byte offset of element i within its segment
+     *
+     * @param i the element index
+     * @return the byte offset in the segment
+     */
+    protected int segmentOffset(long i) {
+        return (int) (i & segmentMask) * elementSize;
+    }
+
+    protected ByteBuffer[] segments() {
+        ByteBuffer[] ret = segments;
+        if (ret == null)
+            throw new IllegalStateException("Buffer has already been destroyed");
+        return ret;
+    }
+
+    protected synchronized void free() {
+        if (segments == null)
+            return;
+        for (ByteBuffer segment : segments)
+            clean(segment);
+        segments = null;
+    }
+
+    /**
+     * Eagerly free a direct byte buffer when the jvm allows it,
+     * otherwise the memory is reclaimed on garbage collection
+     *
+     * @param buffer the buffer to free
+     */
+    protected static void clean(ByteBuffer buffer) {
+        if (buffer == null || !buffer.isDirect())
+            return;
+        try {
+            //java 9 and later
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            invokeCleaner.invoke(theUnsafe.get(null), buffer);
+            return;
+        } catch (Exception e) {
+            //fall through to the java 8 cleaner
+        }
+        try {
+            Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+            cleanerMethod.setAccessible(true);
+            Object cleaner = cleanerMethod.invoke(buffer);
+            if (cleaner != null) {
+                Method clean = cleaner.getClass().getMethod("clean");
+                clean.setAccessible(true);
+                clean.invoke(cleaner);
+            }
+        } catch (Exception e) {
+            //not accessible on this jvm; leave it to the garbage collector
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof DataBuffer)) return false;
+
+        DataBuffer that = (DataBuffer) o;
+        if (that.dataType() != dataType() || that.length() != length())
+            return false;
+        for (int i = 0; i < length(); i++)
+            if (Double.compare(getDouble(i), that.getDouble(i)) != 0)
+                return false;
+
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 1;
+        for (int i = 0; i < length(); i++) {
+            long bits = Double.doubleToLongBits(getDouble(i));
+            result = 31 * result + (int) (bits ^ (bits >>> 32));
+        }
+        return result;
+    }
+}
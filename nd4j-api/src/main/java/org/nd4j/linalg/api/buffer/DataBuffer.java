@@ -117,6 +117,85 @@ public interface DataBuffer extends Serializable {
      */
     float[] getFloatsAt(int offset, int inc, int length);
 
+    /**
+     * Copy length elements starting at offset spaced by inc
+     * in to a double array
+     *
+     * @param offset     the index of the first element
+     * @param inc        the distance between elements
+     * @param dest       the array to copy to
+     * @param destOffset where to start writing in the array
+     * @param length     the number of elements to copy
+     */
+    void getDoubles(int offset, int inc, double[] dest, int destOffset, int length);
+
+    /**
+     * Copy length elements starting at offset spaced by inc
+     * in to a float array
+     *
+     * @param offset     the index of the first element
+     * @param inc        the distance between elements
+     * @param dest       the array to copy to
+     * @param destOffset where to start writing in the array
+     * @param length     the number of elements to copy
+     */
+    void getFloats(int offset, int inc, float[] dest, int destOffset, int length);
+
+    /**
+     * Copy length elements of a double array in to this buffer
+     * starting at offset spaced by inc
+     *
+     * @param offset    the index of the first element to write
+     * @param inc       the distance between elements
+     * @param src       the array to copy from
+     * @param srcOffset where to start reading in the array
+     * @param length    the number of elements to copy
+     */
+    void putDoubles(int offset, int inc, double[] src, int srcOffset, int length);
+
+    /**
+     * Copy length elements of a float array in to this buffer
+     * starting at offset spaced by inc
+     *
+     * @param offset    the index of the first element to write
+     * @param inc       the distance between elements
+     * @param src       the array to copy from
+     * @param srcOffset where to start reading in the array
+     * @param length    the number of elements to copy
+     */
+    void putFloats(int offset, int inc, float[] src, int srcOffset, int length);
+
+    /**
+     * Copy length elements starting at offset spaced by inc
+     * in to another buffer starting at destOffset spaced by destInc
+     *
+     * @param offset     the index of the first element
+     * @param inc        the distance between elements
+     * @param dest       the buffer to copy to
+     * @param destOffset the index of the first element to write
+     * @param destInc    the distance between elements in the destination
+     * @param length     the number of elements to copy
+     */
+    void copyTo(int offset, int inc, DataBuffer dest, int destOffset, int destInc, int length);
+
+    /**
+     * View the contents of this double buffer as a nio buffer
+     * without copying. Writes to the view are visible in this buffer.
+     *
+     * @return a view of the data
+     * @throws IllegalStateException if the data can not be viewed as doubles
+     */
+    java.nio.DoubleBuffer asNioDouble();
+
+    /**
+     * View the contents of this float buffer as a nio buffer
+     * without copying. Writes to the view are visible in this buffer.
+     *
+     * @return a view of the data
+     * @throws IllegalStateException if the data can not be viewed as floats
+     */
+    java.nio.FloatBuffer asNioFloat();
+
 
     /**
      * Assign the given value to the buffer
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2015 Skymind,Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.nd4j.linalg.api.buffer;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Off heap data buffer for doubles
+ *
+ * @author Adam Gibson
+ */
+public class DirectDoubleBuffer extends BaseDirectDataBuffer {
+
+    public DirectDoubleBuffer(long length) {
+        super(length, 8);
+    }
+
+    /**
+     * Wrap existing memory holding the given number of doubles
+     *
+     * @param segments the memory of the buffer
+     * @param length   the number of elements in the buffer
+     */
+    protected DirectDoubleBuffer(ByteBuffer[] segments, long length) {
+        super(segments, length, 8);
+    }
+
+    public DirectDoubleBuffer(float[] data) {
+        this(data.length);
+        setData(data);
+    }
+
+    public DirectDoubleBuffer(double[] data) {
+        this(data.length);
+        setData(data);
+    }
+
+    @Override
+    public int dataType() {
+        return DataBuffer.DOUBLE;
+    }
+
+    @Override
+    public double getDouble(long i) {
+        return segment(i).getDouble(segmentOffset(i));
+    }
+
+    @Override
+    public float getFloat(long i) {
+        return (float) segment(i).getDouble(segmentOffset(i));
+    }
+
+    @Override
+    public void put(long i, double element) {
+        segment(i).putDouble(segmentOffset(i), element);
+    }
+
+    @Override
+    public void put(long i, float element) {
+        segment(i).putDouble(segmentOffset(i), element);
+    }
+
+    @Override
+    public void setData(float[] data) {
+        if (data.length != length())
+            throw new IllegalArgumentException("Unable to set data, must be of length " + length() + " but found length " + data.length);
+        for (int i = 0; i < data.length; i++)
+            put((long) i, (double) data[i]);
+    }
+
+    @Override
+    public void setData(double[] data) {
+        if (data.length != length())
+            throw new IllegalArgumentException("Unable to set data, must be of length " + length() + " but found length " + data.length);
+        int copied = 0;
+        for (ByteBuffer segment : segments()) {
+            java.nio.DoubleBuffer view = view(segment);
+            int n = view.remaining();
+            view.put(data, copied, n);
+            copied += n;
+        }
+    }
+
+    @Override
+    public float[] asFloat() {
+        float[] ret = new float[length()];
+        for (int i = 0; i < ret.length; i++)
+            ret[i] = (float) getDouble((long) i);
+        return ret;
+    }
+
+    @Override
+    public double[] asDouble() {
+        double[] ret = new double[length()];
+        int copied = 0;
+        for (ByteBuffer segment : segments()) {
+            java.nio.DoubleBuffer view = view(segment);
+            int n = view.remaining();
+            view.get(ret, copied, n);
+            copied += n;
+        }
+        return ret;
+    }
+
+    @Override
+    public void getDoubles(int offset, int inc, double[] dest, int destOffset, int length) {
+        checkRange(offset, inc, length);
+        if (inc != 1) {
+            super.getDoubles(offset, inc, dest, destOffset, length);
+            return;
+        }
+        while (length > 0) {
+            java.nio.DoubleBuffer view = view(segment(offset));
+            view.position((int) (offset & segmentMask));
+            int n = Math.min(length, view.remaining());
+            view.get(dest, destOffset, n);
+            offset += n;
+            destOffset += n;
+            length -= n;
+        }
+    }
+
+    @Override
+    public void putDoubles(int offset, int inc, double[] src, int srcOffset, int length) {
+        checkRange(offset, inc, length);
+        if (inc != 1) {
+            super.putDoubles(offset, inc, src, srcOffset, length);
+            return;
+        }
+        while (length > 0) {
+            java.nio.DoubleBuffer view = view(segment(offset));
+            view.position((int) (offset & segmentMask));
+            int n = Math.min(length, view.remaining());
+            view.put(src, srcOffset, n);
+            offset += n;
+            srcOffset += n;
+            length -= n;
+        }
+    }
+
+    /**
+     * A view of the memory of this buffer.
+     * Only buffers held in a single segment can be viewed.
+     *
+     * @return a view of the data
+     */
+    @Override
+    public java.nio.DoubleBuffer asNioDouble() {
+        ByteBuffer[] segments = segments();
+        if (segments.length == 0)
+            return java.nio.DoubleBuffer.allocate(0);
+        if (segments.length > 1)
+            throw new IllegalStateException("Unable to view a buffer spanning " + segments.length + " segments");
+        return view(segments[0]);
+    }
+
+    private static java.nio.DoubleBuffer view(ByteBuffer segment) {
+        return segment.duplicate().order(segment.order()).asDoubleBuffer();
+    }
+
+    @Override
+    public DataBuffer dup() {
+        DirectDoubleBuffer ret = new DirectDoubleBuffer(longLength());
+        ByteBuffer[] from = segments();
+        for (int i = 0; i < from.length; i++) {
+            ByteBuffer src = from[i].duplicate();
+            src.clear();
+            ByteBuffer dest = ret.segments[i].duplicate();
+            dest.clear();
+            dest.put(src);
+        }
+        return ret;
+    }
+
+    @Override
+    public String toString() {
+        return "DirectDoubleBuffer{" +
+                "length=" + longLength() +
+                '}';
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2015 Skymind,Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.nd4j.linalg.api.buffer;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Off heap data buffer for floats
+ *
+ * @author Adam Gibson
+ */
+public class DirectFloatBuffer extends BaseDirectDataBuffer {
+
+    public DirectFloatBuffer(long length) {
+        super(length, 4);
+    }
+
+    /**
+     * Wrap existing memory holding the given number of floats
+     *
+     * @param segments the memory of the buffer
+     * @param length   the number of elements in the buffer
+     */
+    protected DirectFloatBuffer(ByteBuffer[] segments, long length) {
+        super(segments, length, 4);
+    }
+
+    public DirectFloatBuffer(float[] data) {
+        this(data.length);
+        setData(data);
+    }
+
+    public DirectFloatBuffer(double[] data) {
+        this(data.length);
+        setData(data);
+    }
+
+    @Override
+    public int dataType() {
+        return DataBuffer.FLOAT;
+    }
+
+    @Override
+    public double getDouble(long i) {
+        return segment(i).getFloat(segmentOffset(i));
+    }
+
+    @Override
+    public float getFloat(long i) {
+        return segment(i).getFloat(segmentOffset(i));
+    }
+
+    @Override
+    public void put(long i, double element) {
+        segment(i).putFloat(segmentOffset(i), (float) element);
+    }
+
+    @Override
+    public void put(long i, float element) {
+        segment(i).putFloat(segmentOffset(i), element);
+    }
+
+    @Override
+    public void setData(float[] data) {
+        if (data.length != length())
+            throw new IllegalArgumentException("Unable to set data, must be of length " + length() + " but found length " + data.length);
+        int copied = 0;
+        for (ByteBuffer segment : segments()) {
+            java.nio.FloatBuffer view = view(segment);
+            int n = view.remaining();
+            view.put(data, copied, n);
+            copied += n;
+        }
+    }
+
+    @Override
+    public void setData(double[] data) {
+        if (data.length != length())
+            throw new IllegalArgumentException("Unable to set data, must be of length " + length() + " but found length " + data.length);
+        for (int i = 0; i < data.length; i++)
+            put((long) i, (float) data[i]);
+    }
+
+    @Override
+    public float[] asFloat() {
+        float[] ret = new float[length()];
+        int copied = 0;
+        for (ByteBuffer segment : segments()) {
+            java.nio.FloatBuffer view = view(segment);
+            int n = view.remaining();
+            view.get(ret, copied, n);
+            copied += n;
+        }
+        return ret;
+    }
+
+    @Override
+    public double[] asDouble() {
+        double[] ret = new double[length()];
+        for (int i = 0; i < ret.length; i++)
+            ret[i] = getFloat((long) i);
+        return ret;
+    }
+
+    @Override
+    public void getFloats(int offset, int inc, float[] dest, int destOffset, int length) {
+        checkRange(offset, inc, length);
+        if (inc != 1) {
+            super.getFloats(offset, inc, dest, destOffset, length);
+            return;
+        }
+        while (length > 0) {
+            java.nio.FloatBuffer view = view(segment(offset));
+            view.position((int) (offset & segmentMask));
+            int n = Math.min(length, view.remaining());
+            view.get(dest, destOffset, n);
+            offset += n;
+            destOffset += n;
+            length -= n;
+        }
+    }
+
+    @Override
+    public void putFloats(int offset, int inc, float[] src, int srcOffset, int length) {
+        checkRange(offset, inc, length);
+        if (inc != 1) {
+            super.putFloats(offset, inc, src, srcOffset, length);
+            return;
+        }
+        while (length > 0) {
+            java.nio.FloatBuffer view = view(segment(offset));
+            view.position((int) (offset & segmentMask));
+            int n = Math.min(length, view.remaining());
+            view.put(src, srcOffset, n);
+            offset += n;
+            srcOffset += n;
+            length -= n;
+        }
+    }
+
+    /**
+     * A view of the memory of this buffer.
+     * Only buffers held in a single segment can be viewed.
+     *
+     * @return a view of the data
+     */
+    @Override
+    public java.nio.FloatBuffer asNioFloat() {
+        ByteBuffer[] segments = segments();
+        if (segments.length == 0)
+            return java.nio.FloatBuffer.allocate(0);
+        if (segments.length > 1)
+            throw new IllegalStateException("Unable to view a buffer spanning " + segments.length + " segments");
+        return view(segments[0]);
+    }
+
+    private static java.nio.FloatBuffer view(ByteBuffer segment) {
+        return segment.duplicate().order(segment.order()).asFloatBuffer();
+    }
+
+    @Override
+    public DataBuffer dup() {
+        DirectFloatBuffer ret = new DirectFloatBuffer(longLength());
+        ByteBuffer[] from = segments();
+        for (int i = 0; i < from.length; i++) {
+            ByteBuffer src = from[i].duplicate();
+            src.clear();
+            ByteBuffer dest = ret.segments[i].duplicate();
+            dest.clear();
+            dest.put(src);
+        }
+        return ret;
+    }
+
+    @Override
+    public String toString() {
+        return "DirectFloatBuffer{" +
+                "length=" + longLength() +
+                '}';
+    }
+}
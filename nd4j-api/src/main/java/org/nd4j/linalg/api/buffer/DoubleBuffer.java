@@ -18,13 +18,16 @@ package org.nd4j.linalg.api.buffer;
 
 
 import com.google.common.primitives.Bytes;
+import org.nd4j.linalg.ops.PrimitiveElementWiseOp;
+import org.nd4j.linalg.parallel.Parallel;
 import org.nd4j.linalg.util.ArrayUtil;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.util.Arrays;
-import java.util.UUID;
 
 /**
  * Double buffer implementation of data buffer
@@ -93,13 +96,16 @@ public class DoubleBuffer extends BaseDataBuffer {
     @Override
     public double[] asDouble() {
         if (buffer == null) {
-            buffer = new double[length];
+            //read the mapping before the heap copy takes over
+            double[] data = new double[length];
             for (int i = 0; i < length; i++) {
-                buffer[i] = getDouble(i);
+                data[i] = getDouble(i);
             }
+            buffer = data;
             try {
                 mappings.clear();
                 memoryMappedBuffer.close();
+                memoryMappedBuffer = null;
             } catch (IOException e) {
                 throw new RuntimeException(e);
             }
@@ -107,6 +113,88 @@ public class DoubleBuffer extends BaseDataBuffer {
         return buffer;
     }
 
+    @Override
+    public void assign(DataBuffer data) {
+        if (buffer == null || data.length() != length()) {
+            super.assign(data);
+            return;
+        }
+        data.getDoubles(0, 1, buffer, 0, length);
+    }
+
+    @Override
+    public void getDoubles(int offset, int inc, double[] dest, int destOffset, int length) {
+        if (buffer == null) {
+            super.getDoubles(offset, inc, dest, destOffset, length);
+            return;
+        }
+        checkRange(offset, inc, length);
+        if (inc == 1)
+            System.arraycopy(buffer, offset, dest, destOffset, length);
+        else
+            for (int j = 0, i = offset; j < length; j++, i += inc)
+                dest[destOffset + j] = buffer[i];
+    }
+
+    @Override
+    public void getFloats(int offset, int inc, float[] dest, int destOffset, int length) {
+        if (buffer == null) {
+            super.getFloats(offset, inc, dest, destOffset, length);
+            return;
+        }
+        checkRange(offset, inc, length);
+        for (int j = 0, i = offset; j < length; j++, i += inc)
+            dest[destOffset + j] = (float) buffer[i];
+    }
+
+    @Override
+    public void putDoubles(int offset, int inc, double[] src, int srcOffset, int length) {
+        if (buffer == null) {
+            super.putDoubles(offset, inc, src, srcOffset, length);
+            return;
+        }
+        checkRange(offset, inc, length);
+        if (inc == 1)
+            System.arraycopy(src, srcOffset, buffer, offset, length);
+        else
+            for (int j = 0, i = offset; j < length; j++, i += inc)
+                buffer[i] = src[srcOffset + j];
+    }
+
+    @Override
+    public void putFloats(int offset, int inc, float[] src, int srcOffset, int length) {
+        if (buffer == null) {
+            super.putFloats(offset, inc, src, srcOffset, length);
+            return;
+        }
+        checkRange(offset, inc, length);
+        for (int j = 0, i = offset; j < length; j++, i += inc)
+            buffer[i] = (double) src[srcOffset + j];
+    }
+
+    @Override
+    public void copyTo(int offset, int inc, DataBuffer dest, int destOffset, int destInc, int length) {
+        if (buffer == null) {
+            super.copyTo(offset, inc, dest, destOffset, destInc, length);
+            return;
+        }
+        checkRange(offset, inc, length);
+        if (inc == 1) {
+            dest.putDoubles(destOffset, destInc, buffer, offset, length);
+        } else if (dest instanceof DoubleBuffer && ((DoubleBuffer) dest).buffer != null) {
+            DoubleBuffer to = (DoubleBuffer) dest;
+            to.checkRange(destOffset, destInc, length);
+            for (int j = 0, i = offset, k = destOffset; j < length; j++, i += inc, k += destInc)
+                to.buffer[k] = buffer[i];
+        } else
+            super.copyTo(offset, inc, dest, destOffset, destInc, length);
+    }
+
+    @Override
+    public java.nio.DoubleBuffer asNioDouble() {
+        return java.nio.DoubleBuffer.wrap(asDouble(), 0, length);
+    }
+
     @Override
     public int[] asInt() {
         int[] ret = new int[length];
@@ -122,7 +210,7 @@ public class DoubleBuffer extends BaseDataBuffer {
         if (buffer != null)
             return buffer[i];
         else {
-            long p = i * 8;
+            long p = i * 8L;
             int mapN = (int) (p / MAPPING_SIZE);
             int offN = (int) (p % MAPPING_SIZE);
             return mappings.get(mapN).getDouble(offN);
@@ -159,7 +247,7 @@ public class DoubleBuffer extends BaseDataBuffer {
         if (buffer != null)
             buffer[i] = element;
         else {
-            long p = i * 8;
+            long p = i * 8L;
             int mapN = (int) (p / MAPPING_SIZE);
             int offN = (int) (p % MAPPING_SIZE);
             mappings.get(mapN).putDouble(offN, element);
@@ -182,17 +270,37 @@ public class DoubleBuffer extends BaseDataBuffer {
         return new DoubleBuffer(buffer);
     }
 
+    @Override
+    protected void applyPrimitive(final PrimitiveElementWiseOp op, final int offset) {
+        final double[] data = asDouble();
+        Parallel.forEach(length - offset, new Parallel.RangeTask() {
+            @Override
+            public void run(int from, int to) {
+                for (int i = offset + from; i < offset + to; i++)
+                    data[i] = op.apply(data[i]);
+            }
+        });
+    }
+
     @Override
     public void flush() {
-        path = UUID.randomUUID().toString();
-        if (memoryMappedBuffer != null)
+        if (memoryMappedBuffer != null || buffer == null)
             return;
         try {
-            memoryMappedBuffer = new RandomAccessFile(path, "rw");
+            File file = File.createTempFile("nd4j", ".buffer");
+            file.deleteOnExit();
+            path = file.getAbsolutePath();
+            memoryMappedBuffer = new RandomAccessFile(file, "rw");
             long size = 8L * length;
+            int written = 0;
             for (long offset = 0; offset < size; offset += MAPPING_SIZE) {
                 long size2 = Math.min(size - offset, MAPPING_SIZE);
-                mappings.add(memoryMappedBuffer.getChannel().map(FileChannel.MapMode.READ_WRITE, offset, size2));
+                ByteBuffer mapping = memoryMappedBuffer.getChannel().map(FileChannel.MapMode.READ_WRITE, offset, size2);
+                //swap the data out before dropping the heap copy
+                int count = (int) (size2 / 8);
+                mapping.asDoubleBuffer().put(buffer, written, count);
+                written += count;
+                mappings.add(mapping);
             }
         } catch (IOException e) {
             try {
@@ -17,13 +17,16 @@
 package org.nd4j.linalg.api.buffer;
 
 import com.google.common.primitives.Bytes;
+import org.nd4j.linalg.ops.PrimitiveElementWiseOp;
+import org.nd4j.linalg.parallel.Parallel;
 import org.nd4j.linalg.util.ArrayUtil;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.util.Arrays;
-import java.util.UUID;
 
 /**
  * Data buffer for floats
@@ -90,13 +93,16 @@ public class FloatBuffer extends BaseDataBuffer {
     @Override
     public float[] asFloat() {
         if (buffer == null) {
-            buffer = new float[length];
+            //read the mapping before the heap copy takes over
+            float[] data = new float[length];
             for (int i = 0; i < length; i++) {
-                buffer[i] = getFloat(i);
+                data[i] = getFloat(i);
             }
+            buffer = data;
             try {
                 mappings.clear();
                 memoryMappedBuffer.close();
+                memoryMappedBuffer = null;
             } catch (IOException e) {
                 throw new RuntimeException(e);
             }
@@ -113,6 +119,88 @@ public class FloatBuffer extends BaseDataBuffer {
         return ret;
     }
 
+    @Override
+    public void assign(DataBuffer data) {
+        if (buffer == null || data.length() != length()) {
+            super.assign(data);
+            return;
+        }
+        data.getFloats(0, 1, buffer, 0, length);
+    }
+
+    @Override
+    public void getFloats(int offset, int inc, float[] dest, int destOffset, int length) {
+        if (buffer == null) {
+            super.getFloats(offset, inc, dest, destOffset, length);
+            return;
+        }
+        checkRange(offset, inc, length);
+        if (inc == 1)
+            System.arraycopy(buffer, offset, dest, destOffset, length);
+        else
+            for (int j = 0, i = offset; j < length; j++, i += inc)
+                dest[destOffset + j] = buffer[i];
+    }
+
+    @Override
+    public void getDoubles(int offset, int inc, double[] dest, int destOffset, int length) {
+        if (buffer == null) {
+            super.getDoubles(offset, inc, dest, destOffset, length);
+            return;
+        }
+        checkRange(offset, inc, length);
+        for (int j = 0, i = offset; j < length; j++, i += inc)
+            dest[destOffset + j] = buffer[i];
+    }
+
+    @Override
+    public void putFloats(int offset, int inc, float[] src, int srcOffset, int length) {
+        if (buffer == null) {
+            super.putFloats(offset, inc, src, srcOffset, length);
+            return;
+        }
+        checkRange(offset, inc, length);
+        if (inc == 1)
+            System.arraycopy(src, srcOffset, buffer, offset, length);
+        else
+            for (int j = 0, i = offset; j < length; j++, i += inc)
+                buffer[i] = src[srcOffset + j];
+    }
+
+    @Override
+    public void putDoubles(int offset, int inc, double[] src, int srcOffset, int length) {
+        if (buffer == null) {
+            super.putDoubles(offset, inc, src, srcOffset, length);
+            return;
+        }
+        checkRange(offset, inc, length);
+        for (int j = 0, i = offset; j < length; j++, i += inc)
+            buffer[i] = (float) src[srcOffset + j];
+    }
+
+    @Override
+    public void copyTo(int offset, int inc, DataBuffer dest, int destOffset, int destInc, int length) {
+        if (buffer == null) {
+            super.copyTo(offset, inc, dest, destOffset, destInc, length);
+            return;
+        }
+        checkRange(offset, inc, length);
+        if (inc == 1) {
+            dest.putFloats(destOffset, destInc, buffer, offset, length);
+        } else if (dest instanceof FloatBuffer && ((FloatBuffer) dest).buffer != null) {
+            FloatBuffer to = (FloatBuffer) dest;
+            to.checkRange(destOffset, destInc, length);
+            for (int j = 0, i = offset, k = destOffset; j < length; j++, i += inc, k += destInc)
+                to.buffer[k] = buffer[i];
+        } else
+            super.copyTo(offset, inc, dest, destOffset, destInc, length);
+    }
+
+    @Override
+    public java.nio.FloatBuffer asNioFloat() {
+        return java.nio.FloatBuffer.wrap(asFloat(), 0, length);
+    }
+
     @Override
     public int[] asInt() {
         int[] ret = new int[length];
@@ -128,10 +216,10 @@ public class FloatBuffer extends BaseDataBuffer {
         if (buffer != null)
             return buffer[i];
         else {
-            long p = i * 8;
+            long p = i * 4L;
             int mapN = (int) (p / MAPPING_SIZE);
             int offN = (int) (p % MAPPING_SIZE);
-            return mappings.get(mapN).getDouble(offN);
+            return mappings.get(mapN).getFloat(offN);
         }
     }
 
@@ -157,10 +245,10 @@ public class FloatBuffer extends BaseDataBuffer {
         if (buffer != null)
             buffer[i] = (float) element;
         else {
-            long p = i * 8;
+            long p = i * 4L;
             int mapN = (int) (p / MAPPING_SIZE);
             int offN = (int) (p % MAPPING_SIZE);
-            mappings.get(mapN).putDouble(offN, element);
+            mappings.get(mapN).putFloat(offN, (float) element);
         }
     }
 
@@ -180,17 +268,37 @@ public class FloatBuffer extends BaseDataBuffer {
         return new FloatBuffer(buffer);
     }
 
+    @Override
+    protected void applyPrimitive(final PrimitiveElementWiseOp op, final int offset) {
+        final float[] data = asFloat();
+        Parallel.forEach(length - offset, new Parallel.RangeTask() {
+            @Override
+            public void run(int from, int to) {
+                for (int i = offset + from; i < offset + to; i++)
+                    data[i] = op.apply(data[i]);
+            }
+        });
+    }
+
     @Override
     public void flush() {
-        path = UUID.randomUUID().toString();
-        if (memoryMappedBuffer != null)
+        if (memoryMappedBuffer != null || buffer == null)
             return;
         try {
-            memoryMappedBuffer = new RandomAccessFile(path, "rw");
-            long size = 8L * length;
+            File file = File.createTempFile("nd4j", ".buffer");
+            file.deleteOnExit();
+            path = file.getAbsolutePath();
+            memoryMappedBuffer = new RandomAccessFile(file, "rw");
+            long size = 4L * length;
+            int written = 0;
             for (long offset = 0; offset < size; offset += MAPPING_SIZE) {
                 long size2 = Math.min(size - offset, MAPPING_SIZE);
-                mappings.add(memoryMappedBuffer.getChannel().map(FileChannel.MapMode.READ_WRITE, offset, size2));
+                ByteBuffer mapping = memoryMappedBuffer.getChannel().map(FileChannel.MapMode.READ_WRITE, offset, size2);
+                //swap the data out before dropping the heap copy
+                int count = (int) (size2 / 4);
+                mapping.asFloatBuffer().put(buffer, written, count);
+                written += count;
+                mappings.add(mapping);
             }
         } catch (IOException e) {
             try {
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2015 Skymind,Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.nd4j.linalg.api.buffer;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteOrder;
+
+/**
+ * A double buffer backed by a memory mapped file.
+ *
+ * Elements are stored in the file as raw 8 byte doubles, so the file
+ * may be produced by any tool writing flat binary arrays. Files larger
+ * than 2GB are mapped in segments and addressed via the long accessors.
+ * Reads and writes go straight to the mapping; nothing is copied on to
+ * the heap except by {@link #asFloat()} and {@link #asDouble()}.
+ *
+ * Changes to a writable buffer reach the file on {@link #force()}
+ * or {@link #flush()}; {@link #destroy()} forces, unmaps and closes the file.
+ *
+ * @author Adam Gibson
+ */
+public class MappedDoubleBuffer extends DirectDoubleBuffer {
+
+    private final MappedFile file;
+
+    /**
+     * Map every double in a native order file
+     *
+     * @param file     the file to map
+     * @param readOnly whether to map the file read only
+     * @throws IOException if the file can not be mapped
+     */
+    public MappedDoubleBuffer(File file, boolean readOnly) throws IOException {
+        this(file, 0, -1, readOnly, ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Map a region of a file
+     *
+     * @param file     the file to map
+     * @param position the byte offset of the first element in the file
+     * @param length   the number of elements, -1 for the rest of the file.
+     *                 Writable files are grown to fit the region
+     * @param readOnly whether to map the file read only
+     * @param order    the byte order of the elements in the file
+     * @throws IOException if the file can not be mapped
+     */
+    public MappedDoubleBuffer(File file, long position, long length, boolean readOnly, ByteOrder order) throws IOException {
+        this(MappedFile.map(file, position, length, 8, readOnly, order));
+    }
+
+    private MappedDoubleBuffer(MappedFile file) {
+        super(file.segments(), file.length());
+        this.file = file;
+    }
+
+    /**
+     * Write any changes through to the file
+     */
+    public void force() {
+        if (isDestroyed())
+            throw new IllegalStateException("Buffer has already been destroyed");
+        file.force();
+    }
+
+    @Override
+    public void flush() {
+        force();
+    }
+
+    public boolean isReadOnly() {
+        return file.isReadOnly();
+    }
+
+    public File getFile() {
+        return file.getFile();
+    }
+
+    @Override
+    protected synchronized void free() {
+        if (segments == null)
+            return;
+        segments = null;
+        try {
+            file.close();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "MappedDoubleBuffer{" +
+                "file=" + getFile() +
+                ", length=" + longLength() +
+                ", readOnly=" + isReadOnly() +
+                '}';
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2015 Skymind,Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.nd4j.linalg.api.buffer;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * A region of a file mapped in to memory as segments of at most
+ * {@link BaseDataBuffer#MAPPING_SIZE} bytes, the layout used by
+ * {@link BaseDirectDataBuffer}. Regions may be larger than 2GB.
+ *
+ * Changes to a writable mapping reach the file on {@link #force()}
+ * (or eventually when the operating system pages them out).
+ * {@link #close()} unmaps the region and closes the file.
+ *
+ * @author Adam Gibson
+ */
+public class MappedFile implements Closeable {
+
+    private final File file;
+    private final RandomAccessFile raf;
+    private final long length;
+    private final boolean readOnly;
+    private ByteBuffer[] segments;
+
+    private MappedFile(File file, RandomAccessFile raf, ByteBuffer[] segments, long length, boolean readOnly) {
+        this.file = file;
+        this.raf = raf;
+        this.segments = segments;
+        this.length = length;
+        this.readOnly = readOnly;
+    }
+
+    /**
+     * Map a region of a file holding elements of the given size
+     *
+     * @param file        the file to map
+     * @param position    the byte offset of the region in the file
+     * @param length      the number of elements in the region,
+     *                    -1 for every element from position to the end of the file
+     * @param elementSize the number of bytes for each element
+     * @param readOnly    whether to map the file read only. Writable
+     *                    mappings grow the file when it is too short
+     * @param order       the byte order of the elements in the file
+     * @return the mapped region
+     * @throws IOException if the file can not be opened or is too short
+     */
+    public static MappedFile map(File file, long position, long length, int elementSize, boolean readOnly, ByteOrder order) throws IOException {
+        if (position < 0)
+            throw new IllegalArgumentException("Position must be >= 0");
+        if (elementSize <= 0 || BaseDataBuffer.MAPPING_SIZE % elementSize != 0)
+            throw new IllegalArgumentException("Illegal element size " + elementSize);
+
+        RandomAccessFile raf = new RandomAccessFile(file, readOnly ? "r" : "rw");
+        try {
+            long fileLength = raf.length();
+            if (length < 0)
+                length = Math.max(0, fileLength - position) / elementSize;
+            long size = length * elementSize;
+            if (position + size > fileLength) {
+                if (readOnly)
+                    throw new IOException("File " + file + " holds " + fileLength + " bytes, " + (position + size) + " required");
+                raf.setLength(position + size);
+            }
+
+            FileChannel.MapMode mode = readOnly ? FileChannel.MapMode.READ_ONLY : FileChannel.MapMode.READ_WRITE;
+            int numSegments = (int) ((size + BaseDataBuffer.MAPPING_SIZE - 1) / BaseDataBuffer.MAPPING_SIZE);
+            ByteBuffer[] segments = new ByteBuffer[numSegments];
+            for (int i = 0; i < numSegments; i++) {
+                long offset = (long) i * BaseDataBuffer.MAPPING_SIZE;
+                long segmentSize = Math.min(size - offset, BaseDataBuffer.MAPPING_SIZE);
+                segments[i] = raf.getChannel().map(mode, position + offset, segmentSize).order(order);
+            }
+            return new MappedFile(file, raf, segments, length, readOnly);
+        } catch (IOException | RuntimeException e) {
+            raf.close();
+            throw e;
+        }
+    }
+
+    /**
+     * The mapped memory, one buffer per segment
+     *
+     * @return the segments of the mapping
+     */
+    public ByteBuffer[] segments() {
+        ByteBuffer[] ret = segments;
+        if (ret == null)
+            throw new IllegalStateException("File " + file + " has already been unmapped");
+        return ret;
+    }
+
+    /**
+     * The number of elements in the mapping
+     *
+     * @return the length of the region
+     */
+    public long length() {
+        return length;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    /**
+     * Write any changes to the mapping through to the file
+     */
+    public void force() {
+        if (readOnly)
+            return;
+        for (ByteBuffer segment : segments())
+            ((MappedByteBuffer) segment).force();
+    }
+
+    /**
+     * Unmap the region and close the file.
+     * The segments must not be used afterwards.
+     *
+     * @throws IOException if the file can not be closed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (segments == null)
+            return;
+        force();
+        for (ByteBuffer segment : segments)
+            BaseDirectDataBuffer.clean(segment);
+        segments = null;
+        raf.close();
+    }
+}
@@ -41,6 +41,24 @@ public interface DataBufferFactory {
      */
     DataBuffer createFloat(int length);
 
+    /**
+     * Create a double data buffer
+     *
+     * @param length the length of the buffer, may exceed Integer.MAX_VALUE
+     *               where the buffers of the factory can hold that many elements
+     * @return the new data buffer
+     */
+    DataBuffer createDouble(long length);
+
+    /**
+     * Create a float data buffer
+     *
+     * @param length the length of the buffer, may exceed Integer.MAX_VALUE
+     *               where the buffers of the factory can hold that many elements
+     * @return the new data buffer
+     */
+    DataBuffer createFloat(long length);
+
     /**
      * Create an int data buffer
      *
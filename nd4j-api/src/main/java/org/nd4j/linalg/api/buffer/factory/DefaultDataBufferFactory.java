@@ -17,6 +17,8 @@
 package org.nd4j.linalg.api.buffer.factory;
 
 import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.buffer.DirectDoubleBuffer;
+import org.nd4j.linalg.api.buffer.DirectFloatBuffer;
 import org.nd4j.linalg.api.buffer.DoubleBuffer;
 import org.nd4j.linalg.api.buffer.FloatBuffer;
 import org.nd4j.linalg.api.buffer.IntBuffer;
@@ -38,6 +40,34 @@ public class DefaultDataBufferFactory implements DataBufferFactory {
         return new FloatBuffer(length);
     }
 
+    /**
+     * Create a double data buffer: on heap up to Integer.MAX_VALUE
+     * elements and off heap beyond that
+     *
+     * @param length the length of the buffer
+     * @return the new data buffer
+     */
+    @Override
+    public DataBuffer createDouble(long length) {
+        if (length > Integer.MAX_VALUE)
+            return new DirectDoubleBuffer(length);
+        return createDouble((int) length);
+    }
+
+    /**
+     * Create a float data buffer: on heap up to Integer.MAX_VALUE
+     * elements and off heap beyond that
+     *
+     * @param length the length of the buffer
+     * @return the new data buffer
+     */
+    @Override
+    public DataBuffer createFloat(long length) {
+        if (length > Integer.MAX_VALUE)
+            return new DirectFloatBuffer(length);
+        return createFloat((int) length);
+    }
+
     @Override
     public DataBuffer createInt(int length) {
         return new IntBuffer(length);
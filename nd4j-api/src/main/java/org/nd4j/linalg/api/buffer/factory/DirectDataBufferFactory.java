@@ -0,0 +1,164 @@
+/*
+ * Copyright 2015 Skymind,Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.nd4j.linalg.api.buffer.factory;
+
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.buffer.DirectDoubleBuffer;
+import org.nd4j.linalg.api.buffer.DirectFloatBuffer;
+import org.nd4j.linalg.api.buffer.IntBuffer;
+import org.nd4j.linalg.util.ArrayUtil;
+
+/**
+ * Off heap data buffer creation.
+ * Enable with:
+ * databufferfactory = org.nd4j.linalg.api.buffer.factory.DirectDataBufferFactory
+ * in nd4j.properties.
+ *
+ * Int buffers stay on heap.
+ * The copy flag is ignored for float and double buffers:
+ * data is always copied off heap.
+ *
+ * @author Adam Gibson
+ */
+public class DirectDataBufferFactory implements DataBufferFactory {
+    @Override
+    public DataBuffer createDouble(int length) {
+        return createDouble((long) length);
+    }
+
+    @Override
+    public DataBuffer createFloat(int length) {
+        return createFloat((long) length);
+    }
+
+    /**
+     * Create a double data buffer
+     *
+     * @param length the length of the buffer, may exceed Integer.MAX_VALUE
+     * @return the new data buffer
+     */
+    @Override
+    public DataBuffer createDouble(long length) {
+        return new DirectDoubleBuffer(length);
+    }
+
+    /**
+     * Create a float data buffer
+     *
+     * @param length the length of the buffer, may exceed Integer.MAX_VALUE
+     * @return the new data buffer
+     */
+    @Override
+    public DataBuffer createFloat(long length) {
+        return new DirectFloatBuffer(length);
+    }
+
+    @Override
+    public DataBuffer createInt(int length) {
+        return new IntBuffer(length);
+    }
+
+    @Override
+    public DataBuffer createDouble(int[] data) {
+        return createDouble(data, true);
+    }
+
+    @Override
+    public DataBuffer createFloat(int[] data) {
+        return createFloat(data, true);
+    }
+
+    @Override
+    public DataBuffer createInt(int[] data) {
+        return createInt(data, true);
+    }
+
+    @Override
+    public DataBuffer createDouble(double[] data) {
+        return createDouble(data, true);
+    }
+
+    @Override
+    public DataBuffer createFloat(double[] data) {
+        return createFloat(data, true);
+    }
+
+    @Override
+    public DataBuffer createInt(double[] data) {
+        return createInt(data, true);
+    }
+
+    @Override
+    public DataBuffer createDouble(float[] data) {
+        return createDouble(data, true);
+    }
+
+    @Override
+    public DataBuffer createFloat(float[] data) {
+        return createFloat(data, true);
+    }
+
+    @Override
+    public DataBuffer createInt(float[] data) {
+        return createInt(data, true);
+    }
+
+    @Override
+    public DataBuffer createDouble(int[] data, boolean copy) {
+        return new DirectDoubleBuffer(ArrayUtil.toDoubles(data));
+    }
+
+    @Override
+    public DataBuffer createFloat(int[] data, boolean copy) {
+        return new DirectFloatBuffer(ArrayUtil.toFloats(data));
+    }
+
+    @Override
+    public DataBuffer createInt(int[] data, boolean copy) {
+        return new IntBuffer(data, copy);
+    }
+
+    @Override
+    public DataBuffer createDouble(double[] data, boolean copy) {
+        return new DirectDoubleBuffer(data);
+    }
+
+    @Override
+    public DataBuffer createFloat(double[] data, boolean copy) {
+        return new DirectFloatBuffer(data);
+    }
+
+    @Override
+    public DataBuffer createInt(double[] data, boolean copy) {
+        return new IntBuffer(ArrayUtil.toInts(data), copy);
+    }
+
+    @Override
+    public DataBuffer createDouble(float[] data, boolean copy) {
+        return new DirectDoubleBuffer(data);
+    }
+
+    @Override
+    public DataBuffer createFloat(float[] data, boolean copy) {
+        return new DirectFloatBuffer(data);
+    }
+
+    @Override
+    public DataBuffer createInt(float[] data, boolean copy) {
+        return new IntBuffer(ArrayUtil.toInts(data), copy);
+    }
+}
@@ -26,7 +26,9 @@ import org.nd4j.linalg.factory.NDArrayFactory;
 import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.linalg.indexing.Indices;
 import org.nd4j.linalg.indexing.NDArrayIndex;
+import org.nd4j.linalg.indexing.StridedIndexing;
 import org.nd4j.linalg.indexing.conditions.Condition;
+import org.nd4j.linalg.ops.BroadcastOps;
 import org.nd4j.linalg.ops.reduceops.Ops;
 import org.nd4j.linalg.ops.transforms.Transforms;
 import org.nd4j.linalg.util.ArrayUtil;
@@ -444,6 +446,15 @@ public abstract class BaseComplexNDArray extends BaseNDArray implements IComplex
 
     }
 
+    protected void copyImagTo(INDArray arr) {
+        INDArray linear = arr.linearView();
+        IComplexNDArray thisLinear = linearView();
+        for (int i = 0; i < linear.length(); i++) {
+            arr.putScalar(i, thisLinear.getImag(i));
+        }
+
+    }
+
     @Override
     public int blasOffset() {
         return offset > 0 ? offset() / 2 : offset();
@@ -464,14 +475,19 @@ public abstract class BaseComplexNDArray extends BaseNDArray implements IComplex
     public IComplexNDArray linearView() {
         if (isVector())
             return this;
-        if (linearView == null)
+        //a broadcast view is re read every time so it reflects the ndarray it views
+        if (linearView == null || BroadcastOps.isBroadcast(this))
             resetLinearView();
         return (IComplexNDArray) linearView;
     }
 
     @Override
     public void resetLinearView() {
-        linearView = Nd4j.createComplex(data, new int[]{1, length}, stride(), offset());
+        //the buffer of a broadcast view holds fewer elements than the view, so it is linearized through a copy
+        if (BroadcastOps.isBroadcast(this))
+            linearView = BroadcastOps.assign(this, Nd4j.createComplex(shape(), ordering)).linearView();
+        else
+            linearView = Nd4j.createComplex(data, new int[]{1, length}, stride(), offset());
     }
 
     @Override
@@ -846,6 +862,8 @@ public abstract class BaseComplexNDArray extends BaseNDArray implements IComplex
     @Override
     public IComplexNDArray dup() {
         IComplexNDArray ret = Nd4j.createComplex(shape());
+        if (BroadcastOps.isBroadcast(this))
+            return (IComplexNDArray) BroadcastOps.assign(this, ret);
         IComplexNDArray linear = linearView();
         IComplexNDArray retLinear = ret.linearView();
         for (int i = 0; i < ret.length(); i++) {
@@ -948,6 +966,9 @@ public abstract class BaseComplexNDArray extends BaseNDArray implements IComplex
             return this;
         }
 
+        if (BroadcastOps.canApplyVector(this, rowVector, 1))
+            return (IComplexNDArray) BroadcastOps.applyVector(this, rowVector, 1, operation);
+
         assertRowVector(rowVector);
         for (int i = 0; i < rows(); i++) {
             switch (operation) {
@@ -1030,6 +1051,9 @@ public abstract class BaseComplexNDArray extends BaseNDArray implements IComplex
             return this;
         }
 
+        if (BroadcastOps.canApplyVector(this, columnVector, 0))
+            return (IComplexNDArray) BroadcastOps.applyVector(this, columnVector, 0, operation);
+
         assertColumnVector(columnVector);
         for (int i = 0; i < columns(); i++) {
             IComplexNDArray slice = slice(i, 0);
@@ -1121,6 +1145,12 @@ public abstract class BaseComplexNDArray extends BaseNDArray implements IComplex
 
     @Override
     public IComplexNDArray put(NDArrayIndex[] indices, INDArray element) {
+        if (StridedIndexing.canIndex(this) && indices.length == shape().length
+                && (StridedIndexing.isStrided(indices) || !Indices.isContiguous(indices))) {
+            StridedIndexing.scatter(this, indices, element);
+            return this;
+        }
+
         if (Indices.isContiguous(indices)) {
             IComplexNDArray get = get(indices);
             IComplexNDArray linear = get.linearView();
@@ -1386,6 +1416,8 @@ public abstract class BaseComplexNDArray extends BaseNDArray implements IComplex
 
     @Override
     public int linearIndex(int i) {
+        if (BroadcastOps.isBroadcast(this))
+            return offset + Shape.linearOffset(shape, stride, ordering, i);
         int realStride = majorStride();
         int idx = offset + (i * realStride);
         if (idx >= data.length())
@@ -1444,7 +1476,7 @@ public abstract class BaseComplexNDArray extends BaseNDArray implements IComplex
     @Override
     public INDArray imag() {
         INDArray ret = Nd4j.create(shape);
-        Nd4j.getBlasWrapper().dcopy(length, data.asFloat(), 1, 2, ret.data().asFloat(), 0, 1);
+        copyImagTo(ret);
         return ret;
     }
 
@@ -2058,6 +2090,7 @@ public abstract class BaseComplexNDArray extends BaseNDArray implements IComplex
      */
     @Override
     public IComplexNDArray assign(IComplexNDArray arr) {
+        BroadcastOps.assertWritable(this);
         if (!arr.isScalar())
             LinAlgExceptions.assertSameShape(this, arr);
 
@@ -2074,6 +2107,7 @@ public abstract class BaseComplexNDArray extends BaseNDArray implements IComplex
 
     @Override
     public void assign(IComplexNumber aDouble) {
+        BroadcastOps.assertWritable(this);
         IComplexNDArray linear = linearView();
         for (int i = 0; i < linear.length(); i++) {
             linear.putScalar(i, aDouble);
@@ -2088,11 +2122,13 @@ public abstract class BaseComplexNDArray extends BaseNDArray implements IComplex
      */
     @Override
     public IComplexNDArray getRows(int[] rindices) {
-        INDArray rows = Nd4j.create(rindices.length, columns());
+        IComplexNDArray rows = Nd4j.createComplex(rindices.length, columns());
+        if (StridedIndexing.canCopyVectors(this))
+            return (IComplexNDArray) StridedIndexing.gather(this, 0, rindices, rows);
         for (int i = 0; i < rindices.length; i++) {
             rows.putRow(i, getRow(rindices[i]));
         }
-        return (IComplexNDArray) rows;
+        return rows;
     }
 
 
@@ -2103,6 +2139,12 @@ public abstract class BaseComplexNDArray extends BaseNDArray implements IComplex
 
     @Override
     public IComplexNDArray put(NDArrayIndex[] indices, IComplexNDArray element) {
+        if (StridedIndexing.canIndex(this) && indices.length == shape().length
+                && (StridedIndexing.isStrided(indices) || !Indices.isContiguous(indices))) {
+            StridedIndexing.scatter(this, indices, element);
+            return this;
+        }
+
         if (Indices.isContiguous(indices)) {
             IComplexNDArray get = get(indices);
             IComplexNDArray linear = get.linearView();
@@ -2159,6 +2201,7 @@ public abstract class BaseComplexNDArray extends BaseNDArray implements IComplex
 
     @Override
     public IComplexNDArray putScalar(int i, IComplexNumber value) {
+        BroadcastOps.assertWritable(this);
         int idx = linearIndex(i);
         data.put(idx, value.realComponent().doubleValue());
         data.put(idx + 1, value.imaginaryComponent().doubleValue());
@@ -2414,6 +2457,7 @@ public abstract class BaseComplexNDArray extends BaseNDArray implements IComplex
 
     @Override
     public INDArray putScalar(int[] indexes, IComplexNumber complexNumber) {
+        BroadcastOps.assertWritable(this);
         int ix = offset;
         for (int i = 0; i < shape.length; i++) {
             ix += indexes[i] * stride[i];
@@ -2516,6 +2560,13 @@ public abstract class BaseComplexNDArray extends BaseNDArray implements IComplex
         //also prune indices greater than the shape to be the shape instead
 
         indexes = Indices.adjustIndices(shape(), indexes);
+        if (StridedIndexing.canIndex(this) && indexes.length == shape().length) {
+            if (StridedIndexing.isStrided(indexes))
+                return (IComplexNDArray) StridedIndexing.view(this, indexes);
+            //no stride will help here, copy the elements out directly
+            if (!Indices.isContiguous(indexes))
+                return (IComplexNDArray) StridedIndexing.gather(this, indexes);
+        }
 
 
         int[] offsets = Indices.offsets(indexes);
@@ -2582,6 +2633,8 @@ public abstract class BaseComplexNDArray extends BaseNDArray implements IComplex
     @Override
     public IComplexNDArray getColumns(int[] cindices) {
         IComplexNDArray rows = Nd4j.createComplex(rows(), cindices.length);
+        if (StridedIndexing.canCopyVectors(this))
+            return (IComplexNDArray) StridedIndexing.gather(this, 1, cindices, rows);
         for (int i = 0; i < cindices.length; i++) {
             rows.putColumn(i, getColumn(cindices[i]));
         }
@@ -2925,6 +2978,16 @@ public abstract class BaseComplexNDArray extends BaseNDArray implements IComplex
         return dup().mmuli(other, result);
     }
 
+    @Override
+    public INDArray batchMmul(INDArray other) {
+        throw new UnsupportedOperationException("Batched matrix multiplication is not supported for complex ndarrays");
+    }
+
+    @Override
+    public INDArray batchMmul(INDArray other, INDArray result) {
+        throw new UnsupportedOperationException("Batched matrix multiplication is not supported for complex ndarrays");
+    }
+
     /**
      * in place (element wise) division of two matrices
      *
@@ -3129,6 +3192,8 @@ public abstract class BaseComplexNDArray extends BaseNDArray implements IComplex
      */
     @Override
     public IComplexNDArray divi(INDArray other, INDArray result) {
+        if (BroadcastOps.isBroadcast(this) || BroadcastOps.isBroadcast(other))
+            return (IComplexNDArray) BroadcastOps.exec(this, other, result, 'd');
         IComplexNDArray cOther = (IComplexNDArray) other;
         IComplexNDArray cResult = (IComplexNDArray) result;
 
@@ -3168,6 +3233,8 @@ public abstract class BaseComplexNDArray extends BaseNDArray implements IComplex
      */
     @Override
     public IComplexNDArray muli(INDArray other, INDArray result) {
+        if (BroadcastOps.isBroadcast(this) || BroadcastOps.isBroadcast(other))
+            return (IComplexNDArray) BroadcastOps.exec(this, other, result, 'm');
         IComplexNDArray cOther = (IComplexNDArray) other;
         IComplexNDArray cResult = (IComplexNDArray) result;
 
@@ -3207,6 +3274,8 @@ public abstract class BaseComplexNDArray extends BaseNDArray implements IComplex
      */
     @Override
     public IComplexNDArray subi(INDArray other, INDArray result) {
+        if (BroadcastOps.isBroadcast(this) || BroadcastOps.isBroadcast(other))
+            return (IComplexNDArray) BroadcastOps.exec(this, other, result, 's');
         IComplexNDArray cOther = (IComplexNDArray) other;
         IComplexNDArray cResult = (IComplexNDArray) result;
 
@@ -3252,6 +3321,8 @@ public abstract class BaseComplexNDArray extends BaseNDArray implements IComplex
      */
     @Override
     public IComplexNDArray addi(INDArray other, INDArray result) {
+        if (BroadcastOps.isBroadcast(this) || BroadcastOps.isBroadcast(other))
+            return (IComplexNDArray) BroadcastOps.exec(this, other, result, 'a');
         IComplexNDArray cOther = (IComplexNDArray) other;
         IComplexNDArray cResult = (IComplexNDArray) result;
 
@@ -3666,6 +3737,7 @@ public abstract class BaseComplexNDArray extends BaseNDArray implements IComplex
      */
     @Override
     public IComplexNDArray assign(Number value) {
+        BroadcastOps.assertWritable(this);
         IComplexNDArray one = linearView();
         for (int i = 0; i < one.length(); i++)
             one.putScalar(i, Nd4j.createDouble(value.doubleValue(), 0));
@@ -3829,7 +3901,7 @@ public abstract class BaseComplexNDArray extends BaseNDArray implements IComplex
                         data,
                         new int[]{shape[0]},
                         new int[]{stride[0]},
-                        offset + (c * 2), ordering
+                        offset + c * stride[1], ordering
                 );
 
                 return ret;
@@ -3838,7 +3910,7 @@ public abstract class BaseComplexNDArray extends BaseNDArray implements IComplex
                         data,
                         new int[]{shape[0]},
                         new int[]{stride[0]},
-                        offset + (c * 2), ordering
+                        offset + c * stride[1], ordering
                 );
 
                 return ret;
@@ -3866,7 +3938,7 @@ public abstract class BaseComplexNDArray extends BaseNDArray implements IComplex
                         data,
                         new int[]{shape[1]},
                         new int[]{stride[1]},
-                        offset + (r * 2) * columns(),
+                        offset + r * stride[0],
                         ordering
                 );
                 return ret;
@@ -3875,7 +3947,7 @@ public abstract class BaseComplexNDArray extends BaseNDArray implements IComplex
                         data,
                         new int[]{shape[1]},
                         new int[]{stride[1]},
-                        offset + (r * 2),
+                        offset + r * stride[0],
                         ordering
                 );
                 return ret;
@@ -3966,58 +4038,14 @@ public abstract class BaseComplexNDArray extends BaseNDArray implements IComplex
     public IComplexNDArray broadcast(int[] shape) {
         if (Shape.shapeEquals(shape, shape()))
             return this;
-        boolean compatible = true;
-        int count = shape.length - 1;
-        int thisCount = this.shape.length - 1;
-        for (int i = shape.length - 1; i > 0; i--) {
-            if (count < 0 || thisCount < 0)
-                break;
-            if (shape[count] != shape()[thisCount] && shape[count] != 1 && shape()[thisCount] != 1) {
-                compatible = false;
-                break;
-            }
-
-            count--;
-            thisCount--;
-        }
-
-        if (!compatible)
-            throw new IllegalArgumentException("Incompatible broadcast from " + Arrays.toString(shape()) + " to " + Arrays.toString(shape));
-        //broadcast to shape
-        if (isScalar()) {
-            IComplexNDArray ret = Nd4j.createComplex(Nd4j.valueArrayOf(shape, getDouble(0)));
-            return ret;
-        } else if (isColumnVector() && Shape.isMatrix(shape)) {
-            IComplexNDArray ret = Nd4j.createComplex(shape);
-            for (int i = 0; i < ret.columns(); i++)
-                ret.putColumn(i, this.dup());
-
-
-            return ret;
+        int[] retShape = Shape.broadcastShape(shape(), shape);
+        int[] retStride = Shape.broadcastStrides(shape(), stride(), retShape);
+        //row vectors are stored with a single dimension
+        if (retShape.length == 2 && retShape[0] == 1) {
+            retShape = new int[]{retShape[1]};
+            retStride = new int[]{retStride[1]};
         }
-
-
-        int[] retShape = new int[shape.length];
-
-        for (int i = 0; i < retShape.length; i++) {
-            if (i < shape().length)
-                retShape[i] = Math.max(shape[i], shape()[i]);
-            else
-                retShape[i] = shape[i];
-        }
-
-        IComplexNDArray ret = Nd4j.createComplex(retShape);
-        IComplexNDArray linear = ret.linearView();
-        IComplexNDArray thisLinear = linearView();
-        int bufferIdx = 0;
-        for (int i = 0; i < ret.length(); i++) {
-            linear.putScalar(i, thisLinear.getComplex(bufferIdx));
-            bufferIdx++;
-            if (bufferIdx >= length())
-                bufferIdx = 0;
-        }
-
-        return ret;
+        return Nd4j.createComplex(data, retShape, retStride, offset, ordering);
     }
 
 
@@ -53,7 +53,7 @@ public abstract class BaseNDArrayIO implements NDArrayIO {
     public void writeComplex(IComplexNDArray out, File to) throws IOException {
         FileOutputStream fos = new FileOutputStream(to);
         BufferedOutputStream bos = new BufferedOutputStream(fos);
-        write(out, bos);
+        writeComplex(out, bos);
         bos.flush();
         bos.close();
     }
@@ -72,6 +72,17 @@ public abstract class BaseNDArrayIO implements NDArrayIO {
         return ret;
     }
 
+    /**
+     * Open an ndarray saved in a file as a read only mapping
+     *
+     * @param file the file to open
+     * @return the ndarray backed by the file
+     */
+    @Override
+    public INDArray open(File file) throws IOException {
+        return BinaryFormat.map(file);
+    }
+
     /**
      * Read in a complex ndarray from a file
      *
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2015 Skymind,Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package org.nd4j.linalg.api.io;
+
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.NDArrayFactory;
+import org.nd4j.linalg.factory.Nd4j;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads an ndarray saved in the binary format (see {@link BinaryFormat})
+ * a block of slices at a time. Slices are consecutive in the stored
+ * elements only for c ordered ndarrays (and vectors), so those are
+ * the only ones that can be read in blocks.
+ *
+ * @author Adam Gibson
+ */
+public class BinaryBlockReader implements BlockReader {
+
+    private final ReadableByteChannel channel;
+    private final BinaryFormat.Header header;
+    private final Codec.Decoder decoder;
+    private final int blockSize;
+    private final int[] sliceShape;
+    //numbers stored per slice
+    private final int sliceLength;
+    private long remaining;
+
+    /**
+     * Read a file in blocks
+     *
+     * @param file      the file to read
+     * @param blockSize the maximum number of slices per block
+     * @throws IOException if the file does not hold a saved ndarray
+     */
+    public BinaryBlockReader(File file, int blockSize) throws IOException {
+        this(new FileInputStream(file).getChannel(), blockSize, true);
+    }
+
+    /**
+     * Read a stream in blocks
+     *
+     * @param is        the stream to read
+     * @param blockSize the maximum number of slices per block
+     * @throws IOException if the stream does not hold a saved ndarray
+     */
+    public BinaryBlockReader(InputStream is, int blockSize) throws IOException {
+        this(Channels.newChannel(is), blockSize);
+    }
+
+    /**
+     * Read a channel in blocks
+     *
+     * @param channel   the channel to read
+     * @param blockSize the maximum number of slices per block
+     * @throws IOException if the channel does not hold a saved ndarray
+     */
+    public BinaryBlockReader(ReadableByteChannel channel, int blockSize) throws IOException {
+        this(channel, blockSize, false);
+    }
+
+    /**
+     * @param opened whether the reader opened the channel itself,
+     *               in which case it is closed again if the reader can not be created
+     */
+    private BinaryBlockReader(ReadableByteChannel channel, int blockSize, boolean opened) throws IOException {
+        this.channel = channel;
+        this.blockSize = blockSize;
+        try {
+            if (blockSize < 1)
+                throw new IllegalArgumentException("Block size must be at least 1");
+            this.header = BinaryFormat.readHeader(channel);
+            this.decoder = BinaryFormat.decoder(header, channel);
+            int[] shape = header.shape();
+            if (shape.length > 1 && header.ordering() != NDArrayFactory.C)
+                throw new IOException("Only c ordered ndarrays can be read in blocks");
+
+            sliceShape = shape.length == 0 ? shape : Arrays.copyOfRange(shape, 1, shape.length);
+            remaining = shape.length == 0 ? 1 : shape[0];
+            int length = header.elementSize();
+            for (int size : sliceShape)
+                length *= size;
+            sliceLength = length;
+            if ((long) sliceLength * blockSize > Integer.MAX_VALUE)
+                throw new IllegalArgumentException("Blocks of " + blockSize + " slices do not fit in a single buffer");
+        } catch (IOException | RuntimeException e) {
+            if (opened)
+                channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * The header of the stored ndarray
+     *
+     * @return the header
+     */
+    public BinaryFormat.Header header() {
+        return header;
+    }
+
+    @Override
+    public int[] sliceShape() {
+        return sliceShape;
+    }
+
+    @Override
+    public int blockSize() {
+        return blockSize;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return remaining > 0;
+    }
+
+    @Override
+    public INDArray next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        int n = (int) Math.min(blockSize, remaining);
+        int[] shape = new int[sliceShape.length + 1];
+        shape[0] = n;
+        System.arraycopy(sliceShape, 0, shape, 1, sliceShape.length);
+
+        DataBuffer data = Nd4j.createBuffer(new int[]{n * sliceLength}, header.dataType());
+        try {
+            BinaryFormat.readElements(decoder, data, 0, n * sliceLength);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        remaining -= n;
+        return BinaryFormat.create(new BinaryFormat.Header(header.dataType(), header.isComplex(), NDArrayFactory.C, shape), data, 0);
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2015 Skymind,Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package org.nd4j.linalg.api.io;
+
+import org.nd4j.linalg.api.complex.IComplexNDArray;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.NDArrayFactory;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.util.ArrayUtil;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * Writes a c ordered ndarray in the binary format (see {@link BinaryFormat})
+ * a block of slices at a time. The number of slices in the header is
+ * brought up to date on every {@link #flush()}, so a file that is
+ * flushed is always a complete ndarray. Opening an existing file appends
+ * to the ndarray it holds, which must be stored raw.
+ *
+ * The first block written to a new file fixes the shape of the slices:
+ * its first dimension counts slices, so a vector starts a vector
+ * (rather than a matrix with the vector as its first row).
+ *
+ * @author Adam Gibson
+ */
+public class BinaryBlockWriter implements BlockWriter {
+
+    //byte offset of the first dimension in the header
+    private final static int FIRST_DIMENSION = 16;
+
+    private final RandomAccessFile raf;
+    private final FileChannel channel;
+    private final int dataType;
+    private final Codec codec;
+    private BinaryFormat.Header header;
+    private BinaryFormat.ElementWriter writer;
+    private int[] sliceShape;
+    private long stored;
+    private long appended;
+
+    /**
+     * Write to a file with the data type of the factory
+     *
+     * @param file the file to write or append to
+     * @throws IOException if the file can not be opened
+     */
+    public BinaryBlockWriter(File file) throws IOException {
+        this(file, Nd4j.dataType());
+    }
+
+    /**
+     * Write to a file
+     *
+     * @param file     the file to write or append to
+     * @param dataType the data type to store new files with.
+     *                 Existing files keep their own
+     * @throws IOException if the file can not be opened or does not hold
+     *                     a c ordered ndarray
+     */
+    public BinaryBlockWriter(File file, int dataType) throws IOException {
+        this(file, dataType, new RawCodec());
+    }
+
+    /**
+     * Write to a file with a codec
+     *
+     * @param file     the file to write or append to
+     * @param dataType the data type to store new files with.
+     *                 Existing files keep their own
+     * @param codec    the codec to store new files with.
+     *                 Existing files are stored raw.
+     *                 Vectors can not be stored with the int8 codec,
+     *                 whose groups would be cut short by every flush
+     * @throws IOException if the file can not be opened or does not hold
+     *                     a raw c ordered ndarray
+     */
+    public BinaryBlockWriter(File file, int dataType, Codec codec) throws IOException {
+        this.raf = new RandomAccessFile(file, "rw");
+        this.channel = raf.getChannel();
+        try {
+            if (channel.size() > 0) {
+                header = BinaryFormat.readHeader(channel);
+                int[] shape = header.shape();
+                if (header.codec() != BinaryFormat.RAW)
+                    throw new IOException("Unable to append to codec " + header.codec());
+                if (shape.length < 1 || shape.length > 1 && header.ordering() != NDArrayFactory.C)
+                    throw new IOException("Only c ordered ndarrays can be appended to");
+                //drop anything past the last complete slice
+                long end = header.size() + header.payloadSize();
+                channel.truncate(end);
+                channel.position(end);
+                sliceShape = Arrays.copyOfRange(shape, 1, shape.length);
+                stored = shape[0];
+                this.dataType = header.dataType();
+                this.codec = new RawCodec();
+                writer = elementWriter();
+            } else {
+                this.dataType = dataType;
+                this.codec = codec;
+            }
+        } catch (IOException | RuntimeException e) {
+            raf.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void append(INDArray block) throws IOException {
+        int[] shape = block.shape();
+        if (header == null) {
+            if (shape.length < 1)
+                throw new IllegalArgumentException("Unable to append a scalar");
+            if (shape.length == 1 && codec.id() == Codec.INT8)
+                throw new IllegalArgumentException("Unable to append a vector with the int8 codec");
+            int[] first = ArrayUtil.copy(shape);
+            first[0] = 0;
+            header = new BinaryFormat.Header(dataType, block instanceof IComplexNDArray, NDArrayFactory.C, first, codec.id());
+            ByteBuffer encoded = header.encode();
+            while (encoded.hasRemaining())
+                channel.write(encoded);
+            sliceShape = Arrays.copyOfRange(shape, 1, shape.length);
+            writer = elementWriter();
+        }
+        if (header.isComplex() != block instanceof IComplexNDArray)
+            throw new IllegalArgumentException("Unable to append " + (header.isComplex() ? "real" : "complex") + " slices to a " + (header.isComplex() ? "complex" : "real") + " ndarray");
+
+        int slices;
+        if (Arrays.equals(shape, sliceShape))
+            slices = 1;
+        else if (shape.length == sliceShape.length + 1 && Arrays.equals(Arrays.copyOfRange(shape, 1, shape.length), sliceShape))
+            slices = shape[0];
+        else
+            throw new IllegalArgumentException("Block of shape " + Arrays.toString(shape) + " does not hold slices of shape " + Arrays.toString(sliceShape));
+        if (stored + appended + slices > Integer.MAX_VALUE)
+            throw new IllegalStateException("Unable to store more than " + Integer.MAX_VALUE + " slices");
+
+        BinaryFormat.writeElements(block, NDArrayFactory.C, writer);
+        appended += slices;
+    }
+
+    //the header only sizes the buffers of the writer, which should be full size for a stream of blocks
+    private BinaryFormat.ElementWriter elementWriter() {
+        int[] shape = ArrayUtil.copy(header.shape());
+        shape[0] = Integer.MAX_VALUE;
+        return new BinaryFormat.ElementWriter(channel, new BinaryFormat.Header(dataType, header.isComplex(), header.ordering(), shape, header.codec()), codec);
+    }
+
+    @Override
+    public long slices() {
+        return appended;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (header == null)
+            return;
+        writer.flush();
+        ByteBuffer first = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+        first.putInt(0, (int) (stored + appended));
+        while (first.hasRemaining())
+            channel.write(first, FIRST_DIMENSION + first.position());
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            raf.close();
+        }
+    }
+}
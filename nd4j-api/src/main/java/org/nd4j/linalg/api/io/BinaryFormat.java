@@ -0,0 +1,655 @@
+/*
+ * Copyright 2015 Skymind,Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package org.nd4j.linalg.api.io;
+
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.buffer.MappedDoubleBuffer;
+import org.nd4j.linalg.api.buffer.MappedFloatBuffer;
+import org.nd4j.linalg.api.complex.IComplexNDArray;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.NDArrayFactory;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.util.ArrayUtil;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+
+/**
+ * Versioned binary format for ndarrays.
+ *
+ * A file is a fixed header followed by the elements of the ndarray:
+ * <pre>
+ * offset  size  field
+ * 0       4     magic "ND4J"
+ * 4       2     version
+ * 6       1     data type, 'f' (float) or 'd' (double)
+ * 7       1     'r' (real) or 'c' (complex, stored as real, imaginary pairs)
+ * 8       1     ordering of the elements, 'c' or 'f'
+ * 9       1     codec of the elements (see {@link Codec}), 0 for raw elements
+ * 10      2     reserved
+ * 12      4     rank
+ * 16      4 * rank  shape, padded with zeros to a multiple of 8 bytes
+ * </pre>
+ * All numbers other than the magic are little endian, so are raw elements.
+ * Each write may pick its own codec, readers take it from the header.
+ *
+ * Only the elements of the given ndarray are written (never the rest
+ * of the buffer behind a view), in its own ordering, with their data type.
+ * Elements move between the data buffer and the channel in bulk through
+ * a fixed size byte buffer, so reads and writes stay cheap no matter how
+ * large the ndarray is and need no memory proportional to it beyond the result.
+ *
+ * @author Adam Gibson
+ */
+public class BinaryFormat {
+
+    /**
+     * "ND4J" as a big endian int, what DataInput.readInt sees
+     */
+    public final static int MAGIC = 0x4E44344A;
+    public final static int VERSION = 1;
+    public final static int RAW = Codec.RAW;
+    //numbers transferred per chunk
+    private final static int CHUNK = 1 << 17;
+
+    private BinaryFormat() {
+    }
+
+    /**
+     * The fixed header of a saved ndarray
+     */
+    public static class Header {
+        private int version = VERSION;
+        private int dataType;
+        private boolean complex;
+        private char ordering;
+        private int codec = RAW;
+        private int[] shape;
+
+        public Header(int dataType, boolean complex, char ordering, int[] shape) {
+            this(dataType, complex, ordering, shape, RAW);
+        }
+
+        public Header(int dataType, boolean complex, char ordering, int[] shape, int codec) {
+            if (dataType != DataBuffer.FLOAT && dataType != DataBuffer.DOUBLE)
+                throw new IllegalArgumentException("Only float and double ndarrays can be saved");
+            if (ordering != NDArrayFactory.C && ordering != NDArrayFactory.FORTRAN)
+                throw new IllegalArgumentException("Illegal ordering " + ordering);
+            this.dataType = dataType;
+            this.complex = complex;
+            this.ordering = ordering;
+            this.shape = shape;
+            this.codec = codec;
+        }
+
+        /**
+         * The header describing the given ndarray
+         *
+         * @param arr the ndarray to describe
+         * @return the header for the ndarray
+         */
+        public static Header of(INDArray arr) {
+            return of(arr, RAW);
+        }
+
+        /**
+         * The header describing the given ndarray stored with a codec
+         *
+         * @param arr   the ndarray to describe
+         * @param codec the id of the codec
+         * @return the header for the ndarray
+         */
+        public static Header of(INDArray arr, int codec) {
+            return new Header(arr.data().dataType(), arr instanceof IComplexNDArray, arr.ordering(), ArrayUtil.copy(arr.shape()), codec);
+        }
+
+        public int version() {
+            return version;
+        }
+
+        public int dataType() {
+            return dataType;
+        }
+
+        public boolean isComplex() {
+            return complex;
+        }
+
+        public char ordering() {
+            return ordering;
+        }
+
+        public int codec() {
+            return codec;
+        }
+
+        public int[] shape() {
+            return shape;
+        }
+
+        /**
+         * The number of elements (real, imaginary pairs counting once)
+         *
+         * @return the number of elements
+         */
+        public long length() {
+            long ret = 1;
+            for (int size : shape)
+                ret *= size;
+            return ret;
+        }
+
+        /**
+         * The number of numbers stored for every element
+         *
+         * @return 2 for complex, otherwise 1
+         */
+        public int elementSize() {
+            return complex ? 2 : 1;
+        }
+
+        /**
+         * The number of bytes of each stored number
+         *
+         * @return 4 for float, 8 for double
+         */
+        public int width() {
+            return dataType == DataBuffer.DOUBLE ? 8 : 4;
+        }
+
+        /**
+         * The number of bytes of the header
+         *
+         * @return the size of the header in bytes
+         */
+        public int size() {
+            int ret = 16 + 4 * shape.length;
+            return (ret + 7) & ~7;
+        }
+
+        /**
+         * The number of bytes of raw elements, which
+         * is the size of the payload only for the raw codec
+         *
+         * @return the size of the payload in bytes
+         */
+        public long payloadSize() {
+            return length() * elementSize() * width();
+        }
+
+        ByteBuffer encode() {
+            ByteBuffer ret = ByteBuffer.allocate(size());
+            ret.order(ByteOrder.BIG_ENDIAN).putInt(MAGIC);
+            ret.order(ByteOrder.LITTLE_ENDIAN);
+            ret.putShort((short) version);
+            ret.put((byte) (dataType == DataBuffer.DOUBLE ? 'd' : 'f'));
+            ret.put((byte) (complex ? 'c' : 'r'));
+            ret.put((byte) ordering);
+            ret.put((byte) codec);
+            ret.putShort((short) 0);
+            ret.putInt(shape.length);
+            for (int size : shape)
+                ret.putInt(size);
+            ret.clear();
+            return ret;
+        }
+
+        private static Header decode(ReadableByteChannel channel) throws IOException {
+            ByteBuffer fixed = ByteBuffer.allocate(12).order(ByteOrder.LITTLE_ENDIAN);
+            Codec.readFully(channel, fixed);
+            int version = fixed.getShort() & 0xffff;
+            if (version < 1 || version > VERSION)
+                throw new IOException("Unsupported ndarray format version " + version);
+            byte dataType = fixed.get();
+            if (dataType != 'd' && dataType != 'f')
+                throw new IOException("Illegal data type " + (char) dataType);
+            byte kind = fixed.get();
+            if (kind != 'r' && kind != 'c')
+                throw new IOException("Illegal element kind " + (char) kind);
+            char ordering = (char) fixed.get();
+            int codec = fixed.get();
+            fixed.getShort();
+            int rank = fixed.getInt();
+            if (rank < 0)
+                throw new IOException("Illegal rank " + rank);
+
+            Header ret = new Header(dataType == 'd' ? DataBuffer.DOUBLE : DataBuffer.FLOAT, kind == 'c', ordering, new int[rank]);
+            ret.version = version;
+            ret.codec = codec;
+            ByteBuffer shape = ByteBuffer.allocate(ret.size() - 16).order(ByteOrder.LITTLE_ENDIAN);
+            Codec.readFully(channel, shape);
+            for (int i = 0; i < rank; i++)
+                ret.shape[i] = shape.getInt();
+            return ret;
+        }
+
+        @Override
+        public String toString() {
+            return "Header{" +
+                    "version=" + version +
+                    ", dataType=" + (dataType == DataBuffer.DOUBLE ? "double" : "float") +
+                    ", complex=" + complex +
+                    ", ordering=" + ordering +
+                    ", codec=" + codec +
+                    ", shape=" + Arrays.toString(shape) +
+                    '}';
+        }
+    }
+
+    /**
+     * Write an ndarray to a channel
+     *
+     * @param arr     the ndarray to write
+     * @param channel the channel to write to
+     * @throws IOException
+     */
+    public static void write(INDArray arr, WritableByteChannel channel) throws IOException {
+        write(arr, channel, new RawCodec());
+    }
+
+    /**
+     * Write an ndarray to a channel with the given codec
+     *
+     * @param arr     the ndarray to write
+     * @param channel the channel to write to
+     * @param codec   the codec to encode the elements with
+     * @throws IOException
+     */
+    public static void write(INDArray arr, WritableByteChannel channel, Codec codec) throws IOException {
+        Header header = Header.of(arr, codec.id());
+        Codec.writeFully(channel, header.encode());
+        ElementWriter writer = new ElementWriter(channel, header, codec);
+        writeElements(arr, arr.ordering(), writer);
+        writer.flush();
+    }
+
+    /**
+     * Write an ndarray to a stream
+     *
+     * @param arr the ndarray to write
+     * @param os  the stream to write to
+     * @throws IOException
+     */
+    public static void write(INDArray arr, OutputStream os) throws IOException {
+        write(arr, os, new RawCodec());
+    }
+
+    /**
+     * Write an ndarray to a stream with the given codec
+     *
+     * @param arr   the ndarray to write
+     * @param os    the stream to write to
+     * @param codec the codec to encode the elements with
+     * @throws IOException
+     */
+    public static void write(INDArray arr, OutputStream os, Codec codec) throws IOException {
+        write(arr, Channels.newChannel(os), codec);
+        os.flush();
+    }
+
+    /**
+     * Write an ndarray to a file
+     *
+     * @param arr  the ndarray to write
+     * @param file the file to write to
+     * @throws IOException
+     */
+    public static void write(INDArray arr, File file) throws IOException {
+        write(arr, file, new RawCodec());
+    }
+
+    /**
+     * Write an ndarray to a file with the given codec
+     *
+     * @param arr   the ndarray to write
+     * @param file  the file to write to
+     * @param codec the codec to encode the elements with
+     * @throws IOException
+     */
+    public static void write(INDArray arr, File file, Codec codec) throws IOException {
+        FileOutputStream fos = new FileOutputStream(file);
+        try {
+            FileChannel channel = fos.getChannel();
+            write(arr, channel, codec);
+        } finally {
+            fos.close();
+        }
+    }
+
+    /**
+     * Read the header of a saved ndarray
+     *
+     * @param channel the channel to read from
+     * @return the header
+     * @throws IOException if the channel does not start with a saved ndarray
+     */
+    public static Header readHeader(ReadableByteChannel channel) throws IOException {
+        ByteBuffer magic = ByteBuffer.allocate(4).order(ByteOrder.BIG_ENDIAN);
+        Codec.readFully(channel, magic);
+        if (magic.getInt() != MAGIC)
+            throw new IOException("Not a saved ndarray");
+        return Header.decode(channel);
+    }
+
+    /**
+     * Read the rest of the header of a saved ndarray
+     * when the magic number has already been consumed
+     *
+     * @param channel the channel to read from
+     * @return the header
+     * @throws IOException
+     */
+    public static Header readHeaderAfterMagic(ReadableByteChannel channel) throws IOException {
+        return Header.decode(channel);
+    }
+
+    /**
+     * Read an ndarray, complex if it was saved as complex
+     *
+     * @param channel the channel to read from
+     * @return the ndarray
+     * @throws IOException
+     */
+    public static INDArray read(ReadableByteChannel channel) throws IOException {
+        return read(readHeader(channel), channel);
+    }
+
+    /**
+     * Read an ndarray from a stream
+     *
+     * @param is the stream to read from
+     * @return the ndarray
+     * @throws IOException
+     */
+    public static INDArray read(InputStream is) throws IOException {
+        return read(Channels.newChannel(is));
+    }
+
+    /**
+     * Read an ndarray from a file
+     *
+     * @param file the file to read from
+     * @return the ndarray
+     * @throws IOException
+     */
+    public static INDArray read(File file) throws IOException {
+        FileInputStream fis = new FileInputStream(file);
+        try {
+            return read(fis.getChannel());
+        } finally {
+            fis.close();
+        }
+    }
+
+    /**
+     * Map a saved ndarray in to memory read only.
+     * The data buffer of the result is the mapping of the elements in the
+     * file: nothing is copied on to the heap and every process mapping
+     * the same file shares the pages of the operating system's file cache.
+     * Destroying the data buffer unmaps the file.
+     *
+     * @param file the file to map
+     * @return an ndarray over the mapped elements
+     * @throws IOException if the file can not be mapped
+     */
+    public static INDArray map(File file) throws IOException {
+        Header header;
+        FileInputStream fis = new FileInputStream(file);
+        try {
+            header = readHeader(fis.getChannel());
+        } finally {
+            fis.close();
+        }
+        if (header.codec() != RAW)
+            throw new IOException("Only raw elements can be mapped, codec is " + header.codec());
+        long length = header.length() * header.elementSize();
+        if (length > Integer.MAX_VALUE)
+            throw new IOException("Unable to map " + length + " elements in to a single ndarray");
+
+        DataBuffer data;
+        if (header.dataType() == DataBuffer.DOUBLE)
+            data = new MappedDoubleBuffer(file, header.size(), length, true, ByteOrder.LITTLE_ENDIAN);
+        else
+            data = new MappedFloatBuffer(file, header.size(), length, true, ByteOrder.LITTLE_ENDIAN);
+        return create(header, data, 0);
+    }
+
+    /**
+     * Read the elements following the given header in to a new ndarray,
+     * held in the data type of the header whatever the data type of the session
+     *
+     * @param header  the header already read from the channel
+     * @param channel the channel positioned at the elements
+     * @return the ndarray
+     * @throws IOException
+     */
+    public static INDArray read(Header header, ReadableByteChannel channel) throws IOException {
+        Codec.Decoder decoder = decoder(header, channel);
+        long length = header.length() * header.elementSize();
+        if (length > Integer.MAX_VALUE)
+            throw new IOException("Unable to read " + length + " elements in to a single buffer");
+        DataBuffer data = Nd4j.createBuffer(new int[]{(int) length}, header.dataType());
+        readElements(decoder, data, 0, (int) length);
+        return create(header, data, 0);
+    }
+
+    /**
+     * Create an ndarray with the given header over the given data
+     *
+     * @param header the header of the ndarray
+     * @param data   the elements in the ordering of the header
+     * @param offset the offset of the first element in the data
+     * @return the ndarray
+     */
+    public static INDArray create(Header header, DataBuffer data, int offset) {
+        int[] shape = header.shape();
+        if (header.isComplex())
+            return Nd4j.createComplex(data, shape, Nd4j.getComplexStrides(shape, header.ordering()), offset, header.ordering());
+        return Nd4j.create(data, shape, Nd4j.getStrides(shape, header.ordering()), offset, header.ordering());
+    }
+
+    /**
+     * A decoder for the elements following the given header
+     *
+     * @param header  the header already read from the channel
+     * @param channel the channel positioned at the elements
+     * @return the decoder for the codec of the header
+     * @throws IOException if the codec is unknown
+     */
+    public static Codec.Decoder decoder(Header header, ReadableByteChannel channel) throws IOException {
+        try {
+            return Codec.forId(header.codec()).decoder(header, channel);
+        } catch (IllegalArgumentException e) {
+            throw new IOException(e.getMessage());
+        }
+    }
+
+    /**
+     * Decode length numbers in to a data buffer
+     *
+     * @param decoder the decoder to read from
+     * @param data    the buffer to read in to
+     * @param offset  where to start writing in the buffer
+     * @param length  the number of numbers to read
+     * @throws IOException
+     */
+    public static void readElements(Codec.Decoder decoder, DataBuffer data, int offset, int length) throws IOException {
+        //floats stay floats where the codec can decode them as they are
+        Codec.FloatDecoder floatDecoder = data.dataType() == DataBuffer.FLOAT && decoder instanceof Codec.FloatDecoder ? (Codec.FloatDecoder) decoder : null;
+        double[] doubles = floatDecoder == null ? new double[Math.min(length, CHUNK)] : null;
+        float[] floats = floatDecoder != null ? new float[Math.min(length, CHUNK)] : null;
+        while (length > 0) {
+            int n = Math.min(length, CHUNK);
+            if (floatDecoder != null) {
+                floatDecoder.decode(floats, 0, n);
+                data.putFloats(offset, 1, floats, 0, n);
+            } else {
+                decoder.decode(doubles, 0, n);
+                data.putDoubles(offset, 1, doubles, 0, n);
+            }
+            offset += n;
+            length -= n;
+        }
+    }
+
+    /**
+     * Write the elements of an ndarray in the given ordering.
+     * Dense ndarrays are written as a single run of their buffer,
+     * views one run along their innermost dimension at a time.
+     *
+     * @param arr      the ndarray to write
+     * @param ordering the ordering to write the elements in
+     * @param writer   the writer to write to
+     * @throws IOException
+     */
+    public static void writeElements(INDArray arr, char ordering, ElementWriter writer) throws IOException {
+        int[] shape = arr.shape();
+        int[] stride = arr.stride();
+        int elementSize = arr instanceof IComplexNDArray ? 2 : 1;
+        DataBuffer data = arr.data();
+        if (stride.length != shape.length) {
+            arr = arr.dup();
+            data = arr.data();
+            stride = arr.stride();
+            if (stride.length != shape.length)
+                throw new IllegalArgumentException("Strides " + Arrays.toString(stride) + " do not match shape " + Arrays.toString(shape));
+        }
+        if (arr.length() == 0)
+            return;
+
+        //outermost dimension first
+        if (ordering == NDArrayFactory.FORTRAN) {
+            shape = ArrayUtil.reverseCopy(shape);
+            stride = ArrayUtil.reverseCopy(stride);
+        }
+
+        boolean dense = true;
+        int expected = elementSize;
+        for (int i = shape.length - 1; i >= 0; i--) {
+            if (shape[i] == 1)
+                continue;
+            if (stride[i] != expected) {
+                dense = false;
+                break;
+            }
+            expected *= shape[i];
+        }
+        if (dense || shape.length == 0) {
+            writer.write(data, arr.offset(), 1, arr.length() * elementSize);
+            return;
+        }
+
+        int inner = shape.length - 1;
+        int runLength = shape[inner];
+        int inc = stride[inner];
+        int runs = arr.length() / runLength;
+        int[] index = new int[inner];
+        for (int r = 0; r < runs; r++) {
+            int offset = arr.offset();
+            int rem = r;
+            for (int k = inner - 1; k >= 0; k--) {
+                index[k] = rem % shape[k];
+                rem /= shape[k];
+                offset += index[k] * stride[k];
+            }
+            if (inc == elementSize)
+                writer.write(data, offset, 1, runLength * elementSize);
+            else if (elementSize == 1)
+                writer.write(data, offset, inc, runLength);
+            else
+                for (int j = 0; j < runLength; j++)
+                    writer.write(data, offset + j * inc, 1, elementSize);
+        }
+    }
+
+    /**
+     * Buffers numbers and hands them to the encoder of a codec in chunks
+     */
+    public static class ElementWriter {
+        private final Codec.Encoder encoder;
+        //floats stay floats where the codec can encode them as they are
+        private final Codec.FloatEncoder floatEncoder;
+        private final double[] doubles;
+        private final float[] floats;
+        private final int capacity;
+        private int count;
+
+        /**
+         * @param channel the channel to write to
+         * @param header  the header of the ndarray being written
+         * @param codec   the codec named by the header
+         */
+        public ElementWriter(WritableByteChannel channel, Header header, Codec codec) {
+            if (codec.id() != header.codec())
+                throw new IllegalArgumentException("Codec " + codec.id() + " does not match header codec " + header.codec());
+            this.encoder = codec.encoder(header, channel);
+            this.floatEncoder = header.dataType() == DataBuffer.FLOAT && encoder instanceof Codec.FloatEncoder ? (Codec.FloatEncoder) encoder : null;
+            this.capacity = (int) Math.max(1, Math.min(CHUNK, header.length() * header.elementSize()));
+            this.doubles = floatEncoder == null ? new double[capacity] : null;
+            this.floats = floatEncoder != null ? new float[capacity] : null;
+        }
+
+        /**
+         * Write length numbers of a buffer starting at offset spaced by inc
+         *
+         * @param data   the buffer to write from
+         * @param offset the index of the first number
+         * @param inc    the distance between numbers
+         * @param length the number of numbers to write
+         * @throws IOException
+         */
+        public void write(DataBuffer data, int offset, int inc, int length) throws IOException {
+            while (length > 0) {
+                int n = Math.min(length, capacity - count);
+                if (floatEncoder != null)
+                    data.getFloats(offset, inc, floats, count, n);
+                else
+                    data.getDoubles(offset, inc, doubles, count, n);
+                count += n;
+                offset += n * inc;
+                length -= n;
+                if (count == capacity)
+                    encode();
+            }
+        }
+
+        /**
+         * Encode and write out every buffered number
+         *
+         * @throws IOException
+         */
+        public void flush() throws IOException {
+            encode();
+            encoder.flush();
+        }
+
+        private void encode() throws IOException {
+            if (floatEncoder != null)
+                floatEncoder.encode(floats, 0, count);
+            else
+                encoder.encode(doubles, 0, count);
+            count = 0;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2015 Skymind,Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package org.nd4j.linalg.api.io;
+
+import org.nd4j.linalg.api.ndarray.INDArray;
+
+import java.io.Closeable;
+import java.util.Iterator;
+
+/**
+ * Reads an ndarray too large to hold in memory as a sequence of blocks.
+ * Every block holds up to a fixed number of consecutive slices
+ * (rows for a matrix) of the whole ndarray, so only one block
+ * needs to be in memory at a time.
+ *
+ * @author Adam Gibson
+ */
+public interface BlockReader extends Iterator<INDArray>, Closeable {
+
+    /**
+     * The shape of a single slice of the stored ndarray
+     *
+     * @return the shape of each slice
+     */
+    int[] sliceShape();
+
+    /**
+     * The maximum number of slices in a block
+     *
+     * @return the number of slices per block
+     */
+    int blockSize();
+
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2015 Skymind,Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package org.nd4j.linalg.api.io;
+
+import org.nd4j.linalg.api.ndarray.INDArray;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+
+/**
+ * Writes an ndarray too large to hold in memory one block of
+ * slices (rows for a matrix) at a time. Every block is appended
+ * after the slices already written.
+ *
+ * @author Adam Gibson
+ */
+public interface BlockWriter extends Closeable, Flushable {
+
+    /**
+     * Append the slices of a block.
+     * A block with the rank of a single slice is appended as one slice.
+     *
+     * @param block the slices to append
+     * @throws IOException
+     */
+    void append(INDArray block) throws IOException;
+
+    /**
+     * The number of slices appended through this writer
+     *
+     * @return the number of slices appended
+     */
+    long slices();
+
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright 2015 Skymind,Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package org.nd4j.linalg.api.io;
+
+import org.nd4j.linalg.api.buffer.DataBuffer;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Encoding of the elements of an ndarray saved in the binary format
+ * (see {@link BinaryFormat}). The id of the codec is stored in the header.
+ *
+ * Elements reach an encoder, and leave a decoder, as doubles in chunks of
+ * any size, in the order they are stored in. Both sides are streaming:
+ * neither holds more than a bounded amount of the ndarray, and decoders
+ * consume exactly the bytes their encoder wrote, so other data may follow.
+ * Codecs that store floats as they are may also take and give floats
+ * (see {@link FloatEncoder} and {@link FloatDecoder}) so that ndarrays
+ * stored as floats are not widened to doubles on the way.
+ *
+ * @author Adam Gibson
+ */
+public abstract class Codec {
+
+    public final static int RAW = 0;
+    public final static int DEFLATE = 1;
+    public final static int FLOAT16 = 2;
+    public final static int INT8 = 3;
+    public final static int SPARSE = 4;
+
+    //bytes buffered by encoders and decoders
+    protected final static int CHUNK = 1 << 20;
+
+    /**
+     * The codec with the given id, with default settings for encoding
+     *
+     * @param id the id of the codec
+     * @return the codec
+     */
+    public static Codec forId(int id) {
+        switch (id) {
+            case RAW:
+                return new RawCodec();
+            case DEFLATE:
+                return new DeflateCodec();
+            case FLOAT16:
+                return new Float16Codec();
+            case INT8:
+                return new Int8Codec();
+            case SPARSE:
+                return new SparseCodec();
+            default:
+                throw new IllegalArgumentException("Unknown codec " + id);
+        }
+    }
+
+    /**
+     * The id stored in the header
+     *
+     * @return the id of this codec
+     */
+    public abstract int id();
+
+    /**
+     * Whether decoding gives back exactly the elements that were encoded
+     *
+     * @return true if the codec is lossless
+     */
+    public abstract boolean isLossless();
+
+    /**
+     * An encoder writing the elements of the ndarray with the given header
+     *
+     * @param header  the header of the ndarray
+     * @param channel the channel to write to
+     * @return the encoder
+     */
+    public abstract Encoder encoder(BinaryFormat.Header header, WritableByteChannel channel);
+
+    /**
+     * A decoder reading the elements of the ndarray with the given header
+     *
+     * @param header  the header of the ndarray
+     * @param channel the channel to read from
+     * @return the decoder
+     */
+    public abstract Decoder decoder(BinaryFormat.Header header, ReadableByteChannel channel);
+
+    /**
+     * Encodes elements on to a channel
+     */
+    public interface Encoder {
+        /**
+         * Encode the next elements
+         *
+         * @param values the elements
+         * @param offset the index of the first element
+         * @param length the number of elements
+         * @throws IOException
+         */
+        void encode(double[] values, int offset, int length) throws IOException;
+
+        /**
+         * Write out anything still buffered
+         *
+         * @throws IOException
+         */
+        void flush() throws IOException;
+    }
+
+    /**
+     * Decodes elements from a channel
+     */
+    public interface Decoder {
+        /**
+         * Decode the next elements
+         *
+         * @param values the array to decode in to
+         * @param offset the index to decode the first element in to
+         * @param length the number of elements to decode
+         * @throws IOException if the channel ends early or is corrupt
+         */
+        void decode(double[] values, int offset, int length) throws IOException;
+    }
+
+    /**
+     * An encoder that also takes floats as they are, without widening them,
+     * for ndarrays stored as floats
+     */
+    public interface FloatEncoder extends Encoder {
+        /**
+         * Encode the next elements
+         *
+         * @param values the elements
+         * @param offset the index of the first element
+         * @param length the number of elements
+         * @throws IOException
+         */
+        void encode(float[] values, int offset, int length) throws IOException;
+    }
+
+    /**
+     * A decoder that also decodes straight in to floats,
+     * for ndarrays stored as floats
+     */
+    public interface FloatDecoder extends Decoder {
+        /**
+         * Decode the next elements
+         *
+         * @param values the array to decode in to
+         * @param offset the index to decode the first element in to
+         * @param length the number of elements to decode
+         * @throws IOException if the channel ends early or is corrupt
+         */
+        void decode(float[] values, int offset, int length) throws IOException;
+    }
+
+    /**
+     * The number of bytes of each number stored with the given data type
+     *
+     * @param dataType the data type
+     * @return 8 for double, 4 for float
+     */
+    protected static int width(int dataType) {
+        return dataType == DataBuffer.DOUBLE ? 8 : 4;
+    }
+
+    /**
+     * The size of the buffers for an ndarray, small ndarrays get small buffers
+     *
+     * @param header the header of the ndarray
+     * @param width  the number of bytes stored per number
+     * @return the number of bytes to buffer
+     */
+    protected static int capacity(BinaryFormat.Header header, int width) {
+        return (int) Math.min(CHUNK, header.length() * header.elementSize() * width + 16);
+    }
+
+    /**
+     * Put numbers in to a buffer with the given width
+     */
+    protected static void put(ByteBuffer bytes, double[] values, int offset, int length, int width) {
+        if (width == 8) {
+            bytes.asDoubleBuffer().put(values, offset, length);
+            bytes.position(bytes.position() + length * 8);
+        } else
+            for (int i = 0; i < length; i++)
+                bytes.putFloat((float) values[offset + i]);
+    }
+
+    /**
+     * Get numbers with the given width from a buffer
+     */
+    protected static void get(ByteBuffer bytes, double[] values, int offset, int length, int width) {
+        if (width == 8) {
+            bytes.asDoubleBuffer().get(values, offset, length);
+            bytes.position(bytes.position() + length * 8);
+        } else
+            for (int i = 0; i < length; i++)
+                values[offset + i] = bytes.getFloat();
+    }
+
+    /**
+     * Put floats in to a buffer
+     */
+    protected static void put(ByteBuffer bytes, float[] values, int offset, int length) {
+        bytes.asFloatBuffer().put(values, offset, length);
+        bytes.position(bytes.position() + length * 4);
+    }
+
+    /**
+     * Get floats from a buffer
+     */
+    protected static void get(ByteBuffer bytes, float[] values, int offset, int length) {
+        bytes.asFloatBuffer().get(values, offset, length);
+        bytes.position(bytes.position() + length * 4);
+    }
+
+    /**
+     * Write every remaining byte of the buffer
+     */
+    protected static void writeFully(WritableByteChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+    }
+
+    /**
+     * Read until the buffer is full, then flip it
+     */
+    protected static void readFully(ReadableByteChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining())
+            if (channel.read(buffer) < 0)
+                throw new EOFException("Unexpected end of ndarray data");
+        buffer.flip();
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2015 Skymind,Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package org.nd4j.linalg.api.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Lossless block compression of the raw elements.
+ *
+ * Elements are written in independently deflated blocks of at most 1MB
+ * of raw elements, each preceded by its raw and compressed sizes
+ * as little endian ints, so blocks decode one at a time.
+ * The default level favours speed, as most of the gain on numeric data
+ * comes from long runs of repeated bytes (zeros, exponents).
+ *
+ * @author Adam Gibson
+ */
+public class DeflateCodec extends Codec {
+
+    private final int level;
+
+    public DeflateCodec() {
+        this(Deflater.BEST_SPEED);
+    }
+
+    /**
+     * @param level the deflate level, from {@link Deflater#BEST_SPEED}
+     *              to {@link Deflater#BEST_COMPRESSION}
+     */
+    public DeflateCodec(int level) {
+        if (level < Deflater.BEST_SPEED || level > Deflater.BEST_COMPRESSION)
+            throw new IllegalArgumentException("Illegal deflate level " + level);
+        this.level = level;
+    }
+
+    @Override
+    public int id() {
+        return DEFLATE;
+    }
+
+    @Override
+    public boolean isLossless() {
+        return true;
+    }
+
+    @Override
+    public Encoder encoder(BinaryFormat.Header header, final WritableByteChannel channel) {
+        final int width = width(header.dataType());
+        final ByteBuffer raw = ByteBuffer.allocate(capacity(header, width)).order(ByteOrder.LITTLE_ENDIAN);
+        return new Encoder() {
+            private byte[] compressed = new byte[raw.capacity() + 8];
+
+            @Override
+            public void encode(double[] values, int offset, int length) throws IOException {
+                while (length > 0) {
+                    int n = Math.min(length, raw.remaining() / width);
+                    put(raw, values, offset, n, width);
+                    offset += n;
+                    length -= n;
+                    if (raw.remaining() < width)
+                        flush();
+                }
+            }
+
+            @Override
+            public void flush() throws IOException {
+                if (raw.position() == 0)
+                    return;
+                //encoders are never closed, so the native deflater only lives for a block
+                Deflater deflater = new Deflater(level);
+                //sizes go in the first 8 bytes
+                int size = 8;
+                try {
+                    deflater.setInput(raw.array(), 0, raw.position());
+                    deflater.finish();
+                    while (!deflater.finished()) {
+                        if (size == compressed.length)
+                            compressed = Arrays.copyOf(compressed, compressed.length * 2);
+                        size += deflater.deflate(compressed, size, compressed.length - size);
+                    }
+                } finally {
+                    deflater.end();
+                }
+                ByteBuffer block = ByteBuffer.wrap(compressed, 0, size).order(ByteOrder.LITTLE_ENDIAN);
+                block.putInt(0, raw.position());
+                block.putInt(4, size - 8);
+                writeFully(channel, block);
+                raw.clear();
+            }
+        };
+    }
+
+    @Override
+    public Decoder decoder(BinaryFormat.Header header, final ReadableByteChannel channel) {
+        final int width = width(header.dataType());
+        return new Decoder() {
+            private ByteBuffer raw = ByteBuffer.allocate(0);
+            private final ByteBuffer sizes = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+
+            @Override
+            public void decode(double[] values, int offset, int length) throws IOException {
+                while (length > 0) {
+                    if (!raw.hasRemaining())
+                        nextBlock();
+                    int n = Math.min(length, raw.remaining() / width);
+                    get(raw, values, offset, n, width);
+                    offset += n;
+                    length -= n;
+                }
+            }
+
+            private void nextBlock() throws IOException {
+                sizes.clear();
+                readFully(channel, sizes);
+                int rawSize = sizes.getInt();
+                int compressedSize = sizes.getInt();
+                if (rawSize <= 0 || rawSize % width != 0 || compressedSize < 0)
+                    throw new IOException("Corrupt deflate block");
+                ByteBuffer compressed = ByteBuffer.allocate(compressedSize);
+                readFully(channel, compressed);
+
+                byte[] block = raw.capacity() >= rawSize ? raw.array() : new byte[rawSize];
+                Inflater inflater = new Inflater();
+                inflater.setInput(compressed.array(), 0, compressedSize);
+                try {
+                    int size = 0;
+                    while (size < rawSize) {
+                        int n = inflater.inflate(block, size, rawSize - size);
+                        if (n == 0 && (inflater.needsInput() || inflater.finished() || inflater.needsDictionary()))
+                            throw new IOException("Corrupt deflate block");
+                        size += n;
+                    }
+                } catch (DataFormatException e) {
+                    throw new IOException(e);
+                } finally {
+                    inflater.end();
+                }
+                raw = ByteBuffer.wrap(block, 0, rawSize).order(ByteOrder.LITTLE_ENDIAN);
+            }
+        };
+    }
+}
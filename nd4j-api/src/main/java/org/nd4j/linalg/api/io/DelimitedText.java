@@ -0,0 +1,462 @@
+/*
+ * Copyright 2015 Skymind,Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package org.nd4j.linalg.api.io;
+
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.complex.IComplexNDArray;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.parallel.Parallel;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads and writes matrices stored as delimited text, one row per line.
+ *
+ * The input is cut in to windows of whole lines (memory mapped for files).
+ * Windows are parsed in parallel straight from their bytes in two passes:
+ * the first counts the rows of every window, the second parses the numbers
+ * of each window in to its rows of a single preallocated data buffer.
+ * Numbers with at most 18 significant digits and small exponents are
+ * converted without creating strings; anything else falls back to
+ * {@link Double#parseDouble(String)}.
+ *
+ * Only delimiters that are a single character can be parsed this way,
+ * see {@link #delimiter(String)}.
+ *
+ * @author Adam Gibson
+ */
+public class DelimitedText {
+
+    //bytes per window, windows holding a longer line grow to fit it
+    private final static int WINDOW = 1 << 24;
+    private final static String META = "\\^$.|?*+()[]{}";
+    //powers of ten represented exactly as doubles
+    private final static double[] POW10 = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private DelimitedText() {
+    }
+
+    /**
+     * The single character a separator pattern matches
+     *
+     * @param split the regular expression separating columns
+     * @return the separating character or -1 if the pattern
+     * matches anything other than a single fixed ascii character
+     */
+    public static int delimiter(String split) {
+        if (split.length() == 1) {
+            char c = split.charAt(0);
+            return c < 128 && META.indexOf(c) < 0 ? c : -1;
+        }
+        if (split.length() == 2 && split.charAt(0) == '\\') {
+            char c = split.charAt(1);
+            if (c == 't')
+                return '\t';
+            return META.indexOf(c) >= 0 ? c : -1;
+        }
+        return -1;
+    }
+
+    /**
+     * Read a matrix from a file, mapping the file instead of reading it in
+     *
+     * @param file  the file to read
+     * @param split the separator, see {@link #delimiter(String)}
+     * @return the matrix with the factory's data type and ordering
+     * @throws IOException
+     */
+    public static INDArray read(File file, String split) throws IOException {
+        byte delimiter = checkDelimiter(split);
+        List<ByteBuffer> windows = new ArrayList<>();
+        FileInputStream fis = new FileInputStream(file);
+        try {
+            FileChannel channel = fis.getChannel();
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                long length = Math.min(WINDOW, size - position);
+                ByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                while (position + length < size) {
+                    int newline = lastNewline(window, (int) length);
+                    if (newline >= 0) {
+                        length = newline + 1;
+                        break;
+                    }
+                    length = Math.min(length * 2, size - position);
+                    if (length > Integer.MAX_VALUE)
+                        throw new IOException("Line at byte " + position + " is too long");
+                    window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                }
+                window.limit((int) length);
+                windows.add(window);
+                position += length;
+            }
+        } finally {
+            fis.close();
+        }
+        return read(windows, delimiter);
+    }
+
+    /**
+     * Read a matrix from a stream. The whole text is held in
+     * memory while it is parsed, prefer {@link #read(File, String)}
+     * for large inputs.
+     *
+     * @param is    the stream to read
+     * @param split the separator, see {@link #delimiter(String)}
+     * @return the matrix with the factory's data type and ordering
+     * @throws IOException
+     */
+    public static INDArray read(InputStream is, String split) throws IOException {
+        byte delimiter = checkDelimiter(split);
+        List<ByteBuffer> windows = new ArrayList<>();
+        byte[] buffer = new byte[WINDOW];
+        int filled = 0;
+        while (true) {
+            int n = is.read(buffer, filled, buffer.length - filled);
+            if (n < 0) {
+                if (filled > 0)
+                    windows.add(ByteBuffer.wrap(Arrays.copyOf(buffer, filled)));
+                break;
+            }
+            filled += n;
+            if (filled < buffer.length)
+                continue;
+
+            int cut = lastNewline(ByteBuffer.wrap(buffer), filled) + 1;
+            if (cut == 0) {
+                //a single line fills the window
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                continue;
+            }
+            windows.add(ByteBuffer.wrap(Arrays.copyOf(buffer, cut)));
+            System.arraycopy(buffer, cut, buffer, 0, filled - cut);
+            filled -= cut;
+        }
+        return read(windows, delimiter);
+    }
+
+    private static INDArray read(final List<ByteBuffer> windows, final byte delimiter) {
+        int columns = 0;
+        for (int i = 0; i < windows.size() && columns == 0; i++)
+            columns = firstColumns(windows.get(i), delimiter);
+        final int numColumns = columns;
+
+        long bytes = 0;
+        for (ByteBuffer window : windows)
+            bytes += window.limit();
+        final int[] rowCounts = new int[windows.size()];
+        Parallel.forEach(windows.size(), bytes, new Parallel.RangeTask() {
+            @Override
+            public void run(int from, int to) {
+                for (int i = from; i < to; i++)
+                    rowCounts[i] = countRows(windows.get(i), delimiter);
+            }
+        });
+
+        final int[] firstRows = new int[windows.size()];
+        long rows = 0;
+        for (int i = 0; i < windows.size(); i++) {
+            firstRows[i] = (int) rows;
+            rows += rowCounts[i];
+        }
+        if (rows * numColumns > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Unable to read " + rows + " x " + numColumns + " values in to a single buffer");
+
+        final int numRows = (int) rows;
+        final char ordering = Nd4j.order();
+        final DataBuffer data = Nd4j.createBuffer(numRows * numColumns);
+        Parallel.forEach(windows.size(), bytes, new Parallel.RangeTask() {
+            @Override
+            public void run(int from, int to) {
+                double[] row = new double[numColumns];
+                for (int i = from; i < to; i++)
+                    parseRows(windows.get(i), delimiter, row, firstRows[i], numRows, ordering, data);
+            }
+        });
+
+        int[] shape = {numRows, numColumns};
+        return Nd4j.create(data, shape, Nd4j.getStrides(shape, ordering), 0, ordering);
+    }
+
+    //the number of columns of the first row of the window, 0 if it has none
+    private static int firstColumns(ByteBuffer window, byte delimiter) {
+        int limit = window.limit();
+        for (int start = 0; start < limit; ) {
+            int end = endOfLine(window, start, limit);
+            int to = trimEnd(window, start, end, delimiter);
+            int from = trimStart(window, start, to);
+            if (from < to) {
+                int ret = 1;
+                for (int i = from; i < to; i++)
+                    if (window.get(i) == delimiter)
+                        ret++;
+                return ret;
+            }
+            start = end + 1;
+        }
+        return 0;
+    }
+
+    //the number of lines holding values
+    private static int countRows(ByteBuffer window, byte delimiter) {
+        int limit = window.limit();
+        int ret = 0;
+        for (int start = 0; start < limit; ) {
+            int end = endOfLine(window, start, limit);
+            int to = trimEnd(window, start, end, delimiter);
+            if (trimStart(window, start, to) < to)
+                ret++;
+            start = end + 1;
+        }
+        return ret;
+    }
+
+    private static void parseRows(ByteBuffer window, byte delimiter, double[] row, int rowIndex, int rows, char ordering, DataBuffer data) {
+        int limit = window.limit();
+        int columns = row.length;
+        for (int start = 0; start < limit; ) {
+            int end = endOfLine(window, start, limit);
+            int to = trimEnd(window, start, end, delimiter);
+            int from = trimStart(window, start, to);
+            start = end + 1;
+            if (from >= to)
+                continue;
+
+            int column = 0;
+            while (from <= to) {
+                int next = from;
+                while (next < to && window.get(next) != delimiter)
+                    next++;
+                if (column == columns)
+                    throw new IllegalStateException("Row " + rowIndex + " has more than " + columns + " columns");
+                int tokenTo = trimEnd(window, from, next, (byte) ' ');
+                row[column++] = parse(window, trimStart(window, from, tokenTo), tokenTo);
+                from = next + 1;
+            }
+            if (column != columns)
+                throw new IllegalStateException("Row " + rowIndex + " has " + column + " columns, expected " + columns);
+
+            if (ordering == 'f')
+                data.putDoubles(rowIndex, rows, row, 0, columns);
+            else
+                data.putDoubles(rowIndex * columns, 1, row, 0, columns);
+            rowIndex++;
+        }
+    }
+
+    /**
+     * Parse a decimal number from bytes
+     *
+     * @param bytes the bytes holding the number
+     * @param from  the index of the first byte of the number
+     * @param to    the end of the number (exclusive)
+     * @return the parsed number
+     * @throws NumberFormatException if the bytes are not a number
+     */
+    public static double parse(ByteBuffer bytes, int from, int to) {
+        int i = from;
+        boolean negative = false;
+        if (i < to && (bytes.get(i) == '-' || bytes.get(i) == '+'))
+            negative = bytes.get(i++) == '-';
+
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean any = false;
+        byte b;
+        while (i < to && (b = bytes.get(i)) >= '0' && b <= '9') {
+            if (mantissa != 0 || b != '0')
+                digits++;
+            mantissa = mantissa * 10 + (b - '0');
+            any = true;
+            i++;
+        }
+        if (i < to && bytes.get(i) == '.') {
+            i++;
+            while (i < to && (b = bytes.get(i)) >= '0' && b <= '9') {
+                if (mantissa != 0 || b != '0')
+                    digits++;
+                mantissa = mantissa * 10 + (b - '0');
+                exponent--;
+                any = true;
+                i++;
+            }
+        }
+        //18 digits can not overflow a long
+        if (!any || digits > 18)
+            return parseSlow(bytes, from, to);
+
+        if (i < to && ((b = bytes.get(i)) == 'e' || b == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < to && (bytes.get(i) == '-' || bytes.get(i) == '+'))
+                negativeExponent = bytes.get(i++) == '-';
+            int value = 0;
+            boolean anyExponent = false;
+            while (i < to && (b = bytes.get(i)) >= '0' && b <= '9') {
+                value = value * 10 + (b - '0');
+                if (value > 1000)
+                    return parseSlow(bytes, from, to);
+                anyExponent = true;
+                i++;
+            }
+            if (!anyExponent)
+                return parseSlow(bytes, from, to);
+            exponent += negativeExponent ? -value : value;
+        }
+        if (i != to)
+            return parseSlow(bytes, from, to);
+
+        double ret;
+        if (mantissa == 0)
+            ret = 0;
+        //both operands are exact so the result is correctly rounded
+        else if (mantissa < 1L << 53 && exponent >= -22 && exponent <= 22)
+            ret = exponent < 0 ? mantissa / POW10[-exponent] : mantissa * POW10[exponent];
+        else
+            return parseSlow(bytes, from, to);
+        return negative ? -ret : ret;
+    }
+
+    private static double parseSlow(ByteBuffer bytes, int from, int to) {
+        byte[] number = new byte[to - from];
+        for (int i = from; i < to; i++)
+            number[i - from] = bytes.get(i);
+        return Double.parseDouble(new String(number, StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Write a matrix (or a vector as a single row) as delimited text.
+     * Every number is followed by the separator and every row by a new line.
+     * Rows are copied out of the data buffer in bulk and formatted in
+     * to a reused buffer that is written out in large chunks.
+     *
+     * @param arr    the ndarray to write
+     * @param writer the writer to write to
+     * @param split  the separator
+     * @throws IOException
+     */
+    public static void write(INDArray arr, Writer writer, String split) throws IOException {
+        int[] shape = arr.shape();
+        int[] stride = arr.stride();
+        StringBuilder sb = new StringBuilder();
+        if (arr instanceof IComplexNDArray || shape.length > 2 || stride.length != shape.length) {
+            for (int i = 0; i < arr.rows(); i++) {
+                INDArray row = arr.getRow(i);
+                for (int j = 0; j < row.columns(); j++)
+                    sb.append(row.getDouble(j)).append(split);
+                sb.append('\n');
+                if (sb.length() >= 1 << 16) {
+                    writer.write(sb.toString());
+                    sb.setLength(0);
+                }
+            }
+        } else {
+            int rows = shape.length == 2 ? shape[0] : 1;
+            int columns = shape.length == 2 ? shape[1] : arr.length();
+            int rowStride = shape.length == 2 ? stride[0] : 0;
+            int columnStride = stride[stride.length - 1];
+            DataBuffer data = arr.data();
+            //floats print their shortest float representation
+            boolean floats = data.dataType() == DataBuffer.FLOAT;
+            double[] row = new double[columns];
+            for (int i = 0; i < rows; i++) {
+                data.getDoubles(arr.offset() + i * rowStride, columnStride, row, 0, columns);
+                for (int j = 0; j < columns; j++) {
+                    if (floats)
+                        sb.append((float) row[j]);
+                    else
+                        sb.append(row[j]);
+                    sb.append(split);
+                }
+                sb.append('\n');
+                if (sb.length() >= 1 << 16) {
+                    writer.write(sb.toString());
+                    sb.setLength(0);
+                }
+            }
+        }
+        writer.write(sb.toString());
+        writer.flush();
+    }
+
+    /**
+     * Write a matrix as delimited text to a file
+     *
+     * @param arr   the ndarray to write
+     * @param file  the file to write to
+     * @param split the separator
+     * @throws IOException
+     */
+    public static void write(INDArray arr, File file, String split) throws IOException {
+        Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.US_ASCII);
+        try {
+            write(arr, writer, split);
+        } finally {
+            writer.close();
+        }
+    }
+
+    private static byte checkDelimiter(String split) {
+        int ret = delimiter(split);
+        if (ret < 0)
+            throw new IllegalArgumentException("Separator " + split + " is not a single character");
+        return (byte) ret;
+    }
+
+    private static int lastNewline(ByteBuffer bytes, int limit) {
+        for (int i = limit - 1; i >= 0; i--)
+            if (bytes.get(i) == '\n')
+                return i;
+        return -1;
+    }
+
+    private static int endOfLine(ByteBuffer bytes, int from, int limit) {
+        while (from < limit && bytes.get(from) != '\n')
+            from++;
+        return from;
+    }
+
+    private static int trimStart(ByteBuffer bytes, int from, int to) {
+        while (from < to && isSpace(bytes.get(from)))
+            from++;
+        return from;
+    }
+
+    //drops white space and trailing separators, which hold no values
+    private static int trimEnd(ByteBuffer bytes, int from, int to, byte delimiter) {
+        while (to > from && (isSpace(bytes.get(to - 1)) || bytes.get(to - 1) == delimiter))
+            to--;
+        return to;
+    }
+
+    private static boolean isSpace(byte b) {
+        return b >= 0 && b <= ' ';
+    }
+}
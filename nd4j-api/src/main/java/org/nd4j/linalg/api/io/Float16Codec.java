@@ -0,0 +1,149 @@
+/*
+ * Copyright 2015 Skymind,Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package org.nd4j.linalg.api.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Lossy storage of every element as an IEEE 754 half precision float
+ * (2 bytes, about 3 significant decimal digits, magnitudes up to 65504).
+ * Numbers are rounded to the nearest half, ties to even; larger
+ * magnitudes become infinite.
+ *
+ * @author Adam Gibson
+ */
+public class Float16Codec extends Codec {
+
+    @Override
+    public int id() {
+        return FLOAT16;
+    }
+
+    @Override
+    public boolean isLossless() {
+        return false;
+    }
+
+    /**
+     * Round a float to the nearest half precision float
+     *
+     * @param value the float to round
+     * @return the bits of the half precision float
+     */
+    public static short toHalf(float value) {
+        int bits = Float.floatToRawIntBits(value);
+        int sign = (bits >>> 16) & 0x8000;
+        int exponent = (bits >>> 23) & 0xff;
+        int mantissa = bits & 0x7fffff;
+        //infinity or nan, keeping nans nans
+        if (exponent == 0xff)
+            return (short) (sign | 0x7c00 | (mantissa != 0 ? 0x200 | mantissa >>> 13 : 0));
+
+        int halfExponent = exponent - 127 + 15;
+        if (halfExponent >= 0x1f)
+            return (short) (sign | 0x7c00);
+        if (halfExponent <= 0) {
+            //subnormal half
+            if (halfExponent < -10)
+                return (short) sign;
+            mantissa |= 0x800000;
+            int shift = 14 - halfExponent;
+            int half = mantissa >> shift;
+            int rest = mantissa & ((1 << shift) - 1);
+            int middle = 1 << (shift - 1);
+            if (rest > middle || rest == middle && (half & 1) != 0)
+                half++;
+            return (short) (sign | half);
+        }
+
+        int half = halfExponent << 10 | mantissa >>> 13;
+        int rest = mantissa & 0x1fff;
+        //a carry in to the exponent rounds up to the next power of two (or infinity)
+        if (rest > 0x1000 || rest == 0x1000 && (half & 1) != 0)
+            half++;
+        return (short) (sign | half);
+    }
+
+    /**
+     * The float a half precision float represents
+     *
+     * @param half the bits of the half precision float
+     * @return the float
+     */
+    public static float toFloat(short half) {
+        int bits = half & 0xffff;
+        int sign = (bits & 0x8000) << 16;
+        int exponent = (bits >>> 10) & 0x1f;
+        int mantissa = bits & 0x3ff;
+        if (exponent == 0x1f)
+            return Float.intBitsToFloat(sign | 0x7f800000 | mantissa << 13);
+        if (exponent == 0) {
+            float ret = mantissa * 0x1p-24f;
+            return sign != 0 ? -ret : ret;
+        }
+        return Float.intBitsToFloat(sign | (exponent + 112) << 23 | mantissa << 13);
+    }
+
+    @Override
+    public Encoder encoder(BinaryFormat.Header header, final WritableByteChannel channel) {
+        final ByteBuffer bytes = ByteBuffer.allocateDirect(capacity(header, 2)).order(ByteOrder.LITTLE_ENDIAN);
+        return new Encoder() {
+            @Override
+            public void encode(double[] values, int offset, int length) throws IOException {
+                while (length > 0) {
+                    int n = Math.min(length, bytes.capacity() / 2);
+                    bytes.clear();
+                    for (int i = 0; i < n; i++)
+                        bytes.putShort(toHalf((float) values[offset + i]));
+                    bytes.flip();
+                    writeFully(channel, bytes);
+                    offset += n;
+                    length -= n;
+                }
+            }
+
+            @Override
+            public void flush() {
+            }
+        };
+    }
+
+    @Override
+    public Decoder decoder(BinaryFormat.Header header, final ReadableByteChannel channel) {
+        final ByteBuffer bytes = ByteBuffer.allocateDirect(capacity(header, 2)).order(ByteOrder.LITTLE_ENDIAN);
+        return new Decoder() {
+            @Override
+            public void decode(double[] values, int offset, int length) throws IOException {
+                while (length > 0) {
+                    int n = Math.min(length, bytes.capacity() / 2);
+                    bytes.clear();
+                    bytes.limit(n * 2);
+                    readFully(channel, bytes);
+                    for (int i = 0; i < n; i++)
+                        values[offset + i] = toFloat(bytes.getShort());
+                    offset += n;
+                    length -= n;
+                }
+            }
+        };
+    }
+}
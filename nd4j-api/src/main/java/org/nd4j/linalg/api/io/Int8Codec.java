@@ -0,0 +1,170 @@
+/*
+ * Copyright 2015 Skymind,Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package org.nd4j.linalg.api.io;
+
+import org.nd4j.linalg.factory.NDArrayFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Lossy storage of every element as a signed byte scaled per row.
+ *
+ * A row is a run along the innermost dimension of the stored ordering
+ * (a row of a c ordered matrix, a column of a fortran ordered one; the
+ * real, imaginary pairs of complex ndarrays share their row's scale).
+ * Long rows are cut in to groups of at most {@link #GROUP} numbers.
+ * Every group is stored as a little endian float scale, max(|x|) / 127,
+ * followed by round(x / scale) for each of its numbers, so each number
+ * is restored to within half a scale step of its row's largest magnitude.
+ * Nans and infinities do not survive quantisation.
+ *
+ * @author Adam Gibson
+ */
+public class Int8Codec extends Codec {
+
+    public final static int GROUP = 1 << 16;
+
+    @Override
+    public int id() {
+        return INT8;
+    }
+
+    @Override
+    public boolean isLossless() {
+        return false;
+    }
+
+    //numbers per row in the stored ordering
+    private static int rowLength(BinaryFormat.Header header) {
+        int[] shape = header.shape();
+        if (shape.length == 0)
+            return header.elementSize();
+        long inner = header.ordering() == NDArrayFactory.FORTRAN ? shape[0] : shape[shape.length - 1];
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE, inner * header.elementSize()));
+    }
+
+    /**
+     * Splits the numbers of consecutive rows in to groups
+     */
+    private static class Groups {
+        private final int rowLength;
+        private int inRow;
+
+        private Groups(BinaryFormat.Header header) {
+            this.rowLength = rowLength(header);
+        }
+
+        //the length of the group starting at the current position
+        private int next() {
+            return Math.min(GROUP, rowLength - inRow);
+        }
+
+        private void advance(int length) {
+            inRow += length;
+            if (inRow == rowLength)
+                inRow = 0;
+        }
+    }
+
+    @Override
+    public Encoder encoder(BinaryFormat.Header header, final WritableByteChannel channel) {
+        final Groups groups = new Groups(header);
+        final ByteBuffer bytes = ByteBuffer.allocateDirect(capacity(header, 1)).order(ByteOrder.LITTLE_ENDIAN);
+        return new Encoder() {
+            private final double[] group = new double[groups.next()];
+            private int length = groups.next();
+            private int filled;
+
+            @Override
+            public void encode(double[] values, int offset, int length) throws IOException {
+                while (length > 0) {
+                    int n = Math.min(length, this.length - filled);
+                    System.arraycopy(values, offset, group, filled, n);
+                    filled += n;
+                    offset += n;
+                    length -= n;
+                    if (filled == this.length)
+                        quantize();
+                }
+            }
+
+            private void quantize() throws IOException {
+                if (bytes.remaining() < 4 + filled) {
+                    bytes.flip();
+                    writeFully(channel, bytes);
+                    bytes.clear();
+                }
+                double max = 0;
+                for (int i = 0; i < filled; i++)
+                    max = Math.max(max, Math.abs(group[i]));
+                float scale = (float) (max / 127);
+                bytes.putFloat(scale);
+                for (int i = 0; i < filled; i++) {
+                    long quantized = scale == 0 ? 0 : Math.round(group[i] / scale);
+                    bytes.put((byte) Math.max(-127, Math.min(127, quantized)));
+                }
+                groups.advance(filled);
+                length = groups.next();
+                filled = 0;
+            }
+
+            @Override
+            public void flush() throws IOException {
+                //only a partial row is left when the ndarray is incomplete
+                if (filled > 0)
+                    quantize();
+                bytes.flip();
+                writeFully(channel, bytes);
+                bytes.clear();
+            }
+        };
+    }
+
+    @Override
+    public Decoder decoder(BinaryFormat.Header header, final ReadableByteChannel channel) {
+        final Groups groups = new Groups(header);
+        final ByteBuffer bytes = ByteBuffer.allocateDirect(4 + groups.next()).order(ByteOrder.LITTLE_ENDIAN);
+        bytes.limit(0);
+        return new Decoder() {
+            private double scale;
+
+            @Override
+            public void decode(double[] values, int offset, int length) throws IOException {
+                while (length > 0) {
+                    if (!bytes.hasRemaining()) {
+                        int n = groups.next();
+                        bytes.clear();
+                        bytes.limit(4 + n);
+                        readFully(channel, bytes);
+                        scale = bytes.getFloat();
+                        groups.advance(n);
+                    }
+                    int n = Math.min(length, bytes.remaining());
+                    for (int i = 0; i < n; i++)
+                        values[offset + i] = bytes.get() * scale;
+                    offset += n;
+                    length -= n;
+                }
+            }
+        };
+    }
+}
@@ -58,6 +58,17 @@ public interface NDArrayIO {
     public INDArray read(File file) throws IOException;
 
 
+    /**
+     * Open an ndarray saved in a file without reading it in:
+     * the data buffer of the result is a read only memory mapping
+     * of the file, shared with every other process mapping it.
+     *
+     * @param file the file to open
+     * @return the ndarray backed by the file
+     */
+    public INDArray open(File file) throws IOException;
+
+
     /**
      * Read in a complex ndarray from a file
      *
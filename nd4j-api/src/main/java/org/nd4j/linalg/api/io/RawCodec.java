@@ -0,0 +1,125 @@
+/*
+ * Copyright 2015 Skymind,Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package org.nd4j.linalg.api.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Elements stored as they are: little endian numbers
+ * with the data type of the header
+ *
+ * @author Adam Gibson
+ */
+public class RawCodec extends Codec {
+
+    @Override
+    public int id() {
+        return RAW;
+    }
+
+    @Override
+    public boolean isLossless() {
+        return true;
+    }
+
+    /**
+     * The encoder also takes floats, which ndarrays
+     * stored as floats are written from in bulk
+     */
+    @Override
+    public Encoder encoder(BinaryFormat.Header header, final WritableByteChannel channel) {
+        final int width = width(header.dataType());
+        final ByteBuffer bytes = ByteBuffer.allocateDirect(capacity(header, width)).order(ByteOrder.LITTLE_ENDIAN);
+        return new FloatEncoder() {
+            @Override
+            public void encode(double[] values, int offset, int length) throws IOException {
+                while (length > 0) {
+                    int n = Math.min(length, bytes.capacity() / width);
+                    bytes.clear();
+                    put(bytes, values, offset, n, width);
+                    bytes.flip();
+                    writeFully(channel, bytes);
+                    offset += n;
+                    length -= n;
+                }
+            }
+
+            @Override
+            public void encode(float[] values, int offset, int length) throws IOException {
+                if (width != 4)
+                    throw new IllegalStateException("Floats can only be encoded for ndarrays stored as floats");
+                while (length > 0) {
+                    int n = Math.min(length, bytes.capacity() / 4);
+                    bytes.clear();
+                    put(bytes, values, offset, n);
+                    bytes.flip();
+                    writeFully(channel, bytes);
+                    offset += n;
+                    length -= n;
+                }
+            }
+
+            @Override
+            public void flush() {
+            }
+        };
+    }
+
+    /**
+     * The decoder also decodes in to floats, which ndarrays
+     * stored as floats are read in to in bulk
+     */
+    @Override
+    public Decoder decoder(BinaryFormat.Header header, final ReadableByteChannel channel) {
+        final int width = width(header.dataType());
+        final ByteBuffer bytes = ByteBuffer.allocateDirect(capacity(header, width)).order(ByteOrder.LITTLE_ENDIAN);
+        return new FloatDecoder() {
+            @Override
+            public void decode(double[] values, int offset, int length) throws IOException {
+                while (length > 0) {
+                    int n = Math.min(length, bytes.capacity() / width);
+                    bytes.clear();
+                    bytes.limit(n * width);
+                    readFully(channel, bytes);
+                    get(bytes, values, offset, n, width);
+                    offset += n;
+                    length -= n;
+                }
+            }
+
+            @Override
+            public void decode(float[] values, int offset, int length) throws IOException {
+                if (width != 4)
+                    throw new IllegalStateException("Floats can only be decoded from ndarrays stored as floats");
+                while (length > 0) {
+                    int n = Math.min(length, bytes.capacity() / 4);
+                    bytes.clear();
+                    bytes.limit(n * 4);
+                    readFully(channel, bytes);
+                    get(bytes, values, offset, n);
+                    offset += n;
+                    length -= n;
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2015 Skymind,Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package org.nd4j.linalg.api.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+
+/**
+ * Lossless storage of ndarrays that are mostly zeros.
+ *
+ * Elements are stored as runs: a little endian int count of zeros,
+ * an int count of non zero numbers and those numbers with the data
+ * type of the header. Only positive zeros are dropped, so negative
+ * zeros survive as well.
+ *
+ * @author Adam Gibson
+ */
+public class SparseCodec extends Codec {
+
+    @Override
+    public int id() {
+        return SPARSE;
+    }
+
+    @Override
+    public boolean isLossless() {
+        return true;
+    }
+
+    private static boolean isZero(double value) {
+        return Double.doubleToRawLongBits(value) == 0;
+    }
+
+    @Override
+    public Encoder encoder(BinaryFormat.Header header, final WritableByteChannel channel) {
+        final int width = width(header.dataType());
+        final ByteBuffer bytes = ByteBuffer.allocateDirect(capacity(header, width)).order(ByteOrder.LITTLE_ENDIAN);
+        return new Encoder() {
+            private int zeros;
+
+            @Override
+            public void encode(double[] values, int offset, int length) throws IOException {
+                int end = offset + length;
+                int i = offset;
+                while (i < end) {
+                    while (i < end && isZero(values[i])) {
+                        zeros++;
+                        i++;
+                    }
+                    if (i == end)
+                        break;
+                    if (bytes.remaining() < 8 + width) {
+                        bytes.flip();
+                        writeFully(channel, bytes);
+                        bytes.clear();
+                    }
+                    int count = 0;
+                    int max = (bytes.remaining() - 8) / width;
+                    while (i + count < end && count < max && !isZero(values[i + count]))
+                        count++;
+                    bytes.putInt(zeros);
+                    bytes.putInt(count);
+                    put(bytes, values, i, count, width);
+                    zeros = 0;
+                    i += count;
+                }
+            }
+
+            @Override
+            public void flush() throws IOException {
+                //trailing zeros end with an empty run
+                if (zeros > 0) {
+                    if (bytes.remaining() < 8) {
+                        bytes.flip();
+                        writeFully(channel, bytes);
+                        bytes.clear();
+                    }
+                    bytes.putInt(zeros);
+                    bytes.putInt(0);
+                    zeros = 0;
+                }
+                bytes.flip();
+                writeFully(channel, bytes);
+                bytes.clear();
+            }
+        };
+    }
+
+    @Override
+    public Decoder decoder(BinaryFormat.Header header, final ReadableByteChannel channel) {
+        final int width = width(header.dataType());
+        final ByteBuffer run = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+        final ByteBuffer bytes = ByteBuffer.allocateDirect(capacity(header, width)).order(ByteOrder.LITTLE_ENDIAN);
+        return new Decoder() {
+            private int zeros;
+            private int count;
+
+            @Override
+            public void decode(double[] values, int offset, int length) throws IOException {
+                while (length > 0) {
+                    if (zeros == 0 && count == 0) {
+                        run.clear();
+                        readFully(channel, run);
+                        zeros = run.getInt();
+                        count = run.getInt();
+                        if (zeros < 0 || count < 0)
+                            throw new IOException("Corrupt sparse run");
+                        continue;
+                    }
+                    if (zeros > 0) {
+                        int n = Math.min(length, zeros);
+                        Arrays.fill(values, offset, offset + n, 0);
+                        zeros -= n;
+                        offset += n;
+                        length -= n;
+                    } else {
+                        int n = Math.min(length, Math.min(count, bytes.capacity() / width));
+                        bytes.clear();
+                        bytes.limit(n * width);
+                        readFully(channel, bytes);
+                        get(bytes, values, offset, n, width);
+                        count -= n;
+                        offset += n;
+                        length -= n;
+                    }
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2015 Skymind,Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package org.nd4j.linalg.api.io;
+
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.NDArrayFactory;
+import org.nd4j.linalg.factory.Nd4j;
+
+import java.io.*;
+import java.util.NoSuchElementException;
+import java.util.regex.Pattern;
+
+/**
+ * Reads a matrix stored as delimited text, one row per line,
+ * a block of rows at a time. Blank lines are skipped and every
+ * row must have as many columns as the first.
+ *
+ * @author Adam Gibson
+ */
+public class TextBlockReader implements BlockReader {
+
+    private final BufferedReader reader;
+    private final Pattern split;
+    private final int blockSize;
+    private final int columns;
+    private double[] values;
+    private String line;
+    private long lineNumber;
+
+    /**
+     * Read a file in blocks of rows
+     *
+     * @param file      the file to read
+     * @param split     the regular expression separating columns
+     * @param blockSize the maximum number of rows per block
+     * @throws IOException if the file can not be read
+     */
+    public TextBlockReader(File file, String split, int blockSize) throws IOException {
+        this(new FileInputStream(file), split, blockSize, true);
+    }
+
+    /**
+     * Read a stream in blocks of rows
+     *
+     * @param is        the stream to read
+     * @param split     the regular expression separating columns
+     * @param blockSize the maximum number of rows per block
+     * @throws IOException if the stream can not be read
+     */
+    public TextBlockReader(InputStream is, String split, int blockSize) throws IOException {
+        this(is, split, blockSize, false);
+    }
+
+    /**
+     * @param opened whether the reader opened the stream itself,
+     *               in which case it is closed again if the reader can not be created
+     */
+    private TextBlockReader(InputStream is, String split, int blockSize, boolean opened) throws IOException {
+        this.reader = new BufferedReader(new InputStreamReader(is));
+        this.blockSize = blockSize;
+        try {
+            if (blockSize < 1)
+                throw new IllegalArgumentException("Block size must be at least 1");
+            this.split = Pattern.compile(split);
+            advance();
+            this.columns = line == null ? 0 : tokens(line).length;
+            if ((long) columns * blockSize > Integer.MAX_VALUE)
+                throw new IllegalArgumentException("Blocks of " + blockSize + " rows do not fit in a single buffer");
+        } catch (IOException | RuntimeException e) {
+            if (opened)
+                is.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public int[] sliceShape() {
+        return new int[]{columns};
+    }
+
+    @Override
+    public int blockSize() {
+        return blockSize;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return line != null;
+    }
+
+    @Override
+    public INDArray next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        if (values == null)
+            values = new double[blockSize * columns];
+
+        int rows = 0;
+        try {
+            while (line != null && rows < blockSize) {
+                String[] tokens = tokens(line);
+                if (tokens.length != columns)
+                    throw new IllegalStateException("Line " + lineNumber + " has " + tokens.length + " columns, expected " + columns);
+                int offset = rows * columns;
+                for (int i = 0; i < columns; i++)
+                    values[offset + i] = Double.parseDouble(tokens[i]);
+                rows++;
+                advance();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+
+        DataBuffer data = Nd4j.createBuffer(rows * columns);
+        data.putDoubles(0, 1, values, 0, rows * columns);
+        int[] shape = {rows, columns};
+        return Nd4j.create(data, shape, Nd4j.getStrides(shape, NDArrayFactory.C), 0, NDArrayFactory.C);
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private String[] tokens(String line) {
+        return split.split(line.trim());
+    }
+
+    //move to the next line that is not blank
+    private void advance() throws IOException {
+        do {
+            line = reader.readLine();
+            lineNumber++;
+        } while (line != null && line.trim().isEmpty());
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2015 Skymind,Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package org.nd4j.linalg.api.io;
+
+import org.nd4j.linalg.api.ndarray.INDArray;
+
+import java.io.*;
+
+/**
+ * Writes a matrix as delimited text, one row per line,
+ * a block of rows at a time.
+ *
+ * @author Adam Gibson
+ */
+public class TextBlockWriter implements BlockWriter {
+
+    private final Writer writer;
+    private final String split;
+    private final StringBuilder sb = new StringBuilder();
+    private long appended;
+
+    /**
+     * Write to a file
+     *
+     * @param file   the file to write to
+     * @param split  the separator between columns
+     * @param append whether to append to the rows already in the file
+     * @throws IOException if the file can not be opened
+     */
+    public TextBlockWriter(File file, String split, boolean append) throws IOException {
+        this(new FileWriter(file, append), split);
+    }
+
+    /**
+     * Write to a writer
+     *
+     * @param writer the writer to write to
+     * @param split  the separator between columns
+     */
+    public TextBlockWriter(Writer writer, String split) {
+        this.writer = writer instanceof BufferedWriter ? writer : new BufferedWriter(writer);
+        this.split = split;
+    }
+
+    @Override
+    public void append(INDArray block) throws IOException {
+        if (block.shape().length == 1) {
+            appendRow(block);
+            appended++;
+        } else if (block.shape().length == 2) {
+            for (int i = 0; i < block.rows(); i++)
+                appendRow(block.getRow(i));
+            appended += block.rows();
+        } else
+            throw new IllegalArgumentException("Only vectors and matrices can be written as text");
+    }
+
+    private void appendRow(INDArray row) throws IOException {
+        sb.setLength(0);
+        for (int j = 0; j < row.length(); j++) {
+            if (j > 0)
+                sb.append(split);
+            sb.append(row.getDouble(j));
+        }
+        sb.append('\n');
+        writer.write(sb.toString());
+    }
+
+    @Override
+    public long slices() {
+        return appended;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
@@ -25,15 +25,18 @@ import org.nd4j.linalg.api.buffer.FloatBuffer;
 import org.nd4j.linalg.api.complex.IComplexNDArray;
 import org.nd4j.linalg.api.complex.IComplexNumber;
 import org.nd4j.linalg.api.dimensionfunctions.DimensionFunctions;
+import org.nd4j.linalg.factory.BatchedGemm;
 import org.nd4j.linalg.factory.NDArrayFactory;
 import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.linalg.indexing.Indices;
 import org.nd4j.linalg.indexing.NDArrayIndex;
+import org.nd4j.linalg.indexing.StridedIndexing;
 import org.nd4j.linalg.indexing.conditions.Condition;
+import org.nd4j.linalg.ops.BroadcastOps;
+import org.nd4j.linalg.ops.reduceops.DimensionReduction;
 import org.nd4j.linalg.ops.reduceops.Ops;
 import org.nd4j.linalg.ops.transforms.Transforms;
 import org.nd4j.linalg.util.ArrayUtil;
-import org.nd4j.linalg.util.IterationResult;
 import org.nd4j.linalg.util.LinAlgExceptions;
 import org.nd4j.linalg.util.Shape;
 
@@ -85,7 +88,8 @@ public abstract class BaseNDArray implements INDArray {
 
     public BaseNDArray(DataBuffer buffer, int[] shape, int[] stride, int offset, char ordering) {
         this.data = buffer;
-        if (ArrayUtil.prod(shape) > buffer.length())
+        //broadcast views repeat elements so may be longer than their buffer
+        if (ArrayUtil.prod(shape) > buffer.length() && !Shape.isBroadcast(shape, stride))
             throw new IllegalArgumentException("Shape must be <= buffer length");
         this.stride = stride;
         this.offset = offset;
@@ -458,7 +462,8 @@ public abstract class BaseNDArray implements INDArray {
     public INDArray linearView() {
         if (isVector())
             return this;
-        if (linearView == null)
+        //a broadcast view is re read every time so it reflects the ndarray it views
+        if (linearView == null || BroadcastOps.isBroadcast(this))
             resetLinearView();
 
         return linearView;
@@ -466,7 +471,11 @@ public abstract class BaseNDArray implements INDArray {
 
     @Override
     public void resetLinearView() {
-        linearView = Nd4j.create(data, new int[]{length}, offset());
+        //the buffer of a broadcast view holds fewer elements than the view, so it is linearized through a copy
+        if (BroadcastOps.isBroadcast(this))
+            linearView = BroadcastOps.assign(this, Nd4j.create(shape(), ordering)).linearView();
+        else
+            linearView = Nd4j.create(data, new int[]{length}, offset());
     }
 
     @Override
@@ -632,16 +641,20 @@ public abstract class BaseNDArray implements INDArray {
      */
     @Override
     public INDArray assign(INDArray arr) {
+        BroadcastOps.assertWritable(this);
         if (!arr.isVector() && !isVector())
             LinAlgExceptions.assertSameShape(this, arr);
         else if (isVector() && arr.isVector() && length() != arr.length())
             throw new IllegalArgumentException("Illegal assignment, must be of same length");
+        if (BroadcastOps.isBroadcast(arr))
+            return BroadcastOps.assign(arr, this);
         Nd4j.getBlasWrapper().copy(arr, this);
         return this;
     }
 
     @Override
     public INDArray putScalar(int i, double value) {
+        BroadcastOps.assertWritable(this);
         int idx = linearIndex(i);
         data.put(idx, value);
         return this;
@@ -649,6 +662,7 @@ public abstract class BaseNDArray implements INDArray {
 
     @Override
     public INDArray putScalar(int i, float value) {
+        BroadcastOps.assertWritable(this);
         int idx = linearIndex(i);
         data.put(idx, value);
         return this;
@@ -656,6 +670,7 @@ public abstract class BaseNDArray implements INDArray {
 
     @Override
     public INDArray putScalar(int i, int value) {
+        BroadcastOps.assertWritable(this);
         int idx = linearIndex(i);
         data.put(idx, value);
         return this;
@@ -663,6 +678,7 @@ public abstract class BaseNDArray implements INDArray {
 
     @Override
     public INDArray putScalar(int[] indexes, double value) {
+        BroadcastOps.assertWritable(this);
         int ix = offset;
         for (int i = 0; i < shape.length; i++) {
             ix += indexes[i] * stride[i];
@@ -674,6 +690,7 @@ public abstract class BaseNDArray implements INDArray {
 
     @Override
     public INDArray putScalar(int[] indexes, float value) {
+        BroadcastOps.assertWritable(this);
         int ix = offset;
         for (int i = 0; i < shape.length; i++) {
             ix += indexes[i] * stride[i];
@@ -685,6 +702,7 @@ public abstract class BaseNDArray implements INDArray {
 
     @Override
     public INDArray putScalar(int[] indexes, int value) {
+        BroadcastOps.assertWritable(this);
         int ix = offset;
         for (int i = 0; i < shape.length; i++) {
             ix += indexes[i] * stride[i];
@@ -715,6 +733,7 @@ public abstract class BaseNDArray implements INDArray {
      */
     @Override
     public INDArray epsi(Number other) {
+        BroadcastOps.assertWritable(this);
         INDArray linearView = linearView();
         double otherVal = other.doubleValue();
 
@@ -753,6 +772,7 @@ public abstract class BaseNDArray implements INDArray {
      */
     @Override
     public INDArray epsi(INDArray other) {
+        BroadcastOps.assertWritable(this);
         INDArray linearView = linearView();
         INDArray otherLinearView = other.linearView();
         for (int i = 0; i < linearView.length(); i++) {
@@ -775,6 +795,7 @@ public abstract class BaseNDArray implements INDArray {
 
     @Override
     public INDArray lti(Number other) {
+        BroadcastOps.assertWritable(this);
         INDArray linear = linearView();
         double val = other.doubleValue();
         for (int i = 0; i < linear.length(); i++) {
@@ -790,6 +811,7 @@ public abstract class BaseNDArray implements INDArray {
 
     @Override
     public INDArray eqi(Number other) {
+        BroadcastOps.assertWritable(this);
         INDArray linear = linearView();
         double val = other.doubleValue();
         for (int i = 0; i < linear.length(); i++) {
@@ -805,6 +827,7 @@ public abstract class BaseNDArray implements INDArray {
 
     @Override
     public INDArray gti(Number other) {
+        BroadcastOps.assertWritable(this);
         INDArray linear = linearView();
         double val = other.doubleValue();
         for (int i = 0; i < linear.length(); i++) {
@@ -820,6 +843,7 @@ public abstract class BaseNDArray implements INDArray {
 
     @Override
     public INDArray lti(INDArray other) {
+        BroadcastOps.assertWritable(this);
         INDArray linear = linearView();
         INDArray otherLinear = other.linearView();
         for (int i = 0; i < linear.length(); i++) {
@@ -835,6 +859,7 @@ public abstract class BaseNDArray implements INDArray {
 
     @Override
     public INDArray neqi(Number other) {
+        BroadcastOps.assertWritable(this);
         INDArray linear = linearView();
         double val = other.doubleValue();
         for (int i = 0; i < linear.length(); i++) {
@@ -850,6 +875,7 @@ public abstract class BaseNDArray implements INDArray {
 
     @Override
     public INDArray neqi(INDArray other) {
+        BroadcastOps.assertWritable(this);
         INDArray linear = linearView();
         INDArray otherLinear = other.linearView();
         for (int i = 0; i < linear.length(); i++) {
@@ -865,6 +891,7 @@ public abstract class BaseNDArray implements INDArray {
 
     @Override
     public INDArray eqi(INDArray other) {
+        BroadcastOps.assertWritable(this);
         INDArray linear = linearView();
         INDArray otherLinear = other.linearView();
         for (int i = 0; i < linear.length(); i++) {
@@ -880,6 +907,7 @@ public abstract class BaseNDArray implements INDArray {
 
     @Override
     public INDArray gti(INDArray other) {
+        BroadcastOps.assertWritable(this);
         INDArray linear = linearView();
         INDArray otherLinear = other.linearView();
         for (int i = 0; i < linear.length(); i++) {
@@ -911,6 +939,7 @@ public abstract class BaseNDArray implements INDArray {
 
     @Override
     public INDArray rdivi(Number n, INDArray result) {
+        BroadcastOps.assertWritable(result);
         if (Double.isNaN(n.doubleValue()))
             n = Nd4j.EPS_THRESHOLD;
 
@@ -927,6 +956,7 @@ public abstract class BaseNDArray implements INDArray {
 
     @Override
     public INDArray rsubi(Number n, INDArray result) {
+        BroadcastOps.assertWritable(result);
         if (Double.isNaN(n.doubleValue()))
             n = Nd4j.EPS_THRESHOLD;
 
@@ -944,6 +974,7 @@ public abstract class BaseNDArray implements INDArray {
 
     @Override
     public INDArray divi(Number n, INDArray result) {
+        BroadcastOps.assertWritable(result);
         if (Double.isNaN(n.doubleValue()))
             n = Nd4j.EPS_THRESHOLD;
 
@@ -962,6 +993,7 @@ public abstract class BaseNDArray implements INDArray {
 
     @Override
     public INDArray muli(Number n, INDArray result) {
+        BroadcastOps.assertWritable(result);
         if (Double.isNaN(n.doubleValue()))
             n = Nd4j.EPS_THRESHOLD;
         data().muli(n.doubleValue(),majorStride(),offset(),result.data());
@@ -979,6 +1011,7 @@ public abstract class BaseNDArray implements INDArray {
 
     @Override
     public INDArray subi(Number n, INDArray result) {
+        BroadcastOps.assertWritable(result);
         if (Double.isNaN(n.doubleValue()))
             n = Nd4j.EPS_THRESHOLD;
 
@@ -997,6 +1030,7 @@ public abstract class BaseNDArray implements INDArray {
 
     @Override
     public INDArray addi(Number n, INDArray result) {
+        BroadcastOps.assertWritable(result);
         if (Double.isNaN(n.doubleValue()))
             n = Nd4j.EPS_THRESHOLD;
         data().addi(n.doubleValue(),majorStride(),offset(),result.data());
@@ -1018,6 +1052,8 @@ public abstract class BaseNDArray implements INDArray {
 
     @Override
     public INDArray dup() {
+        if (BroadcastOps.isBroadcast(this))
+            return BroadcastOps.assign(this, Nd4j.create(shape()));
         DataBuffer dup = data().dup();
         INDArray ret = Nd4j.create(dup, shape(), stride(), offset());
         return ret;
@@ -1098,6 +1134,7 @@ public abstract class BaseNDArray implements INDArray {
      */
     @Override
     public INDArray put(int[] indices, INDArray element) {
+        BroadcastOps.assertWritable(this);
         if (!element.isScalar())
             throw new IllegalArgumentException("Unable to insert anything but a scalar");
         int ix = offset;
@@ -1233,84 +1270,7 @@ public abstract class BaseNDArray implements INDArray {
         if (isVector())
             return Nd4j.scalar(reduceVector(op, this));
 
-
-        int[] shape = ArrayUtil.removeIndex(this.shape, dimension);
-
-        if (dimension == 0) {
-            double[] data2 = new double[ArrayUtil.prod(shape)];
-            int dataIter = 0;
-
-            //iterating along the dimension is relative to the number of slices
-            //in the return dimension
-            int numTimes = ArrayUtil.prod(shape);
-            for (int offset = this.offset; offset < numTimes; offset++) {
-                double reduce = op(dimension, offset, op);
-                data2[dataIter++] = reduce;
-
-            }
-
-            return Nd4j.create(data2, shape);
-        } else {
-            double[] data2 = new double[ArrayUtil.prod(shape)];
-            int dataIter = 0;
-            //want the milestone to slice[1] and beyond
-            int[] sliceIndices = endsForSlices();
-            int currOffset = 0;
-
-            //iterating along the dimension is relative to the number of slices
-            //in the return dimension
-            int numTimes = ArrayUtil.prod(shape);
-            for (int offset = this.offset; offset < numTimes; offset++) {
-                if (dataIter >= data2.length || currOffset >= sliceIndices.length)
-                    break;
-
-                //do the operation,, and look for whether it exceeded the current slice
-                IterationResult pair = op(dimension, offset, op, sliceIndices[currOffset]);
-                //append the result
-                double reduce = pair.getResult();
-                data2[dataIter++] = reduce;
-
-                //go to next slice and iterate over that
-                if (pair.isNextSlice()) {
-                    //will update to next step
-                    offset = sliceIndices[currOffset];
-                    numTimes += sliceIndices[currOffset];
-                    currOffset++;
-                }
-
-            }
-
-            return Nd4j.create(data2, shape);
-
-        }
-
-    }
-
-    //getFromOrigin one result along one dimension based on the given offset
-    private IterationResult op(int dimension, int offset, Ops.DimensionOp op, int currOffsetForSlice) {
-        double[] dim = new double[this.shape[dimension]];
-        int count = 0;
-        boolean newSlice = false;
-        for (int j = offset; count < dim.length; j += this.stride[dimension]) {
-            double d = data.getDouble(j);
-            dim[count++] = d;
-            if (j >= currOffsetForSlice)
-                newSlice = true;
-        }
-
-        return new IterationResult(reduceVector(op, Nd4j.create(dim)), newSlice);
-    }
-
-    //getFromOrigin one result along one dimension based on the given offset
-    private double op(int dimension, int offset, Ops.DimensionOp op) {
-        double[] dim = new double[this.shape[dimension]];
-        int count = 0;
-        for (int j = offset; count < dim.length; j += this.stride[dimension]) {
-            double d = data.getDouble(j);
-            dim[count++] = d;
-        }
-
-        return reduceVector(op, Nd4j.create(dim));
+        return DimensionReduction.reduce(this, dimension, op);
     }
 
     @Override
@@ -1503,6 +1463,12 @@ public abstract class BaseNDArray implements INDArray {
                 return vector.norm2(Integer.MAX_VALUE).getDouble(0);
             case NORM_MAX:
                 return vector.normmax(Integer.MAX_VALUE).getDouble(0);
+            case PROD:
+                return vector.prod(Integer.MAX_VALUE).getDouble(0);
+            case VAR:
+                return vector.var(Integer.MAX_VALUE).getDouble(0);
+            case STD:
+                return vector.std(Integer.MAX_VALUE).getDouble(0);
             default:
                 throw new IllegalArgumentException("Illegal operation");
         }
@@ -1539,6 +1505,10 @@ public abstract class BaseNDArray implements INDArray {
 
     @Override
     public INDArray put(NDArrayIndex[] indices, INDArray element) {
+        if (StridedIndexing.canIndex(this) && indices.length == shape().length
+                && (StridedIndexing.isStrided(indices) || !Indices.isContiguous(indices)))
+            return StridedIndexing.scatter(this, indices, element);
+
         if (Indices.isContiguous(indices)) {
             INDArray get = get(indices);
             INDArray linear = get.linearView();
@@ -1865,6 +1835,9 @@ public abstract class BaseNDArray implements INDArray {
 
             return this;
         }
+        if (BroadcastOps.canApplyVector(this, columnVector, 0))
+            return BroadcastOps.applyVector(this, columnVector, 0, operation);
+
         assertColumnVector(columnVector);
         for (int i = 0; i < columns(); i++) {
             INDArray slice = slice(i, 0);
@@ -1941,6 +1914,9 @@ public abstract class BaseNDArray implements INDArray {
             return this;
         }
 
+        if (BroadcastOps.canApplyVector(this, rowVector, 1))
+            return BroadcastOps.applyVector(this, rowVector, 1, operation);
+
         assertRowVector(rowVector);
         for (int i = 0; i < rows(); i++) {
             switch (operation) {
@@ -2020,6 +1996,7 @@ public abstract class BaseNDArray implements INDArray {
      */
     @Override
     public INDArray put(int i, INDArray element) {
+        BroadcastOps.assertWritable(this);
         if (element == null)
             throw new IllegalArgumentException("Unable to insert null element");
         assert element.isScalar() : "Unable to insert non scalar element";
@@ -2213,19 +2190,8 @@ public abstract class BaseNDArray implements INDArray {
     @Override
     public INDArray mmul(INDArray other) {
         int[] shape = {rows(), other.columns()};
-        char order = Nd4j.factory().order();
-        boolean switchedOrder = false;
-        synchronized (Nd4j.factory()) {
-            if (order != NDArrayFactory.FORTRAN) {
-                Nd4j.factory().setOrder(NDArrayFactory.FORTRAN);
-                switchedOrder = true;
-            }
-        }
-        INDArray result = Nd4j.create(shape, other.data().dataType());
-        synchronized (Nd4j.factory()) {
-            if (switchedOrder && order != NDArrayFactory.FORTRAN)
-                Nd4j.factory().setOrder(NDArrayFactory.C);
-        }
+        //gemm writes column major, allocate that way without touching the factory order
+        INDArray result = Nd4j.create(shape, other.data().dataType(), NDArrayFactory.FORTRAN);
         return mmuli(other, result);
     }
 
@@ -2241,6 +2207,34 @@ public abstract class BaseNDArray implements INDArray {
         return dup().mmuli(other, result);
     }
 
+    /**
+     * Perform a batched matrix multiplication of rank 3 stacks
+     *
+     * @param other a stack of shape [batch, k, n] or a [k, n] matrix
+     * @return a new stack of shape [batch, m, n]
+     */
+    @Override
+    public INDArray batchMmul(INDArray other) {
+        INDArray result = Nd4j.create(BatchedGemm.resultShape(this, other), data.dataType(), NDArrayFactory.C);
+        return batchMmul(other, result);
+    }
+
+    /**
+     * Perform a batched matrix multiplication in to a preallocated result
+     *
+     * @param other  a stack of shape [batch, k, n] or a [k, n] matrix
+     * @param result the stack of shape [batch, m, n] to write to
+     * @return the result
+     */
+    @Override
+    public INDArray batchMmul(INDArray other, INDArray result) {
+        if (data.dataType() == DataBuffer.DOUBLE)
+            Nd4j.getBlasWrapper().gemmBatched(1.0, this, other, 0.0, result);
+        else
+            Nd4j.getBlasWrapper().gemmBatched(1.0f, this, other, 0.0f, result);
+        return result;
+    }
+
     /**
      * in place (element wise) division of two matrices
      *
@@ -2382,7 +2376,7 @@ public abstract class BaseNDArray implements INDArray {
             /* actually, blas cannot do multiplications in-place. Therefore, we will fake by
              * allocating a temporary object on the side and copy the result later.
              */
-            INDArray temp = Nd4j.create(resultArray.shape(), ArrayUtil.calcStridesFortran(resultArray.shape()));
+            INDArray temp = Nd4j.create(resultArray.shape(), data.dataType(), NDArrayFactory.FORTRAN);
 
             if (otherArray.columns() == 1) {
                 if (data.dataType() == (DataBuffer.DOUBLE))
@@ -2438,6 +2432,8 @@ public abstract class BaseNDArray implements INDArray {
      */
     @Override
     public INDArray divi(INDArray other, INDArray result) {
+        if (BroadcastOps.isBroadcast(this) || BroadcastOps.isBroadcast(other))
+            return BroadcastOps.exec(this, other, result, 'd');
         if (other.isScalar()) {
             return divi(other.getDouble(0), result);
         }
@@ -2473,6 +2469,8 @@ public abstract class BaseNDArray implements INDArray {
      */
     @Override
     public INDArray muli(INDArray other, INDArray result) {
+        if (BroadcastOps.isBroadcast(this) || BroadcastOps.isBroadcast(other))
+            return BroadcastOps.exec(this, other, result, 'm');
         if (other.isScalar()) {
             return muli(other.getDouble(0), result);
         }
@@ -2507,6 +2505,8 @@ public abstract class BaseNDArray implements INDArray {
      */
     @Override
     public INDArray subi(INDArray other, INDArray result) {
+        if (BroadcastOps.isBroadcast(this) || BroadcastOps.isBroadcast(other))
+            return BroadcastOps.exec(this, other, result, 's');
         if (other.isScalar()) {
             return subi(other.getDouble(0), result);
         }
@@ -2565,6 +2565,8 @@ public abstract class BaseNDArray implements INDArray {
      */
     @Override
     public INDArray addi(INDArray other, INDArray result) {
+        if (BroadcastOps.isBroadcast(this) || BroadcastOps.isBroadcast(other))
+            return BroadcastOps.exec(this, other, result, 'a');
         if (other.isScalar()) {
             return result.addi(other.getDouble(0), result);
         }
@@ -2604,6 +2606,8 @@ public abstract class BaseNDArray implements INDArray {
      */
     @Override
     public INDArray normmax(int dimension) {
+        if (isStridedReduction(dimension))
+            return DimensionReduction.reduce(this, dimension, Ops.DimensionOp.NORM_MAX);
         Triple<SliceOp, INDArray, int[]> pair = getOp(new AtomicInteger(0), DimensionFunctions.normmax(dimension), dimension);
         return doDimensionWise(
                 DimensionFunctions.normmax(),
@@ -2706,12 +2710,15 @@ public abstract class BaseNDArray implements INDArray {
      */
     @Override
     public INDArray assign(Number value) {
+        BroadcastOps.assertWritable(this);
         data().assign(value);
         return this;
     }
 
     @Override
     public int linearIndex(int i) {
+        if (BroadcastOps.isBroadcast(this))
+            return offset + Shape.linearOffset(shape, stride, ordering, i);
         int realStride = stride[0];
         int idx = offset + i * realStride;
 
@@ -3091,6 +3098,8 @@ public abstract class BaseNDArray implements INDArray {
      */
     @Override
     public INDArray prod(int dimension) {
+        if (isStridedReduction(dimension))
+            return DimensionReduction.reduce(this, dimension, Ops.DimensionOp.PROD);
         Triple<SliceOp, INDArray, int[]> pair = getOp(new AtomicInteger(0), DimensionFunctions.prod(dimension), dimension);
         return doDimensionWise(
                 DimensionFunctions.prod(),
@@ -3105,6 +3114,8 @@ public abstract class BaseNDArray implements INDArray {
      */
     @Override
     public INDArray mean(int dimension) {
+        if (isStridedReduction(dimension))
+            return DimensionReduction.reduce(this, dimension, Ops.DimensionOp.MEAN);
         Triple<SliceOp, INDArray, int[]> pair = getOp(new AtomicInteger(0), DimensionFunctions.mean(dimension), dimension);
         return doDimensionWise(
                 DimensionFunctions.mean(),
@@ -3119,6 +3130,8 @@ public abstract class BaseNDArray implements INDArray {
      */
     @Override
     public INDArray var(int dimension) {
+        if (isStridedReduction(dimension))
+            return DimensionReduction.reduce(this, dimension, Ops.DimensionOp.VAR);
         Triple<SliceOp, INDArray, int[]> pair = getOp(new AtomicInteger(0), DimensionFunctions.var(dimension), dimension);
         return doDimensionWise(
                 DimensionFunctions.var(),
@@ -3133,6 +3146,8 @@ public abstract class BaseNDArray implements INDArray {
      */
     @Override
     public INDArray max(int dimension) {
+        if (isStridedReduction(dimension))
+            return DimensionReduction.reduce(this, dimension, Ops.DimensionOp.MAX);
         Triple<SliceOp, INDArray, int[]> pair = getOp(new AtomicInteger(0), DimensionFunctions.max(dimension), dimension);
         return doDimensionWise(
                 DimensionFunctions.max(),
@@ -3147,6 +3162,8 @@ public abstract class BaseNDArray implements INDArray {
      */
     @Override
     public INDArray min(int dimension) {
+        if (isStridedReduction(dimension))
+            return DimensionReduction.reduce(this, dimension, Ops.DimensionOp.MIN);
         Triple<SliceOp, INDArray, int[]> pair = getOp(new AtomicInteger(0), DimensionFunctions.min(dimension), dimension);
         return doDimensionWise(
                 DimensionFunctions.min(),
@@ -3161,6 +3178,8 @@ public abstract class BaseNDArray implements INDArray {
      */
     @Override
     public INDArray sum(int dimension) {
+        if (isStridedReduction(dimension))
+            return DimensionReduction.reduce(this, dimension, Ops.DimensionOp.SUM);
         Triple<SliceOp, INDArray, int[]> pair = getOp(new AtomicInteger(0), DimensionFunctions.sum(dimension), dimension);
         return doDimensionWise(
                 DimensionFunctions.sum(),
@@ -3176,6 +3195,8 @@ public abstract class BaseNDArray implements INDArray {
      */
     @Override
     public INDArray norm1(int dimension) {
+        if (isStridedReduction(dimension))
+            return DimensionReduction.reduce(this, dimension, Ops.DimensionOp.NORM_1);
         Triple<SliceOp, INDArray, int[]> pair = getOp(new AtomicInteger(0), DimensionFunctions.norm1(dimension), dimension);
         return doDimensionWise(
                 DimensionFunctions.norm1(),
@@ -3191,6 +3212,8 @@ public abstract class BaseNDArray implements INDArray {
      */
     @Override
     public INDArray std(int dimension) {
+        if (isStridedReduction(dimension))
+            return DimensionReduction.reduce(this, dimension, Ops.DimensionOp.STD);
         Triple<SliceOp, INDArray, int[]> pair = getOp(new AtomicInteger(0), DimensionFunctions.std(dimension), dimension);
         return doDimensionWise(
                 DimensionFunctions.std(),
@@ -3206,6 +3229,8 @@ public abstract class BaseNDArray implements INDArray {
      */
     @Override
     public INDArray norm2(int dimension) {
+        if (isStridedReduction(dimension))
+            return DimensionReduction.reduce(this, dimension, Ops.DimensionOp.NORM_2);
         Triple<SliceOp, INDArray, int[]> pair = getOp(new AtomicInteger(0), DimensionFunctions.norm2(dimension), dimension);
         return doDimensionWise(
                 DimensionFunctions.norm2(),
@@ -3213,6 +3238,18 @@ public abstract class BaseNDArray implements INDArray {
     }
 
 
+    /**
+     * Whether a reduction along the given dimension can be
+     * computed directly from the data buffer rather than
+     * by iterating over views of each vector
+     *
+     * @param dimension the dimension to reduce along
+     * @return true if {@link DimensionReduction} handles the reduction
+     */
+    protected boolean isStridedReduction(int dimension) {
+        return dimension != Integer.MAX_VALUE && !isVector() && DimensionReduction.canReduce(this, dimension);
+    }
+
     private Triple<SliceOp, INDArray, int[]> getOp(final AtomicInteger i, final Function<INDArray, INDArray> func, int dimension) {
         int[] shape = shape().length == 1 || dimension == Integer.MAX_VALUE ? new int[]{1} : ArrayUtil.removeIndex(shape(), dimension);
         final INDArray put = Nd4j.create(new int[]{ArrayUtil.prod(shape)});
@@ -3360,7 +3397,7 @@ public abstract class BaseNDArray implements INDArray {
                         data,
                         new int[]{shape[0], 1},
                         new int[]{stride[0], 1},
-                        offset + c, ordering
+                        offset + c * stride[1], ordering
                 );
 
                 return ret;
@@ -3369,7 +3406,7 @@ public abstract class BaseNDArray implements INDArray {
                         data,
                         new int[]{shape[0], 1},
                         new int[]{stride[0], 1},
-                        offset + c * rows(), ordering
+                        offset + c * stride[1], ordering
                 );
 
                 return ret;
@@ -3392,6 +3429,8 @@ public abstract class BaseNDArray implements INDArray {
     @Override
     public INDArray getRows(int[] rindices) {
         INDArray rows = Nd4j.create(rindices.length, columns());
+        if (StridedIndexing.canCopyVectors(this))
+            return StridedIndexing.gather(this, 0, rindices, rows);
         for (int i = 0; i < rindices.length; i++) {
             rows.putRow(i, getRow(rindices[i]));
         }
@@ -3412,6 +3451,13 @@ public abstract class BaseNDArray implements INDArray {
         //also prune indices greater than the shape to be the shape instead
 
         indexes = Indices.adjustIndices(shape(), indexes);
+        if (StridedIndexing.canIndex(this) && indexes.length == shape().length) {
+            if (StridedIndexing.isStrided(indexes))
+                return StridedIndexing.view(this, indexes);
+            //no stride will help here, copy the elements out directly
+            if (!Indices.isContiguous(indexes))
+                return StridedIndexing.gather(this, indexes);
+        }
 
 
         int[] offsets = Indices.offsets(indexes);
@@ -3470,12 +3516,36 @@ public abstract class BaseNDArray implements INDArray {
     @Override
     public INDArray getColumns(int[] cindices) {
         INDArray rows = Nd4j.create(rows(), cindices.length);
+        if (StridedIndexing.canCopyVectors(this))
+            return StridedIndexing.gather(this, 1, cindices, rows);
         for (int i = 0; i < cindices.length; i++) {
             rows.putColumn(i, getColumn(cindices[i]));
         }
         return rows;
     }
 
+    @Override
+    public INDArray getColumns(int[] cindices, INDArray out) {
+        return StridedIndexing.gather(this, 1, cindices, out);
+    }
+
+    @Override
+    public INDArray getRows(int[] rindices, INDArray out) {
+        return StridedIndexing.gather(this, 0, rindices, out);
+    }
+
+    @Override
+    public INDArray putColumns(int[] cindices, INDArray toPut) {
+        StridedIndexing.scatter(this, 1, cindices, toPut);
+        return this;
+    }
+
+    @Override
+    public INDArray putRows(int[] rindices, INDArray toPut) {
+        StridedIndexing.scatter(this, 0, rindices, toPut);
+        return this;
+    }
+
     /**
      * Get a copy of a row.
      *
@@ -3489,7 +3559,7 @@ public abstract class BaseNDArray implements INDArray {
                         data,
                         new int[]{shape[1]},
                         new int[]{stride[1]},
-                        offset + r * columns(),
+                        offset + r * stride[0],
                         ordering
                 );
 
@@ -3499,7 +3569,7 @@ public abstract class BaseNDArray implements INDArray {
                         data,
                         new int[]{shape[1]},
                         new int[]{stride[1]},
-                        offset + r,
+                        offset + r * stride[0],
                         ordering
                 );
                 return ret;
@@ -3657,60 +3727,14 @@ public abstract class BaseNDArray implements INDArray {
     public INDArray broadcast(int[] shape) {
         if (Shape.shapeEquals(shape, shape()))
             return this;
-        boolean compatible = true;
-        int count = shape.length - 1;
-        int thisCount = this.shape.length - 1;
-        for (int i = shape.length - 1; i > 0; i--) {
-            if (count < 0 || thisCount < 0)
-                break;
-            if (shape[count] != shape()[thisCount] && shape[count] != 1 && shape()[thisCount] != 1) {
-                compatible = false;
-                break;
-            }
-
-            count--;
-            thisCount--;
-        }
-
-        if (!compatible)
-            throw new IllegalArgumentException("Incompatible broadcast from " + Arrays.toString(shape()) + " to " + Arrays.toString(shape));
-        //broadcast to shape
-        if (isScalar()) {
-            INDArray ret = Nd4j.valueArrayOf(shape, getDouble(0));
-            return ret;
-        } else if (isColumnVector() && Shape.isMatrix(shape)) {
-            INDArray ret = Nd4j.create(shape);
-            for (int i = 0; i < ret.columns(); i++)
-                ret.putColumn(i, this.dup());
-
-
-            return ret;
+        int[] retShape = Shape.broadcastShape(shape(), shape);
+        int[] retStride = Shape.broadcastStrides(shape(), stride(), retShape);
+        //row vectors are stored with a single dimension
+        if (retShape.length == 2 && retShape[0] == 1) {
+            retShape = new int[]{retShape[1]};
+            retStride = new int[]{retStride[1]};
         }
-
-
-        int[] retShape = new int[shape.length];
-
-        for (int i = 0; i < retShape.length; i++) {
-            if (i < shape().length)
-                retShape[i] = Math.max(shape[i], shape()[i]);
-            else
-                retShape[i] = shape[i];
-        }
-
-        INDArray ret = Nd4j.create(retShape);
-        INDArray linear = ret.linearView();
-        INDArray thisLinear = linearView();
-        int bufferIdx = 0;
-        for (int i = 0; i < ret.length(); i++) {
-            linear.putScalar(i, thisLinear.getDouble(bufferIdx));
-            bufferIdx++;
-            if (bufferIdx >= length())
-                bufferIdx = 0;
-        }
-
-        return ret;
-
-
+        return Nd4j.create(data, retShape, retStride, offset, ordering);
     }
 
 
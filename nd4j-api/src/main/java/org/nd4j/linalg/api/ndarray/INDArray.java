@@ -534,6 +534,42 @@ public interface INDArray extends Serializable {
      */
     INDArray getRows(int[] rows);
 
+    /**
+     * Copy the given columns in to an existing matrix
+     *
+     * @param columns the columns to copy
+     * @param out     the matrix to copy to, of shape [rows(), columns.length]
+     * @return out
+     */
+    INDArray getColumns(int[] columns, INDArray out);
+
+    /**
+     * Copy the given rows in to an existing matrix
+     *
+     * @param rows the rows to copy
+     * @param out  the matrix to copy to, of shape [rows.length, columns()]
+     * @return out
+     */
+    INDArray getRows(int[] rows, INDArray out);
+
+    /**
+     * Insert the columns of a matrix in to the given columns of this matrix
+     *
+     * @param columns the columns to write
+     * @param toPut   the columns to insert, of shape [rows(), columns.length]
+     * @return this
+     */
+    INDArray putColumns(int[] columns, INDArray toPut);
+
+    /**
+     * Insert the rows of a matrix in to the given rows of this matrix
+     *
+     * @param rows  the rows to write
+     * @param toPut the rows to insert, of shape [rows.length, columns()]
+     * @return this
+     */
+    INDArray putRows(int[] rows, INDArray toPut);
+
     /**
      * Reverse division
      *
@@ -1048,6 +1084,25 @@ public interface INDArray extends Serializable {
      */
     public INDArray mmul(INDArray other, INDArray result);
 
+    /**
+     * Perform a batched matrix multiplication of rank 3 stacks:
+     * result[i] = this[i] * other[i].
+     * Either side may also be a matrix shared by every batch.
+     *
+     * @param other a stack of shape [batch, k, n] or a [k, n] matrix
+     * @return a new stack of shape [batch, m, n]
+     */
+    public INDArray batchMmul(INDArray other);
+
+    /**
+     * Perform a batched matrix multiplication in to a preallocated result
+     *
+     * @param other  a stack of shape [batch, k, n] or a [k, n] matrix
+     * @param result the stack of shape [batch, m, n] to write to
+     * @return the result
+     */
+    public INDArray batchMmul(INDArray other, INDArray result);
+
 
     /**
      * in place (element wise) division of two matrices
@@ -1580,7 +1635,11 @@ public interface INDArray extends Serializable {
 
 
     /**
-     * Broadcasts this ndarray to be the specified shape
+     * Broadcasts this ndarray to be the specified shape.
+     * The result is a view of this ndarray with a stride of zero
+     * along every dimension being expanded, no data is copied.
+     * Element wise operations accept such views as operands;
+     * use {@link #dup()} for a writable copy.
      *
      * @param shape the new shape of this ndarray
      * @return the broadcasted ndarray
@@ -25,6 +25,8 @@ import org.nd4j.linalg.api.complex.IComplexNumber;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.api.ndarray.SliceOp;
 import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.ops.reduceops.complex.ComplexOps;
+import org.nd4j.linalg.parallel.Parallel;
 import org.nd4j.linalg.util.Shape;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -216,6 +218,27 @@ public abstract class ComplexNDArrayTests {
     }
 
 
+    @Test
+    public void testParallelScalarOps() {
+        IComplexNDArray arr = Nd4j.createComplex(Nd4j.linspace(1, 1000, 1000));
+        int threshold = Parallel.getThreshold();
+        int poolSize = Parallel.getPoolSize();
+        Parallel.setThreshold(16);
+        Parallel.setPoolSize(4);
+        try {
+            assertEquals(Nd4j.createDouble(500500, 0), ComplexOps.sum(arr));
+            assertEquals(Nd4j.createDouble(500.5, 0), ComplexOps.mean(arr));
+            assertEquals(Math.sqrt(333833500), ComplexOps.norm2(arr).realComponent().doubleValue(), 1e-6);
+            assertEquals(1000, ComplexOps.max(arr).realComponent().doubleValue(), 1e-6);
+            assertEquals(1, ComplexOps.min(arr).realComponent().doubleValue(), 1e-6);
+            assertEquals(1000 * 1001 / 12.0, ComplexOps.var(arr).realComponent().doubleValue(), 1e-6);
+        } finally {
+            Parallel.setThreshold(threshold);
+            Parallel.setPoolSize(poolSize);
+        }
+    }
+
+
     @Test
     public void testCreateComplexFromReal() {
         INDArray n = Nd4j.create(new double[]{1, 2, 3, 4, 5, 6, 7, 8}, new int[]{2, 4});
@@ -21,17 +21,37 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.buffer.MappedDoubleBuffer;
+import org.nd4j.linalg.api.buffer.MappedFloatBuffer;
+import org.nd4j.linalg.api.io.BinaryBlockReader;
+import org.nd4j.linalg.api.io.BinaryBlockWriter;
+import org.nd4j.linalg.api.io.BinaryFormat;
+import org.nd4j.linalg.api.io.BlockReader;
+import org.nd4j.linalg.api.io.BlockWriter;
+import org.nd4j.linalg.api.io.Codec;
+import org.nd4j.linalg.api.io.DeflateCodec;
+import org.nd4j.linalg.api.io.Float16Codec;
+import org.nd4j.linalg.api.io.Int8Codec;
+import org.nd4j.linalg.api.io.SparseCodec;
+import org.nd4j.linalg.api.io.TextBlockReader;
+import org.nd4j.linalg.api.io.TextBlockWriter;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.api.ndarray.SliceOp;
 import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.linalg.indexing.NDArrayIndex;
 import org.nd4j.linalg.ops.reduceops.Ops;
 import org.nd4j.linalg.ops.transforms.Transforms;
+import org.nd4j.linalg.parallel.Parallel;
 import org.nd4j.linalg.util.ArrayUtil;
 import org.nd4j.linalg.util.Shape;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -656,6 +676,32 @@ public abstract class NDArrayTests {
 
     }
 
+    @Test
+    public void testMmulConcurrent() throws Exception {
+        final INDArray a = Nd4j.create(new double[]{1, 2, 3, 4, 5, 6}, new int[]{2, 3});
+        final INDArray b = Nd4j.create(new double[]{1, 4, 2, 5, 3, 6}, new int[]{3, 2});
+        final INDArray expected = a.mmul(b);
+        final AtomicInteger failures = new AtomicInteger(0);
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int k = 0; k < 100; k++) {
+                        if (!expected.equals(a.mmul(b)))
+                            failures.incrementAndGet();
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads)
+            thread.join();
+
+        assertEquals(0, failures.get());
+        assertEquals('c', Nd4j.order().charValue());
+    }
+
     @Test
     public void testSum2() {
         INDArray test = Nd4j.create(new float[]{1, 2, 3, 4}, new int[]{2, 2});
@@ -1062,6 +1108,82 @@ public abstract class NDArrayTests {
 
     }
 
+    @Test
+    public void testRowAndColumnVectorOps() {
+        INDArray matrix = Nd4j.linspace(1, 12, 12).reshape(3, 4);
+        INDArray original = matrix.dup();
+        INDArray row = Nd4j.create(new double[]{1, 2, 3, 4});
+        INDArray column = Nd4j.create(new double[]{2, 4, 8}, new int[]{3, 1});
+        matrix.addiRowVector(row).muliColumnVector(column);
+        for (int i = 0; i < 3; i++)
+            for (int j = 0; j < 4; j++)
+                assertEquals((original.getDouble(i, j) + j + 1) * (2 << i), matrix.getDouble(i, j), 1e-6);
+
+        //views are walked through their strides
+        INDArray transposed = original.transpose();
+        INDArray before = transposed.dup();
+        transposed.rsubiRowVector(Nd4j.create(new double[]{1, 2, 3}));
+        for (int i = 0; i < 4; i++)
+            for (int j = 0; j < 3; j++)
+                assertEquals(j + 1 - before.getDouble(i, j), transposed.getDouble(i, j), 1e-6);
+    }
+
+    @Test
+    public void testStridedGet() {
+        INDArray matrix = Nd4j.linspace(1, 20, 20).reshape(4, 5);
+        INDArray view = matrix.get(NDArrayIndex.interval(0, 2, 4), NDArrayIndex.interval(1, 2, 5));
+        assertTrue(Arrays.equals(new int[]{2, 2}, view.shape()));
+        assertEquals(matrix.data(), view.data());
+        for (int i = 0; i < 2; i++)
+            for (int j = 0; j < 2; j++)
+                assertEquals(matrix.getDouble(2 * i, 2 * j + 1), view.getDouble(i, j), 1e-6);
+
+        INDArray row = matrix.get(NDArrayIndex.point(2), NDArrayIndex.interval(0, 2, 5));
+        assertEquals(3, row.length());
+        for (int j = 0; j < 3; j++)
+            assertEquals(matrix.getDouble(2, 2 * j), row.getDouble(j), 1e-6);
+
+        INDArray gathered = matrix.get(new NDArrayIndex(3, 0), new NDArrayIndex(4, 1, 2));
+        for (int j = 0; j < 3; j++) {
+            assertEquals(matrix.getDouble(3, new int[]{4, 1, 2}[j]), gathered.getDouble(0, j), 1e-6);
+            assertEquals(matrix.getDouble(0, new int[]{4, 1, 2}[j]), gathered.getDouble(1, j), 1e-6);
+        }
+
+        matrix.put(new NDArrayIndex[]{NDArrayIndex.interval(1, 2, 4), NDArrayIndex.interval(0, 4, 5)}, Nd4j.scalar(-1));
+        for (int i = 0; i < 4; i++)
+            for (int j = 0; j < 5; j++)
+                assertEquals(i % 2 == 1 && j % 4 == 0, matrix.getDouble(i, j) == -1);
+    }
+
+    @Test
+    public void testGatherScatterRows() {
+        INDArray matrix = Nd4j.linspace(1, 12, 12).reshape(4, 3);
+        int[] rows = {3, 0, 3};
+        INDArray gathered = matrix.getRows(rows);
+        INDArray out = Nd4j.create(3, 3);
+        assertEquals(out, matrix.getRows(rows, out));
+        for (int i = 0; i < rows.length; i++) {
+            assertEquals(matrix.getRow(rows[i]), gathered.getRow(i));
+            assertEquals(matrix.getRow(rows[i]), out.getRow(i));
+        }
+
+        int[] columns = {2, 0};
+        INDArray gatheredColumns = matrix.getColumns(columns);
+        for (int i = 0; i < 4; i++)
+            for (int j = 0; j < columns.length; j++)
+                assertEquals(matrix.getDouble(i, columns[j]), gatheredColumns.getDouble(i, j), 1e-6);
+
+        INDArray target = Nd4j.zeros(4, 3);
+        target.putRows(new int[]{2, 1}, matrix.getRows(new int[]{0, 1}));
+        assertEquals(matrix.getRow(0), target.getRow(2));
+        assertEquals(matrix.getRow(1), target.getRow(1));
+        assertEquals(0, target.getRow(0).sum(Integer.MAX_VALUE).getDouble(0), 1e-6);
+
+        target.putColumns(new int[]{0}, matrix.getColumns(new int[]{2}));
+        for (int i = 0; i < 4; i++)
+            assertEquals(matrix.getDouble(i, 2), target.getDouble(i, 0), 1e-6);
+    }
+
     @Test
     public void testGetNonContiguous() {
         INDArray create = Nd4j.linspace(1, 6, 6).reshape(2, 3);
@@ -1108,6 +1230,110 @@ public abstract class NDArrayTests {
 
     }
 
+    @Test
+    public void testParallelScalarOps() {
+        INDArray arr = Nd4j.linspace(1, 1000, 1000);
+        INDArray scaled = arr.div(1000).addi(0.5);
+        double prod = Ops.prod(scaled);
+        int threshold = Parallel.getThreshold();
+        int poolSize = Parallel.getPoolSize();
+        Parallel.setThreshold(16);
+        Parallel.setPoolSize(4);
+        try {
+            assertEquals(500500, Ops.sum(arr), 1e-6);
+            assertEquals(500.5, Ops.mean(arr), 1e-6);
+            assertEquals(Math.sqrt(333833500), Ops.norm2(arr), 1e-6);
+            assertEquals(500500, Ops.norm1(arr.neg()), 1e-6);
+            assertEquals(-1, Ops.max(arr.neg()), 1e-6);
+            assertEquals(1, Ops.min(arr), 1e-6);
+            assertEquals(1000, Ops.normmax(arr.neg()), 1e-6);
+            assertEquals(1000 * 1001 / 12.0, Ops.var(arr), 1e-6);
+            assertEquals(Math.sqrt(1000 * 1001 / 12.0), Ops.std(arr), 1e-6);
+            assertEquals(1, Ops.prod(scaled) / prod, 1e-6);
+        } finally {
+            Parallel.setThreshold(threshold);
+            Parallel.setPoolSize(poolSize);
+        }
+    }
+
+    @Test
+    public void testBatchMmul() {
+        INDArray a = Nd4j.linspace(1, 24, 24).reshape(new int[]{2, 3, 4});
+        INDArray b = Nd4j.linspace(1, 40, 40).reshape(new int[]{2, 4, 5});
+        INDArray shared = Nd4j.linspace(1, 8, 8).reshape(4, 2);
+        int threshold = Parallel.getThreshold();
+        int poolSize = Parallel.getPoolSize();
+        Parallel.setThreshold(16);
+        Parallel.setPoolSize(4);
+        try {
+            INDArray c = a.batchMmul(b);
+            assertTrue(Arrays.equals(new int[]{2, 3, 5}, c.shape()));
+            assertBatchProduct(a, b, c);
+
+            INDArray fortran = Nd4j.create(a.shape(), a.data().dataType(), 'f');
+            for (int i = 0; i < 2; i++)
+                for (int j = 0; j < 3; j++)
+                    for (int k = 0; k < 4; k++)
+                        fortran.putScalar(new int[]{i, j, k}, a.getDouble(i, j, k));
+            INDArray result = Nd4j.create(new int[]{2, 3, 5}, c.data().dataType(), 'c');
+            assertTrue(result == fortran.batchMmul(b, result));
+            assertBatchProduct(a, b, result);
+
+            INDArray withShared = a.batchMmul(shared);
+            assertTrue(Arrays.equals(new int[]{2, 3, 2}, withShared.shape()));
+            assertBatchProduct(a, shared, withShared);
+        } finally {
+            Parallel.setThreshold(threshold);
+            Parallel.setPoolSize(poolSize);
+        }
+    }
+
+    private void assertBatchProduct(INDArray a, INDArray b, INDArray c) {
+        for (int i = 0; i < c.size(0); i++)
+            for (int j = 0; j < c.size(1); j++)
+                for (int k = 0; k < c.size(2); k++) {
+                    double sum = 0;
+                    for (int l = 0; l < a.size(2); l++)
+                        sum += a.getDouble(i, j, l) * (b.shape().length == 3 ? b.getDouble(i, l, k) : b.getDouble(l, k));
+                    assertEquals(sum, c.getDouble(i, j, k), 1e-3);
+                }
+    }
+
+    @Test
+    public void testDimensionReductions() {
+        INDArray a = Nd4j.linspace(1, 6, 6).reshape(2, 3);
+        INDArray negative = a.neg();
+        assertEquals(Nd4j.create(new float[]{-1, -2, -3}), negative.max(0));
+        assertEquals(Nd4j.create(new float[]{-3, -6}), negative.min(1));
+        assertEquals(Nd4j.create(new float[]{4, 10, 18}), a.prod(0));
+        assertEquals(Nd4j.create(new float[]{4.5f, 4.5f, 4.5f}), a.var(0));
+        assertEquals(Nd4j.create(new float[]{1, 1}), a.std(1));
+
+        INDArray transposed = a.transpose();
+        assertEquals(a.sum(1), transposed.sum(0));
+        assertEquals(a.norm1(0), transposed.norm1(1));
+
+        //strided view: the last two columns share the buffer of the original
+        INDArray columns = a.get(NDArrayIndex.interval(0, 2), NDArrayIndex.interval(1, 3));
+        assertTrue(columns.data() == a.data());
+        assertEquals(Nd4j.create(new float[]{7, 9}), columns.sum(0));
+        assertEquals(Nd4j.create(new float[]{5, 11}), columns.norm1(1));
+        assertEquals(Nd4j.create(new float[]{3, 6}), columns.max(1));
+        assertEquals(Nd4j.create(new float[]{2, 3}), columns.min(0));
+
+        INDArray cube = Nd4j.linspace(1, 24, 24).reshape(4, 3, 2);
+        INDArray summed = cube.sum(1);
+        assertTrue(Arrays.equals(new int[]{4, 2}, summed.shape()));
+        for (int i = 0; i < 4; i++)
+            for (int j = 0; j < 2; j++) {
+                double sum = 0;
+                for (int k = 0; k < 3; k++)
+                    sum += cube.getDouble(new int[]{i, k, j});
+                assertEquals(sum, summed.getDouble(i, j), 1e-6);
+            }
+
+    }
+
 
     @Test
     public void testCumSum() {
@@ -1146,6 +1372,211 @@ public abstract class NDArrayTests {
 
     }
 
+    @Test
+    public void testConcatValues() {
+        INDArray a = Nd4j.linspace(1, 12, 12).reshape(2, 3, 2);
+        INDArray b = Nd4j.linspace(13, 20, 8).reshape(2, 2, 2);
+        INDArray out = Nd4j.create(2, 5, 2);
+        assertEquals(out, Nd4j.concat(1, new INDArray[]{a, b}, out));
+        for (int i = 0; i < 2; i++)
+            for (int k = 0; k < 2; k++) {
+                for (int j = 0; j < 3; j++)
+                    assertEquals(a.getDouble(i, j, k), out.getDouble(i, j, k), 1e-6);
+                for (int j = 0; j < 2; j++)
+                    assertEquals(b.getDouble(i, j, k), out.getDouble(i, j + 3, k), 1e-6);
+            }
+
+        INDArray left = Nd4j.linspace(1, 6, 6).reshape(2, 3);
+        INDArray right = Nd4j.linspace(7, 10, 4).reshape(2, 2);
+        INDArray hstack = Nd4j.hstack(left, right);
+        assertEquals(left, hstack.get(NDArrayIndex.interval(0, 2), NDArrayIndex.interval(0, 3)));
+        assertEquals(right.getRow(1), hstack.getRow(1).get(NDArrayIndex.interval(3, 5)));
+
+        INDArray vstack = Nd4j.vstack(new INDArray[]{left, Nd4j.ones(3)}, Nd4j.create(3, 3));
+        assertEquals(left.getRow(1), vstack.getRow(1));
+        assertEquals(Nd4j.ones(3), vstack.getRow(2));
+
+        INDArray flat = Nd4j.create(10);
+        Nd4j.toFlattened(new INDArray[]{left, right}, flat);
+        assertEquals(Nd4j.toFlattened(left, right), flat);
+        assertEquals(left.sum(Integer.MAX_VALUE).getDouble(0) + right.sum(Integer.MAX_VALUE).getDouble(0),
+                flat.sum(Integer.MAX_VALUE).getDouble(0), 1e-6);
+    }
+
+    @Test
+    public void testConcatKeepsDataType() {
+        int dtype = Nd4j.dtype;
+        try {
+            Nd4j.dtype = DataBuffer.DOUBLE;
+            INDArray left = Nd4j.linspace(1, 6, 6).reshape(2, 3).divi(3);
+            INDArray right = Nd4j.linspace(7, 10, 4).reshape(2, 2).divi(3);
+            Nd4j.dtype = DataBuffer.FLOAT;
+            INDArray[] results = {Nd4j.concat(1, left, right), Nd4j.hstack(left, right),
+                    Nd4j.vstack(left, left), Nd4j.toFlattened(left, right)};
+            for (INDArray result : results) {
+                assertEquals(DataBuffer.DOUBLE, result.data().dataType());
+                assertEquals(left.getDouble(0, 0), result.linearView().getDouble(0), 1e-12);
+            }
+            //inputs of different data types fall back to that of the factory
+            INDArray mixed = Nd4j.hstack(left, Nd4j.ones(2, 2));
+            assertEquals(DataBuffer.FLOAT, mixed.data().dataType());
+        } finally {
+            Nd4j.dtype = dtype;
+        }
+    }
+
+    @Test
+    public void testBinaryRoundTrip() throws Exception {
+        INDArray arr = Nd4j.linspace(1, 24, 24).reshape(2, 3, 4);
+        INDArray[] views = {arr, arr.slice(1), arr.slice(1).getColumn(2), arr.slice(0).transpose()};
+        for (INDArray view : views) {
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            Nd4j.write(view, new DataOutputStream(bos));
+            BinaryFormat.Header header = BinaryFormat.Header.of(view);
+            //only the elements of the view are written
+            assertEquals(header.size() + header.payloadSize(), bos.size());
+            INDArray read = Nd4j.read(new DataInputStream(new ByteArrayInputStream(bos.toByteArray())));
+            assertTrue(Arrays.equals(view.shape(), read.shape()));
+            assertEquals(view, read);
+        }
+    }
+
+    @Test
+    public void testBinaryKeepsDataType() throws Exception {
+        int dtype = Nd4j.dtype;
+        try {
+            Nd4j.dtype = DataBuffer.DOUBLE;
+            INDArray arr = Nd4j.linspace(1, 6, 6).reshape(2, 3).divi(3);
+            assertEquals(DataBuffer.DOUBLE, arr.data().dataType());
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            Nd4j.write(arr, new DataOutputStream(bos));
+
+            //a double checkpoint read in a float session stays double
+            Nd4j.dtype = DataBuffer.FLOAT;
+            INDArray read = Nd4j.read(new DataInputStream(new ByteArrayInputStream(bos.toByteArray())));
+            assertEquals(DataBuffer.DOUBLE, read.data().dataType());
+            for (int i = 0; i < arr.rows(); i++)
+                for (int j = 0; j < arr.columns(); j++)
+                    assertEquals(arr.getDouble(i, j), read.getDouble(i, j), 1e-12);
+        } finally {
+            Nd4j.dtype = dtype;
+        }
+    }
+
+    @Test
+    public void testReadLegacyFormat() throws Exception {
+        double[] data = {1.5, 2, 3, 4, 5, 6.25};
+        String[] dataTypes = {"float", "double"};
+        for (String dataType : dataTypes) {
+            //the layout of the older writer, which wrote doubles for float tags and floats for double tags
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            DataOutputStream dos = new DataOutputStream(bos);
+            dos.writeInt(2);
+            dos.writeInt(2);
+            dos.writeInt(3);
+            dos.writeInt(3);
+            dos.writeInt(1);
+            dos.writeUTF(dataType);
+            dos.writeUTF("real");
+            for (double d : data) {
+                if (dataType.equals("float"))
+                    dos.writeDouble(d);
+                else
+                    dos.writeFloat((float) d);
+            }
+
+            INDArray read = Nd4j.read(new DataInputStream(new ByteArrayInputStream(bos.toByteArray())));
+            assertTrue(Arrays.equals(new int[]{2, 3}, read.shape()));
+            for (int i = 0; i < 2; i++)
+                for (int j = 0; j < 3; j++)
+                    assertEquals(data[i * 3 + j], read.getDouble(i, j), 1e-6);
+        }
+    }
+
+    @Test
+    public void testCodecs() throws Exception {
+        INDArray arr = Nd4j.linspace(1, 24, 24).reshape(2, 3, 4);
+        Codec[] codecs = {new DeflateCodec(), new SparseCodec(), new Float16Codec(), new Int8Codec()};
+        for (Codec codec : codecs) {
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            DataOutputStream dos = new DataOutputStream(bos);
+            //arrays written one after another read back one at a time
+            Nd4j.write(arr.slice(1).transpose(), dos, codec);
+            Nd4j.write(arr, dos, codec);
+            DataInputStream dis = new DataInputStream(new ByteArrayInputStream(bos.toByteArray()));
+            INDArray first = Nd4j.read(dis);
+            INDArray second = Nd4j.read(dis);
+            double eps = codec.isLossless() ? 1e-6 : 0.1;
+            assertTrue(Arrays.equals(arr.shape(), second.shape()));
+            INDArray expected = Nd4j.toFlattened(arr.slice(1).transpose(), arr);
+            INDArray read = Nd4j.toFlattened(first, second);
+            for (int i = 0; i < expected.length(); i++)
+                assertEquals(expected.getDouble(i), read.getDouble(i), eps);
+        }
+    }
+
+    @Test
+    public void testMapSaved() throws Exception {
+        INDArray arr = Nd4j.linspace(1, 24, 24).reshape(2, 3, 4);
+        File file = File.createTempFile("nd4j", ".bin");
+        file.deleteOnExit();
+        BinaryFormat.write(arr.slice(1).transpose(), file);
+        INDArray mapped = BinaryFormat.map(file);
+        assertTrue(mapped.data() instanceof MappedFloatBuffer || mapped.data() instanceof MappedDoubleBuffer);
+        assertEquals(arr.slice(1).transpose(), mapped);
+        assertEquals(arr.slice(1).sum(Integer.MAX_VALUE).getDouble(0), mapped.sum(Integer.MAX_VALUE).getDouble(0), 1e-6);
+        mapped.data().destroy();
+    }
+
+    @Test
+    public void testBlocks() throws Exception {
+        INDArray arr = Nd4j.linspace(1, 30, 30).reshape(10, 3);
+        File binary = File.createTempFile("nd4j", ".bin");
+        binary.deleteOnExit();
+        File text = File.createTempFile("nd4j", ".txt");
+        text.deleteOnExit();
+
+        BlockWriter writer = new BinaryBlockWriter(binary);
+        writer.append(arr.get(NDArrayIndex.interval(0, 6), NDArrayIndex.interval(0, 3)));
+        writer.close();
+        //reopening appends
+        writer = new BinaryBlockWriter(binary);
+        writer.append(arr.get(NDArrayIndex.interval(6, 10), NDArrayIndex.interval(0, 3)));
+        writer.close();
+        assertEquals(arr, BinaryFormat.read(binary));
+
+        writer = new TextBlockWriter(text, ",", false);
+        for (int i = 0; i < arr.rows(); i++)
+            writer.append(arr.getRow(i));
+        writer.close();
+
+        BlockReader[] readers = {new BinaryBlockReader(binary, 4), new TextBlockReader(text, ",", 4)};
+        for (BlockReader reader : readers) {
+            assertTrue(Arrays.equals(new int[]{3}, reader.sliceShape()));
+            int row = 0;
+            while (reader.hasNext()) {
+                INDArray block = reader.next();
+                assertEquals(Math.min(4, arr.rows() - row), block.rows());
+                for (int i = 0; i < block.rows(); i++)
+                    assertEquals(arr.getRow(row + i), block.getRow(i));
+                row += block.rows();
+            }
+            reader.close();
+            assertEquals(arr.rows(), row);
+        }
+    }
+
+    @Test
+    public void testTxtRoundTrip() throws Exception {
+        INDArray arr = Nd4j.linspace(1, 12, 12).reshape(4, 3).divi(8);
+        File file = File.createTempFile("nd4j", ".txt");
+        file.deleteOnExit();
+        Nd4j.writeTxt(arr.transpose(), file.getAbsolutePath(), ",");
+        assertEquals(arr.transpose(), Nd4j.readTxt(file.getAbsolutePath(), ","));
+        INDArray read = Nd4j.readTxt(new ByteArrayInputStream("1\t2\t3\n\n4\t5\t6\t\r\n".getBytes()), "\t");
+        assertEquals(Nd4j.linspace(1, 6, 6).reshape(2, 3), read);
+    }
+
     @Test
     public void testConcatHorizontally() {
         INDArray rowVector = Nd4j.ones(5);
@@ -1303,6 +1734,81 @@ public abstract class NDArrayTests {
         assertTrue(Arrays.equals(new int[]{1, 2, 36, 36}, broadCasted3.shape()));
     }
 
+    @Test
+    public void testBroadcastView() {
+        INDArray bias = Nd4j.create(new double[]{1, 2, 3});
+        INDArray view = bias.broadcast(4, 3);
+        //no copy: every row shares the data of the bias
+        assertTrue(view.data() == bias.data());
+        assertEquals(0, view.stride()[0]);
+        assertEquals(3, view.getDouble(2, 2), 1e-6);
+
+        INDArray matrix = Nd4j.linspace(1, 12, 12).reshape(4, 3);
+        INDArray sum = matrix.add(view);
+        INDArray column = Nd4j.create(new double[]{10, 20, 30, 40}, new int[]{4, 1});
+        INDArray product = matrix.mul(column.broadcast(4, 3));
+        for (int i = 0; i < 4; i++)
+            for (int j = 0; j < 3; j++) {
+                assertEquals(matrix.getDouble(i, j) + j + 1, sum.getDouble(i, j), 1e-6);
+                assertEquals(matrix.getDouble(i, j) * (i + 1) * 10, product.getDouble(i, j), 1e-6);
+            }
+
+        INDArray copy = view.dup();
+        assertEquals(12, copy.data().length());
+        for (int i = 0; i < 4; i++)
+            assertEquals(bias, copy.getRow(i));
+
+        try {
+            view.addi(matrix);
+            fail("Broadcast views must not be written to");
+        } catch (IllegalArgumentException e) {
+        }
+    }
+
+    @Test
+    public void testBroadcastViewLinear() {
+        INDArray bias = Nd4j.create(new double[]{1, 2, 3});
+        INDArray view = bias.broadcast(4, 3);
+        INDArray copy = view.dup();
+        for (int i = 0; i < view.length(); i++)
+            assertEquals(copy.linearView().getDouble(i), view.getDouble(i), 1e-6);
+        assertEquals(24, view.sum(Integer.MAX_VALUE).getDouble(0), 1e-6);
+        assertEquals(copy.norm2(Integer.MAX_VALUE).getDouble(0), view.norm2(Integer.MAX_VALUE).getDouble(0), 1e-6);
+        assertEquals(copy.toString(), view.toString());
+        assertEquals(copy, view);
+
+        //the view keeps reading the bias
+        bias.putScalar(0, 10);
+        assertEquals(60, view.sum(Integer.MAX_VALUE).getDouble(0), 1e-6);
+    }
+
+    @Test
+    public void testBroadcastViewOperand() {
+        INDArray bias = Nd4j.create(new double[]{1, 2, 3});
+        INDArray view = bias.broadcast(4, 3);
+        INDArray copy = view.dup();
+
+        INDArray assigned = Nd4j.create(4, 3).assign(view);
+        assertEquals(copy, assigned);
+
+        INDArray other = Nd4j.linspace(1, 6, 6).reshape(3, 2);
+        assertEquals(copy.mmul(other), view.mmul(other));
+        INDArray left = Nd4j.linspace(1, 8, 8).reshape(2, 4);
+        assertEquals(left.mmul(copy), left.mmul(view));
+
+        try {
+            view.putScalar(0, 5);
+            fail("Broadcast views must not be written to");
+        } catch (IllegalArgumentException e) {
+        }
+        try {
+            view.assign(copy);
+            fail("Broadcast views must not be written to");
+        } catch (IllegalArgumentException e) {
+        }
+        assertEquals(1, bias.getDouble(0), 1e-6);
+    }
+
 
     @Test
     public void testPutRowGetRowOrdering() {
@@ -0,0 +1,313 @@
+/*
+ * Copyright 2015 Skymind,Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.nd4j.linalg.convolution;
+
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.NDArrayFactory;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.parallel.Parallel;
+import org.nd4j.linalg.util.ArrayUtil;
+
+import java.util.Arrays;
+
+/**
+ * Convolution instance choosing between direct, im2col + gemm
+ * and fft convolution depending on the sizes of the input and kernel.
+ *
+ * Real 1d and 2d convolutions along the trailing axes of the input
+ * are handled spatially: small kernels are convolved directly,
+ * larger ones by unrolling the input windows in to a matrix (im2col)
+ * multiplied with the kernel by blas, and kernels large enough for
+ * the transforms to be cheaper go through the fft path of
+ * {@link DefaultConvolutionInstance}. Leading dimensions of the
+ * input (for example batch and channels of a 4d input) are convolved
+ * with the same kernel, in parallel. Everything else (complex inputs,
+ * more than 2 axes, kernels spanning the leading dimensions) uses the fft path.
+ *
+ * @author Adam Gibson
+ */
+public class AutoConvolutionInstance extends DefaultConvolutionInstance {
+
+    public enum Algorithm {
+        DIRECT, IM2COL, FFT
+    }
+
+    /**
+     * Kernels with at least this many elements may use im2col
+     */
+    public final static int IM2COL_MIN_KERNEL = 32;
+    /**
+     * The largest im2col matrix (in elements) built for one input
+     */
+    public final static int IM2COL_MAX_ELEMENTS = 1 << 24;
+    //rough cost of one fft butterfly relative to a multiply add
+    private final static double FFT_COST = 6;
+
+    private Algorithm algorithm;
+
+    /**
+     * Force an algorithm for every convolution it supports,
+     * null to choose automatically
+     *
+     * @param algorithm the algorithm to use
+     */
+    public void setAlgorithm(Algorithm algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    public Algorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * Choose an algorithm for convolving one input
+     *
+     * @param outputLength the number of elements of the output
+     * @param kernelLength the number of elements of the kernel
+     * @param fullLength   the number of elements of the full convolution
+     * @return the algorithm expected to be fastest
+     */
+    public static Algorithm select(int outputLength, int kernelLength, int fullLength) {
+        double direct = (double) outputLength * kernelLength;
+        //two forward and one inverse transform
+        double fft = FFT_COST * 3 * fullLength * (Math.log(fullLength) / Math.log(2) + 1);
+        if (fft < direct)
+            return Algorithm.FFT;
+        if (kernelLength >= IM2COL_MIN_KERNEL && outputLength > 1
+                && (long) outputLength * kernelLength <= IM2COL_MAX_ELEMENTS)
+            return Algorithm.IM2COL;
+        return Algorithm.DIRECT;
+    }
+
+    @Override
+    public INDArray convn(INDArray input, INDArray kernel, Convolution.Type type, int[] axes) {
+        if (input.isVector() && kernel.isVector()) {
+            input = input.shape().length == 1 ? input : input.reshape(new int[]{input.length()});
+            kernel = kernel.shape().length == 1 ? kernel : kernel.reshape(new int[]{kernel.length()});
+            axes = new int[]{0};
+        }
+        if (!isSpatial(input, kernel, axes))
+            return super.convn(input, kernel, type, axes);
+
+        int rank = input.shape().length;
+        int dims = axes.length;
+        final int height = dims == 2 ? input.size(rank - 2) : 1;
+        final int width = input.size(rank - 1);
+        int kernelRank = kernel.shape().length;
+        final int kernelHeight = dims == 2 ? kernel.size(kernelRank - 2) : 1;
+        final int kernelWidth = kernel.size(kernelRank - 1);
+        final int outHeight = outputLength(height, kernelHeight, type);
+        final int outWidth = outputLength(width, kernelWidth, type);
+        final int startHeight = (height + kernelHeight - 1 - outHeight) / 2;
+        final int startWidth = (width + kernelWidth - 1 - outWidth) / 2;
+
+        final int[] lead = Arrays.copyOfRange(input.shape(), 0, rank - dims);
+        final int numImages = lead.length == 0 ? 1 : ArrayUtil.prod(lead);
+        Algorithm algorithm = this.algorithm != null ? this.algorithm
+                : select(outHeight * outWidth, kernelHeight * kernelWidth, (height + kernelHeight - 1) * (width + kernelWidth - 1));
+        if (algorithm == Algorithm.FFT && numImages == 1)
+            return super.convn(input, kernel, type, axes);
+
+        int[] outShape = new int[rank];
+        System.arraycopy(lead, 0, outShape, 0, lead.length);
+        outShape[rank - 1] = outWidth;
+        if (dims == 2)
+            outShape[rank - 2] = outHeight;
+        final INDArray ret = Nd4j.create(outShape);
+        //vector shapes may be collapsed by create, so use the dense strides of the shape
+        final int[] outStride = Nd4j.getStrides(outShape, ret.ordering());
+        final int[] inStride = input.stride();
+        final double[] kernelData = read(kernel.data(), kernel.offset(), kernelHeight, kernelWidth,
+                dims == 2 ? kernel.stride()[kernelRank - 2] : 0, kernel.stride()[kernelRank - 1]);
+
+        final Algorithm chosen = algorithm;
+        final INDArray in = input;
+        final int inRowStride = dims == 2 ? inStride[rank - 2] : 0;
+        final int outRowStride = dims == 2 ? outStride[rank - 2] : 0;
+        Parallel.forEach(numImages, (long) numImages * outHeight * outWidth * kernelHeight * kernelWidth, new Parallel.RangeTask() {
+            @Override
+            public void run(int from, int to) {
+                for (int image = from; image < to; image++) {
+                    double[] data = read(in.data(), offset(image, lead, inStride, in.offset()), height, width, inRowStride, inStride[inStride.length - 1]);
+                    double[] out;
+                    switch (chosen) {
+                        case IM2COL:
+                            out = im2col(data, height, width, kernelData, kernelHeight, kernelWidth, outHeight, outWidth, startHeight, startWidth);
+                            break;
+                        case FFT:
+                            out = fft(data, height, width, kernelData, kernelHeight, kernelWidth, outHeight, outWidth, startHeight, startWidth);
+                            break;
+                        default:
+                            out = direct(data, height, width, kernelData, kernelHeight, kernelWidth, outHeight, outWidth, startHeight, startWidth);
+                    }
+
+                    DataBuffer dest = ret.data();
+                    int base = offset(image, lead, outStride, ret.offset());
+                    for (int r = 0; r < outHeight; r++)
+                        for (int c = 0; c < outWidth; c++)
+                            dest.put(base + r * outRowStride + c * outStride[outStride.length - 1], out[r * outWidth + c]);
+                }
+            }
+        });
+        return ret;
+    }
+
+    /**
+     * Whether the convolution runs along the trailing 1 or 2 axes of
+     * a real input with a kernel spanning only those axes
+     */
+    private static boolean isSpatial(INDArray input, INDArray kernel, int[] axes) {
+        int rank = input.shape().length;
+        int kernelRank = kernel.shape().length;
+        if (axes.length < 1 || axes.length > 2 || rank < axes.length || kernelRank < axes.length)
+            return false;
+        if (input.stride().length != rank || kernel.stride().length != kernelRank)
+            return false;
+        for (int i = 0; i < axes.length; i++)
+            if (axes[i] != rank - axes.length + i)
+                return false;
+        for (int i = 0; i < kernelRank - axes.length; i++)
+            if (kernel.size(i) != 1)
+                return false;
+        return true;
+    }
+
+    private static int outputLength(int n, int k, Convolution.Type type) {
+        switch (type) {
+            case SAME:
+                return n;
+            case VALID:
+                return Math.abs(n - k) + 1;
+            default:
+                return n + k - 1;
+        }
+    }
+
+    /**
+     * The offset of image i given the shape and strides of the leading dimensions
+     */
+    private static int offset(int i, int[] shape, int[] stride, int offset) {
+        for (int k = shape.length - 1; k >= 0; k--) {
+            offset += (i % shape[k]) * stride[k];
+            i /= shape[k];
+        }
+        return offset;
+    }
+
+    /**
+     * Copy a strided matrix in to a dense row major array
+     */
+    private static double[] read(DataBuffer data, int offset, int rows, int columns, int rowStride, int columnStride) {
+        double[] ret = new double[rows * columns];
+        for (int r = 0; r < rows; r++)
+            data.getDoubles(offset + r * rowStride, columnStride, ret, r * columns, columns);
+        return ret;
+    }
+
+    /**
+     * out[r, c] = sum_(i, j) in[r + startH - i, c + startW - j] * kernel[i, j]
+     */
+    private static double[] direct(double[] in, int h, int w, double[] kernel, int kh, int kw,
+                                   int outH, int outW, int startH, int startW) {
+        double[] out = new double[outH * outW];
+        for (int r = 0; r < outH; r++) {
+            int fr = r + startH;
+            int iLo = Math.max(0, fr - h + 1), iHi = Math.min(kh - 1, fr);
+            for (int c = 0; c < outW; c++) {
+                int fc = c + startW;
+                int jLo = Math.max(0, fc - w + 1), jHi = Math.min(kw - 1, fc);
+                double sum = 0;
+                for (int i = iLo; i <= iHi; i++) {
+                    int row = (fr - i) * w + fc;
+                    int kernelRow = i * kw;
+                    for (int j = jLo; j <= jHi; j++)
+                        sum += in[row - j] * kernel[kernelRow + j];
+                }
+                out[r * outW + c] = sum;
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Unroll every window of the input in to a row of a column major
+     * matrix and multiply it with the kernel as a column vector
+     */
+    private static double[] im2col(double[] in, int h, int w, double[] kernel, int kh, int kw,
+                                   int outH, int outW, int startH, int startW) {
+        int rows = outH * outW;
+        int columns = kh * kw;
+        double[] cols = new double[rows * columns];
+        for (int r = 0; r < outH; r++) {
+            int fr = r + startH;
+            for (int c = 0; c < outW; c++) {
+                int fc = c + startW;
+                int row = r * outW + c;
+                for (int i = 0; i < kh; i++) {
+                    int y = fr - i;
+                    if (y < 0 || y >= h)
+                        continue;
+                    for (int j = 0; j < kw; j++) {
+                        int x = fc - j;
+                        if (x >= 0 && x < w)
+                            cols[row + (i * kw + j) * rows] = in[y * w + x];
+                    }
+                }
+            }
+        }
+
+        INDArray matrix = Nd4j.create(new int[]{rows, columns}, Nd4j.dataType(), NDArrayFactory.FORTRAN);
+        matrix.data().putDoubles(0, 1, cols, 0, cols.length);
+        INDArray vector = Nd4j.create(new int[]{columns, 1}, Nd4j.dataType(), NDArrayFactory.FORTRAN);
+        vector.data().putDoubles(0, 1, kernel, 0, kernel.length);
+        INDArray product = matrix.mmul(vector);
+        double[] out = new double[rows];
+        product.data().getDoubles(product.offset(), 1, out, 0, rows);
+        return out;
+    }
+
+    /**
+     * Convolve one input via the fft path
+     */
+    private double[] fft(double[] in, int h, int w, double[] kernel, int kh, int kw,
+                         int outH, int outW, int startH, int startW) {
+        double[] out = new double[outH * outW];
+        if (h == 1 && kh == 1) {
+            INDArray full = super.convn(Nd4j.create(in), Nd4j.create(kernel), Convolution.Type.FULL, new int[]{0});
+            for (int c = 0; c < outW; c++)
+                out[c] = full.getDouble(c + startW);
+            return out;
+        }
+
+        //a single row would be collapsed to a vector by create, pad it with a zero row
+        //which only appends zero rows to the full convolution
+        INDArray image = Nd4j.create(new int[]{Math.max(h, 2), w});
+        INDArray filter = Nd4j.create(new int[]{Math.max(kh, 2), kw});
+        for (int r = 0; r < h; r++)
+            for (int c = 0; c < w; c++)
+                image.putScalar(new int[]{r, c}, in[r * w + c]);
+        for (int r = 0; r < kh; r++)
+            for (int c = 0; c < kw; c++)
+                filter.putScalar(new int[]{r, c}, kernel[r * kw + c]);
+        INDArray full = super.convn(image, filter, Convolution.Type.FULL, new int[]{0, 1});
+        for (int r = 0; r < outH; r++)
+            for (int c = 0; c < outW; c++)
+                out[r * outW + c] = full.getDouble(r + startH, c + startW);
+        return out;
+    }
+}
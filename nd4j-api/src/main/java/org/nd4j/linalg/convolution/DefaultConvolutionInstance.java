@@ -20,9 +20,11 @@ import org.nd4j.linalg.api.complex.IComplexNDArray;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.linalg.fft.FFT;
+import org.nd4j.linalg.fft.FFTInstance;
 import org.nd4j.linalg.ops.transforms.Transforms;
 import org.nd4j.linalg.util.ArrayUtil;
 import org.nd4j.linalg.util.ComplexNDArrayUtil;
+import org.nd4j.linalg.util.NDArrayUtil;
 import org.nd4j.linalg.util.Shape;
 
 import java.util.Arrays;
@@ -79,38 +81,57 @@ public class DefaultConvolutionInstance extends BaseConvolution {
     public INDArray convn(INDArray input, INDArray kernel, Convolution.Type type, int[] axes) {
         if (kernel.isScalar() && input.isScalar())
             return kernel.mul(input);
-        INDArray shape = ArrayUtil.toNDArray(Shape.sizeForAxes(axes, input.shape())).add(ArrayUtil.toNDArray(Shape.sizeForAxes(axes, kernel.shape()))).subi(1);
-
-        int[] intShape = ArrayUtil.toInts(shape);
-
-        IComplexNDArray fftedInput = FFT.rawfftn(Nd4j.createComplex(input), intShape, axes);
-        IComplexNDArray fftedKernel = FFT.rawfftn(Nd4j.createComplex(kernel), intShape, axes);
-        //broadcast to be same shape
-        if (!Arrays.equals(fftedInput.shape(), fftedKernel.shape())) {
-            if (fftedInput.length() < fftedKernel.length()) {
-                fftedInput = fftedInput.broadcast(fftedKernel.shape());
-            } else {
-                fftedKernel = fftedKernel.broadcast(fftedInput.shape());
-            }
+        if (input.isVector() && kernel.isVector()) {
+            //row and column vectors are convolved as plain 1d signals
+            input = input.shape().length == 1 ? input : input.reshape(new int[]{input.length()});
+            kernel = kernel.shape().length == 1 ? kernel : kernel.reshape(new int[]{kernel.length()});
+            axes = new int[]{0};
         }
-        IComplexNDArray inputTimesKernel = fftedInput.muli(fftedKernel);
-
-        IComplexNDArray convolution = FFT.ifftn(inputTimesKernel);
-
+        int[] inputSize = Shape.sizeForAxes(axes, input.shape());
+        int[] kernelSize = Shape.sizeForAxes(axes, kernel.shape());
+        int[] intShape = new int[axes.length];
+        for (int i = 0; i < axes.length; i++)
+            intShape[i] = inputSize[i] + kernelSize[i] - 1;
+
+        //the input is real so only half of each spectrum is needed
+        FFTInstance fft = Nd4j.getFFt();
+        IComplexNDArray fftedInput = fft.rfftn(input, intShape, axes);
+        IComplexNDArray fftedKernel = fft.rfftn(kernel, intShape, axes);
+        //multiply in to the larger spectrum, viewing the smaller one as its shape
+        IComplexNDArray inputTimesKernel;
+        if (Arrays.equals(fftedInput.shape(), fftedKernel.shape()))
+            inputTimesKernel = fftedInput.muli(fftedKernel);
+        else if (fftedInput.length() < fftedKernel.length())
+            inputTimesKernel = fftedKernel.muli(fftedInput.broadcast(fftedKernel.shape()));
+        else
+            inputTimesKernel = fftedInput.muli(fftedKernel.broadcast(fftedInput.shape()));
+
+        INDArray convolution = fft.irfftn(inputTimesKernel, intShape, axes);
 
         switch (type) {
-            case FULL:
-                return convolution.getReal();
             case SAME:
-                return ComplexNDArrayUtil.center(convolution, input.shape()).getReal();
+                return crop(convolution, axes, inputSize);
             case VALID:
-                int[] shape2 = ArrayUtil.toInts(Transforms.abs(ArrayUtil.toNDArray(input.shape()).sub(ArrayUtil.toNDArray(kernel.shape())).addi(1)));
-                return ComplexNDArrayUtil.center(convolution, shape2).getReal();
-
+                int[] validSize = new int[axes.length];
+                for (int i = 0; i < axes.length; i++)
+                    validSize[i] = Math.abs(inputSize[i] - kernelSize[i]) + 1;
+                return crop(convolution, axes, validSize);
+            default:
+                return convolution;
         }
+    }
 
-
-        return convolution.getReal();
+    /**
+     * The center of the given size along each axis
+     */
+    private static INDArray crop(INDArray arr, int[] axes, int[] size) {
+        int[] shape = ArrayUtil.copy(arr.shape());
+        int[] start = new int[shape.length];
+        for (int i = 0; i < axes.length; i++) {
+            start[axes[i]] = (shape[axes[i]] - size[i]) / 2;
+            shape[axes[i]] = size[i];
+        }
+        return NDArrayUtil.copyRegion(arr, start, shape);
     }
 
 
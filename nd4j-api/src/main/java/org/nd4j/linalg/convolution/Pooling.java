@@ -0,0 +1,310 @@
+/*
+ * Copyright 2015 Skymind,Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.nd4j.linalg.convolution;
+
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.complex.IComplexNDArray;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.parallel.Parallel;
+import org.nd4j.linalg.util.ArrayUtil;
+
+import java.util.Arrays;
+
+/**
+ * Pooling over the last two dimensions of an ndarray,
+ * usually a 4d tensor of shape [batch, channels, rows, columns].
+ *
+ * Every image (one per index of the leading dimensions) is read
+ * straight out of the data buffer using the offset and strides of
+ * the input, so views are handled without copying and no
+ * intermediate ndarrays or index arrays are created.
+ * Images are pooled in parallel via {@link Parallel}.
+ *
+ * Windows of size kernel are placed every stride elements. When
+ * ignoring the border, only windows lying fully inside the image are
+ * pooled, otherwise windows hanging over the edge are clipped
+ * (an average is then taken over the elements inside the image).
+ *
+ * @author Adam Gibson
+ */
+public class Pooling {
+
+    public enum Type {
+        MAX, AVG, SUM
+    }
+
+    private Pooling() {
+    }
+
+    /**
+     * Max pooling
+     *
+     * @param input        the ndarray to pool
+     * @param kernel       the rows and columns of each window
+     * @param stride       the distance between windows along rows and columns
+     * @param ignoreBorder whether to drop windows hanging over the edge
+     * @return the pooled ndarray
+     */
+    public static INDArray maxPool(INDArray input, int[] kernel, int[] stride, boolean ignoreBorder) {
+        return pool(input, kernel, stride, ignoreBorder, Type.MAX, null);
+    }
+
+    /**
+     * Max pooling, recording where each maximum came from
+     *
+     * @param input        the ndarray to pool
+     * @param kernel       the rows and columns of each window
+     * @param stride       the distance between windows along rows and columns
+     * @param ignoreBorder whether to drop windows hanging over the edge
+     * @param argMax       the shape of the result, receives the index
+     *                     (row * columns + column) of each maximum within its image
+     * @return the pooled ndarray
+     */
+    public static INDArray maxPool(INDArray input, int[] kernel, int[] stride, boolean ignoreBorder, INDArray argMax) {
+        return pool(input, kernel, stride, ignoreBorder, Type.MAX, argMax);
+    }
+
+    /**
+     * Average pooling
+     *
+     * @param input        the ndarray to pool
+     * @param kernel       the rows and columns of each window
+     * @param stride       the distance between windows along rows and columns
+     * @param ignoreBorder whether to drop windows hanging over the edge
+     * @return the pooled ndarray
+     */
+    public static INDArray avgPool(INDArray input, int[] kernel, int[] stride, boolean ignoreBorder) {
+        return pool(input, kernel, stride, ignoreBorder, Type.AVG, null);
+    }
+
+    /**
+     * The shape of the result of pooling
+     *
+     * @param shape        the shape of the input
+     * @param kernel       the rows and columns of each window
+     * @param stride       the distance between windows along rows and columns
+     * @param ignoreBorder whether to drop windows hanging over the edge
+     * @return the shape of the pooled ndarray
+     */
+    public static int[] outputShape(int[] shape, int[] kernel, int[] stride, boolean ignoreBorder) {
+        if (shape.length < 2)
+            throw new IllegalArgumentException("Pooling requires an ndarray of rank >= 2");
+        if (kernel.length != 2 || stride.length != 2)
+            throw new IllegalArgumentException("Kernel and stride must be of length 2");
+        int[] ret = shape.clone();
+        for (int i = 0; i < 2; i++) {
+            if (kernel[i] < 1 || stride[i] < 1)
+                throw new IllegalArgumentException("Kernel and stride must be >= 1");
+            int n = shape[shape.length - 2 + i];
+            if (ignoreBorder)
+                ret[ret.length - 2 + i] = n < kernel[i] ? 0 : (n - kernel[i]) / stride[i] + 1;
+            else
+                ret[ret.length - 2 + i] = n <= kernel[i] ? Math.min(n, 1) : (n - kernel[i] + stride[i] - 1) / stride[i] + 1;
+        }
+        return ret;
+    }
+
+    /**
+     * Pool the last two dimensions of the input
+     *
+     * @param input        the ndarray to pool
+     * @param kernel       the rows and columns of each window
+     * @param stride       the distance between windows along rows and columns
+     * @param ignoreBorder whether to drop windows hanging over the edge
+     * @param type         the pooling to do
+     * @param argMax       for max pooling, optionally receives the index of each maximum
+     * @return the pooled ndarray
+     */
+    public static INDArray pool(final INDArray input, int[] kernel, int[] stride, boolean ignoreBorder, final Type type, final INDArray argMax) {
+        assertReal(input);
+        final int[] shape = input.shape();
+        final int[] outShape = outputShape(shape, kernel, stride, ignoreBorder);
+        if (argMax != null && (type != Type.MAX || argMax.length() != ArrayUtil.prod(outShape)))
+            throw new IllegalArgumentException("Arg max requires max pooling and the shape " + Arrays.toString(outShape));
+
+        final INDArray ret = Nd4j.create(outShape);
+        final int rank = shape.length;
+        final int rows = shape[rank - 2], columns = shape[rank - 1];
+        final int outRows = outShape[rank - 2], outColumns = outShape[rank - 1];
+        final int kernelRows = kernel[0], kernelColumns = kernel[1];
+        final int strideRows = stride[0], strideColumns = stride[1];
+        final int[] lead = Arrays.copyOf(shape, rank - 2);
+        final int[] inStride = input.stride();
+        //create may collapse vector shapes, so use the dense strides of the shape
+        final int[] outStride = Nd4j.getStrides(outShape, ret.ordering());
+        final int[] argStride = argMax == null ? null : Nd4j.getStrides(outShape, argMax.ordering());
+        final DataBuffer from = input.data();
+        final DataBuffer to = ret.data();
+        final int numImages = ArrayUtil.prod(lead.length == 0 ? new int[]{1} : lead);
+
+        Parallel.forEach(numImages, (long) numImages * rows * columns, new Parallel.RangeTask() {
+            @Override
+            public void run(int start, int end) {
+                int rowStride = inStride[rank - 2], columnStride = inStride[rank - 1];
+                for (int image = start; image < end; image++) {
+                    int src = offset(image, lead, inStride, input.offset());
+                    int dest = offset(image, lead, outStride, ret.offset());
+                    int arg = argMax == null ? 0 : offset(image, lead, argStride, argMax.offset());
+                    for (int r = 0; r < outRows; r++) {
+                        int rowStart = r * strideRows;
+                        int rowEnd = Math.min(rows, rowStart + kernelRows);
+                        for (int c = 0; c < outColumns; c++) {
+                            int columnStart = c * strideColumns;
+                            int columnEnd = Math.min(columns, columnStart + kernelColumns);
+                            double value = type == Type.MAX ? Double.NEGATIVE_INFINITY : 0;
+                            int index = -1;
+                            for (int y = rowStart; y < rowEnd; y++) {
+                                int i = src + y * rowStride + columnStart * columnStride;
+                                for (int x = columnStart; x < columnEnd; x++, i += columnStride) {
+                                    double d = from.getDouble(i);
+                                    if (type != Type.MAX)
+                                        value += d;
+                                    else if (d > value || index < 0) {
+                                        value = d;
+                                        index = y * columns + x;
+                                    }
+                                }
+                            }
+                            if (type == Type.AVG)
+                                value /= (rowEnd - rowStart) * (columnEnd - columnStart);
+                            to.put(dest + r * outStride[rank - 2] + c * outStride[rank - 1], value);
+                            if (argMax != null)
+                                argMax.data().put(arg + r * argStride[rank - 2] + c * argStride[rank - 1], (double) index);
+                        }
+                    }
+                }
+            }
+        });
+
+        return ret;
+    }
+
+    /**
+     * Back propagate through max pooling: route each gradient to the
+     * element of the input its window's maximum came from.
+     * Gradients of overlapping windows sharing a maximum are summed.
+     *
+     * @param gradient   the gradient with respect to the pooled ndarray
+     * @param argMax     the indices recorded by {@link #maxPool(INDArray, int[], int[], boolean, INDArray)}
+     * @param inputShape the shape of the input that was pooled
+     * @return the gradient with respect to the input
+     */
+    public static INDArray maxUnpool(final INDArray gradient, final INDArray argMax, int[] inputShape) {
+        assertReal(gradient);
+        final int[] shape = gradient.shape();
+        final int rank = inputShape.length;
+        if (rank < 2 || shape.length != rank || !Arrays.equals(shape, argMax.shape())
+                || !Arrays.equals(Arrays.copyOf(shape, rank - 2), Arrays.copyOf(inputShape, rank - 2)))
+            throw new IllegalArgumentException("Gradient and arg max must have the shape of the pooled input");
+
+        final INDArray ret = Nd4j.create(inputShape);
+        final int[] lead = Arrays.copyOf(shape, rank - 2);
+        final int outRows = shape[rank - 2], outColumns = shape[rank - 1];
+        final int columns = inputShape[rank - 1];
+        final int[] gradStride = gradient.stride();
+        final int[] argStride = argMax.stride();
+        final int[] retStride = Nd4j.getStrides(inputShape, ret.ordering());
+        final DataBuffer grad = gradient.data();
+        final DataBuffer arg = argMax.data();
+        final DataBuffer to = ret.data();
+        final int numImages = ArrayUtil.prod(lead.length == 0 ? new int[]{1} : lead);
+
+        Parallel.forEach(numImages, (long) numImages * outRows * outColumns, new Parallel.RangeTask() {
+            @Override
+            public void run(int start, int end) {
+                for (int image = start; image < end; image++) {
+                    int g = offset(image, lead, gradStride, gradient.offset());
+                    int a = offset(image, lead, argStride, argMax.offset());
+                    int dest = offset(image, lead, retStride, ret.offset());
+                    for (int r = 0; r < outRows; r++)
+                        for (int c = 0; c < outColumns; c++) {
+                            int index = (int) arg.getDouble(a + r * argStride[rank - 2] + c * argStride[rank - 1]);
+                            if (index < 0)
+                                continue;
+                            int i = dest + (index / columns) * retStride[rank - 2] + (index % columns) * retStride[rank - 1];
+                            to.put(i, to.getDouble(i) + grad.getDouble(g + r * gradStride[rank - 2] + c * gradStride[rank - 1]));
+                        }
+                }
+            }
+        });
+
+        return ret;
+    }
+
+    /**
+     * Expand a pooled ndarray back to the given shape: every element
+     * of the result is the value of the window (of size stride) it lies in.
+     *
+     * @param pooled the pooled ndarray
+     * @param stride the rows and columns of each window
+     * @param shape  the shape of the result
+     * @return the expanded ndarray
+     */
+    public static INDArray upsample(final INDArray pooled, int[] stride, int[] shape) {
+        assertReal(pooled);
+        final int rank = shape.length;
+        if (rank < 2 || pooled.shape().length != rank || stride.length != 2)
+            throw new IllegalArgumentException("Pooled ndarray must have the rank of the shape and stride must be of length 2");
+        final int strideRows = stride[0], strideColumns = stride[1];
+        final int rows = shape[rank - 2], columns = shape[rank - 1];
+        if ((rows - 1) / strideRows >= pooled.size(rank - 2) || (columns - 1) / strideColumns >= pooled.size(rank - 1))
+            throw new IllegalArgumentException("Pooled ndarray is too small for shape " + Arrays.toString(shape));
+
+        final INDArray ret = Nd4j.create(shape);
+        final int[] lead = Arrays.copyOf(shape, rank - 2);
+        final int[] fromStride = pooled.stride();
+        final int[] retStride = Nd4j.getStrides(shape, ret.ordering());
+        final DataBuffer from = pooled.data();
+        final DataBuffer to = ret.data();
+        final int numImages = ArrayUtil.prod(lead.length == 0 ? new int[]{1} : lead);
+
+        Parallel.forEach(numImages, (long) numImages * rows * columns, new Parallel.RangeTask() {
+            @Override
+            public void run(int start, int end) {
+                for (int image = start; image < end; image++) {
+                    int src = offset(image, lead, fromStride, pooled.offset());
+                    int dest = offset(image, lead, retStride, ret.offset());
+                    for (int r = 0; r < rows; r++)
+                        for (int c = 0; c < columns; c++)
+                            to.put(dest + r * retStride[rank - 2] + c * retStride[rank - 1],
+                                    from.getDouble(src + (r / strideRows) * fromStride[rank - 2] + (c / strideColumns) * fromStride[rank - 1]));
+                }
+            }
+        });
+
+        return ret;
+    }
+
+    private static void assertReal(INDArray arr) {
+        if (arr instanceof IComplexNDArray)
+            throw new IllegalArgumentException("Pooling is only supported for real ndarrays");
+        if (arr.stride().length != arr.shape().length)
+            throw new IllegalArgumentException("Unable to pool an ndarray whose strides do not match its shape");
+    }
+
+    /**
+     * The offset of image i given the shape and strides of the leading dimensions
+     */
+    private static int offset(int i, int[] shape, int[] stride, int offset) {
+        for (int k = shape.length - 1; k >= 0; k--) {
+            offset += (i % shape[k]) * stride[k];
+            i /= shape[k];
+        }
+        return offset;
+    }
+}
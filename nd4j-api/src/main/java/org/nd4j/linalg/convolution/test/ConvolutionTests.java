@@ -18,6 +18,7 @@ package org.nd4j.linalg.convolution.test;
 
 import org.junit.Test;
 import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.convolution.AutoConvolutionInstance;
 import org.nd4j.linalg.convolution.Convolution;
 import org.nd4j.linalg.factory.Nd4j;
 import org.slf4j.Logger;
@@ -79,5 +80,101 @@ public abstract class ConvolutionTests {
         log.info(Convolution.convn(image, kernel, Convolution.Type.VALID).toString());
     }
 
+    @Test
+    public void testConvolutionValues() {
+        INDArray image = Nd4j.create(new double[][]{
+                {3, 2, 5, 6, 7, 8},
+                {5, 4, 2, 10, 8, 1}
+        });
+        INDArray kernel = Nd4j.create(new double[][]{
+                {4, 5},
+                {1, 2}
+        });
+
+        INDArray full = Convolution.convn(image, kernel, Convolution.Type.FULL);
+        assertTrue(Arrays.equals(new int[]{3, 7}, full.shape()));
+        double[] firstRow = {12, 23, 30, 49, 58, 67, 40};
+        for (int i = 0; i < firstRow.length; i++)
+            assertEquals(firstRow[i], full.getDouble(0, i), 1e-3);
+
+        INDArray valid = Convolution.convn(image, kernel, Convolution.Type.VALID);
+        double[] validRow = {49, 37, 66, 101, 66};
+        assertEquals(validRow.length, valid.length());
+        for (int i = 0; i < validRow.length; i++)
+            assertEquals(validRow[i], valid.getDouble(i), 1e-3);
+    }
 
+
+    @Test
+    public void testConvolutionAlgorithms() {
+        AutoConvolutionInstance instance = new AutoConvolutionInstance();
+        INDArray image = Nd4j.create(new double[][]{
+                {3, 2, 5, 6, 7, 8},
+                {5, 4, 2, 10, 8, 1}
+        });
+        INDArray kernel = Nd4j.create(new double[][]{
+                {4, 5},
+                {1, 2}
+        });
+        //two images of two channels each, the last one being the image above
+        INDArray batch = Nd4j.linspace(1, 48, 48).reshape(new int[]{2, 2, 2, 6});
+        batch.slice(1).putSlice(1, image);
+
+        for (Convolution.Type type : Convolution.Type.values()) {
+            INDArray expected = Convolution.convn(image, kernel, type);
+            INDArray expectedBatch = null;
+            for (AutoConvolutionInstance.Algorithm algorithm : AutoConvolutionInstance.Algorithm.values()) {
+                instance.setAlgorithm(algorithm);
+                INDArray result = instance.convn(image, kernel, type);
+                assertEquals(expected.length(), result.length());
+                for (int i = 0; i < expected.length(); i++)
+                    assertEquals(expected.getDouble(i), result.getDouble(i), 1e-3);
+
+                INDArray batched = instance.convn(batch, kernel, type, new int[]{2, 3});
+                assertEquals(4, batched.shape().length);
+                assertEquals(expected.length(), batched.slice(1).slice(1).length());
+                for (int i = 0; i < expected.length(); i++)
+                    assertEquals(expected.getDouble(i), batched.slice(1).slice(1).getDouble(i), 1e-3);
+                if (expectedBatch == null)
+                    expectedBatch = batched;
+                for (int i = 0; i < batched.length(); i++)
+                    assertEquals(expectedBatch.getDouble(i), batched.getDouble(i), 1e-3);
+            }
+        }
+    }
+
+    @Test
+    public void testConvolutionSingleRowImages() {
+        AutoConvolutionInstance instance = new AutoConvolutionInstance();
+        //two single row images convolved with a kernel of three rows
+        INDArray batch = Nd4j.linspace(1, 10, 10).reshape(new int[]{2, 1, 5});
+        INDArray kernel = Nd4j.create(new double[][]{
+                {1, 2},
+                {3, 4},
+                {5, 6}
+        });
+        Convolution.Type[] types = {Convolution.Type.FULL, Convolution.Type.SAME};
+        for (Convolution.Type type : types) {
+            int outH = type == Convolution.Type.FULL ? 3 : 1;
+            int outW = type == Convolution.Type.FULL ? 6 : 5;
+            int startH = (3 - outH) / 2, startW = (6 - outW) / 2;
+            for (AutoConvolutionInstance.Algorithm algorithm : AutoConvolutionInstance.Algorithm.values()) {
+                instance.setAlgorithm(algorithm);
+                INDArray result = instance.convn(batch, kernel, type, new int[]{1, 2});
+                assertTrue(Arrays.equals(new int[]{2, outH, outW}, result.shape()));
+                for (int image = 0; image < 2; image++)
+                    for (int r = 0; r < outH; r++)
+                        for (int c = 0; c < outW; c++) {
+                            //the full convolution of a single row is the row times each kernel row
+                            double expected = 0;
+                            for (int j = 0; j < 2; j++) {
+                                int x = c + startW - j;
+                                if (x >= 0 && x < 5)
+                                    expected += batch.getDouble(image, 0, x) * kernel.getDouble(r + startH, j);
+                            }
+                            assertEquals(expected, result.getDouble(image, r, c), 1e-3);
+                        }
+            }
+        }
+    }
 }
@@ -679,21 +679,21 @@ public class DataSet implements org.nd4j.linalg.dataset.api.DataSet {
         if (numSamples >= numExamples())
             return this;
         else {
-            INDArray examples = Nd4j.create(numSamples, getFeatures().columns());
-            INDArray outcomes = Nd4j.create(numSamples, numOutcomes());
+            int[] picked = new int[numSamples];
             Set<Integer> added = new HashSet<Integer>();
             for (int i = 0; i < numSamples; i++) {
-                int picked = rng.nextInt(numExamples());
-                if (!withReplacement)
-                    while (added.contains(picked)) {
-                        picked = rng.nextInt(numExamples());
+                picked[i] = rng.nextInt(numExamples());
+                if (!withReplacement) {
+                    while (added.contains(picked[i])) {
+                        picked[i] = rng.nextInt(numExamples());
 
                     }
-                examples.putRow(i, get(picked).getFeatures());
-                outcomes.putRow(i, get(picked).getLabels());
+                    added.add(picked[i]);
+                }
 
             }
-            return new DataSet(examples, outcomes);
+            //gather the picked rows in one pass
+            return get(picked);
         }
     }
 
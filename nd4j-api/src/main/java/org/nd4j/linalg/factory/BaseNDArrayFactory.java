@@ -26,15 +26,14 @@ import org.nd4j.linalg.api.complex.IComplexFloat;
 import org.nd4j.linalg.api.complex.IComplexNDArray;
 import org.nd4j.linalg.api.complex.IComplexNumber;
 import org.nd4j.linalg.api.ndarray.INDArray;
-import org.nd4j.linalg.api.ndarray.SliceOp;
 import org.nd4j.linalg.indexing.NDArrayIndex;
 import org.nd4j.linalg.util.ArrayUtil;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Base NDArrayFactory class.
@@ -142,6 +141,11 @@ public abstract class BaseNDArrayFactory implements NDArrayFactory {
         return create(shape, Nd4j.createBuffer(shape, dataType));
     }
 
+    @Override
+    public INDArray create(int[] shape, int dataType, char ordering) {
+        return create(Nd4j.createBuffer(shape, dataType), shape, Nd4j.getStrides(shape, ordering), 0, ordering);
+    }
+
     /**
      * Returns the order for this ndarray for internal data storage
      *
@@ -222,41 +226,23 @@ public abstract class BaseNDArrayFactory implements NDArrayFactory {
         for (INDArray m : matrices)
             length += m.length();
 
-        INDArray ret = Nd4j.create(length);
-        DataBuffer[] buffers = new DataBuffer[matrices.size()];
-        int[] strides = new int[matrices.size()];
-        int[] offsets = new int[matrices.size()];
-        int count = 0;
-        for(INDArray matrix : matrices) {
-            buffers[count] = matrix.data();
-            strides[count] = matrix.majorStride();
-            offsets[count] = matrix.offset();
-            count++;
-        }
-
-
-        ret.data().assign(offsets,strides,buffers);
-        return ret;
+        return toFlattened(matrices, Nd4j.create(new int[]{length}, Concatenation.dataType(matrices), order()));
+    }
 
+    @Override
+    public INDArray toFlattened(Collection<INDArray> matrices, INDArray out) {
+        return Concatenation.flatten(matrices, out);
     }
 
     @Override
     public INDArray toFlattened(int length, Iterator<? extends INDArray>... matrices) {
-        INDArray ret = Nd4j.create(length);
-        int linearIndex = 0;
-
+        List<INDArray> flatten = new ArrayList<>();
         for (Iterator<? extends INDArray> iter1 : matrices) {
-            while (iter1.hasNext()) {
-                INDArray d = iter1.next();
-                INDArray flattened = d.linearView();
-                for (int i = 0; i < d.length(); i++) {
-                    ret.putScalar(linearIndex++, flattened.getDouble(i));
-                }
-            }
-
+            while (iter1.hasNext())
+                flatten.add(iter1.next());
         }
 
-        return ret;
+        return Concatenation.flatten(flatten, Nd4j.create(new int[]{length}, Concatenation.dataType(flatten), order()));
     }
 
     /**
@@ -292,17 +278,12 @@ public abstract class BaseNDArrayFactory implements NDArrayFactory {
     public INDArray toFlattened(INDArray... matrices) {
         int length = 0;
         for (INDArray m : matrices) length += m.length();
-        INDArray ret = Nd4j.create(1, length);
-        int linearIndex = 0;
-        for (INDArray d : matrices) {
-            if (!d.isVector())
-                d = Nd4j.create(d.data(), new int[]{1, d.length()}, d.offset());
-            for (int i = 0; i < d.length(); i++) {
-                ret.putScalar(linearIndex++, d.getFloat(i));
-            }
-        }
+        return toFlattened(matrices, Nd4j.create(new int[]{1, length}, Concatenation.dataType(Arrays.asList(matrices)), order()));
+    }
 
-        return ret;
+    @Override
+    public INDArray toFlattened(INDArray[] matrices, INDArray out) {
+        return Concatenation.flatten(Arrays.asList(matrices), out);
     }
 
     /**
@@ -941,30 +922,13 @@ public abstract class BaseNDArrayFactory implements NDArrayFactory {
     public INDArray concat(int dimension, INDArray... toConcat) {
         if (toConcat.length == 1)
             return toConcat[0];
-        validateConcat(dimension, toConcat);
-        int sumAlongDim = 0;
-        for (int i = 0; i < toConcat.length; i++)
-            sumAlongDim += toConcat[i].shape()[dimension];
-
-
-        int[] outputShape = ArrayUtil.copy(toConcat[0].shape());
-
-        outputShape[dimension] = sumAlongDim;
-
-
-        INDArray ret = Nd4j.create(outputShape);
-        INDArray linear = ret.linearView();
-        int count = 0;
-        for (int i = 0; i < toConcat.length; i++) {
-            INDArray flattened = toConcat[i].linearView();
-
-            for (int j = 0; j < flattened.length(); j++) {
-                linear.putScalar(count++, flattened.getFloat(j));
-            }
-        }
-
+        int[] outputShape = Concatenation.shape(dimension, Concatenation.rank(dimension, toConcat), toConcat);
+        return concat(dimension, toConcat, Nd4j.create(outputShape, Concatenation.dataType(Arrays.asList(toConcat)), order()));
+    }
 
-        return ret;
+    @Override
+    public INDArray concat(int dimension, INDArray[] toConcat, INDArray out) {
+        return Concatenation.concat(dimension, toConcat, out);
     }
 
     /**
@@ -978,29 +942,9 @@ public abstract class BaseNDArrayFactory implements NDArrayFactory {
     public IComplexNDArray concat(int dimension, IComplexNDArray... toConcat) {
         if (toConcat.length == 1)
             return toConcat[0];
-        validateConcat(dimension, toConcat);
-        int sumAlongDim = 0;
-        for (int i = 0; i < toConcat.length; i++)
-            sumAlongDim += toConcat[i].shape()[dimension];
-
-
-        int[] outputShape = ArrayUtil.copy(toConcat[0].shape());
-
-        outputShape[dimension] = sumAlongDim;
-
-
+        int[] outputShape = Concatenation.shape(dimension, Concatenation.rank(dimension, toConcat), toConcat);
         IComplexNDArray ret = Nd4j.createComplex(outputShape);
-        IComplexNDArray linear = ret.linearView();
-        int count = 0;
-        for (int i = 0; i < toConcat.length; i++) {
-            IComplexNDArray flattened = toConcat[i].linearView();
-
-            for (int j = 0; j < flattened.length(); j++) {
-                linear.putScalar(count++, flattened.getComplex(j));
-            }
-        }
-
-
+        Concatenation.concat(dimension, toConcat, ret);
         return ret;
 
     }
@@ -1010,14 +954,7 @@ public abstract class BaseNDArrayFactory implements NDArrayFactory {
         int length = 0;
         for (IComplexNDArray m : flatten) length += m.length();
         IComplexNDArray ret = Nd4j.createComplex(length);
-        int linearIndex = 0;
-        for (IComplexNDArray d : flatten) {
-            IComplexNDArray flattened = d.linearView();
-            for (int i = 0; i < d.length(); i++) {
-                ret.putScalar(linearIndex++, flattened.getComplex(i));
-            }
-        }
-
+        Concatenation.flatten(Arrays.asList(flatten), ret);
         return ret;
 
     }
@@ -1027,14 +964,7 @@ public abstract class BaseNDArrayFactory implements NDArrayFactory {
         int length = 0;
         for (IComplexNDArray m : flatten) length += m.length();
         IComplexNDArray ret = Nd4j.createComplex(length);
-        int linearIndex = 0;
-        for (IComplexNDArray d : flatten) {
-            IComplexNDArray flattened = d.linearView();
-            for (int i = 0; i < d.length(); i++) {
-                ret.putScalar(linearIndex++, flattened.getComplex(i));
-            }
-        }
-
+        Concatenation.flatten(flatten, ret);
         return ret;
 
     }
@@ -1057,26 +987,12 @@ public abstract class BaseNDArrayFactory implements NDArrayFactory {
         }
 
 
-        final INDArray ret = Nd4j.create(rows, cols);
-        final AtomicInteger i = new AtomicInteger(0);
-        for (INDArray a : arrs) {
-            a.iterateOverAllColumns(new SliceOp() {
-
-
-                @Override
-                public void operate(INDArray nd) {
-                    for (int j = 0; j < nd.length(); j++) {
-                        ret.putScalar(i.get(), nd.getDouble(j));
-
-                    }
-                    i.incrementAndGet();
-                }
-            });
-
-        }
-
+        return hstack(arrs, Nd4j.create(new int[]{rows, cols}, Concatenation.dataType(Arrays.asList(arrs)), order()));
+    }
 
-        return ret;
+    @Override
+    public INDArray hstack(INDArray[] arrs, INDArray out) {
+        return Concatenation.concat(1, arrs, out);
     }
 
     /**
@@ -1098,22 +1014,12 @@ public abstract class BaseNDArrayFactory implements NDArrayFactory {
         }
 
 
-        final INDArray ret = Nd4j.create(rows, cols);
-        final AtomicInteger i = new AtomicInteger(0);
-
-
-        for (INDArray arr : arrs) {
-            arr.iterateOverAllRows(new SliceOp() {
-                @Override
-                public void operate(INDArray nd) {
-                    ret.putRow(i.get(), nd);
-                    i.incrementAndGet();
-                }
-            });
-        }
-
+        return vstack(arrs, Nd4j.create(new int[]{rows, cols}, Concatenation.dataType(Arrays.asList(arrs)), order()));
+    }
 
-        return ret;
+    @Override
+    public INDArray vstack(INDArray[] arrs, INDArray out) {
+        return Concatenation.concat(0, arrs, out);
     }
 
 
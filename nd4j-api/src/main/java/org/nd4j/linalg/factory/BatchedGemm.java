@@ -0,0 +1,272 @@
+/*
+ * Copyright 2015 Skymind,Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.nd4j.linalg.factory;
+
+import org.nd4j.linalg.api.buffer.BaseDirectDataBuffer;
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.parallel.Parallel;
+
+/**
+ * Batched general matrix multiply: c[i] = alpha * a[i] * b[i] + beta * c[i]
+ * for every matrix i of a rank 3 stack of shape [batch, rows, columns].
+ *
+ * a and b may either be rank 3 stacks with one matrix per batch or
+ * matrices shared by every batch. The data of each operand is fetched
+ * once for the whole batch and each batch is handed to a backend gemm
+ * kernel at its offset in the buffer, so no per batch views or
+ * temporaries are allocated. Batches are run in parallel via {@link Parallel}.
+ *
+ * Matrices stored in row major (c) order are passed to the kernel as
+ * transposes of column major matrices, so both orderings are handled
+ * without copying. Inputs with any other layout are copied once,
+ * the result must be either row or column major.
+ *
+ * @author Adam Gibson
+ */
+public class BatchedGemm {
+
+    private BatchedGemm() {
+    }
+
+    /**
+     * A column major double precision gemm
+     * (same arguments as the BLAS routine)
+     */
+    public interface DoubleKernel {
+        void gemm(char transA, char transB, int m, int n, int k,
+                  double alpha, double[] a, int aOffset, int lda,
+                  double[] b, int bOffset, int ldb,
+                  double beta, double[] c, int cOffset, int ldc);
+    }
+
+    /**
+     * A column major single precision gemm
+     * (same arguments as the BLAS routine)
+     */
+    public interface FloatKernel {
+        void gemm(char transA, char transB, int m, int n, int k,
+                  float alpha, float[] a, int aOffset, int lda,
+                  float[] b, int bOffset, int ldb,
+                  float beta, float[] c, int cOffset, int ldc);
+    }
+
+    /**
+     * The shape of the result of multiplying the given operands
+     *
+     * @param a a stack of shape [batch, m, k] or a matrix of shape [m, k]
+     * @param b a stack of shape [batch, k, n] or a matrix of shape [k, n]
+     * @return the shape [batch, m, n]
+     */
+    public static int[] resultShape(INDArray a, INDArray b) {
+        int aRank = a.shape().length;
+        int bRank = b.shape().length;
+        if (aRank < 2 || aRank > 3 || bRank < 2 || bRank > 3 || aRank + bRank == 4)
+            throw new IllegalArgumentException("Batched multiply requires rank 3 stacks or a rank 3 stack and a matrix");
+        int batch = aRank == 3 ? a.size(0) : b.size(0);
+        if (aRank == 3 && bRank == 3 && a.size(0) != b.size(0))
+            throw new IllegalArgumentException("Batch sizes " + a.size(0) + " and " + b.size(0) + " do not match");
+        int m = a.size(aRank - 2);
+        int k = a.size(aRank - 1);
+        if (b.size(bRank - 2) != k)
+            throw new IllegalArgumentException("Columns of a (" + k + ") must match rows of b (" + b.size(bRank - 2) + ")");
+        return new int[]{batch, m, b.size(bRank - 1)};
+    }
+
+    /**
+     * Compute c[i] = alpha * a[i] * b[i] + beta * c[i] in double precision
+     *
+     * @param alpha  the scale of the product
+     * @param a      a stack of shape [batch, m, k] or a shared [m, k] matrix
+     * @param b      a stack of shape [batch, k, n] or a shared [k, n] matrix
+     * @param beta   the scale of the existing result
+     * @param c      the result of shape [batch, m, n], must not overlap a or b
+     * @param kernel the backend gemm
+     * @return c
+     */
+    public static INDArray exec(final double alpha, INDArray a, INDArray b, final double beta, final INDArray c, final DoubleKernel kernel) {
+        DataTypeValidation.assertDouble(a, b, c);
+        final Layout[] layouts = layouts(a, b, c);
+        final Layout l = layouts[0], r = layouts[1], out = layouts[2];
+        final double[] lData = l.data.asDouble();
+        final double[] rData = r.data.asDouble();
+        final double[] outData = c.data().asDouble();
+        final int m = out.rows, n = out.columns, k = l.columns;
+
+        Parallel.forEach(out.batch, (long) out.batch * m * n * k, new Parallel.RangeTask() {
+            @Override
+            public void run(int from, int to) {
+                for (int i = from; i < to; i++)
+                    kernel.gemm(l.trans, r.trans, m, n, k,
+                            alpha, lData, l.offset + i * l.batchStride, l.ld,
+                            rData, r.offset + i * r.batchStride, r.ld,
+                            beta, outData, out.offset + i * out.batchStride, out.ld);
+            }
+        });
+
+        if (c.data() instanceof BaseDirectDataBuffer)
+            c.data().setData(outData);
+        return c;
+    }
+
+    /**
+     * Compute c[i] = alpha * a[i] * b[i] + beta * c[i] in single precision
+     *
+     * @param alpha  the scale of the product
+     * @param a      a stack of shape [batch, m, k] or a shared [m, k] matrix
+     * @param b      a stack of shape [batch, k, n] or a shared [k, n] matrix
+     * @param beta   the scale of the existing result
+     * @param c      the result of shape [batch, m, n], must not overlap a or b
+     * @param kernel the backend gemm
+     * @return c
+     */
+    public static INDArray exec(final float alpha, INDArray a, INDArray b, final float beta, final INDArray c, final FloatKernel kernel) {
+        DataTypeValidation.assertFloat(a, b, c);
+        final Layout[] layouts = layouts(a, b, c);
+        final Layout l = layouts[0], r = layouts[1], out = layouts[2];
+        final float[] lData = l.data.asFloat();
+        final float[] rData = r.data.asFloat();
+        final float[] outData = c.data().asFloat();
+        final int m = out.rows, n = out.columns, k = l.columns;
+
+        Parallel.forEach(out.batch, (long) out.batch * m * n * k, new Parallel.RangeTask() {
+            @Override
+            public void run(int from, int to) {
+                for (int i = from; i < to; i++)
+                    kernel.gemm(l.trans, r.trans, m, n, k,
+                            alpha, lData, l.offset + i * l.batchStride, l.ld,
+                            rData, r.offset + i * r.batchStride, r.ld,
+                            beta, outData, out.offset + i * out.batchStride, out.ld);
+            }
+        });
+
+        if (c.data() instanceof BaseDirectDataBuffer)
+            c.data().setData(outData);
+        return c;
+    }
+
+    /**
+     * The layouts of the left operand, right operand and result
+     * as seen by a column major kernel. A row major result is
+     * computed as c^T = b^T * a^T, so the operands are swapped.
+     */
+    private static Layout[] layouts(INDArray a, INDArray b, INDArray c) {
+        int[] shape = resultShape(a, b);
+        if (c.shape().length != 3 || c.size(0) != shape[0] || c.size(1) != shape[1] || c.size(2) != shape[2])
+            throw new IllegalArgumentException("Result must be of shape [" + shape[0] + ", " + shape[1] + ", " + shape[2] + "]");
+        if (c.data() == a.data() || c.data() == b.data())
+            throw new IllegalArgumentException("Result must not share its data with an operand");
+
+        Layout out = Layout.of(c);
+        if (out == null)
+            throw new IllegalArgumentException("Result must be a stack of row or column major matrices");
+        Layout left = layout(a);
+        Layout right = layout(b);
+        if (out.trans == 'N')
+            return new Layout[]{left, right, out};
+
+        //c^T = b^T a^T: swap the operands and flip each transpose
+        return new Layout[]{right.transpose(), left.transpose(), out.transpose()};
+    }
+
+    private static Layout layout(INDArray arr) {
+        Layout ret = Layout.of(arr);
+        return ret != null ? ret : Layout.copyOf(arr);
+    }
+
+    /**
+     * Where each matrix of an operand lives in its buffer
+     */
+    private static class Layout {
+        private DataBuffer data;
+        private int batch, rows, columns, offset, batchStride, ld;
+        private char trans;
+
+        /**
+         * The layout of an ndarray whose matrices are
+         * row or column major, null if they are neither
+         */
+        private static Layout of(INDArray arr) {
+            int[] shape = arr.shape();
+            int[] stride = arr.stride();
+            if (stride.length != shape.length)
+                return null;
+
+            int rank = shape.length;
+            Layout ret = new Layout();
+            ret.data = arr.data();
+            ret.offset = arr.offset();
+            ret.batch = rank == 3 ? shape[0] : 1;
+            ret.batchStride = rank == 3 ? stride[0] : 0;
+            ret.rows = shape[rank - 2];
+            ret.columns = shape[rank - 1];
+            int rowStride = stride[rank - 2];
+            int columnStride = stride[rank - 1];
+
+            if ((ret.rows <= 1 || rowStride == 1) && (ret.columns <= 1 || columnStride >= ret.rows)) {
+                ret.trans = 'N';
+                ret.ld = Math.max(1, ret.columns <= 1 ? ret.rows : columnStride);
+                return ret;
+            }
+            if ((ret.columns <= 1 || columnStride == 1) && (ret.rows <= 1 || rowStride >= ret.columns)) {
+                //a row major matrix is the transpose of a column major one
+                ret.trans = 'T';
+                ret.ld = Math.max(1, ret.rows <= 1 ? ret.columns : rowStride);
+                return ret;
+            }
+            return null;
+        }
+
+        /**
+         * A row major copy of an ndarray with an arbitrary layout
+         */
+        private static Layout copyOf(INDArray arr) {
+            int[] shape = arr.shape();
+            int rank = shape.length;
+            Layout ret = new Layout();
+            ret.batch = rank == 3 ? shape[0] : 1;
+            ret.rows = shape[rank - 2];
+            ret.columns = shape[rank - 1];
+            ret.batchStride = rank == 3 ? ret.rows * ret.columns : 0;
+            ret.ld = Math.max(1, ret.columns);
+            ret.trans = 'T';
+            ret.data = Nd4j.createBuffer(new int[]{ret.batch * ret.rows * ret.columns}, arr.data().dataType());
+            int count = 0;
+            for (int i = 0; i < ret.batch; i++)
+                for (int j = 0; j < ret.rows; j++)
+                    for (int k = 0; k < ret.columns; k++)
+                        ret.data.put(count++, rank == 3 ? arr.getDouble(i, j, k) : arr.getDouble(j, k));
+            return ret;
+        }
+
+        /**
+         * The same memory seen as the transposed matrices
+         */
+        private Layout transpose() {
+            Layout ret = new Layout();
+            ret.data = data;
+            ret.batch = batch;
+            ret.rows = columns;
+            ret.columns = rows;
+            ret.offset = offset;
+            ret.batchStride = batchStride;
+            ret.ld = ld;
+            ret.trans = trans == 'N' ? 'T' : 'N';
+            return ret;
+        }
+    }
+}
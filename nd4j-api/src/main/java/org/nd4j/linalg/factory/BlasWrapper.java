@@ -180,6 +180,22 @@ public interface BlasWrapper<NDARRAY_TYPE extends INDArray> {
     public IComplexNDArray gemm(IComplexNumber alpha, IComplexNDArray a,
                                 IComplexNDArray b, IComplexNumber beta, IComplexNDArray c);
 
+    /**
+     * Compute c[i] <- alpha * a[i] * b[i] + beta * c[i] for every
+     * matrix in a rank 3 stack (batched general matrix matrix multiplication).
+     * a and b are either stacks of shape [batch, rows, columns]
+     * or matrices shared by every batch. c must be a preallocated
+     * stack of shape [batch, a rows, b columns].
+     */
+    INDArray gemmBatched(double alpha, INDArray a,
+                         INDArray b, double beta, INDArray c);
+
+    /**
+     * @see #gemmBatched(double, INDArray, INDArray, double, INDArray)
+     */
+    INDArray gemmBatched(float alpha, INDArray a,
+                         INDArray b, float beta, INDArray c);
+
 
     /**
      * ************************************************************************
@@ -0,0 +1,314 @@
+/*
+ * Copyright 2015 Skymind,Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package org.nd4j.linalg.factory;
+
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.complex.IComplexNDArray;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.parallel.Parallel;
+import org.nd4j.linalg.util.ArrayUtil;
+
+import java.util.Arrays;
+
+/**
+ * Concatenation and flattening of ndarrays by bulk copies.
+ *
+ * Every input is copied in to its block of the result with
+ * {@link DataBuffer#copyTo}: in one call when source and destination
+ * share the same dense layout, otherwise one call per run along the
+ * innermost dimension of the destination, runs being copied in parallel
+ * via {@link Parallel}. Values are copied straight between the buffers,
+ * so nothing is rounded through float on the way.
+ *
+ * Results may be preallocated by the caller, and are otherwise allocated
+ * in the data type the inputs share (see {@link #dataType}). Row vectors (which are
+ * stored with a single dimension) are treated as matrices with one row
+ * when stacking matrices.
+ *
+ * @author Adam Gibson
+ */
+public class Concatenation {
+
+    private Concatenation() {
+    }
+
+    /**
+     * The shape of the concatenation of the given ndarrays along a dimension
+     *
+     * @param dimension the dimension to concatenate along
+     * @param rank      the rank of the result (row vectors are promoted to matrices for rank 2)
+     * @param toConcat  the ndarrays to concatenate
+     * @return the shape of the result
+     */
+    public static int[] shape(int dimension, int rank, INDArray... toConcat) {
+        if (toConcat.length < 1)
+            throw new IllegalArgumentException("Nothing to concatenate");
+        if (dimension < 0 || dimension >= rank)
+            throw new IllegalArgumentException("Unable to concatenate along dimension " + dimension + " of rank " + rank + " ndarrays");
+        int[] ret = shape(toConcat[0], rank).clone();
+        for (int i = 1; i < toConcat.length; i++) {
+            int[] shape = shape(toConcat[i], rank);
+            for (int j = 0; j < rank; j++)
+                if (j != dimension && shape[j] != ret[j])
+                    throw new IllegalArgumentException("Shape " + Arrays.toString(toConcat[i].shape()) + " of ndarray " + i
+                            + " does not match " + Arrays.toString(toConcat[0].shape()) + " outside of dimension " + dimension);
+            ret[dimension] += shape[dimension];
+        }
+        return ret;
+    }
+
+    /**
+     * The rank to concatenate the given ndarrays at
+     *
+     * @param dimension the dimension to concatenate along
+     * @param toConcat  the ndarrays to concatenate
+     * @return the largest rank of the ndarrays (at least dimension + 1)
+     */
+    public static int rank(int dimension, INDArray... toConcat) {
+        int ret = dimension + 1;
+        for (INDArray arr : toConcat)
+            ret = Math.max(ret, arr.shape().length);
+        return ret;
+    }
+
+    /**
+     * The data type to allocate the result of concatenating or flattening ndarrays with
+     *
+     * @param arrs the ndarrays to concatenate or flatten
+     * @return the data type the ndarrays share, or that of the factory when they differ
+     */
+    public static int dataType(Iterable<? extends INDArray> arrs) {
+        int ret = -1;
+        for (INDArray arr : arrs) {
+            int dataType = arr.data().dataType();
+            if (ret >= 0 && dataType != ret)
+                return Nd4j.dataType();
+            ret = dataType;
+        }
+        return ret < 0 ? Nd4j.dataType() : ret;
+    }
+
+    /**
+     * Concatenate ndarrays along a dimension in to an existing ndarray
+     *
+     * @param dimension the dimension to concatenate along
+     * @param toConcat  the ndarrays to concatenate
+     * @param out       the result, of the shape of the concatenation
+     * @return out
+     */
+    public static INDArray concat(int dimension, INDArray[] toConcat, INDArray out) {
+        int rank = Math.max(rank(dimension, toConcat), out.shape().length);
+        int[] shape = shape(dimension, rank, toConcat);
+        if (!Arrays.equals(shape, shape(out, rank)))
+            throw new IllegalArgumentException("Result of shape " + Arrays.toString(out.shape()) + " does not match " + Arrays.toString(shape));
+        Block to = block(out, rank);
+        int offset = to.offset;
+        for (INDArray arr : toConcat) {
+            Block from = block(arr, rank);
+            checkTypes(arr, out);
+            copy(from, new Block(to.data, offset, from.shape, to.stride), elementSize(out));
+            offset += from.shape[dimension] * to.stride[dimension];
+        }
+        return out;
+    }
+
+    /**
+     * Copy the elements of every ndarray one after the other in to a vector,
+     * each in its own memory order (row major for c, column major for f ndarrays)
+     *
+     * @param arrs the ndarrays to flatten
+     * @param out  the result, a vector of the summed length of the ndarrays
+     * @return out
+     */
+    public static INDArray flatten(Iterable<? extends INDArray> arrs, INDArray out) {
+        if (!out.isVector() && out.length() > 1)
+            throw new IllegalArgumentException("Result must be a vector");
+        int elementSize = elementSize(out);
+        int outStride = out.stride()[out.stride().length - 1];
+        for (int i = 0; i < out.shape().length; i++)
+            if (out.shape()[i] > 1)
+                outStride = out.stride()[i];
+
+        int offset = out.offset();
+        int position = 0;
+        for (INDArray arr : arrs) {
+            checkTypes(arr, out);
+            if (position + arr.length() > out.length())
+                throw new IllegalArgumentException("Result of length " + out.length() + " is too short");
+            Block from = block(arr, arr.shape().length);
+            //the layout the elements would have in a dense ndarray of the same ordering
+            int[] stride = arr.ordering() == NDArrayFactory.FORTRAN
+                    ? ArrayUtil.calcStridesFortran(from.shape, outStride) : ArrayUtil.calcStrides(from.shape, outStride);
+            copy(from, new Block(out.data(), offset + position * outStride, from.shape, stride), elementSize);
+            position += arr.length();
+        }
+        if (position != out.length())
+            throw new IllegalArgumentException("Result of length " + out.length() + " does not match the " + position + " elements flattened");
+        return out;
+    }
+
+    /**
+     * Copy the elements of one ndarray in to another of the same shape
+     *
+     * @param from the ndarray to copy
+     * @param to   the destination
+     * @return the destination
+     */
+    public static INDArray copy(INDArray from, INDArray to) {
+        int rank = Math.max(from.shape().length, to.shape().length);
+        if (!Arrays.equals(shape(from, rank), shape(to, rank)))
+            throw new IllegalArgumentException("Shape " + Arrays.toString(from.shape()) + " does not match " + Arrays.toString(to.shape()));
+        checkTypes(from, to);
+        copy(block(from, rank), block(to, rank), elementSize(to));
+        return to;
+    }
+
+    private static void checkTypes(INDArray from, INDArray to) {
+        if (from instanceof IComplexNDArray != to instanceof IComplexNDArray)
+            throw new IllegalArgumentException("Unable to copy between real and complex ndarrays");
+    }
+
+    private static int elementSize(INDArray arr) {
+        return arr instanceof IComplexNDArray ? 2 : 1;
+    }
+
+    private static int[] shape(INDArray arr, int rank) {
+        int[] shape = arr.shape();
+        if (shape.length == rank)
+            return shape;
+        if (shape.length == 1 && rank == 2)
+            return new int[]{1, shape[0]};
+        throw new IllegalArgumentException("Unable to treat an ndarray of shape " + Arrays.toString(shape) + " as rank " + rank);
+    }
+
+    private static Block block(INDArray arr, int rank) {
+        int[] shape = shape(arr, rank);
+        int[] stride = arr.stride();
+        if (stride.length != arr.shape().length)
+            throw new IllegalArgumentException("Strides of shape " + Arrays.toString(arr.shape()) + " do not match its rank");
+        if (stride.length != rank)
+            stride = new int[]{0, stride[0]};
+        return new Block(arr.data(), arr.offset(), shape, stride);
+    }
+
+    /**
+     * Copy a block of elements to another of the same shape
+     */
+    private static void copy(final Block from, final Block to, final int elementSize) {
+        int[] shape = from.shape;
+        int length = ArrayUtil.prod(shape);
+        if (shape.length == 0 || length == 0)
+            return;
+        if (isDense(from, elementSize) && isDense(to, elementSize) && sameLayout(from, to)) {
+            from.data.copyTo(from.offset, 1, to.data, to.offset, 1, length * elementSize);
+            return;
+        }
+
+        //runs go along the dimension with the smallest stride in the destination
+        int inner = -1;
+        for (int i = 0; i < shape.length; i++)
+            if (shape[i] > 1 && (inner < 0 || to.stride[i] < to.stride[inner]))
+                inner = i;
+        final int runLength = shape[inner];
+        final int fromInc = from.stride[inner], toInc = to.stride[inner];
+        final int[] outerShape = ArrayUtil.removeIndex(shape, inner);
+        final int[] fromOuter = ArrayUtil.removeIndex(from.stride, inner);
+        final int[] toOuter = ArrayUtil.removeIndex(to.stride, inner);
+        int runs = length / runLength;
+
+        Parallel.forEach(runs, length, new Parallel.RangeTask() {
+            @Override
+            public void run(int start, int end) {
+                for (int r = start; r < end; r++) {
+                    int f = from.offset, t = to.offset;
+                    int rem = r;
+                    for (int k = outerShape.length - 1; k >= 0; k--) {
+                        int index = rem % outerShape[k];
+                        rem /= outerShape[k];
+                        f += index * fromOuter[k];
+                        t += index * toOuter[k];
+                    }
+                    copyRun(from.data, f, fromInc, to.data, t, toInc, runLength, elementSize);
+                }
+            }
+        });
+    }
+
+    private static void copyRun(DataBuffer from, int offset, int inc, DataBuffer to, int toOffset, int toInc, int length, int elementSize) {
+        if (inc == elementSize && toInc == elementSize) {
+            from.copyTo(offset, 1, to, toOffset, 1, length * elementSize);
+        } else if (inc > 0) {
+            for (int e = 0; e < elementSize; e++)
+                from.copyTo(offset + e, inc, to, toOffset + e, toInc, length);
+        } else {
+            //broadcast views repeat a single element
+            for (int e = 0; e < elementSize; e++)
+                for (int i = 0, t = toOffset + e; i < length; i++, t += toInc)
+                    to.put(t, from.getDouble(offset + e));
+        }
+    }
+
+    /**
+     * Whether the elements of a block are packed together without gaps
+     */
+    private static boolean isDense(Block block, int elementSize) {
+        Integer[] dims = new Integer[block.shape.length];
+        for (int i = 0; i < dims.length; i++)
+            dims[i] = i;
+        final int[] stride = block.stride;
+        Arrays.sort(dims, new java.util.Comparator<Integer>() {
+            @Override
+            public int compare(Integer a, Integer b) {
+                return Integer.compare(stride[a], stride[b]);
+            }
+        });
+        int expected = elementSize;
+        for (int dim : dims) {
+            if (block.shape[dim] == 1)
+                continue;
+            if (stride[dim] != expected)
+                return false;
+            expected *= block.shape[dim];
+        }
+        return true;
+    }
+
+    private static boolean sameLayout(Block from, Block to) {
+        for (int i = 0; i < from.shape.length; i++)
+            if (from.shape[i] > 1 && from.stride[i] != to.stride[i])
+                return false;
+        return true;
+    }
+
+    /**
+     * A shape and strides in to a data buffer
+     */
+    private static class Block {
+        private final DataBuffer data;
+        private final int offset;
+        private final int[] shape;
+        private final int[] stride;
+
+        private Block(DataBuffer data, int offset, int[] shape, int[] stride) {
+            this.data = data;
+            this.offset = offset;
+            this.shape = shape;
+            this.stride = stride;
+        }
+    }
+}
@@ -169,6 +169,24 @@ public interface NDArrayFactory {
      */
     INDArray toFlattened(INDArray... matrices);
 
+    /**
+     * Flatten all of the ndarrays in to an existing vector
+     *
+     * @param matrices the matrices to flatten
+     * @param out      the vector to flatten in to, of the summed length of the matrices
+     * @return out
+     */
+    INDArray toFlattened(INDArray[] matrices, INDArray out);
+
+    /**
+     * Flatten all of the ndarrays in to an existing vector
+     *
+     * @param matrices the matrices to flatten
+     * @param out      the vector to flatten in to, of the summed length of the matrices
+     * @return out
+     */
+    INDArray toFlattened(Collection<INDArray> matrices, INDArray out);
+
     /**
      * Create the identity ndarray
      *
@@ -311,6 +329,16 @@ public interface NDArrayFactory {
      */
     INDArray concat(int dimension, INDArray... toConcat);
 
+    /**
+     * Concatenate ndarrays along a dimension in to an existing ndarray
+     *
+     * @param dimension the dimension to concatenate along
+     * @param toConcat  the ndarrays to concatenate
+     * @param out       the ndarray to concatenate in to
+     * @return out
+     */
+    INDArray concat(int dimension, INDArray[] toConcat, INDArray out);
+
     /**
      * Concatneate ndarrays along a dimension
      *
@@ -603,6 +631,15 @@ public interface NDArrayFactory {
      */
     INDArray hstack(INDArray... arrs);
 
+    /**
+     * Concatenates matrices horizontally in to an existing matrix
+     *
+     * @param arrs the matrices to concatenate
+     * @param out  the matrix to concatenate in to
+     * @return out
+     */
+    INDArray hstack(INDArray[] arrs, INDArray out);
+
     /**
      * Concatenates two matrices vertically. Matrices must have identical
      * numbers of columns.
@@ -611,6 +648,15 @@ public interface NDArrayFactory {
      */
     INDArray vstack(INDArray... arrs);
 
+    /**
+     * Concatenates matrices vertically in to an existing matrix
+     *
+     * @param arrs the matrices to concatenate
+     * @param out  the matrix to concatenate in to
+     * @return out
+     */
+    INDArray vstack(INDArray[] arrs, INDArray out);
+
 
     /**
      * Create an ndarray of zeros
@@ -1249,4 +1295,16 @@ public interface NDArrayFactory {
     INDArray create(int rows, int columns, char ordering);
 
     INDArray create(int[] shape, int dataType);
+
+    /**
+     * Create an ndarray with the given shape, data type and ordering.
+     * Unlike {@link #create(int[], int)} this does not depend on
+     * the order of the factory.
+     *
+     * @param shape    the shape of the ndarray
+     * @param dataType the data type of the buffer
+     * @param ordering the ordering of the ndarray
+     * @return the created ndarray
+     */
+    INDArray create(int[] shape, int dataType, char ordering);
 }
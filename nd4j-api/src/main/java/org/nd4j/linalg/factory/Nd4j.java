@@ -28,20 +28,25 @@ import org.nd4j.linalg.api.complex.IComplexDouble;
 import org.nd4j.linalg.api.complex.IComplexFloat;
 import org.nd4j.linalg.api.complex.IComplexNDArray;
 import org.nd4j.linalg.api.complex.IComplexNumber;
+import org.nd4j.linalg.api.io.BinaryFormat;
+import org.nd4j.linalg.api.io.Codec;
+import org.nd4j.linalg.api.io.DelimitedText;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.convolution.ConvolutionInstance;
-import org.nd4j.linalg.convolution.DefaultConvolutionInstance;
+import org.nd4j.linalg.convolution.AutoConvolutionInstance;
 import org.nd4j.linalg.fft.DefaultFFTInstance;
 import org.nd4j.linalg.fft.FFTInstance;
 import org.nd4j.linalg.indexing.BooleanIndexing;
 import org.nd4j.linalg.indexing.conditions.Conditions;
 import org.nd4j.linalg.indexing.functions.Value;
+import org.nd4j.linalg.parallel.Parallel;
 import org.nd4j.linalg.util.ArrayUtil;
 import org.nd4j.linalg.util.Shape;
 import org.springframework.core.io.ClassPathResource;
 
 import java.io.*;
 import java.lang.reflect.Constructor;
+import java.nio.channels.Channels;
 import java.util.*;
 
 /**
@@ -61,6 +66,8 @@ public class Nd4j {
     public final static String ORDER_KEY = "ndarray.order";
     public final static String NDARRAY_FACTORY_CLASS = "ndarrayfactory.class";
     public final static String COPY_OPS = "ndarray.copyops";
+    public final static String PARALLEL_THRESHOLD = "parallel.threshold";
+    public final static String PARALLEL_POOL_SIZE = "parallel.poolsize";
     static {
         Nd4j nd4j = new Nd4j();
         nd4j.initContext();
@@ -362,7 +369,7 @@ public class Nd4j {
      */
     public static DataBuffer createBuffer(int[] shape, int type) {
         int length = ArrayUtil.prod(shape);
-        return type == DataBuffer.DOUBLE ? createBuffer(new double[length]) : createBuffer(new float[length]);
+        return type == DataBuffer.DOUBLE ? DATA_BUFFER_FACTORY_INSTANCE.createDouble(length) : DATA_BUFFER_FACTORY_INSTANCE.createFloat(length);
     }
 
     /**
@@ -384,10 +391,10 @@ public class Nd4j {
      */
     public static DataBuffer createBuffer(long length) {
         if (dataType() == DataBuffer.FLOAT) {
-            return createBuffer(new float[(int) length]);
+            return DATA_BUFFER_FACTORY_INSTANCE.createFloat(length);
 
         }
-        return createBuffer(new double[(int) length]);
+        return DATA_BUFFER_FACTORY_INSTANCE.createDouble(length);
     }
 
     /**
@@ -750,6 +757,28 @@ public class Nd4j {
         return INSTANCE.toFlattened(matrices);
     }
 
+    /**
+     * Flatten all of the ndarrays in to an existing vector
+     *
+     * @param matrices the ndarrays to flatten
+     * @param out      the vector to flatten in to
+     * @return out
+     */
+    public static INDArray toFlattened(INDArray[] matrices, INDArray out) {
+        return INSTANCE.toFlattened(matrices, out);
+    }
+
+    /**
+     * Flatten all of the ndarrays in to an existing vector
+     *
+     * @param matrices the ndarrays to flatten
+     * @param out      the vector to flatten in to
+     * @return out
+     */
+    public static INDArray toFlattened(Collection<INDArray> matrices, INDArray out) {
+        return INSTANCE.toFlattened(matrices, out);
+    }
+
     /**
      * Create the identity ndarray
      *
@@ -780,22 +809,7 @@ public class Nd4j {
      * @return the read txt method
      */
     public static void writeTxt(INDArray write, String filePath, String split) throws IOException {
-        BufferedWriter writer = new BufferedWriter(new FileWriter(filePath));
-        for (int i = 0; i < write.rows(); i++) {
-            StringBuffer sb = new StringBuffer();
-            INDArray row = write.getRow(i);
-            for (int j = 0; j < row.columns(); j++) {
-                sb.append(row.getDouble(j));
-                sb.append(split);
-            }
-            sb.append("\n");
-            writer.write(sb.toString());
-        }
-
-        writer.flush();
-        writer.close();
-
-
+        DelimitedText.write(write, new File(filePath), split);
     }
 
     /**
@@ -806,6 +820,9 @@ public class Nd4j {
      * @return the read txt method
      */
     public static INDArray readTxt(InputStream filePath, String split) throws IOException {
+        if (DelimitedText.delimiter(split) >= 0)
+            return DelimitedText.read(filePath, split);
+
         BufferedReader reader = new BufferedReader(new InputStreamReader(filePath));
         String line;
         List<float[]> data2 = new ArrayList<>();
@@ -845,7 +862,14 @@ public class Nd4j {
      * @return the read txt method
      */
     public static INDArray readTxt(String filePath, String split) throws IOException {
-        return readTxt(new FileInputStream(filePath), split);
+        if (DelimitedText.delimiter(split) >= 0)
+            return DelimitedText.read(new File(filePath), split);
+        InputStream is = new FileInputStream(filePath);
+        try {
+            return readTxt(is, split);
+        } finally {
+            is.close();
+        }
     }
 
     /**
@@ -868,20 +892,28 @@ public class Nd4j {
     }
 
     /**
-     * Read in an ndarray from a data input stream
+     * Read in an ndarray from a data input stream.
+     * Both the versioned binary format (see {@link BinaryFormat})
+     * and the older big endian format are understood.
      *
      * @param dis the data input stream to read from
      * @return the ndarray
      * @throws IOException
      */
     public static INDArray read(DataInputStream dis) throws IOException {
-        int dimensions = dis.readInt();
-        int[] shape = new int[dimensions];
-        int[] stride = new int[dimensions];
+        int first = dis.readInt();
+        if (first == BinaryFormat.MAGIC) {
+            BinaryFormat.Header header = BinaryFormat.readHeaderAfterMagic(Channels.newChannel(dis));
+            if (header.isComplex())
+                throw new IllegalArgumentException("Trying to read in a complex ndarray");
+            return BinaryFormat.read(header, Channels.newChannel(dis));
+        }
 
-        for (int i = 0; i < dimensions; i++)
+        int[] shape = new int[first];
+        int[] stride = new int[first];
+        for (int i = 0; i < first; i++)
             shape[i] = dis.readInt();
-        for (int i = 0; i < dimensions; i++)
+        for (int i = 0; i < first; i++)
             stride[i] = dis.readInt();
         String dataType = dis.readUTF();
         String type = dis.readUTF();
@@ -889,38 +921,36 @@ public class Nd4j {
         if (!type.equals("real"))
             throw new IllegalArgumentException("Trying to read in a complex ndarray");
 
-        if (dataType.equals("double")) {
-            double[] data = ArrayUtil.readDouble(ArrayUtil.prod(shape), dis);
-            return create(data, shape, stride, 0);
-        }
-
-        double[] data = ArrayUtil.readDouble(ArrayUtil.prod(shape), dis);
-        return create(data, shape, stride, 0);
+        //the older writer inverted the data type for real arrays:
+        //float tagged arrays hold doubles and double tagged arrays hold floats
+        if (dataType.equals("double"))
+            return create(ArrayUtil.toDoubles(ArrayUtil.readFloat(ArrayUtil.prod(shape), dis)), shape, stride, 0);
+        return create(ArrayUtil.readDouble(ArrayUtil.prod(shape), dis), shape, stride, 0);
     }
 
     /**
-     * Write an ndarray to the specified outputs tream
+     * Write an ndarray to the specified output stream
+     * in the versioned binary format (see {@link BinaryFormat})
      *
      * @param arr              the array to write
      * @param dataOutputStream the data output stream to write to
      * @throws IOException
      */
     public static void write(INDArray arr, DataOutputStream dataOutputStream) throws IOException {
-        dataOutputStream.writeInt(arr.shape().length);
-        for (int i = 0; i < arr.shape().length; i++)
-            dataOutputStream.writeInt(arr.size(i));
-        for (int i = 0; i < arr.stride().length; i++)
-            dataOutputStream.writeInt(arr.stride()[i]);
-
-        dataOutputStream.writeUTF(dataType() == DataBuffer.FLOAT ? "float" : "double");
-
-        dataOutputStream.writeUTF("real");
-
-        if (dataType() == DataBuffer.DOUBLE)
-            ArrayUtil.write(arr.data().asFloat(), dataOutputStream);
-        else
-            ArrayUtil.write(arr.data().asDouble(), dataOutputStream);
+        BinaryFormat.write(arr, dataOutputStream);
+    }
 
+    /**
+     * Write an ndarray to the specified output stream
+     * with the elements encoded by the given codec
+     *
+     * @param arr              the array to write
+     * @param dataOutputStream the data output stream to write to
+     * @param codec            the codec to encode the elements with
+     * @throws IOException
+     */
+    public static void write(INDArray arr, DataOutputStream dataOutputStream, Codec codec) throws IOException {
+        BinaryFormat.write(arr, dataOutputStream, codec);
     }
 
     /**
@@ -943,59 +973,51 @@ public class Nd4j {
     }
 
     /**
-     * Read in an ndarray from a data input stream
+     * Read in a complex ndarray from a data input stream.
+     * Both the versioned binary format (see {@link BinaryFormat})
+     * and the older big endian format are understood.
      *
      * @param dis the data input stream to read from
      * @return the ndarray
      * @throws IOException
      */
     public static IComplexNDArray readComplex(DataInputStream dis) throws IOException {
-        int dimensions = dis.readInt();
-        int[] shape = new int[dimensions];
-        int[] stride = new int[dimensions];
+        int first = dis.readInt();
+        if (first == BinaryFormat.MAGIC) {
+            BinaryFormat.Header header = BinaryFormat.readHeaderAfterMagic(Channels.newChannel(dis));
+            if (!header.isComplex())
+                throw new IllegalArgumentException("Trying to read in a real ndarray");
+            return (IComplexNDArray) BinaryFormat.read(header, Channels.newChannel(dis));
+        }
 
-        for (int i = 0; i < dimensions; i++)
+        int[] shape = new int[first];
+        int[] stride = new int[first];
+        for (int i = 0; i < first; i++)
             shape[i] = dis.readInt();
-        for (int i = 0; i < dimensions; i++)
+        for (int i = 0; i < first; i++)
             stride[i] = dis.readInt();
         String dataType = dis.readUTF();
-
         String type = dis.readUTF();
 
         if (!type.equals("complex"))
             throw new IllegalArgumentException("Trying to read in a real ndarray");
 
-        if (dataType.equals("double")) {
-            double[] data = ArrayUtil.readDouble(ArrayUtil.prod(shape), dis);
-            return createComplex(data, shape, stride, 0);
-        }
-
-        double[] data = ArrayUtil.read(ArrayUtil.prod(shape), dis);
-        return createComplex(data, shape, stride, 0);
+        int length = ArrayUtil.prod(shape) * 2;
+        if (dataType.equals("float"))
+            return createComplex(ArrayUtil.toDoubles(ArrayUtil.readFloat(length, dis)), shape, stride, 0);
+        return createComplex(ArrayUtil.readDouble(length, dis), shape, stride, 0);
     }
 
     /**
-     * Write an ndarray to the specified outputs tream
+     * Write a complex ndarray to the specified output stream
+     * in the versioned binary format (see {@link BinaryFormat})
      *
      * @param arr              the array to write
      * @param dataOutputStream the data output stream to write to
      * @throws IOException
      */
     public static void writeComplex(IComplexNDArray arr, DataOutputStream dataOutputStream) throws IOException {
-        dataOutputStream.writeInt(arr.shape().length);
-        for (int i = 0; i < arr.shape().length; i++)
-            dataOutputStream.writeInt(arr.size(i));
-        for (int i = 0; i < arr.stride().length; i++)
-            dataOutputStream.writeInt(arr.stride()[i]);
-        dataOutputStream.writeUTF(dataType() == DataBuffer.FLOAT ? "float" : "double");
-
-        dataOutputStream.writeUTF("complex");
-
-        if (dataType() == DataBuffer.DOUBLE)
-            ArrayUtil.write(arr.data().asDouble(), dataOutputStream);
-        else
-            ArrayUtil.write(arr.data().asFloat(), dataOutputStream);
-
+        BinaryFormat.write(arr, dataOutputStream);
     }
 
     /**
@@ -1688,6 +1710,17 @@ public class Nd4j {
         return INSTANCE.hstack(arrs);
     }
 
+    /**
+     * Concatenates matrices horizontally in to an existing matrix
+     *
+     * @param arrs the matrices to concatenate
+     * @param out  the matrix to concatenate in to
+     * @return out
+     */
+    public static INDArray hstack(INDArray[] arrs, INDArray out) {
+        return INSTANCE.hstack(arrs, out);
+    }
+
     /**
      * Concatenates two matrices vertically. Matrices must have identical
      * numbers of columns.
@@ -1698,6 +1731,17 @@ public class Nd4j {
         return INSTANCE.vstack(arrs);
     }
 
+    /**
+     * Concatenates matrices vertically in to an existing matrix
+     *
+     * @param arrs the matrices to concatenate
+     * @param out  the matrix to concatenate in to
+     * @return out
+     */
+    public static INDArray vstack(INDArray[] arrs, INDArray out) {
+        return INSTANCE.vstack(arrs, out);
+    }
+
     /**
      * Concatneate ndarrays along a dimension
      *
@@ -1711,6 +1755,18 @@ public class Nd4j {
         return INSTANCE.concat(dimension, toConcat);
     }
 
+    /**
+     * Concatneate ndarrays along a dimension in to an existing ndarray
+     *
+     * @param dimension the dimension to concatneate along
+     * @param toConcat  the ndarrays to concat
+     * @param out       the ndarray to concat in to
+     * @return out
+     */
+    public static INDArray concat(int dimension, INDArray[] toConcat, INDArray out) {
+        return INSTANCE.concat(dimension, toConcat, out);
+    }
+
     /**
      * Concatneate ndarrays along a dimension
      *
@@ -2357,6 +2413,19 @@ public class Nd4j {
         return INSTANCE.create(shape, dataType);
     }
 
+    /**
+     * Creates an ndarray with the specified shape, data type and ordering.
+     * The global order of the factory is neither read nor changed.
+     *
+     * @param shape    the shape of the ndarray
+     * @param dataType the data type of the ndarray
+     * @param ordering the ordering of the ndarray
+     * @return the instance
+     */
+    public static INDArray create(int[] shape, int dataType, char ordering) {
+        return INSTANCE.create(shape, dataType, ordering);
+    }
+
     /**
      * Creates a complex ndarray with the specified shape
      *
@@ -2743,13 +2812,15 @@ public class Nd4j {
             String otherDtype = System.getProperty(DTYPE, props.get(DTYPE).toString());
             dtype = otherDtype.equals("float") ? DataBuffer.FLOAT : DataBuffer.DOUBLE;
             copyOnOps = Boolean.parseBoolean(props.getProperty(COPY_OPS, "true"));
+            Parallel.setThreshold(Integer.parseInt(System.getProperty(PARALLEL_THRESHOLD, props.getProperty(PARALLEL_THRESHOLD, String.valueOf(Parallel.getThreshold())))));
+            Parallel.setPoolSize(Integer.parseInt(System.getProperty(PARALLEL_POOL_SIZE, props.getProperty(PARALLEL_POOL_SIZE, String.valueOf(Parallel.getPoolSize())))));
             ORDER = System.getProperty(ORDER_KEY, props.getProperty(ORDER_KEY, "c").toString()).charAt(0);
             if (fftInstanceClazz == null)
                 fftInstanceClazz = (Class<? extends FFTInstance>) Class.forName(System.getProperty(FFT_OPS, DefaultFFTInstance.class.getName()));
             if (ndArrayFactoryClazz == null)
                 ndArrayFactoryClazz = (Class<? extends NDArrayFactory>) Class.forName(System.getProperty(NDARRAY_FACTORY_CLASS, props.get(NDARRAY_FACTORY_CLASS).toString()));
             if (convolutionInstanceClazz == null)
-                convolutionInstanceClazz = (Class<? extends ConvolutionInstance>) Class.forName(System.getProperty(CONVOLUTION_OPS, DefaultConvolutionInstance.class.getName()));
+                convolutionInstanceClazz = (Class<? extends ConvolutionInstance>) Class.forName(System.getProperty(CONVOLUTION_OPS, AutoConvolutionInstance.class.getName()));
             if (dataBufferFactoryClazz == null) {
                 String defaultName = props.getProperty(DATA_BUFFER_OPS, DefaultDataBufferFactory.class.getName());
                 dataBufferFactoryClazz = (Class<? extends DataBufferFactory>) Class.forName(System.getProperty(DATA_BUFFER_OPS, defaultName));
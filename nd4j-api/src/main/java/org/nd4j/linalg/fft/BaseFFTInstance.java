@@ -21,6 +21,9 @@ import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.linalg.util.ArrayUtil;
 import org.nd4j.linalg.util.ComplexNDArrayUtil;
+import org.nd4j.linalg.util.NDArrayUtil;
+
+import java.util.Arrays;
 
 /**
  * Abstract FFT Instance mostly handling basic things that shouldn't change
@@ -30,6 +33,54 @@ import org.nd4j.linalg.util.ComplexNDArrayUtil;
  */
 public abstract class BaseFFTInstance implements FFTInstance {
 
+    protected FFTPlanCache planCache = new FFTPlanCache();
+
+    @Override
+    public FFTPlanCache getPlanCache() {
+        return planCache;
+    }
+
+    @Override
+    public IComplexNDArray rfft(INDArray input, int n, int dimension) {
+        return planCache.getReal(n).forward(input, dimension);
+    }
+
+    @Override
+    public INDArray irfft(IComplexNDArray input, int n, int dimension) {
+        return planCache.getReal(n).inverse(input, dimension);
+    }
+
+    @Override
+    public IComplexNDArray rfftn(INDArray input, int[] shape, int[] axes) {
+        if (shape.length != axes.length || axes.length < 1)
+            throw new IllegalArgumentException("Shape and axes must be of the same non zero length");
+        int[] target = ArrayUtil.copy(input.shape());
+        for (int i = 0; i < axes.length; i++)
+            target[axes[i]] = shape[i];
+        if (!Arrays.equals(target, input.shape()))
+            input = NDArrayUtil.copyRegion(input, new int[target.length], target);
+
+        int last = axes.length - 1;
+        IComplexNDArray ret = rfft(input, shape[last], axes[last]);
+        for (int i = 0; i < last; i++)
+            planCache.get(shape[i]).exec(ret, axes[i], false);
+        return ret;
+    }
+
+    @Override
+    public INDArray irfftn(IComplexNDArray input, int[] shape, int[] axes) {
+        if (shape.length != axes.length || axes.length < 1)
+            throw new IllegalArgumentException("Shape and axes must be of the same non zero length");
+        int last = axes.length - 1;
+        IComplexNDArray spectrum = input.dup();
+        for (int i = 0; i < last; i++) {
+            if (spectrum.size(axes[i]) != shape[i])
+                throw new IllegalArgumentException("Axis " + axes[i] + " must be of length " + shape[i]);
+            planCache.get(shape[i]).exec(spectrum, axes[i], true);
+        }
+        return irfft(spectrum, shape[last], axes[last]);
+    }
+
     /**
      * FFT along a particular dimension
      *
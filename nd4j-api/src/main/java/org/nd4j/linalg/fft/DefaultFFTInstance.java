@@ -160,14 +160,7 @@ public class DefaultFFTInstance extends BaseFFTInstance {
         }
 
 
-        if (dimension != result.shape().length - 1)
-            result = result.swapAxes(result.shape().length - 1, dimension);
-
-
-        result.iterateOverAllRows(new FFTSliceOp(result.size(result.shape().length - 1)));
-
-        if (dimension != result.shape().length - 1)
-            result = result.swapAxes(result.shape().length - 1, dimension);
+        getPlanCache().get(n).exec(result, dimension, false);
 
         return result;
     }
@@ -189,13 +182,7 @@ public class DefaultFFTInstance extends BaseFFTInstance {
         }
 
 
-        if (dimension != result.shape().length - 1)
-            result = result.swapAxes(result.shape().length - 1, dimension);
-
-        result.iterateOverAllRows(new IFFTSliceOp(result.size(result.shape().length - 1)));
-
-        if (dimension != result.shape().length - 1)
-            result = result.swapAxes(result.shape().length - 1, dimension);
+        getPlanCache().get(n).exec(result, dimension, true);
 
         return result;
     }
@@ -173,6 +173,40 @@ public class FFT {
     }
 
 
+    /**
+     * Real to half complex fft along a dimension
+     *
+     * @param input     the real ndarray to transform
+     * @param n         the number of elements in each fft
+     * @param dimension the dimension to do the fft along
+     * @return the n / 2 + 1 non redundant elements of each spectrum
+     */
+    public static IComplexNDArray rfft(INDArray input, int n, int dimension) {
+        return Nd4j.getFFt().rfft(input, n, dimension);
+    }
+
+    /**
+     * Half complex to real ifft along a dimension
+     *
+     * @param input     the half spectra to transform
+     * @param n         the number of real elements in each ifft
+     * @param dimension the dimension to do the ifft along
+     * @return the real ndarray
+     */
+    public static INDArray irfft(IComplexNDArray input, int n, int dimension) {
+        return Nd4j.getFFt().irfft(input, n, dimension);
+    }
+
+    //real to half complex fftn
+    public static IComplexNDArray rfftn(INDArray input, int[] shape, int[] axes) {
+        return Nd4j.getFFt().rfftn(input, shape, axes);
+    }
+
+    //half complex to real ifftn
+    public static INDArray irfftn(IComplexNDArray input, int[] shape, int[] axes) {
+        return Nd4j.getFFt().irfftn(input, shape, axes);
+    }
+
     public static IComplexNDArray irfftn(IComplexNDArray arr) {
         return Nd4j.getFFt().irfftn(arr);
     }
@@ -251,4 +251,55 @@ public interface FFTInstance {
      */
     public IComplexNDArray rawifft(IComplexNDArray transform, int dimension);
 
+    /**
+     * Real to half complex fft along a dimension. Only the
+     * n / 2 + 1 non redundant elements of the spectrum are computed.
+     *
+     * @param input     the real ndarray to transform
+     * @param n         the number of elements in each fft, vectors
+     *                  are padded with zeros or truncated to n
+     * @param dimension the dimension to do the fft along
+     * @return a complex ndarray with n / 2 + 1 elements along the dimension
+     */
+    public IComplexNDArray rfft(INDArray input, int n, int dimension);
+
+    /**
+     * Inverse of {@link #rfft(INDArray, int, int)}
+     *
+     * @param input     the half spectra to transform
+     * @param n         the number of real elements in each ifft
+     * @param dimension the dimension to do the ifft along
+     * @return a real ndarray with n elements along the dimension
+     */
+    public INDArray irfft(IComplexNDArray input, int n, int dimension);
+
+    /**
+     * Real to half complex nd fft. The last axis is transformed
+     * with {@link #rfft(INDArray, int, int)}, the others with complex ffts.
+     *
+     * @param input the real ndarray to transform
+     * @param shape the number of elements along each axis,
+     *              the input is padded with zeros or truncated to it
+     * @param axes  the axes to transform along
+     * @return the half spectrum
+     */
+    public IComplexNDArray rfftn(INDArray input, int[] shape, int[] axes);
+
+    /**
+     * Inverse of {@link #rfftn(INDArray, int[], int[])}
+     *
+     * @param input the half spectrum to transform
+     * @param shape the number of real elements along each axis
+     * @param axes  the axes to transform along
+     * @return the real ndarray
+     */
+    public INDArray irfftn(IComplexNDArray input, int[] shape, int[] axes);
+
+    /**
+     * The cache of precomputed plans used by this instance
+     *
+     * @return the plan cache
+     */
+    public FFTPlanCache getPlanCache();
+
 }
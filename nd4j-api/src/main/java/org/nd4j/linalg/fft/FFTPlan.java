@@ -0,0 +1,457 @@
+/*
+ * Copyright 2015 Skymind,Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.nd4j.linalg.fft;
+
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.complex.IComplexNDArray;
+import org.nd4j.linalg.parallel.Parallel;
+import org.nd4j.linalg.util.ArrayUtil;
+
+/**
+ * A precomputed 1d discrete fourier transform of a fixed length.
+ *
+ * Lengths whose prime factors are all at most {@link #MAX_RADIX}
+ * use a mixed radix (Stockham autosort) Cooley-Tukey transform
+ * with specialised radix 2, 3 and 4 butterflies. Lengths with a larger
+ * prime factor use Bluestein's algorithm, which expresses the transform
+ * as a convolution computed with a power of 2 transform.
+ * Both run in O(n log n).
+ *
+ * Plans are usually obtained from the {@link FFTPlanCache} of the
+ * {@link FFTInstance}. A plan holds immutable tables plus work buffers
+ * kept per thread, so it may be shared between threads.
+ *
+ * @author Adam Gibson
+ */
+public class FFTPlan {
+
+    /**
+     * The largest prime factor handled by a direct butterfly,
+     * lengths with larger prime factors use Bluestein's algorithm
+     */
+    public final static int MAX_RADIX = 64;
+    /**
+     * Plans up to this length keep their work buffers per thread,
+     * longer plans allocate them per transform
+     */
+    public final static int SCRATCH_LIMIT = 1 << 16;
+
+    private final int n;
+    private final int[] factors;
+    private final int maxFactor;
+    //exp(-2 pi i k / n)
+    private final double[] twiddleReal;
+    private final double[] twiddleImag;
+
+    //bluestein: the chirp exp(-pi i k^2 / n) and the transform of its conjugate
+    private final FFTPlan convolution;
+    private final double[] chirpReal;
+    private final double[] chirpImag;
+    private final double[] kernelReal;
+    private final double[] kernelImag;
+
+    private final ThreadLocal<Scratch> scratch = new ThreadLocal<>();
+
+    /**
+     * Plan a transform of the given length
+     *
+     * @param n the number of elements to transform
+     */
+    public FFTPlan(int n) {
+        if (n < 1)
+            throw new IllegalArgumentException("Number of elements must be at least 1");
+        this.n = n;
+        int[] factors = factor(n);
+        int max = 1;
+        for (int factor : factors)
+            max = Math.max(max, factor);
+
+        if (max > MAX_RADIX) {
+            this.factors = null;
+            this.maxFactor = 0;
+            this.twiddleReal = null;
+            this.twiddleImag = null;
+
+            int m = Integer.highestOneBit(2 * n - 1);
+            if (m < 2 * n - 1)
+                m <<= 1;
+            convolution = new FFTPlan(m);
+            chirpReal = new double[n];
+            chirpImag = new double[n];
+            kernelReal = new double[m];
+            kernelImag = new double[m];
+            for (int k = 0; k < n; k++) {
+                //k^2 mod 2n keeps the angle accurate for large k
+                double angle = Math.PI * (double) (((long) k * k) % (2L * n)) / n;
+                chirpReal[k] = Math.cos(angle);
+                chirpImag[k] = -Math.sin(angle);
+                kernelReal[k] = chirpReal[k];
+                kernelImag[k] = -chirpImag[k];
+                if (k > 0) {
+                    kernelReal[m - k] = chirpReal[k];
+                    kernelImag[m - k] = -chirpImag[k];
+                }
+            }
+            convolution.forward(kernelReal, kernelImag, convolution.scratch());
+        } else {
+            this.factors = factors;
+            this.maxFactor = max;
+            twiddleReal = new double[n];
+            twiddleImag = new double[n];
+            for (int k = 0; k < n; k++) {
+                double angle = 2 * Math.PI * k / n;
+                twiddleReal[k] = Math.cos(angle);
+                twiddleImag[k] = -Math.sin(angle);
+            }
+            convolution = null;
+            chirpReal = chirpImag = kernelReal = kernelImag = null;
+        }
+    }
+
+    /**
+     * The number of elements transformed by this plan
+     *
+     * @return the length of the transform
+     */
+    public int length() {
+        return n;
+    }
+
+    /**
+     * Transform a complex vector in place. The vector is read
+     * from and written back to its data buffer directly.
+     *
+     * @param vector  the vector to transform, must be of the length of this plan
+     * @param inverse whether to compute the inverse transform
+     *                (scaled by 1 / n)
+     * @return the transformed vector
+     */
+    public IComplexNDArray exec(IComplexNDArray vector, boolean inverse) {
+        if (vector.length() != n)
+            throw new IllegalArgumentException("Vector must be of length " + n + " but was " + vector.length());
+        exec(vector.data(), vector.offset(), n > 1 ? vector.majorStride() : 2, inverse, scratch());
+        return vector;
+    }
+
+    /**
+     * Transform every vector along a dimension of a complex ndarray in place.
+     * Vectors are located via the offset and strides of the ndarray,
+     * so views are transformed without copying. Vectors are
+     * transformed in parallel via {@link Parallel}.
+     *
+     * @param arr       the ndarray to transform
+     * @param dimension the dimension to transform along, must be of the length of this plan
+     * @param inverse   whether to compute the inverse transform
+     *                  (scaled by 1 / n)
+     * @return the transformed ndarray
+     */
+    public IComplexNDArray exec(IComplexNDArray arr, int dimension, final boolean inverse) {
+        if (arr.size(dimension) != n)
+            throw new IllegalArgumentException("Dimension " + dimension + " must be of length " + n + " but was " + arr.size(dimension));
+        if (arr.stride().length != arr.shape().length)
+            throw new IllegalArgumentException("Unable to transform an ndarray whose strides do not match its shape");
+
+        final int[] shape = ArrayUtil.removeIndex(arr.shape(), dimension);
+        final int[] stride = ArrayUtil.removeIndex(arr.stride(), dimension);
+        final int step = arr.stride()[dimension];
+        final int offset = arr.offset();
+        final DataBuffer data = arr.data();
+        //a vector has a single vector along its dimension
+        int numVectors = shape.length == 0 ? 1 : ArrayUtil.prod(shape);
+
+        Parallel.forEach(numVectors, (long) numVectors * n, new Parallel.RangeTask() {
+            @Override
+            public void run(int from, int to) {
+                Scratch work = scratch();
+                for (int i = from; i < to; i++) {
+                    int start = offset;
+                    for (int k = shape.length - 1, rem = i; k >= 0; k--) {
+                        start += (rem % shape[k]) * stride[k];
+                        rem /= shape[k];
+                    }
+                    exec(data, start, step, inverse, work);
+                }
+            }
+        });
+        return arr;
+    }
+
+    /**
+     * Transform the n interleaved complex numbers starting at offset
+     */
+    private void exec(DataBuffer data, int offset, int stride, boolean inverse, Scratch work) {
+        double[] real = work.real;
+        double[] imag = work.imag;
+        if (stride == 2) {
+            double[] interleaved = work.interleaved;
+            data.getDoubles(offset, 1, interleaved, 0, interleaved.length);
+            for (int i = 0; i < n; i++) {
+                real[i] = interleaved[2 * i];
+                imag[i] = interleaved[2 * i + 1];
+            }
+            transform(real, imag, inverse, work);
+            for (int i = 0; i < n; i++) {
+                interleaved[2 * i] = real[i];
+                interleaved[2 * i + 1] = imag[i];
+            }
+            data.putDoubles(offset, 1, interleaved, 0, interleaved.length);
+        } else {
+            for (int i = 0, idx = offset; i < n; i++, idx += stride) {
+                real[i] = data.getDouble(idx);
+                imag[i] = data.getDouble(idx + 1);
+            }
+            transform(real, imag, inverse, work);
+            for (int i = 0, idx = offset; i < n; i++, idx += stride) {
+                data.put(idx, real[i]);
+                data.put(idx + 1, imag[i]);
+            }
+        }
+    }
+
+    /**
+     * Transform split real and imaginary parts in place
+     *
+     * @param real    the real parts, of the length of this plan
+     * @param imag    the imaginary parts, of the length of this plan
+     * @param inverse whether to compute the inverse transform
+     *                (scaled by 1 / n)
+     */
+    public void exec(double[] real, double[] imag, boolean inverse) {
+        if (real.length != n || imag.length != n)
+            throw new IllegalArgumentException("Real and imaginary parts must be of length " + n);
+        transform(real, imag, inverse, scratch());
+    }
+
+    private void transform(double[] real, double[] imag, boolean inverse, Scratch work) {
+        if (!inverse) {
+            forward(real, imag, work);
+            return;
+        }
+
+        //ifft(x) = conj(fft(conj(x))) / n
+        for (int i = 0; i < n; i++)
+            imag[i] = -imag[i];
+        forward(real, imag, work);
+        double scale = 1.0 / n;
+        for (int i = 0; i < n; i++) {
+            real[i] *= scale;
+            imag[i] *= -scale;
+        }
+    }
+
+    private void forward(double[] real, double[] imag, Scratch work) {
+        if (factors == null)
+            bluestein(real, imag, work);
+        else
+            stockham(real, imag, work);
+    }
+
+    /**
+     * Mixed radix decimation in time, each pass reads from one
+     * buffer and writes the reordered output to the other
+     */
+    private void stockham(double[] real, double[] imag, Scratch work) {
+        if (n == 1)
+            return;
+        double[] xr = real, xi = imag;
+        double[] yr = work.swapReal, yi = work.swapImag;
+        double[] vr = work.inReal, vi = work.inImag;
+        double[] or = work.outReal, oi = work.outImag;
+
+        int span = 1;
+        for (int p : factors) {
+            int stride = n / p;
+            int step = n / (span * p);
+            for (int j = 0; j < stride; j++) {
+                int k = j % span;
+                for (int r = 0, src = j, t = 0; r < p; r++, src += stride, t += k * step) {
+                    double a = xr[src], b = xi[src];
+                    vr[r] = a * twiddleReal[t] - b * twiddleImag[t];
+                    vi[r] = a * twiddleImag[t] + b * twiddleReal[t];
+                }
+                butterfly(p, vr, vi, or, oi);
+                for (int r = 0, dest = (j - k) * p + k; r < p; r++, dest += span) {
+                    yr[dest] = or[r];
+                    yi[dest] = oi[r];
+                }
+            }
+
+            double[] tmp = xr;
+            xr = yr;
+            yr = tmp;
+            tmp = xi;
+            xi = yi;
+            yi = tmp;
+            span *= p;
+        }
+
+        if (xr != real) {
+            System.arraycopy(xr, 0, real, 0, n);
+            System.arraycopy(xi, 0, imag, 0, n);
+        }
+    }
+
+    /**
+     * A length p dft of v in to o
+     */
+    private void butterfly(int p, double[] vr, double[] vi, double[] or, double[] oi) {
+        switch (p) {
+            case 2:
+                or[0] = vr[0] + vr[1];
+                oi[0] = vi[0] + vi[1];
+                or[1] = vr[0] - vr[1];
+                oi[1] = vi[0] - vi[1];
+                break;
+            case 3: {
+                //sin(2 pi / 3)
+                double s = 0.86602540378443864676;
+                double sr = vr[1] + vr[2], si = vi[1] + vi[2];
+                double dr = vr[1] - vr[2], di = vi[1] - vi[2];
+                or[0] = vr[0] + sr;
+                oi[0] = vi[0] + si;
+                double mr = vr[0] - 0.5 * sr, mi = vi[0] - 0.5 * si;
+                or[1] = mr + s * di;
+                oi[1] = mi - s * dr;
+                or[2] = mr - s * di;
+                oi[2] = mi + s * dr;
+                break;
+            }
+            case 4: {
+                double ar = vr[0] + vr[2], ai = vi[0] + vi[2];
+                double br = vr[0] - vr[2], bi = vi[0] - vi[2];
+                double cr = vr[1] + vr[3], ci = vi[1] + vi[3];
+                double dr = vr[1] - vr[3], di = vi[1] - vi[3];
+                or[0] = ar + cr;
+                oi[0] = ai + ci;
+                or[2] = ar - cr;
+                oi[2] = ai - ci;
+                //multiply d by -i
+                or[1] = br + di;
+                oi[1] = bi - dr;
+                or[3] = br - di;
+                oi[3] = bi + dr;
+                break;
+            }
+            default: {
+                int step = n / p;
+                for (int q = 0; q < p; q++) {
+                    double sumR = 0, sumI = 0;
+                    for (int r = 0, t = 0; r < p; r++, t = (t + q) % p) {
+                        double wr = twiddleReal[t * step], wi = twiddleImag[t * step];
+                        sumR += vr[r] * wr - vi[r] * wi;
+                        sumI += vr[r] * wi + vi[r] * wr;
+                    }
+                    or[q] = sumR;
+                    oi[q] = sumI;
+                }
+            }
+        }
+    }
+
+    /**
+     * Bluestein: X_k = w_k * sum_j (x_j w_j) conj(w_(k - j)),
+     * with the convolution computed via a power of 2 transform
+     */
+    private void bluestein(double[] real, double[] imag, Scratch work) {
+        int m = convolution.length();
+        double[] ar = work.swapReal, ai = work.swapImag;
+        Scratch convolutionWork = convolution.scratch();
+        for (int k = 0; k < n; k++) {
+            ar[k] = real[k] * chirpReal[k] - imag[k] * chirpImag[k];
+            ai[k] = real[k] * chirpImag[k] + imag[k] * chirpReal[k];
+        }
+        for (int k = n; k < m; k++) {
+            ar[k] = 0;
+            ai[k] = 0;
+        }
+        convolution.forward(ar, ai, convolutionWork);
+        for (int k = 0; k < m; k++) {
+            double r = ar[k] * kernelReal[k] - ai[k] * kernelImag[k];
+            double i = ar[k] * kernelImag[k] + ai[k] * kernelReal[k];
+            ar[k] = r;
+            ai[k] = i;
+        }
+        convolution.transform(ar, ai, true, convolutionWork);
+        for (int k = 0; k < n; k++) {
+            real[k] = ar[k] * chirpReal[k] - ai[k] * chirpImag[k];
+            imag[k] = ar[k] * chirpImag[k] + ai[k] * chirpReal[k];
+        }
+    }
+
+    /**
+     * The work buffers of the calling thread
+     */
+    private Scratch scratch() {
+        if (n > SCRATCH_LIMIT)
+            return new Scratch(this);
+        Scratch ret = scratch.get();
+        if (ret == null) {
+            ret = new Scratch(this);
+            scratch.set(ret);
+        }
+        return ret;
+    }
+
+    /**
+     * Buffers reused across transforms so repeated
+     * transforms of the same length do not allocate
+     */
+    private static class Scratch {
+        private final double[] real, imag, interleaved;
+        private final double[] swapReal, swapImag;
+        private final double[] inReal, inImag, outReal, outImag;
+
+        private Scratch(FFTPlan plan) {
+            int n = plan.n;
+            real = new double[n];
+            imag = new double[n];
+            interleaved = new double[2 * n];
+            //bluestein pads to the length of its convolution
+            int swap = plan.convolution != null ? plan.convolution.length() : n;
+            swapReal = new double[swap];
+            swapImag = new double[swap];
+            inReal = new double[plan.maxFactor];
+            inImag = new double[plan.maxFactor];
+            outReal = new double[plan.maxFactor];
+            outImag = new double[plan.maxFactor];
+        }
+    }
+
+    /**
+     * The radices of each pass: fours first, then the remaining
+     * two, then the odd primes in increasing order
+     */
+    private static int[] factor(int n) {
+        int[] ret = new int[32];
+        int count = 0;
+        while (n % 4 == 0) {
+            ret[count++] = 4;
+            n /= 4;
+        }
+        for (int p = 2; n > 1; p++) {
+            if ((long) p * p > n)
+                p = n;
+            while (n % p == 0) {
+                ret[count++] = p;
+                n /= p;
+            }
+        }
+        int[] trimmed = new int[count];
+        System.arraycopy(ret, 0, trimmed, 0, count);
+        return trimmed;
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2015 Skymind,Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.nd4j.linalg.fft;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded, thread safe cache of {@link FFTPlan}s and
+ * {@link RealFFTPlan}s keyed by length.
+ *
+ * A plan serves both directions and every data type (transforms are
+ * computed in double precision), so the length is the only key.
+ * When the cache is full the least recently used plan is evicted.
+ * Plans are built outside the lock so a slow plan does not block
+ * lookups of other lengths.
+ *
+ * @author Adam Gibson
+ */
+public class FFTPlanCache {
+
+    public final static int DEFAULT_CAPACITY = 64;
+
+    private final int capacity;
+    private final Map<Integer, FFTPlan> plans;
+    private final Map<Integer, RealFFTPlan> realPlans;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public FFTPlanCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity the maximum number of complex and of real plans to hold
+     */
+    public FFTPlanCache(int capacity) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("Capacity must be >= 1");
+        this.capacity = capacity;
+        this.plans = lru(capacity);
+        this.realPlans = lru(capacity);
+    }
+
+    private static <V> Map<Integer, V> lru(final int capacity) {
+        return new LinkedHashMap<Integer, V>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, V> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * The plan for transforms of the given length,
+     * built and cached on the first request
+     *
+     * @param n the number of elements to transform
+     * @return the plan for the length
+     */
+    public FFTPlan get(int n) {
+        return plan(n, true);
+    }
+
+    //lookups made on behalf of a real plan are counted by getReal
+    private FFTPlan plan(int n, boolean count) {
+        synchronized (plans) {
+            FFTPlan plan = plans.get(n);
+            if (plan != null) {
+                if (count)
+                    hits.incrementAndGet();
+                return plan;
+            }
+        }
+
+        if (count)
+            misses.incrementAndGet();
+        FFTPlan plan = new FFTPlan(n);
+        synchronized (plans) {
+            //another thread may have built the same plan meanwhile
+            FFTPlan existing = plans.get(n);
+            if (existing != null)
+                return existing;
+            plans.put(n, plan);
+        }
+        return plan;
+    }
+
+    /**
+     * The plan for real transforms of the given length,
+     * sharing the complex plan of {@link #get(int)}
+     *
+     * @param n the number of real elements to transform
+     * @return the plan for the length
+     */
+    public RealFFTPlan getReal(int n) {
+        synchronized (realPlans) {
+            RealFFTPlan plan = realPlans.get(n);
+            if (plan != null) {
+                hits.incrementAndGet();
+                return plan;
+            }
+        }
+
+        misses.incrementAndGet();
+        RealFFTPlan plan = new RealFFTPlan(n, plan(RealFFTPlan.complexLength(n), false));
+        synchronized (realPlans) {
+            RealFFTPlan existing = realPlans.get(n);
+            if (existing != null)
+                return existing;
+            realPlans.put(n, plan);
+        }
+        return plan;
+    }
+
+    /**
+     * The number of lookups served from the cache
+     *
+     * @return the number of hits
+     */
+    public long hits() {
+        return hits.get();
+    }
+
+    /**
+     * The number of lookups that had to build a plan
+     *
+     * @return the number of misses
+     */
+    public long misses() {
+        return misses.get();
+    }
+
+    /**
+     * The number of complex and real plans currently cached
+     *
+     * @return the size of the cache
+     */
+    public int size() {
+        synchronized (plans) {
+            synchronized (realPlans) {
+                return plans.size() + realPlans.size();
+            }
+        }
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Drop every cached plan and reset the counters
+     */
+    public void clear() {
+        synchronized (plans) {
+            plans.clear();
+        }
+        synchronized (realPlans) {
+            realPlans.clear();
+        }
+        hits.set(0);
+        misses.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return "FFTPlanCache{" +
+                "size=" + size() +
+                ", capacity=" + capacity +
+                ", hits=" + hits() +
+                ", misses=" + misses() +
+                '}';
+    }
+}
@@ -52,7 +52,18 @@ public class FFTSliceOp implements SliceOp {
      */
     @Override
     public void operate(INDArray nd) {
-        if (nd instanceof INDArray) {
+        if (nd instanceof IComplexNDArray) {
+            IComplexNDArray a = (IComplexNDArray) nd;
+            if (a.length() == n) {
+                //transform the row in place
+                Nd4j.getFFt().getPlanCache().get(n).exec(a, false);
+                return;
+            }
+            IComplexNDArray result = new VectorFFT(n).apply(a);
+            for (int i = 0; i < result.length(); i++) {
+                a.putScalar(i, result.getComplex(i));
+            }
+        } else {
             INDArray a = nd;
 
             int n = this.n < 1 ? a.length() : this.n;
@@ -60,13 +71,6 @@ public class FFTSliceOp implements SliceOp {
             INDArray result = new VectorFFT(n).apply(Nd4j.createComplex(a)).getReal();
             for (int i = 0; i < result.length(); i++)
                 a.putScalar(i, result.getDouble(i));
-        } else if (nd instanceof IComplexNDArray) {
-            IComplexNDArray a = (IComplexNDArray) nd;
-            IComplexNDArray result = new VectorFFT(n).apply(a);
-            for (int i = 0; i < result.length(); i++) {
-                a.putScalar(i, result.getComplex(i));
-            }
-
         }
     }
 
@@ -55,9 +55,14 @@ public class IFFTSliceOp implements SliceOp {
         if (nd instanceof IComplexNDArray) {
             IComplexNDArray a = (IComplexNDArray) nd;
             int n = this.n < 1 ? a.length() : this.n;
-            INDArray result = new VectorIFFT(n).apply(a).getReal();
+            if (a.length() == n) {
+                //transform the row in place
+                Nd4j.getFFt().getPlanCache().get(n).exec(a, true);
+                return;
+            }
+            IComplexNDArray result = new VectorIFFT(n).apply(a);
             for (int i = 0; i < result.length(); i++) {
-                a.put(i, result.getScalar(i));
+                a.putScalar(i, result.getComplex(i));
             }
         } else {
             INDArray a = nd;
@@ -0,0 +1,297 @@
+/*
+ * Copyright 2015 Skymind,Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.nd4j.linalg.fft;
+
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.complex.IComplexNDArray;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.parallel.Parallel;
+import org.nd4j.linalg.util.ArrayUtil;
+
+/**
+ * A precomputed transform between n real numbers and the
+ * n / 2 + 1 complex numbers of their half spectrum (the rest
+ * of the spectrum follows from hermitian symmetry).
+ *
+ * Even lengths pack the real signal in to a complex signal of
+ * length n / 2, transform that and split the result, so a real
+ * transform costs about half of a complex one and never allocates
+ * a complex copy of the input. Odd lengths use a complex transform
+ * of length n.
+ *
+ * @author Adam Gibson
+ */
+public class RealFFTPlan {
+
+    private final int n;
+    private final int bins;
+    //the complex transform of length n / 2 (even n) or n (odd n)
+    private final FFTPlan plan;
+    //exp(-2 pi i k / n) for k <= n / 2
+    private final double[] twiddleReal;
+    private final double[] twiddleImag;
+
+    /**
+     * Plan a real transform of the given length
+     *
+     * @param n the number of real elements
+     */
+    public RealFFTPlan(int n) {
+        this(n, new FFTPlan(complexLength(n)));
+    }
+
+    /**
+     * Plan a real transform of the given length
+     *
+     * @param n    the number of real elements
+     * @param plan a complex plan of length {@link #complexLength(int)}
+     */
+    public RealFFTPlan(int n, FFTPlan plan) {
+        if (n < 1)
+            throw new IllegalArgumentException("Number of elements must be at least 1");
+        if (plan.length() != complexLength(n))
+            throw new IllegalArgumentException("Complex plan must be of length " + complexLength(n));
+        this.n = n;
+        this.bins = n / 2 + 1;
+        this.plan = plan;
+        twiddleReal = new double[bins];
+        twiddleImag = new double[bins];
+        for (int k = 0; k < bins; k++) {
+            double angle = 2 * Math.PI * k / n;
+            twiddleReal[k] = Math.cos(angle);
+            twiddleImag[k] = -Math.sin(angle);
+        }
+    }
+
+    /**
+     * The length of the complex transform
+     * a real transform of length n is computed with
+     *
+     * @param n the number of real elements
+     * @return n / 2 for even n, n otherwise
+     */
+    public static int complexLength(int n) {
+        return n % 2 == 0 ? n / 2 : n;
+    }
+
+    /**
+     * The number of real elements transformed by this plan
+     *
+     * @return the length of the transform
+     */
+    public int length() {
+        return n;
+    }
+
+    /**
+     * The number of complex numbers in the half spectrum
+     *
+     * @return n / 2 + 1
+     */
+    public int bins() {
+        return bins;
+    }
+
+    /**
+     * Transform n real numbers in to their half spectrum
+     *
+     * @param in       the real signal of length n
+     * @param outReal  the real parts of the spectrum, of length {@link #bins()}
+     * @param outImag  the imaginary parts of the spectrum, of length {@link #bins()}
+     */
+    public void forward(double[] in, double[] outReal, double[] outImag) {
+        int m = plan.length();
+        double[] zr = new double[m];
+        double[] zi = new double[m];
+        if (n % 2 != 0) {
+            System.arraycopy(in, 0, zr, 0, n);
+            plan.exec(zr, zi, false);
+            System.arraycopy(zr, 0, outReal, 0, bins);
+            System.arraycopy(zi, 0, outImag, 0, bins);
+            return;
+        }
+
+        //even and odd samples as the real and imaginary parts
+        for (int k = 0; k < m; k++) {
+            zr[k] = in[2 * k];
+            zi[k] = in[2 * k + 1];
+        }
+        plan.exec(zr, zi, false);
+        for (int k = 0; k < bins; k++) {
+            int a = k % m;
+            int b = (m - k) % m;
+            double ar = zr[a], ai = zi[a];
+            double br = zr[b], bi = -zi[b];
+            //transforms of the even and odd samples
+            double evenReal = 0.5 * (ar + br), evenImag = 0.5 * (ai + bi);
+            double oddReal = 0.5 * (ai - bi), oddImag = -0.5 * (ar - br);
+            outReal[k] = evenReal + twiddleReal[k] * oddReal - twiddleImag[k] * oddImag;
+            outImag[k] = evenImag + twiddleReal[k] * oddImag + twiddleImag[k] * oddReal;
+        }
+    }
+
+    /**
+     * Transform a half spectrum back in to n real numbers (scaled by 1 / n)
+     *
+     * @param inReal the real parts of the spectrum, of length {@link #bins()}
+     * @param inImag the imaginary parts of the spectrum, of length {@link #bins()}
+     * @param out    the real signal of length n
+     */
+    public void inverse(double[] inReal, double[] inImag, double[] out) {
+        int m = plan.length();
+        double[] zr = new double[m];
+        double[] zi = new double[m];
+        if (n % 2 != 0) {
+            //rebuild the full spectrum from its hermitian symmetry
+            zr[0] = inReal[0];
+            for (int k = 1; k < bins; k++) {
+                zr[k] = inReal[k];
+                zi[k] = inImag[k];
+                zr[n - k] = inReal[k];
+                zi[n - k] = -inImag[k];
+            }
+            plan.exec(zr, zi, true);
+            System.arraycopy(zr, 0, out, 0, n);
+            return;
+        }
+
+        for (int k = 0; k < m; k++) {
+            double ar = inReal[k], ai = inImag[k];
+            double br = inReal[m - k], bi = -inImag[m - k];
+            double evenReal = 0.5 * (ar + br), evenImag = 0.5 * (ai + bi);
+            double dr = 0.5 * (ar - br), di = 0.5 * (ai - bi);
+            //odd = d * conj(w^k)
+            double oddReal = dr * twiddleReal[k] + di * twiddleImag[k];
+            double oddImag = di * twiddleReal[k] - dr * twiddleImag[k];
+            //z = even + i * odd
+            zr[k] = evenReal - oddImag;
+            zi[k] = evenImag + oddReal;
+        }
+        plan.exec(zr, zi, true);
+        for (int k = 0; k < m; k++) {
+            out[2 * k] = zr[k];
+            out[2 * k + 1] = zi[k];
+        }
+    }
+
+    /**
+     * Transform every real vector along a dimension in to its half spectrum.
+     * Vectors shorter than n are padded with zeros, longer ones truncated.
+     *
+     * @param input     the real ndarray to transform
+     * @param dimension the dimension to transform along
+     * @return a complex ndarray with {@link #bins()} elements along the dimension
+     */
+    public IComplexNDArray forward(final INDArray input, int dimension) {
+        if (input instanceof IComplexNDArray)
+            throw new IllegalArgumentException("Input must be real");
+        final int[] shape = input.shape();
+        if (input.stride().length != shape.length)
+            throw new IllegalArgumentException("Unable to transform an ndarray whose strides do not match its shape");
+
+        int[] retShape = ArrayUtil.replace(shape, dimension, bins);
+        final IComplexNDArray ret = Nd4j.createComplex(retShape);
+        //vector shapes may be collapsed by create, so use the dense strides of the shape
+        int[] retStride = Nd4j.getComplexStrides(retShape, ret.ordering());
+        final int[] outer = ArrayUtil.removeIndex(shape, dimension);
+        final int[] inStride = ArrayUtil.removeIndex(input.stride(), dimension);
+        final int[] outStride = ArrayUtil.removeIndex(retStride, dimension);
+        final int inStep = input.stride()[dimension];
+        final int outStep = retStride[dimension];
+        final int count = Math.min(n, input.size(dimension));
+        final DataBuffer from = input.data();
+        final DataBuffer to = ret.data();
+        int numVectors = outer.length == 0 ? 1 : ArrayUtil.prod(outer);
+
+        Parallel.forEach(numVectors, (long) numVectors * n, new Parallel.RangeTask() {
+            @Override
+            public void run(int start, int end) {
+                double[] in = new double[n];
+                double[] real = new double[bins];
+                double[] imag = new double[bins];
+                for (int i = start; i < end; i++) {
+                    from.getDoubles(offset(i, outer, inStride, input.offset()), inStep, in, 0, count);
+                    forward(in, real, imag);
+                    int dest = offset(i, outer, outStride, ret.offset());
+                    for (int k = 0; k < bins; k++, dest += outStep) {
+                        to.put(dest, real[k]);
+                        to.put(dest + 1, imag[k]);
+                    }
+                }
+            }
+        });
+        return ret;
+    }
+
+    /**
+     * Transform every half spectrum along a dimension back in to
+     * n real numbers. Missing bins are treated as zero.
+     *
+     * @param spectrum  the half spectra
+     * @param dimension the dimension to transform along
+     * @return a real ndarray with n elements along the dimension
+     */
+    public INDArray inverse(final IComplexNDArray spectrum, int dimension) {
+        final int[] shape = spectrum.shape();
+        if (spectrum.stride().length != shape.length)
+            throw new IllegalArgumentException("Unable to transform an ndarray whose strides do not match its shape");
+
+        int[] retShape = ArrayUtil.replace(shape, dimension, n);
+        final INDArray ret = Nd4j.create(retShape);
+        int[] retStride = Nd4j.getStrides(retShape, ret.ordering());
+        final int[] outer = ArrayUtil.removeIndex(shape, dimension);
+        final int[] inStride = ArrayUtil.removeIndex(spectrum.stride(), dimension);
+        final int[] outStride = ArrayUtil.removeIndex(retStride, dimension);
+        final int inStep = spectrum.stride()[dimension];
+        final int outStep = retStride[dimension];
+        final int count = Math.min(bins, spectrum.size(dimension));
+        final DataBuffer from = spectrum.data();
+        final DataBuffer to = ret.data();
+        int numVectors = outer.length == 0 ? 1 : ArrayUtil.prod(outer);
+
+        Parallel.forEach(numVectors, (long) numVectors * n, new Parallel.RangeTask() {
+            @Override
+            public void run(int start, int end) {
+                double[] real = new double[bins];
+                double[] imag = new double[bins];
+                double[] out = new double[n];
+                for (int i = start; i < end; i++) {
+                    int src = offset(i, outer, inStride, spectrum.offset());
+                    for (int k = 0; k < count; k++, src += inStep) {
+                        real[k] = from.getDouble(src);
+                        imag[k] = from.getDouble(src + 1);
+                    }
+                    inverse(real, imag, out);
+                    to.putDoubles(offset(i, outer, outStride, ret.offset()), outStep, out, 0, n);
+                }
+            }
+        });
+        return ret;
+    }
+
+    /**
+     * The offset of vector i given the shape and strides of the other dimensions
+     */
+    private static int offset(int i, int[] shape, int[] stride, int offset) {
+        for (int k = shape.length - 1; k >= 0; k--) {
+            offset += (i % shape[k]) * stride[k];
+            i /= shape[k];
+        }
+        return offset;
+    }
+}
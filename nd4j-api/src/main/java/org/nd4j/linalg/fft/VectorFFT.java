@@ -18,18 +18,14 @@ package org.nd4j.linalg.fft;
 
 
 import com.google.common.base.Function;
-import org.apache.commons.math3.util.FastMath;
 import org.nd4j.linalg.api.complex.IComplexNDArray;
-import org.nd4j.linalg.api.complex.IComplexNumber;
-import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.linalg.util.ComplexNDArrayUtil;
 
-import static org.nd4j.linalg.ops.transforms.Transforms.exp;
-
 
 /**
- * Encapsulated vector operation
+ * Encapsulated vector operation.
+ * The transform is computed in O(n log n) by a cached {@link FFTPlan}.
  *
  * @author Adam Gibson
  */
@@ -62,21 +58,7 @@ public class VectorFFT implements Function<IComplexNDArray, IComplexNDArray> {
         }
 
 
-        IComplexNumber c2 = Nd4j.createDouble(0, -2).muli(FastMath.PI);
-        //row vector
-        INDArray n = Nd4j.arange(0, this.n).reshape(1, this.n);
-
-        //column vector
-        INDArray k = n.reshape(new int[]{n.length(), 1});
-        INDArray kTimesN = k.mmul(n);
-        //here
-        IComplexNDArray c1 = kTimesN.muli(c2);
-        c1.divi(len);
-        IComplexNDArray M = exp(c1);
-
-
-        IComplexNDArray reshaped = ndArray.reshape(new int[]{ndArray.length()});
-        IComplexNDArray matrix = reshaped.mmul(M);
+        IComplexNDArray matrix = Nd4j.getFFt().getPlanCache().get(n).exec(ndArray.dup(), false);
         if (originalN > 0) {
             matrix = ComplexNDArrayUtil.truncate(matrix, originalN, 0);
 
@@ -47,8 +47,13 @@ public class VectorIFFT implements Function<IComplexNDArray, IComplexNDArray> {
 
     @Override
     public IComplexNDArray apply(IComplexNDArray ndArray) {
-        //ifft(x) = conj(fft(conj(x)) / length(x)
-        IComplexNDArray ret = new VectorFFT(n).apply(ndArray.conj()).conj().divi(Nd4j.complexScalar(n));
+        if (n > ndArray.length()) {
+            ndArray = ComplexNDArrayUtil.padWithZeros(ndArray, new int[]{n});
+        } else if (n < ndArray.length()) {
+            ndArray = ComplexNDArrayUtil.truncate(ndArray, n, 0);
+        }
+
+        IComplexNDArray ret = Nd4j.getFFt().getPlanCache().get(n).exec(ndArray.dup(), true);
         return originalN > 0 ? ComplexNDArrayUtil.truncate(ret, originalN, 0) : ret;
 
     }
@@ -21,11 +21,17 @@ import org.junit.Test;
 import org.nd4j.linalg.api.complex.IComplexNDArray;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.fft.FFT;
+import org.nd4j.linalg.fft.FFTPlan;
+import org.nd4j.linalg.fft.FFTPlanCache;
 import org.nd4j.linalg.fft.VectorFFT;
+import org.nd4j.linalg.fft.VectorIFFT;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 
 /**
  * Base class for FFTs
@@ -96,7 +102,85 @@ public abstract class BaseFFTTest {
 
     }
 
+    @Test
+    public void testMixedRadixAndBluestein() {
+        //12 is mixed radix, 67 is a prime transformed via bluestein
+        for (int n : new int[]{12, 67}) {
+            double[] data = new double[2 * n];
+            for (int i = 0; i < data.length; i++)
+                data[i] = Math.sin(i) + i % 3;
+            IComplexNDArray signal = Nd4j.createComplex(data, new int[]{n});
+            IComplexNDArray ffted = new VectorFFT(n).apply(signal);
+            for (int k = 0; k < n; k++) {
+                double real = 0, imag = 0;
+                for (int j = 0; j < n; j++) {
+                    double angle = -2 * Math.PI * ((j * k) % n) / n;
+                    real += data[2 * j] * Math.cos(angle) - data[2 * j + 1] * Math.sin(angle);
+                    imag += data[2 * j] * Math.sin(angle) + data[2 * j + 1] * Math.cos(angle);
+                }
+                assertEquals(real, ffted.getComplex(k).realComponent().doubleValue(), 1e-2);
+                assertEquals(imag, ffted.getComplex(k).imaginaryComponent().doubleValue(), 1e-2);
+            }
+
+            IComplexNDArray iffted = new VectorIFFT(n).apply(ffted);
+            for (int i = 0; i < n; i++) {
+                assertEquals(data[2 * i], iffted.getComplex(i).realComponent().doubleValue(), 1e-3);
+                assertEquals(data[2 * i + 1], iffted.getComplex(i).imaginaryComponent().doubleValue(), 1e-3);
+            }
+        }
+    }
 
-}
+    @Test
+    public void testPlanCache() {
+        FFTPlanCache cache = new FFTPlanCache(2);
+        FFTPlan plan = cache.get(8);
+        assertSame(plan, cache.get(8));
+        assertEquals(1, cache.hits());
+        assertEquals(1, cache.misses());
+
+        cache.get(16);
+        cache.get(32);
+        assertEquals(2, cache.size());
+        //8 was the least recently used plan
+        assertNotSame(plan, cache.get(8));
+        assertEquals(4, cache.misses());
+
+        //a real plan is one lookup, whether or not its complex plan is cached
+        cache.getReal(6);
+        cache.getReal(6);
+        assertEquals(5, cache.misses());
+        assertEquals(2, cache.hits());
+
+        FFTPlanCache shared = Nd4j.getFFt().getPlanCache();
+        new VectorFFT(24).apply(Nd4j.complexLinSpace(1, 24, 24));
+        long hits = shared.hits();
+        new VectorFFT(24).apply(Nd4j.complexLinSpace(1, 24, 24));
+        assertEquals(hits + 1, shared.hits());
+    }
 
+    @Test
+    public void testRealFFT() {
+        //odd and even lengths take different paths
+        for (int n : new int[]{5, 6}) {
+            INDArray signal = Nd4j.create(new int[]{2, n});
+            for (int i = 0; i < 2; i++)
+                for (int j = 0; j < n; j++)
+                    signal.putScalar(new int[]{i, j}, Math.cos(i + 2 * j) + j);
+            IComplexNDArray half = FFT.rfft(signal, n, 1);
+            assertEquals(n / 2 + 1, half.size(1));
+            for (int i = 0; i < 2; i++) {
+                IComplexNDArray full = new VectorFFT(n).apply(Nd4j.createComplex(signal.getRow(i)));
+                for (int k = 0; k < n / 2 + 1; k++) {
+                    assertEquals(full.getComplex(k).realComponent().doubleValue(), half.getComplex(i, k).realComponent().doubleValue(), 1e-3);
+                    assertEquals(full.getComplex(k).imaginaryComponent().doubleValue(), half.getComplex(i, k).imaginaryComponent().doubleValue(), 1e-3);
+                }
+            }
+
+            INDArray back = FFT.irfft(half, n, 1);
+            for (int i = 0; i < 2; i++)
+                for (int j = 0; j < n; j++)
+                    assertEquals(signal.getDouble(i, j), back.getDouble(i, j), 1e-3);
+        }
+    }
 
+}
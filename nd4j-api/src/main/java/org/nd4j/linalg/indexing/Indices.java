@@ -130,10 +130,13 @@ public class Indices {
     public static int[] shape(NDArrayIndex... indices) {
         int[] ret = new int[indices.length];
         for (int i = 0; i < ret.length; i++) {
-            int[] currIndices = indices[i].indices();
+            if (indices[i].isInterval() && indices[i].stride() > 1) {
+                ret[i] = indices[i].size();
+                continue;
+            }
 
-            int end = currIndices[currIndices.length - 1] + 1;
-            int begin = currIndices[0];
+            int end = indices[i].end() + 1;
+            int begin = indices[i].offset();
             ret[i] = Math.abs(end - begin);
         }
 
@@ -167,11 +170,15 @@ public class Indices {
     public static boolean isContiguous(int diff, NDArrayIndex... indexes) {
         if (indexes.length < 1)
             return true;
-        boolean contiguous = isContiguous(indexes[0].indices(), diff);
-        for (int i = 1; i < indexes.length; i++)
-            contiguous = contiguous && isContiguous(indexes[i].indices(), diff);
+        for (int i = 0; i < indexes.length; i++) {
+            if (indexes[i].isInterval()) {
+                if (indexes[i].size() > 1 && indexes[i].stride() > diff)
+                    return false;
+            } else if (!isContiguous(indexes[i].indices(), diff))
+                return false;
+        }
 
-        return contiguous;
+        return true;
     }
 
     /**
@@ -223,16 +230,18 @@ public class Indices {
 
         int[] ret = new int[indices.length];
         for (int i = 0; i < ret.length; i++) {
-            int[] currIndices = indices[i].indices();
-            if (currIndices.length < 1)
+            if (indices[i].size() < 1)
+                continue;
+            if (!indices[i].isInterval()) {
+                ret[i] = indices[i].size();
                 continue;
-            int end = currIndices[currIndices.length - 1];
+            }
+
+            int end = indices[i].end();
             if (end > shape[i])
                 end = shape[i] - 1;
-            int begin = currIndices[0];
-
-            ret[i] = indices[i].isInterval() ? Math.abs(end - begin) + 1 :
-                    indices[i].indices().length;
+            int begin = indices[i].offset();
+            ret[i] = indices[i].stride() > 1 ? Math.abs(end - begin) / indices[i].stride() + 1 : Math.abs(end - begin) + 1;
         }
 
         List<Integer> nonZeros = new ArrayList<>();
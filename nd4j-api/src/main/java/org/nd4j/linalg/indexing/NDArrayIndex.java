@@ -23,14 +23,22 @@ import org.nd4j.linalg.util.ArrayUtil;
 import java.util.Arrays;
 
 /**
- * NDArray indexing
+ * NDArray indexing.
+ *
+ * An index along one dimension is either an interval
+ * (begin, end and stride, stored as such: the indices are only
+ * materialized when {@link #indices()} is asked for), a point
+ * (a single index, dropping the dimension) or an explicit list of indices.
  *
  * @author Adam Gibson
  */
 public class NDArrayIndex {
 
-    private int[] indices = new int[1];
+    private int[] indices;
     private boolean isInterval = false;
+    private boolean isPoint = false;
+    //intervals: begin (inclusive), end (exclusive) and the distance between indices
+    private int begin, end, stride = 1;
 
 
     public NDArrayIndex(int... indices) {
@@ -38,6 +46,13 @@ public class NDArrayIndex {
 
     }
 
+    private NDArrayIndex(int begin, int end, int stride) {
+        this.begin = begin;
+        this.end = end;
+        this.stride = stride;
+        this.isInterval = true;
+    }
+
     /**
      * Create from a matrix. The rows are the indices
      * The columns are the individual element in each ndarrayindex
@@ -88,6 +103,21 @@ public class NDArrayIndex {
         return new NDArrayIndex(Ints.concat(indices));
     }
 
+    /**
+     * A single index. Unlike an interval of length one,
+     * the dimension is dropped from the result of a get.
+     *
+     * @param index the index
+     * @return the point
+     */
+    public static NDArrayIndex point(int index) {
+        if (index < 0)
+            throw new IllegalArgumentException("Index must be >= 0");
+        NDArrayIndex ret = new NDArrayIndex(index, index + 1, 1);
+        ret.isPoint = true;
+        return ret;
+    }
+
     /**
      * Generates an interval from begin (inclusive) to end (exclusive)
      *
@@ -108,19 +138,60 @@ public class NDArrayIndex {
      * @return the interval
      */
     public static NDArrayIndex interval(int begin, int end, boolean inclusive) {
+        return interval(begin, 1, end, inclusive);
+    }
+
+    /**
+     * Generates an interval from begin (inclusive) to end (exclusive)
+     * taking every stride'th index
+     *
+     * @param begin  the begin
+     * @param stride the distance between indices
+     * @param end    the end index
+     * @return the interval
+     */
+    public static NDArrayIndex interval(int begin, int stride, int end) {
+        return interval(begin, stride, end, false);
+    }
+
+    /**
+     * Generates an interval from begin (inclusive) to end
+     * taking every stride'th index
+     *
+     * @param begin     the begin
+     * @param stride    the distance between indices
+     * @param end       the end index
+     * @param inclusive whether the end should be inclusive or not
+     * @return the interval
+     */
+    public static NDArrayIndex interval(int begin, int stride, int end, boolean inclusive) {
         assert begin <= end : "Beginning index in range must be less than end";
-        NDArrayIndex ret = new NDArrayIndex(ArrayUtil.range(begin, inclusive ? end + 1 : end));
-        ret.isInterval = true;
-        return ret;
+        if (stride < 1)
+            throw new IllegalArgumentException("Stride must be >= 1");
+        return new NDArrayIndex(begin, inclusive ? end + 1 : end, stride);
     }
 
+    /**
+     * The last index
+     *
+     * @return the last index, 0 if there are none
+     */
     public int end() {
+        if (isInterval)
+            return size() > 0 ? begin + (size() - 1) * stride : 0;
         if (indices != null && indices.length > 0)
             return indices[indices.length - 1];
         return 0;
     }
 
+    /**
+     * The first index
+     *
+     * @return the first index, 0 if there are none
+     */
     public int offset() {
+        if (isInterval)
+            return size() > 0 ? begin : 0;
         if (indices.length < 1)
             return 0;
         return indices[0];
@@ -132,21 +203,72 @@ public class NDArrayIndex {
      * @return the length of the range
      */
     public int length() {
-        if (indices.length < 1)
-            return 0;
-        return indices[indices.length - 1] - indices[0];
+        return end() - offset();
+    }
+
+    /**
+     * The number of indices
+     *
+     * @return the number of indices
+     */
+    public int size() {
+        if (isInterval)
+            return end <= begin ? 0 : (end - begin + stride - 1) / stride;
+        return indices.length;
+    }
+
+    /**
+     * The distance between consecutive indices
+     * (1 for explicit lists of indices)
+     *
+     * @return the stride of the interval
+     */
+    public int stride() {
+        return stride;
     }
 
+    /**
+     * The indices, materialized on first use for intervals
+     *
+     * @return the indices
+     */
     public int[] indices() {
+        if (indices == null) {
+            int[] ret = new int[size()];
+            for (int i = 0; i < ret.length; i++)
+                ret[i] = begin + i * stride;
+            indices = ret;
+        }
         return indices;
     }
 
+    /**
+     * The index at position i
+     *
+     * @param i the position
+     * @return the index at that position
+     */
+    public int get(int i) {
+        return isInterval ? begin + i * stride : indices[i];
+    }
+
     public void reverse() {
+        indices = indices().clone();
         ArrayUtil.reverse(indices);
+        isInterval = false;
+        isPoint = false;
+        stride = 1;
     }
 
     @Override
     public String toString() {
+        if (isInterval)
+            return "NDArrayIndex{" +
+                    "begin=" + begin +
+                    ", end=" + end +
+                    ", stride=" + stride +
+                    (isPoint ? ", point" : "") +
+                    '}';
         return "NDArrayIndex{" +
                 "indices=" + Arrays.toString(indices) +
                 '}';
@@ -158,21 +280,32 @@ public class NDArrayIndex {
         if (!(o instanceof NDArrayIndex)) return false;
 
         NDArrayIndex that = (NDArrayIndex) o;
+        if (isInterval && that.isInterval)
+            return size() == that.size() && (size() == 0 || offset() == that.offset() && (size() == 1 || stride == that.stride));
 
-        if (!Arrays.equals(indices, that.indices)) return false;
+        if (!Arrays.equals(indices(), that.indices())) return false;
 
         return true;
     }
 
     @Override
     public int hashCode() {
-        return Arrays.hashCode(indices);
+        return Arrays.hashCode(indices());
     }
 
     public boolean isInterval() {
         return isInterval;
     }
 
+    /**
+     * Whether this is a single index dropping its dimension
+     *
+     * @return true if this is a point
+     */
+    public boolean isPoint() {
+        return isPoint;
+    }
+
     public void setInterval(boolean isInterval) {
         this.isInterval = isInterval;
     }
@@ -0,0 +1,396 @@
+/*
+ * Copyright 2015 Skymind,Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package org.nd4j.linalg.indexing;
+
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.complex.IComplexNDArray;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.NDArrayFactory;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.parallel.Parallel;
+import org.nd4j.linalg.util.ArrayUtil;
+import org.nd4j.linalg.util.Shape;
+
+import java.util.Arrays;
+
+/**
+ * Strided views and gather/scatter kernels for {@link NDArrayIndex}.
+ *
+ * Intervals (including strided intervals and points) never need their
+ * indices: an interval along a dimension only moves the offset by
+ * begin * stride and multiplies the stride of the dimension by the
+ * step of the interval, so {@link #view(INDArray, NDArrayIndex...)}
+ * costs O(rank) no matter how large the interval is.
+ *
+ * Explicit lists of indices can not be expressed with strides.
+ * {@link #gather(INDArray, NDArrayIndex...)} copies the selected
+ * elements straight from the data buffer in to a new ndarray and
+ * {@link #scatter(INDArray, NDArrayIndex[], INDArray)} writes them back,
+ * both in a single parallel pass via {@link Parallel}.
+ *
+ * Whole rows or columns of matrices are gathered and scattered with
+ * {@link #gather(INDArray, int, int[], INDArray)} and
+ * {@link #scatter(INDArray, int, int[], INDArray)}, which copy each
+ * vector with a single {@link DataBuffer#copyTo} call.
+ *
+ * @author Adam Gibson
+ */
+public class StridedIndexing {
+
+    private StridedIndexing() {
+    }
+
+    /**
+     * Whether the given ndarray can be indexed by the kernels here
+     * (it has one stride per dimension)
+     *
+     * @param arr the ndarray to test
+     * @return true if the ndarray can be indexed
+     */
+    public static boolean canIndex(INDArray arr) {
+        return arr.stride().length == arr.shape().length;
+    }
+
+    /**
+     * Whether the given indexes need a strided view: any of them
+     * is a point or an interval with a step greater than one
+     *
+     * @param indexes the indexes to test
+     * @return true if any index is strided or a point
+     */
+    public static boolean isStrided(NDArrayIndex... indexes) {
+        for (NDArrayIndex index : indexes)
+            if (index.isInterval() && (index.stride() > 1 || index.isPoint()))
+                return true;
+        return false;
+    }
+
+    /**
+     * Whether every index is an interval (or a point)
+     *
+     * @param indexes the indexes to test
+     * @return true if the indexes describe a strided view
+     */
+    public static boolean isView(NDArrayIndex... indexes) {
+        for (NDArrayIndex index : indexes)
+            if (!index.isInterval())
+                return false;
+        return true;
+    }
+
+    /**
+     * A view of the given ndarray sharing its data.
+     * Intervals past the end of a dimension are clamped to it and
+     * points drop their dimension.
+     *
+     * @param arr     the ndarray to index
+     * @param indexes one interval or point per dimension
+     * @return the view
+     */
+    public static INDArray view(INDArray arr, NDArrayIndex... indexes) {
+        int[] shape = arr.shape();
+        int[] stride = arr.stride();
+        if (!canIndex(arr) || indexes.length != shape.length)
+            throw new IllegalArgumentException("Unable to index an ndarray of rank " + shape.length + " with " + indexes.length + " indexes");
+
+        int offset = arr.offset();
+        int[] retShape = new int[shape.length];
+        int[] retStride = new int[shape.length];
+        int rank = 0;
+        for (int i = 0; i < shape.length; i++) {
+            NDArrayIndex index = indexes[i];
+            if (!index.isInterval())
+                throw new IllegalArgumentException("Index " + i + " is not an interval");
+            int begin = index.offset();
+            if (index.size() > 0 && begin >= shape[i])
+                throw new IllegalArgumentException("Index " + begin + " out of bounds for dimension " + i + " of size " + shape[i]);
+            offset += begin * stride[i];
+            if (index.isPoint())
+                continue;
+            int step = index.stride();
+            retShape[rank] = Math.min(index.size(), (shape[i] - begin + step - 1) / step);
+            retStride[rank] = stride[i] * step;
+            rank++;
+        }
+
+        if (rank == 0) {
+            retShape = new int[]{1};
+            retStride = new int[]{1};
+        } else if (rank == 2 && retShape[0] == 1) {
+            //row vectors are stored with a single dimension
+            retShape = new int[]{retShape[1]};
+            retStride = new int[]{retStride[1]};
+        } else {
+            retShape = Arrays.copyOf(retShape, rank);
+            retStride = Arrays.copyOf(retStride, rank);
+        }
+
+        if (arr instanceof IComplexNDArray)
+            return Nd4j.createComplex(arr.data(), retShape, retStride, offset, arr.ordering());
+        return Nd4j.create(arr.data(), retShape, retStride, offset, arr.ordering());
+    }
+
+    /**
+     * Copy the elements selected by the given indexes in to a new ndarray.
+     * Dimensions of size one are kept (other than for row vectors).
+     *
+     * @param arr     the ndarray to index
+     * @param indexes one index per dimension
+     * @return a copy of the selected elements
+     */
+    public static INDArray gather(INDArray arr, NDArrayIndex... indexes) {
+        int[] sizes = sizes(arr, indexes);
+        boolean complex = arr instanceof IComplexNDArray;
+        INDArray ret = complex ? Nd4j.createComplex(sizes) : Nd4j.create(sizes);
+        //dense strides of the uncollapsed shape (complex elements take two slots)
+        int[] retStride = ret.ordering() == NDArrayFactory.FORTRAN
+                ? ArrayUtil.calcStridesFortran(sizes, complex ? 2 : 1) : ArrayUtil.calcStrides(sizes, complex ? 2 : 1);
+
+        copy(sizes, arr.data(), arr.offset(), table(indexes, arr.stride()), complex,
+                ret.data(), ret.offset(), table(sizes, retStride), complex);
+        return ret;
+    }
+
+    /**
+     * Write the given element in to the positions of the ndarray
+     * selected by the given indexes.
+     * The element is broadcast to the selected shape (ignoring
+     * dimensions of size one), so scalars fill every position.
+     *
+     * @param arr     the ndarray to write in to
+     * @param indexes one index per dimension
+     * @param element the elements to write
+     * @return arr
+     */
+    public static INDArray scatter(INDArray arr, NDArrayIndex[] indexes, INDArray element) {
+        int[] sizes = sizes(arr, indexes);
+        if (!canIndex(element))
+            element = element.dup();
+        //line up the dimensions of size > 1 of the element with those selected
+        int[] squeezed = squeeze(sizes);
+        int[] elementShape = squeeze(element.shape());
+        int[] elementStride = new int[elementShape.length];
+        for (int i = 0, j = 0; i < element.shape().length; i++)
+            if (element.shape()[i] != 1)
+                elementStride[j++] = element.stride()[i];
+
+        int[] broadcastStride = Shape.broadcastStrides(elementShape, elementStride, squeezed);
+        int[] strides = new int[sizes.length];
+        for (int i = 0, j = 0; i < sizes.length; i++)
+            if (sizes[i] != 1)
+                strides[i] = broadcastStride[j++];
+
+        copy(sizes, element.data(), element.offset(), table(sizes, strides), element instanceof IComplexNDArray,
+                arr.data(), arr.offset(), table(indexes, arr.stride()), arr instanceof IComplexNDArray);
+        return arr;
+    }
+
+    /**
+     * Whether whole rows or columns of the given ndarray can be copied
+     * by {@link #gather(INDArray, int, int[], INDArray)} and
+     * {@link #scatter(INDArray, int, int[], INDArray)}
+     * (it is a matrix or a row vector)
+     *
+     * @param arr the ndarray to test
+     * @return true if rows and columns of the ndarray can be copied
+     */
+    public static boolean canCopyVectors(INDArray arr) {
+        return canIndex(arr) && (arr.shape().length == 1 || arr.shape().length == 2);
+    }
+
+    /**
+     * Copy the given rows (dimension 0) or columns (dimension 1)
+     * of a matrix in to out: out[i] = arr[indices[i]]
+     *
+     * @param arr       the matrix to copy from
+     * @param dimension 0 for rows, 1 for columns
+     * @param indices   the rows or columns to copy
+     * @param out       the result, indices.length rows or columns of the same length as those of arr
+     * @return out
+     */
+    public static INDArray gather(INDArray arr, int dimension, int[] indices, INDArray out) {
+        checkVectors(arr, dimension, indices, out);
+        copyVectors(arr, indices, out, null, dimension);
+        return out;
+    }
+
+    /**
+     * Copy the rows (dimension 0) or columns (dimension 1) of from
+     * in to the given rows or columns of a matrix: arr[indices[i]] = from[i].
+     * When an index is repeated it is undefined which of its vectors is written.
+     *
+     * @param arr       the matrix to write in to
+     * @param dimension 0 for rows, 1 for columns
+     * @param indices   the rows or columns to write
+     * @param from      indices.length rows or columns of the same length as those of arr
+     * @return arr
+     */
+    public static INDArray scatter(INDArray arr, int dimension, int[] indices, INDArray from) {
+        checkVectors(arr, dimension, indices, from);
+        copyVectors(from, null, arr, indices, dimension);
+        return arr;
+    }
+
+    private static void checkVectors(INDArray arr, int dimension, int[] indices, INDArray other) {
+        if (dimension != 0 && dimension != 1)
+            throw new IllegalArgumentException("Dimension must be 0 (rows) or 1 (columns)");
+        if (!canCopyVectors(arr) || !canCopyVectors(other))
+            throw new IllegalArgumentException("Rows and columns can only be copied between matrices");
+        if (arr instanceof IComplexNDArray != other instanceof IComplexNDArray)
+            throw new IllegalArgumentException("Unable to copy between real and complex ndarrays");
+        int[] shape = matrixShape(arr);
+        int[] otherShape = matrixShape(other);
+        if (otherShape[dimension] != indices.length || otherShape[1 - dimension] != shape[1 - dimension])
+            throw new IllegalArgumentException("Shape " + Arrays.toString(other.shape()) + " does not match " + indices.length
+                    + (dimension == 0 ? " rows" : " columns") + " of length " + shape[1 - dimension]);
+        for (int index : indices)
+            if (index < 0 || index >= shape[dimension])
+                throw new IllegalArgumentException("Index " + index + " out of bounds for dimension " + dimension + " of size " + shape[dimension]);
+    }
+
+    /**
+     * Copy vector fromIndices[i] along the given dimension of from to
+     * vector toIndices[i] of to, a null array of indices meaning i.
+     * Contiguous vectors are copied in bulk, large batches in parallel.
+     */
+    private static void copyVectors(INDArray from, final int[] fromIndices, INDArray to, final int[] toIndices, final int dimension) {
+        final int[] fromStride = matrixStride(from);
+        final int[] toStride = matrixStride(to);
+        final int length = matrixShape(from)[1 - dimension];
+        final int count = fromIndices != null ? fromIndices.length : toIndices.length;
+        final int elementSize = from instanceof IComplexNDArray ? 2 : 1;
+        final int fromInc = fromStride[1 - dimension], toInc = toStride[1 - dimension];
+        final int fromOffset = from.offset(), toOffset = to.offset();
+        final DataBuffer fromData = from.data(), toData = to.data();
+
+        Parallel.forEach(count, (long) count * length, new Parallel.RangeTask() {
+            @Override
+            public void run(int start, int end) {
+                for (int i = start; i < end; i++) {
+                    int f = fromOffset + (fromIndices != null ? fromIndices[i] : i) * fromStride[dimension];
+                    int t = toOffset + (toIndices != null ? toIndices[i] : i) * toStride[dimension];
+                    if (length == 1 || fromInc == elementSize && toInc == elementSize)
+                        fromData.copyTo(f, 1, toData, t, 1, length * elementSize);
+                    else
+                        for (int e = 0; e < elementSize; e++)
+                            fromData.copyTo(f + e, fromInc, toData, t + e, toInc, length);
+                }
+            }
+        });
+    }
+
+    //row vectors are stored with a single dimension
+    private static int[] matrixShape(INDArray arr) {
+        int[] shape = arr.shape();
+        return shape.length == 1 ? new int[]{1, shape[0]} : shape;
+    }
+
+    private static int[] matrixStride(INDArray arr) {
+        int[] stride = arr.stride();
+        return stride.length == 1 ? new int[]{0, stride[0]} : stride;
+    }
+
+    /**
+     * The number of elements selected along each dimension
+     */
+    private static int[] sizes(INDArray arr, NDArrayIndex... indexes) {
+        int[] shape = arr.shape();
+        if (!canIndex(arr) || indexes.length != shape.length)
+            throw new IllegalArgumentException("Unable to index an ndarray of rank " + shape.length + " with " + indexes.length + " indexes");
+        int[] ret = new int[shape.length];
+        for (int i = 0; i < shape.length; i++) {
+            ret[i] = indexes[i].size();
+            if (ret[i] > 0 && (indexes[i].offset() >= shape[i] || indexes[i].end() >= shape[i]))
+                throw new IllegalArgumentException("Index " + indexes[i] + " out of bounds for dimension " + i + " of size " + shape[i]);
+        }
+        return ret;
+    }
+
+    /**
+     * The offset of every selected position along each dimension
+     */
+    private static int[][] table(NDArrayIndex[] indexes, int[] stride) {
+        int[][] ret = new int[indexes.length][];
+        for (int i = 0; i < indexes.length; i++) {
+            ret[i] = new int[indexes[i].size()];
+            for (int j = 0; j < ret[i].length; j++)
+                ret[i][j] = indexes[i].get(j) * stride[i];
+        }
+        return ret;
+    }
+
+    private static int[][] table(int[] sizes, int[] stride) {
+        int[][] ret = new int[sizes.length][];
+        for (int i = 0; i < sizes.length; i++) {
+            ret[i] = new int[sizes[i]];
+            for (int j = 0; j < ret[i].length; j++)
+                ret[i][j] = j * stride[i];
+        }
+        return ret;
+    }
+
+    private static int[] squeeze(int[] shape) {
+        int rank = 0;
+        for (int size : shape)
+            if (size != 1)
+                rank++;
+        int[] ret = new int[rank];
+        for (int i = 0, j = 0; i < shape.length; i++)
+            if (shape[i] != 1)
+                ret[j++] = shape[i];
+        return ret;
+    }
+
+    /**
+     * Copy every position of the given sizes from one buffer to another,
+     * the offset of a position being the sum of the table entries
+     * of each of its indices
+     */
+    private static void copy(final int[] sizes, final DataBuffer from, final int fromOffset, final int[][] fromTable, final boolean fromComplex,
+                             final DataBuffer to, final int toOffset, final int[][] toTable, final boolean toComplex) {
+        int length = sizes.length == 0 ? 1 : ArrayUtil.prod(sizes);
+        Parallel.forEach(length, new Parallel.RangeTask() {
+            @Override
+            public void run(int start, int end) {
+                int[] index = new int[sizes.length];
+                int rem = start;
+                for (int k = sizes.length - 1; k >= 0; k--) {
+                    index[k] = rem % sizes[k];
+                    rem /= sizes[k];
+                }
+
+                for (int i = start; i < end; i++) {
+                    int fi = fromOffset, ti = toOffset;
+                    for (int k = 0; k < sizes.length; k++) {
+                        fi += fromTable[k][index[k]];
+                        ti += toTable[k][index[k]];
+                    }
+                    to.put(ti, from.getDouble(fi));
+                    if (toComplex)
+                        to.put(ti + 1, fromComplex ? from.getDouble(fi + 1) : 0.0);
+
+                    for (int k = sizes.length - 1; k >= 0; k--) {
+                        if (++index[k] < sizes[k])
+                            break;
+                        index[k] = 0;
+                    }
+                }
+            }
+        });
+    }
+}
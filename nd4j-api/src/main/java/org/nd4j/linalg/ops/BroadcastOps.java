@@ -0,0 +1,295 @@
+/*
+ * Copyright 2015 Skymind,Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.nd4j.linalg.ops;
+
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.complex.IComplexNDArray;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.NDArrayFactory;
+import org.nd4j.linalg.parallel.Parallel;
+import org.nd4j.linalg.util.ArrayUtil;
+import org.nd4j.linalg.util.Shape;
+
+/**
+ * Element wise operations between ndarrays of broadcast compatible shapes.
+ *
+ * Operands are viewed as the shape of the result by giving every
+ * dimension they are broadcast along a stride of zero (the layout
+ * {@link INDArray#broadcast(int[])} returns), so nothing is expanded
+ * or copied. The result is walked index by index reading each operand
+ * straight out of its data buffer, in parallel via {@link Parallel}.
+ *
+ * Row and column vectors are applied to every row or column of a
+ * matrix the same way via {@link #applyVector(INDArray, INDArray, int, char)}.
+ *
+ * Operations are given by the same characters as the row and column
+ * vector operations of {@link org.nd4j.linalg.api.ndarray.BaseNDArray}:
+ * a : addition
+ * s : subtraction
+ * m : multiplication
+ * d : division
+ * h : reverse subtraction
+ * t : reverse division
+ * c : copy of the second operand
+ *
+ * @author Adam Gibson
+ */
+public class BroadcastOps {
+
+    private BroadcastOps() {
+    }
+
+    /**
+     * Whether the given ndarray is a broadcast view
+     * (has a zero stride along a dimension of size > 1)
+     *
+     * @param arr the ndarray to test
+     * @return true if the ndarray is a broadcast view
+     */
+    public static boolean isBroadcast(INDArray arr) {
+        return Shape.isBroadcast(arr.shape(), arr.stride());
+    }
+
+    /**
+     * Throw if the ndarray is a broadcast view: its elements alias
+     * each other (and the ndarray it views), so it can not be written to
+     *
+     * @param arr the ndarray about to be written to
+     */
+    public static void assertWritable(INDArray arr) {
+        if (isBroadcast(arr))
+            throw new IllegalArgumentException("Unable to write in to a broadcast view");
+    }
+
+    /**
+     * The ndarray itself, or a dense copy of it if it is a broadcast view.
+     * For routines such as blas that address elements through a
+     * leading dimension rather than through the strides.
+     *
+     * @param arr the ndarray
+     * @return an ndarray with the same elements that is not a broadcast view
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends INDArray> T dense(T arr) {
+        return isBroadcast(arr) ? (T) arr.dup() : arr;
+    }
+
+    /**
+     * Copy an ndarray in to another, broadcasting it to the shape of the destination
+     *
+     * @param from the ndarray to copy
+     * @param to   the destination
+     * @return the destination
+     */
+    public static INDArray assign(INDArray from, INDArray to) {
+        return exec(to, from, to, 'c');
+    }
+
+    /**
+     * Whether {@link #applyVector(INDArray, INDArray, int, char)} can
+     * apply the vector along the given dimension of the ndarray
+     *
+     * @param arr       the ndarray to apply the vector to
+     * @param vector    the vector
+     * @param dimension the dimension of arr the vector runs along
+     * @return true if the vector can be applied in a single pass
+     */
+    public static boolean canApplyVector(INDArray arr, INDArray vector, int dimension) {
+        int[] shape = arr.shape();
+        return dimension >= 0 && dimension < shape.length
+                && arr.stride().length == shape.length
+                && vector.stride().length == vector.shape().length
+                && vector.isVector() && vector.length() == shape[dimension]
+                && arr instanceof IComplexNDArray == vector instanceof IComplexNDArray
+                && !isBroadcast(arr);
+    }
+
+    /**
+     * Apply a vector to every vector along the given dimension in place,
+     * for example with dimension 1 a row vector to every row of a matrix:
+     * arr[i, j] = arr[i, j] op vector[j]
+     *
+     * @param arr       the ndarray to apply the vector to
+     * @param vector    the vector
+     * @param dimension the dimension of arr the vector runs along
+     * @param operation the operation
+     * @return arr
+     */
+    public static INDArray applyVector(INDArray arr, INDArray vector, int dimension, char operation) {
+        if (!canApplyVector(arr, vector, dimension))
+            throw new IllegalArgumentException("Unable to apply a vector of length " + vector.length() + " along dimension " + dimension);
+        int[] vectorStride = new int[arr.shape().length];
+        int[] shape = vector.shape();
+        for (int i = 0; i < shape.length; i++)
+            if (shape[i] == vector.length()) {
+                vectorStride[dimension] = vector.stride()[i];
+                break;
+            }
+        return exec(arr, arr.stride(), vector, vectorStride, arr, operation);
+    }
+
+    /**
+     * Compute result = x op y, broadcasting x and y to the shape of the result
+     *
+     * @param x         the first operand
+     * @param y         the second operand
+     * @param result    where to write the result, must not be a broadcast view
+     * @param operation the operation
+     * @return the result
+     */
+    public static INDArray exec(INDArray x, INDArray y, INDArray result, char operation) {
+        int[] shape = result.shape();
+        return exec(x, Shape.broadcastStrides(x.shape(), x.stride(), shape),
+                y, Shape.broadcastStrides(y.shape(), y.stride(), shape), result, operation);
+    }
+
+    /**
+     * Compute result = x op y reading x and y via the given strides
+     * (one per dimension of the result)
+     */
+    private static INDArray exec(INDArray x, int[] xStrides, INDArray y, int[] yStrides, INDArray result, final char operation) {
+        if (result.stride().length != result.shape().length)
+            throw new IllegalArgumentException("Result strides do not match its shape");
+        if (isBroadcast(result))
+            throw new IllegalArgumentException("Unable to write in to a broadcast view");
+        final boolean complex = result instanceof IComplexNDArray;
+        if (complex != x instanceof IComplexNDArray || complex != y instanceof IComplexNDArray)
+            throw new IllegalArgumentException("Operands and result must either all be real or all be complex");
+
+        int[] outerShape = result.shape();
+        int[] resultStrides = result.stride();
+        //walk the result in its memory order
+        if (result.ordering() == NDArrayFactory.FORTRAN) {
+            outerShape = ArrayUtil.reverseCopy(outerShape);
+            resultStrides = ArrayUtil.reverseCopy(resultStrides);
+            xStrides = ArrayUtil.reverseCopy(xStrides);
+            yStrides = ArrayUtil.reverseCopy(yStrides);
+        }
+
+        final int[] shape = outerShape;
+        final int[] xStride = xStrides, yStride = yStrides, resultStride = resultStrides;
+        final int xOffset = x.offset(), yOffset = y.offset(), resultOffset = result.offset();
+        final DataBuffer xData = x.data(), yData = y.data(), resultData = result.data();
+        final int length = shape.length == 0 ? 1 : ArrayUtil.prod(shape);
+
+        Parallel.forEach(length, new Parallel.RangeTask() {
+            @Override
+            public void run(int start, int end) {
+                int[] index = new int[shape.length];
+                int xi = xOffset, yi = yOffset, ri = resultOffset;
+                int rem = start;
+                for (int k = shape.length - 1; k >= 0; k--) {
+                    index[k] = rem % shape[k];
+                    rem /= shape[k];
+                    xi += index[k] * xStride[k];
+                    yi += index[k] * yStride[k];
+                    ri += index[k] * resultStride[k];
+                }
+
+                for (int i = start; i < end; i++) {
+                    if (complex)
+                        applyComplex(operation, xData, xi, yData, yi, resultData, ri);
+                    else
+                        resultData.put(ri, apply(operation, xData.getDouble(xi), yData.getDouble(yi)));
+                    for (int k = shape.length - 1; k >= 0; k--) {
+                        index[k]++;
+                        xi += xStride[k];
+                        yi += yStride[k];
+                        ri += resultStride[k];
+                        if (index[k] < shape[k])
+                            break;
+                        xi -= xStride[k] * shape[k];
+                        yi -= yStride[k] * shape[k];
+                        ri -= resultStride[k] * shape[k];
+                        index[k] = 0;
+                    }
+                }
+            }
+        });
+
+        return result;
+    }
+
+    private static double apply(char operation, double x, double y) {
+        switch (operation) {
+            case 'a':
+                return x + y;
+            case 's':
+                return x - y;
+            case 'm':
+                return x * y;
+            case 'd':
+                return x / y;
+            case 'h':
+                return y - x;
+            case 't':
+                return y / x;
+            case 'c':
+                return y;
+            default:
+                throw new IllegalArgumentException("Illegal operation " + operation);
+        }
+    }
+
+    /**
+     * Apply the operation to the complex numbers stored as
+     * (real, imaginary) pairs at the given indices
+     */
+    private static void applyComplex(char operation, DataBuffer x, int xi, DataBuffer y, int yi, DataBuffer result, int ri) {
+        double a = x.getDouble(xi), b = x.getDouble(xi + 1);
+        double c = y.getDouble(yi), d = y.getDouble(yi + 1);
+        double real, imag;
+        switch (operation) {
+            case 'a':
+                real = a + c;
+                imag = b + d;
+                break;
+            case 's':
+                real = a - c;
+                imag = b - d;
+                break;
+            case 'h':
+                real = c - a;
+                imag = d - b;
+                break;
+            case 'm':
+                real = a * c - b * d;
+                imag = a * d + b * c;
+                break;
+            case 'd': {
+                double denom = c * c + d * d;
+                real = (a * c + b * d) / denom;
+                imag = (b * c - a * d) / denom;
+                break;
+            }
+            case 't': {
+                double denom = a * a + b * b;
+                real = (c * a + d * b) / denom;
+                imag = (d * a - c * b) / denom;
+                break;
+            }
+            case 'c':
+                real = c;
+                imag = d;
+                break;
+            default:
+                throw new IllegalArgumentException("Illegal operation " + operation);
+        }
+        result.put(ri, real);
+        result.put(ri + 1, imag);
+    }
+}
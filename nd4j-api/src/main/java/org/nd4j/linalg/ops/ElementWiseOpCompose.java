@@ -16,6 +16,13 @@
 
 package org.nd4j.linalg.ops;
 
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.complex.IComplexNDArray;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.indexing.conditions.Condition;
+import org.nd4j.linalg.transformation.ElementWiseTransform;
+import org.nd4j.linalg.transformation.MatrixTransform;
+
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -23,14 +30,58 @@ import java.util.List;
 /**
  * Aggregation of element wise operations
  *
+ * {@link #exec()} runs each queued operation as its own pass
+ * over the operation's input.
+ *
+ * {@link #exec(INDArray)} and {@link #exec(INDArray, INDArray)} fuse
+ * the queued operations, transforms and conditional replacements
+ * in to a single pass: each element is read once, run through
+ * the whole chain and written once with no intermediate ndarrays.
+ *
  * @author Adam Gibson
  */
 public class ElementWiseOpCompose {
     private List<ElementWiseOp> opsToExecute = new ArrayList<>();
+    private List<Stage> stages = new ArrayList<>();
+    //names of queued ops that can't be fused
+    private List<String> unfusable = new ArrayList<>();
     private boolean reverse = false;
 
     public ElementWiseOpCompose op(ElementWiseOp op) {
         opsToExecute.add(op);
+        if (op instanceof PrimitiveElementWiseOp)
+            stages.add(new OpStage((PrimitiveElementWiseOp) op));
+        else
+            unfusable.add(op.name());
+        return this;
+    }
+
+    /**
+     * Queue an element wise transform such as
+     * {@link org.nd4j.linalg.transformation.AddScalar}.
+     * Only used by the fused exec methods
+     *
+     * @param transform the transform to queue
+     * @return this compose
+     */
+    public ElementWiseOpCompose transform(MatrixTransform transform) {
+        if (!(transform instanceof ElementWiseTransform))
+            throw new IllegalArgumentException("Unable to fuse transform " + transform.getClass().getName() + ", it does not act on each element independently");
+        stages.add(new TransformStage((ElementWiseTransform) transform));
+        return this;
+    }
+
+    /**
+     * Replace every element matching the condition with the given value,
+     * for example clamping with {@link org.nd4j.linalg.indexing.conditions.Conditions#greaterThan(Number)}.
+     * Only used by the fused exec methods
+     *
+     * @param condition the condition to test each element with
+     * @param value     the value to replace matching elements with
+     * @return this compose
+     */
+    public ElementWiseOpCompose replaceWhere(Condition condition, Number value) {
+        stages.add(new ConditionStage(condition, value));
         return this;
     }
 
@@ -45,5 +96,135 @@ public class ElementWiseOpCompose {
 
     }
 
+    /**
+     * Run the fused chain in place
+     *
+     * @param from the ndarray to transform
+     * @return the transformed ndarray
+     */
+    public INDArray exec(INDArray from) {
+        return exec(from, from);
+    }
+
+    /**
+     * Run the fused chain over from, writing the result to result
+     *
+     * @param from   the input ndarray
+     * @param result the ndarray to write the result to (may be from itself)
+     * @return the result ndarray
+     */
+    public INDArray exec(INDArray from, INDArray result) {
+        if (from instanceof IComplexNDArray || result instanceof IComplexNDArray)
+            throw new IllegalArgumentException("Fused execution is only supported for real ndarrays");
+        if (from.length() != result.length())
+            throw new IllegalArgumentException("Unable to write result of length " + from.length() + " to an ndarray of length " + result.length());
+        if (!unfusable.isEmpty())
+            throw new IllegalStateException("Unable to fuse ops " + unfusable + ", they do not act on each element independently");
+
+        Stage[] pipeline = stages.toArray(new Stage[stages.size()]);
+
+        if (isDense(from) && isDense(result) && from.ordering() == result.ordering()) {
+            DataBuffer in = from.data();
+            DataBuffer out = result.data();
+            int length = from.length();
+            if (in.dataType() == DataBuffer.FLOAT && out.dataType() == DataBuffer.FLOAT) {
+                for (int i = 0; i < length; i++) {
+                    float value = in.getFloat(i);
+                    for (Stage stage : pipeline)
+                        value = stage.apply(value);
+                    out.put(i, value);
+                }
+            } else {
+                for (int i = 0; i < length; i++) {
+                    double value = in.getDouble(i);
+                    for (Stage stage : pipeline)
+                        value = stage.apply(value);
+                    out.put(i, value);
+                }
+            }
+        } else {
+            INDArray linearFrom = from.linearView();
+            INDArray linearResult = result.linearView();
+            for (int i = 0; i < linearFrom.length(); i++) {
+                double value = linearFrom.getDouble(i);
+                for (Stage stage : pipeline)
+                    value = stage.apply(value);
+                linearResult.putScalar(i, value);
+            }
+        }
+
+        return result;
+    }
+
+    //whether the ndarray covers its whole buffer
+    private static boolean isDense(INDArray arr) {
+        return arr.offset() == 0 && arr.length() == arr.data().length();
+    }
+
+    /**
+     * A single step of a fused chain
+     */
+    private interface Stage {
+        double apply(double value);
+
+        float apply(float value);
+    }
+
+    private static class OpStage implements Stage {
+        private PrimitiveElementWiseOp op;
+
+        private OpStage(PrimitiveElementWiseOp op) {
+            this.op = op;
+        }
+
+        @Override
+        public double apply(double value) {
+            return op.apply(value);
+        }
+
+        @Override
+        public float apply(float value) {
+            return op.apply(value);
+        }
+    }
+
+    private static class TransformStage implements Stage {
+        private ElementWiseTransform transform;
+
+        private TransformStage(ElementWiseTransform transform) {
+            this.transform = transform;
+        }
+
+        @Override
+        public double apply(double value) {
+            return transform.apply(value);
+        }
+
+        @Override
+        public float apply(float value) {
+            return transform.apply(value);
+        }
+    }
+
+    private static class ConditionStage implements Stage {
+        private Condition condition;
+        private double replacement;
+
+        private ConditionStage(Condition condition, Number replacement) {
+            this.condition = condition;
+            this.replacement = replacement.doubleValue();
+        }
+
+        @Override
+        public double apply(double value) {
+            return condition.apply(value) ? replacement : value;
+        }
+
+        @Override
+        public float apply(float value) {
+            return condition.apply(value) ? (float) replacement : value;
+        }
+    }
+
 
 }
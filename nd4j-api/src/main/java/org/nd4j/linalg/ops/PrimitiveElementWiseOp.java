@@ -0,0 +1,48 @@
+/*
+ * Copyright 2015 Skymind,Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.nd4j.linalg.ops;
+
+/**
+ * An element wise operation that only depends on
+ * the value of each element.
+ *
+ * Real valued buffers run these in a tight loop over primitives
+ * rather than boxing each element through
+ * {@link #apply(org.nd4j.linalg.api.ndarray.INDArray, Object, int)},
+ * which is kept for complex ndarrays.
+ *
+ * @author Adam Gibson
+ */
+public interface PrimitiveElementWiseOp extends ElementWiseOp {
+
+    /**
+     * The transformation for a given double
+     *
+     * @param value the value to transform
+     * @return the transformed value
+     */
+    double apply(double value);
+
+    /**
+     * The transformation for a given float
+     *
+     * @param value the value to transform
+     * @return the transformed value
+     */
+    float apply(float value);
+
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright 2015 Skymind,Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.nd4j.linalg.ops.reduceops;
+
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.complex.IComplexNDArray;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.NDArrayFactory;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.parallel.Parallel;
+import org.nd4j.linalg.util.ArrayUtil;
+
+/**
+ * Reductions along a dimension of a real ndarray.
+ *
+ * Each vector along the dimension is read straight out of the
+ * data buffer using the offset and strides of the ndarray, so views
+ * are handled without copying and no intermediate ndarrays are created.
+ * Every result is computed in a single pass (variance and standard
+ * deviation use Welford's update) and written in to the result ndarray.
+ *
+ * Variance and standard deviation are bias corrected (divided by n - 1)
+ * to match {@link org.nd4j.linalg.ops.reduceops.scalarops.Variance}.
+ *
+ * @author Adam Gibson
+ */
+public class DimensionReduction {
+
+    private DimensionReduction() {
+    }
+
+    /**
+     * Whether the given ndarray can be reduced along the dimension
+     *
+     * @param arr       the ndarray to reduce
+     * @param dimension the dimension to reduce along
+     * @return true if {@link #reduce(INDArray, int, Ops.DimensionOp)} handles it
+     */
+    public static boolean canReduce(INDArray arr, int dimension) {
+        int[] shape = arr.shape();
+        return !(arr instanceof IComplexNDArray)
+                && dimension >= 0 && dimension < shape.length
+                && arr.stride().length == shape.length;
+    }
+
+    /**
+     * Reduce the ndarray along the given dimension
+     *
+     * @param arr       the ndarray to reduce
+     * @param dimension the dimension to reduce along
+     * @param op        the reduction
+     * @return an ndarray with the shape of arr minus the reduced dimension
+     */
+    public static INDArray reduce(INDArray arr, int dimension, Ops.DimensionOp op) {
+        if (!canReduce(arr, dimension))
+            throw new IllegalArgumentException("Unable to reduce along dimension " + dimension);
+        return reduce(arr, dimension, op, Nd4j.create(ArrayUtil.removeIndex(arr.shape(), dimension)));
+    }
+
+    /**
+     * Reduce the ndarray along the given dimension in to
+     * a preallocated result. The result is indexed as a dense
+     * ndarray with the shape of arr minus the reduced dimension.
+     *
+     * @param arr       the ndarray to reduce
+     * @param dimension the dimension to reduce along
+     * @param op        the reduction
+     * @param result    where to write the reduction
+     * @return the result ndarray
+     */
+    public static INDArray reduce(INDArray arr, int dimension, final Ops.DimensionOp op, INDArray result) {
+        if (!canReduce(arr, dimension))
+            throw new IllegalArgumentException("Unable to reduce along dimension " + dimension);
+        if (!isSupported(op))
+            throw new IllegalArgumentException("Illegal operation " + op);
+
+        int[] outerShape = ArrayUtil.removeIndex(arr.shape(), dimension);
+        int[] outerStride = ArrayUtil.removeIndex(arr.stride(), dimension);
+        int[] resultStride = result.ordering() == NDArrayFactory.C
+                ? ArrayUtil.calcStrides(outerShape) : ArrayUtil.calcStridesFortran(outerShape);
+        final int numResults = ArrayUtil.prod(outerShape);
+        if (result.length() != numResults)
+            throw new IllegalArgumentException("Result must be of length " + numResults + " but was " + result.length());
+
+        //walk the remaining dimensions in the memory order of the input
+        if (arr.ordering() == NDArrayFactory.FORTRAN) {
+            outerShape = ArrayUtil.reverseCopy(outerShape);
+            outerStride = ArrayUtil.reverseCopy(outerStride);
+            resultStride = ArrayUtil.reverseCopy(resultStride);
+        }
+
+        final int[] shape = outerShape;
+        final int[] stride = outerStride;
+        final int[] destStride = resultStride;
+        final int n = arr.size(dimension);
+        final int step = arr.stride()[dimension];
+        final int offset = arr.offset();
+        final int resultOffset = result.offset();
+        final DataBuffer from = arr.data();
+        final DataBuffer to = result.data();
+
+        Parallel.forEach(numResults, (long) numResults * n, new Parallel.RangeTask() {
+            @Override
+            public void run(int start, int end) {
+                int[] index = new int[shape.length];
+                int src = offset;
+                int dest = resultOffset;
+                int rem = start;
+                for (int k = shape.length - 1; k >= 0; k--) {
+                    index[k] = rem % shape[k];
+                    rem /= shape[k];
+                    src += index[k] * stride[k];
+                    dest += index[k] * destStride[k];
+                }
+
+                for (int i = start; i < end; i++) {
+                    to.put(dest, reduceVector(op, from, src, n, step));
+                    for (int k = shape.length - 1; k >= 0; k--) {
+                        index[k]++;
+                        src += stride[k];
+                        dest += destStride[k];
+                        if (index[k] < shape[k])
+                            break;
+                        src -= stride[k] * shape[k];
+                        dest -= destStride[k] * shape[k];
+                        index[k] = 0;
+                    }
+                }
+            }
+        });
+
+        return result;
+    }
+
+    private static boolean isSupported(Ops.DimensionOp op) {
+        switch (op) {
+            case SUM:
+            case MEAN:
+            case PROD:
+            case MAX:
+            case MIN:
+            case NORM_1:
+            case NORM_2:
+            case NORM_MAX:
+            case VAR:
+            case STD:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Reduce the n elements starting at offset spaced by step
+     *
+     * @param op     the reduction
+     * @param data   the buffer to read from
+     * @param offset the index of the first element
+     * @param n      the number of elements
+     * @param step   the distance between elements
+     * @return the reduced value
+     */
+    public static double reduceVector(Ops.DimensionOp op, DataBuffer data, int offset, int n, int step) {
+        switch (op) {
+            case SUM:
+            case MEAN: {
+                double sum = 0;
+                for (int j = 0, i = offset; j < n; j++, i += step)
+                    sum += data.getDouble(i);
+                return op == Ops.DimensionOp.MEAN ? sum / n : sum;
+            }
+            case PROD: {
+                double prod = 1;
+                for (int j = 0, i = offset; j < n; j++, i += step)
+                    prod *= data.getDouble(i);
+                return prod;
+            }
+            case MAX: {
+                double max = Double.NEGATIVE_INFINITY;
+                for (int j = 0, i = offset; j < n; j++, i += step)
+                    max = Math.max(max, data.getDouble(i));
+                return max;
+            }
+            case MIN: {
+                double min = Double.POSITIVE_INFINITY;
+                for (int j = 0, i = offset; j < n; j++, i += step)
+                    min = Math.min(min, data.getDouble(i));
+                return min;
+            }
+            case NORM_1: {
+                double sum = 0;
+                for (int j = 0, i = offset; j < n; j++, i += step)
+                    sum += Math.abs(data.getDouble(i));
+                return sum;
+            }
+            case NORM_2: {
+                double sum = 0;
+                for (int j = 0, i = offset; j < n; j++, i += step) {
+                    double d = data.getDouble(i);
+                    sum += d * d;
+                }
+                return Math.sqrt(sum);
+            }
+            case NORM_MAX: {
+                double max = 0;
+                for (int j = 0, i = offset; j < n; j++, i += step)
+                    max = Math.max(max, Math.abs(data.getDouble(i)));
+                return max;
+            }
+            case VAR:
+            case STD: {
+                if (n < 2)
+                    return 0;
+                double mean = 0;
+                double m2 = 0;
+                int count = 0;
+                for (int j = 0, i = offset; j < n; j++, i += step) {
+                    double d = data.getDouble(i);
+                    count++;
+                    double delta = d - mean;
+                    mean += delta / count;
+                    m2 += delta * (d - mean);
+                }
+                double var = m2 / (n - 1);
+                return op == Ops.DimensionOp.STD ? Math.sqrt(var) : var;
+            }
+            default:
+                throw new IllegalArgumentException("Illegal operation " + op);
+        }
+    }
+}
@@ -90,7 +90,9 @@ public class Ops {
         NORM_2,
         NORM_1,
         NORM_MAX,
-        FFT
+        FFT,
+        VAR,
+        STD
     }
 
     public static enum MatrixOp {
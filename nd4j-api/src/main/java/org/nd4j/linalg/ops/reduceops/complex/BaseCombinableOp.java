@@ -0,0 +1,129 @@
+/*
+ * Copyright 2015 Skymind,Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.nd4j.linalg.ops.reduceops.complex;
+
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.complex.IComplexNDArray;
+import org.nd4j.linalg.api.complex.IComplexNumber;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.parallel.Parallel;
+
+/**
+ * Base class for complex scalar operations whose partial results can be merged.
+ * They are reduced in chunks read straight from the data buffer.
+ * Chunks run in parallel for large inputs and the partial
+ * results are combined pairwise.
+ *
+ * @author Adam Gibson
+ */
+public abstract class BaseCombinableOp extends BaseScalarOp {
+
+    public BaseCombinableOp(IComplexNumber startingValue) {
+        super(startingValue);
+    }
+
+    @Override
+    public IComplexNumber apply(IComplexNDArray input) {
+        return reduce(input.isVector() ? input : input.linearView());
+    }
+
+    /**
+     * The number of values in a partial result,
+     * by default a real and imaginary pair
+     *
+     * @return the length of a partial result
+     */
+    protected int partialLength() {
+        return 2;
+    }
+
+    /**
+     * Reduce n complex elements of the buffer starting at offset.
+     * The real part of element i is at offset + i * stride,
+     * the imaginary part directly after it.
+     *
+     * @param data   the buffer
+     * @param offset the index of the first element
+     * @param n      the number of elements
+     * @param stride the distance between elements
+     * @param result the partial result (real, imaginary)
+     */
+    protected abstract void reduce(DataBuffer data, int offset, int n, int stride, double[] result);
+
+    /**
+     * Merge the partial result b in to a
+     *
+     * @param a the first partial result, overwritten with the merged result
+     * @param b the second partial result
+     */
+    protected abstract void combine(double[] a, double[] b);
+
+    /**
+     * Turn the combined result in to the final value
+     *
+     * @param accum  the combined result (real, imaginary)
+     * @param length the number of elements reduced
+     * @return the final value
+     */
+    protected IComplexNumber finish(double[] accum, int length) {
+        return Nd4j.createDouble(accum[0], accum[1]);
+    }
+
+    /**
+     * Reduce a vector in chunks and combine the partial results
+     *
+     * @param vector the vector to reduce
+     * @return the reduced value
+     */
+    protected IComplexNumber reduce(IComplexNDArray vector) {
+        final DataBuffer data = vector.data();
+        final int offset = vector.offset();
+        final int stride = vector.majorStride();
+        final int length = vector.length();
+        final double[][] partials = new double[Parallel.numRanges(length)][partialLength()];
+        Parallel.forEachChunk(length, partials.length, new Parallel.ChunkTask() {
+            @Override
+            public void run(int chunk, int from, int to) {
+                reduce(data, offset + from * stride, to - from, stride, partials[chunk]);
+            }
+        });
+
+        return finish(combine(partials, 0, partials.length), length);
+    }
+
+    //pairwise combination keeps the rounding error of long sums down
+    private double[] combine(double[][] partials, int from, int to) {
+        if (to - from == 1)
+            return partials[from];
+        int mid = from + (to - from) / 2;
+        double[] ret = combine(partials, from, mid);
+        combine(ret, combine(partials, mid, to));
+        return ret;
+    }
+
+    /**
+     * The absolute value of a complex number
+     *
+     * @param real the real component
+     * @param imag the imaginary component
+     * @return the absolute value
+     */
+    protected static double abs(double real, double imag) {
+        return Math.sqrt(real * real + imag * imag);
+    }
+
+
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2015 Skymind,Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.nd4j.linalg.ops.reduceops.complex;
+
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.factory.Nd4j;
+
+/**
+ * Base class for ops that sum a term for each element.
+ * Each chunk is summed with Kahan compensated summation
+ * (separately for the real and imaginary components)
+ * and the chunks are combined pairwise.
+ *
+ * @author Adam Gibson
+ */
+public abstract class BaseSumOp extends BaseCombinableOp {
+
+    public BaseSumOp() {
+        super(Nd4j.createDouble(0, 0));
+    }
+
+    /**
+     * The term an element contributes to the sum
+     *
+     * @param real the real component of the element
+     * @param imag the imaginary component of the element
+     * @param term where to write the term (real, imaginary)
+     */
+    protected void term(double real, double imag, double[] term) {
+        term[0] = real;
+        term[1] = imag;
+    }
+
+    @Override
+    protected void reduce(DataBuffer data, int offset, int n, int stride, double[] result) {
+        double[] term = new double[2];
+        double real = 0, imag = 0;
+        double realCompensation = 0, imagCompensation = 0;
+        for (int i = 0, idx = offset; i < n; i++, idx += stride) {
+            term(data.getDouble(idx), data.getDouble(idx + 1), term);
+            double y = term[0] - realCompensation;
+            double t = real + y;
+            realCompensation = (t - real) - y;
+            real = t;
+
+            y = term[1] - imagCompensation;
+            t = imag + y;
+            imagCompensation = (t - imag) - y;
+            imag = t;
+        }
+        result[0] = real;
+        result[1] = imag;
+    }
+
+    @Override
+    protected void combine(double[] a, double[] b) {
+        a[0] += b[0];
+        a[1] += b[1];
+    }
+}
@@ -16,6 +16,7 @@
 
 package org.nd4j.linalg.ops.reduceops.complex;
 
+import org.nd4j.linalg.api.buffer.DataBuffer;
 import org.nd4j.linalg.api.complex.IComplexNDArray;
 import org.nd4j.linalg.api.complex.IComplexNumber;
 import org.nd4j.linalg.factory.Nd4j;
@@ -23,7 +24,7 @@ import org.nd4j.linalg.factory.Nd4j;
 /**
  * @author Adam Gibson
  */
-public class Max extends BaseScalarOp {
+public class Max extends BaseCombinableOp {
     public Max() {
         super(Nd4j.createDouble(Double.MIN_VALUE, 0));
     }
@@ -33,4 +34,26 @@ public class Max extends BaseScalarOp {
         IComplexNumber curr = (IComplexNumber) arr.getScalar(i).element();
         return soFar.absoluteValue().doubleValue() > curr.absoluteValue().doubleValue() ? soFar : curr;
     }
+
+    @Override
+    protected void reduce(DataBuffer data, int offset, int n, int stride, double[] result) {
+        double max = 0;
+        for (int i = 0, idx = offset; i < n; i++, idx += stride) {
+            double real = data.getDouble(idx), imag = data.getDouble(idx + 1);
+            double abs = abs(real, imag);
+            if (abs > max) {
+                max = abs;
+                result[0] = real;
+                result[1] = imag;
+            }
+        }
+    }
+
+    @Override
+    protected void combine(double[] a, double[] b) {
+        if (abs(b[0], b[1]) > abs(a[0], a[1])) {
+            a[0] = b[0];
+            a[1] = b[1];
+        }
+    }
 }
@@ -23,10 +23,9 @@ import org.nd4j.linalg.factory.Nd4j;
 /**
  * @author Adam Gibson
  */
-public class Mean extends BaseScalarOp {
+public class Mean extends BaseSumOp {
 
     public Mean() {
-        super(Nd4j.createDouble(0, 0));
     }
 
     @Override
@@ -39,4 +38,9 @@ public class Mean extends BaseScalarOp {
         }
 
     }
+
+    @Override
+    protected IComplexNumber finish(double[] accum, int length) {
+        return Nd4j.createDouble(accum[0] / length, accum[1] / length);
+    }
 }
@@ -16,6 +16,7 @@
 
 package org.nd4j.linalg.ops.reduceops.complex;
 
+import org.nd4j.linalg.api.buffer.DataBuffer;
 import org.nd4j.linalg.api.complex.IComplexNDArray;
 import org.nd4j.linalg.api.complex.IComplexNumber;
 import org.nd4j.linalg.factory.Nd4j;
@@ -24,7 +25,7 @@ import org.nd4j.linalg.factory.Nd4j;
 /**
  * @author Adam Gibson
  */
-public class Min extends BaseScalarOp {
+public class Min extends BaseCombinableOp {
 
     public Min() {
         super(Nd4j.createDouble(Double.MIN_VALUE, 0));
@@ -35,4 +36,38 @@ public class Min extends BaseScalarOp {
         IComplexNumber curr = arr.getComplex(i);
         return soFar.absoluteValue().doubleValue() < curr.absoluteValue().doubleValue() ? soFar : curr;
     }
+
+    @Override
+    protected void reduce(DataBuffer data, int offset, int n, int stride, double[] result) {
+        //NaN marks a chunk without elements
+        result[0] = Double.NaN;
+        result[1] = Double.NaN;
+        double min = Double.POSITIVE_INFINITY;
+        for (int i = 0, idx = offset; i < n; i++, idx += stride) {
+            double real = data.getDouble(idx), imag = data.getDouble(idx + 1);
+            double abs = abs(real, imag);
+            if (abs < min) {
+                min = abs;
+                result[0] = real;
+                result[1] = imag;
+            }
+        }
+    }
+
+    @Override
+    protected void combine(double[] a, double[] b) {
+        if (Double.isNaN(b[0]))
+            return;
+        if (Double.isNaN(a[0]) || abs(b[0], b[1]) < abs(a[0], a[1])) {
+            a[0] = b[0];
+            a[1] = b[1];
+        }
+    }
+
+    @Override
+    protected IComplexNumber finish(double[] accum, int length) {
+        if (Double.isNaN(accum[0]))
+            return startingValue;
+        return super.finish(accum, length);
+    }
 }
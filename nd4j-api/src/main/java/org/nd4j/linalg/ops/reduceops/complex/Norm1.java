@@ -18,20 +18,24 @@ package org.nd4j.linalg.ops.reduceops.complex;
 
 import org.nd4j.linalg.api.complex.IComplexNDArray;
 import org.nd4j.linalg.api.complex.IComplexNumber;
-import org.nd4j.linalg.factory.Nd4j;
 
 /**
  * Overall norm1 of an ndarray
  *
  * @author Adam Gibson
  */
-public class Norm1 extends BaseScalarOp {
+public class Norm1 extends BaseSumOp {
     public Norm1() {
-        super(Nd4j.createDouble(0, 0));
     }
 
     @Override
     public IComplexNumber accumulate(IComplexNDArray arr, int i, IComplexNumber soFar) {
         return soFar.add(arr.getComplex(i).absoluteValue());
     }
+
+    @Override
+    protected void term(double real, double imag, double[] term) {
+        term[0] = abs(real, imag);
+        term[1] = 0;
+    }
 }
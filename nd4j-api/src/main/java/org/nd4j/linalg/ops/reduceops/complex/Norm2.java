@@ -19,20 +19,32 @@ package org.nd4j.linalg.ops.reduceops.complex;
 import org.nd4j.linalg.api.complex.IComplexNDArray;
 import org.nd4j.linalg.api.complex.IComplexNumber;
 import org.nd4j.linalg.factory.Nd4j;
-import org.nd4j.linalg.util.ComplexUtil;
 
 /**
  * Overall norm2 of an ndarray
  *
  * @author Adam Gibson
  */
-public class Norm2 extends BaseScalarOp {
+public class Norm2 extends BaseSumOp {
     public Norm2() {
-        super(Nd4j.createDouble(0, 0));
     }
 
     @Override
     public IComplexNumber accumulate(IComplexNDArray arr, int i, IComplexNumber soFar) {
-        return soFar.addi(ComplexUtil.pow(arr.getComplex(i), 2));
+        IComplexNumber curr = arr.getComplex(i);
+        double real = curr.realComponent().doubleValue();
+        double imag = curr.imaginaryComponent().doubleValue();
+        return soFar.addi(Nd4j.createDouble(real * real + imag * imag, 0));
+    }
+
+    @Override
+    protected void term(double real, double imag, double[] term) {
+        term[0] = real * real + imag * imag;
+        term[1] = 0;
+    }
+
+    @Override
+    protected IComplexNumber finish(double[] accum, int length) {
+        return Nd4j.createDouble(Math.sqrt(accum[0]), 0);
     }
 }
@@ -16,6 +16,7 @@
 
 package org.nd4j.linalg.ops.reduceops.complex;
 
+import org.nd4j.linalg.api.buffer.DataBuffer;
 import org.nd4j.linalg.api.complex.IComplexNDArray;
 import org.nd4j.linalg.api.complex.IComplexNumber;
 import org.nd4j.linalg.factory.Nd4j;
@@ -26,7 +27,7 @@ import org.nd4j.linalg.util.ComplexUtil;
  *
  * @author Adam Gibson1
  */
-public class NormMax extends BaseScalarOp {
+public class NormMax extends BaseCombinableOp {
     public NormMax() {
         super(Nd4j.createDouble(0, 0));
     }
@@ -36,4 +37,18 @@ public class NormMax extends BaseScalarOp {
         IComplexNumber abs = ComplexUtil.abs(arr.getComplex(i));
         return abs.absoluteValue().doubleValue() > soFar.absoluteValue().doubleValue() ? abs : soFar;
     }
+
+    @Override
+    protected void reduce(DataBuffer data, int offset, int n, int stride, double[] result) {
+        double max = 0;
+        for (int i = 0, idx = offset; i < n; i++, idx += stride)
+            max = Math.max(max, abs(data.getDouble(idx), data.getDouble(idx + 1)));
+        result[0] = max;
+        result[1] = 0;
+    }
+
+    @Override
+    protected void combine(double[] a, double[] b) {
+        a[0] = Math.max(a[0], b[0]);
+    }
 }
@@ -16,6 +16,7 @@
 
 package org.nd4j.linalg.ops.reduceops.complex;
 
+import org.nd4j.linalg.api.buffer.DataBuffer;
 import org.nd4j.linalg.api.complex.IComplexNDArray;
 import org.nd4j.linalg.api.complex.IComplexNumber;
 import org.nd4j.linalg.factory.Nd4j;
@@ -25,14 +26,33 @@ import org.nd4j.linalg.factory.Nd4j;
  *
  * @author Adam Gibson
  */
-public class Prod extends BaseScalarOp {
+public class Prod extends BaseCombinableOp {
 
     public Prod() {
-        super(Nd4j.createDouble(1, 1));
+        super(Nd4j.createDouble(1, 0));
     }
 
     @Override
     public IComplexNumber accumulate(IComplexNDArray arr, int i, IComplexNumber soFar) {
         return soFar.mul(arr.getComplex(i));
     }
+
+    @Override
+    protected void reduce(DataBuffer data, int offset, int n, int stride, double[] result) {
+        result[0] = 1;
+        result[1] = 0;
+        for (int i = 0, idx = offset; i < n; i++, idx += stride)
+            multiply(result, data.getDouble(idx), data.getDouble(idx + 1));
+    }
+
+    @Override
+    protected void combine(double[] a, double[] b) {
+        multiply(a, b[0], b[1]);
+    }
+
+    private static void multiply(double[] a, double real, double imag) {
+        double newReal = a[0] * real - a[1] * imag;
+        a[1] = a[0] * imag + a[1] * real;
+        a[0] = newReal;
+    }
 }
@@ -18,17 +18,15 @@ package org.nd4j.linalg.ops.reduceops.complex;
 
 import org.nd4j.linalg.api.complex.IComplexNDArray;
 import org.nd4j.linalg.api.complex.IComplexNumber;
-import org.nd4j.linalg.factory.Nd4j;
 
 /**
  * Sum over an ndarray
  *
  * @author Adam Gibson
  */
-public class Sum extends BaseScalarOp {
+public class Sum extends BaseSumOp {
 
     public Sum() {
-        super(Nd4j.createDouble(0, 0));
     }
 
     @Override
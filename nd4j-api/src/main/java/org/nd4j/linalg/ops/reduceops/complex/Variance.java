@@ -16,7 +16,7 @@
 
 package org.nd4j.linalg.ops.reduceops.complex;
 
-import org.apache.commons.math3.stat.StatUtils;
+import org.nd4j.linalg.api.buffer.DataBuffer;
 import org.nd4j.linalg.api.complex.IComplexNDArray;
 import org.nd4j.linalg.api.complex.IComplexNumber;
 import org.nd4j.linalg.factory.Nd4j;
@@ -26,22 +26,69 @@ import org.nd4j.linalg.factory.Nd4j;
  *
  * @author Adam Gibson
  */
-public class Variance extends BaseScalarOp {
+public class Variance extends BaseCombinableOp {
 
     public Variance() {
         super(Nd4j.createDouble(0, 0));
     }
 
 
+    /**
+     * Bias corrected variance, the mean of the squared absolute
+     * deviations from the mean, computed in a single pass.
+     * Each chunk of the input is reduced with Welford's update
+     * and the chunks are merged with Chan's formula.
+     *
+     * @param arr the ndarray to get the variance of
+     * @return the variance as a real valued complex number
+     */
     public IComplexNumber var(IComplexNDArray arr) {
-        IComplexNumber mean = new Mean().apply(arr);
-        return Nd4j.createDouble(StatUtils.variance(arr.ravel().data().asDouble(), mean.absoluteValue().floatValue()), 0);
+        return apply(arr);
     }
 
+    //count, real mean, imaginary mean, sum of squared deviations
+    @Override
+    protected int partialLength() {
+        return 4;
+    }
+
+    @Override
+    protected void reduce(DataBuffer data, int offset, int n, int stride, double[] result) {
+        double meanReal = 0, meanImag = 0, m2 = 0;
+        int count = 0;
+        for (int i = 0, idx = offset; i < n; i++, idx += stride) {
+            double real = data.getDouble(idx), imag = data.getDouble(idx + 1);
+            count++;
+            double deltaReal = real - meanReal;
+            double deltaImag = imag - meanImag;
+            meanReal += deltaReal / count;
+            meanImag += deltaImag / count;
+            m2 += deltaReal * (real - meanReal) + deltaImag * (imag - meanImag);
+        }
+        result[0] = count;
+        result[1] = meanReal;
+        result[2] = meanImag;
+        result[3] = m2;
+    }
+
+    @Override
+    protected void combine(double[] a, double[] b) {
+        if (b[0] == 0)
+            return;
+        double total = a[0] + b[0];
+        double deltaReal = b[1] - a[1];
+        double deltaImag = b[2] - a[2];
+        a[3] += b[3] + (deltaReal * deltaReal + deltaImag * deltaImag) * a[0] * b[0] / total;
+        a[1] += deltaReal * b[0] / total;
+        a[2] += deltaImag * b[0] / total;
+        a[0] = total;
+    }
 
     @Override
-    public IComplexNumber apply(IComplexNDArray input) {
-        return var(input);
+    protected IComplexNumber finish(double[] accum, int length) {
+        if (length < 2)
+            return Nd4j.createDouble(0, 0);
+        return Nd4j.createDouble(accum[3] / (length - 1.0), 0);
     }
 
     @Override
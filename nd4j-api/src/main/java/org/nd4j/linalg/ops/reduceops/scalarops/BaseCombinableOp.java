@@ -0,0 +1,117 @@
+/*
+ * Copyright 2015 Skymind,Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.nd4j.linalg.ops.reduceops.scalarops;
+
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.parallel.Parallel;
+
+/**
+ * Base class for scalar operations whose partial results can be merged.
+ * They are reduced in chunks read straight from the data buffer.
+ * Chunks run in parallel for large inputs and the partial
+ * results are combined pairwise.
+ *
+ * @author Adam Gibson
+ */
+public abstract class BaseCombinableOp extends BaseScalarOp {
+
+    public BaseCombinableOp(double startingValue) {
+        super(startingValue);
+    }
+
+    @Override
+    public Double apply(INDArray input) {
+        return reduce(input.isVector() ? input : input.linearView());
+    }
+
+    /**
+     * Fold one element in to a partial result
+     *
+     * @param soFar the partial result
+     * @param value the element
+     * @return the new partial result
+     */
+    protected abstract double update(double soFar, double value);
+
+    /**
+     * Merge the partial results of two chunks
+     *
+     * @param a the first partial result
+     * @param b the second partial result
+     * @return the merged result
+     */
+    protected abstract double combine(double a, double b);
+
+    /**
+     * Turn the combined result in to the final value
+     *
+     * @param accum  the combined result
+     * @param length the number of elements reduced
+     * @return the final value
+     */
+    protected double finish(double accum, int length) {
+        return accum;
+    }
+
+    /**
+     * Reduce n elements of the buffer starting at offset
+     *
+     * @param data   the buffer
+     * @param offset the index of the first element
+     * @param n      the number of elements
+     * @param stride the distance between elements
+     * @return the partial result for the elements
+     */
+    protected double reduce(DataBuffer data, int offset, int n, int stride) {
+        double ret = startingValue;
+        for (int i = 0, idx = offset; i < n; i++, idx += stride)
+            ret = update(ret, data.getDouble(idx));
+        return ret;
+    }
+
+    /**
+     * Reduce a vector in chunks and combine the partial results
+     *
+     * @param vector the vector to reduce
+     * @return the reduced value
+     */
+    protected double reduce(INDArray vector) {
+        final DataBuffer data = vector.data();
+        final int offset = vector.offset();
+        final int stride = vector.majorStride();
+        final int length = vector.length();
+        final double[] partials = new double[Parallel.numRanges(length)];
+        Parallel.forEachChunk(length, partials.length, new Parallel.ChunkTask() {
+            @Override
+            public void run(int chunk, int from, int to) {
+                partials[chunk] = reduce(data, offset + from * stride, to - from, stride);
+            }
+        });
+
+        return finish(combine(partials, 0, partials.length), length);
+    }
+
+    //pairwise combination keeps the rounding error of long sums down
+    private double combine(double[] partials, int from, int to) {
+        if (to - from == 1)
+            return partials[from];
+        int mid = from + (to - from) / 2;
+        return combine(combine(partials, from, mid), combine(partials, mid, to));
+    }
+
+
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2015 Skymind,Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.nd4j.linalg.ops.reduceops.scalarops;
+
+import org.nd4j.linalg.api.buffer.DataBuffer;
+
+/**
+ * Base class for ops that sum a term for each element.
+ * Each chunk is summed with Kahan compensated summation
+ * and the chunks are combined pairwise.
+ *
+ * @author Adam Gibson
+ */
+public abstract class BaseSumOp extends BaseCombinableOp {
+
+    public BaseSumOp() {
+        super(0);
+    }
+
+    /**
+     * The term an element contributes to the sum
+     *
+     * @param value the element
+     * @return the term to add
+     */
+    protected double term(double value) {
+        return value;
+    }
+
+    @Override
+    protected double update(double soFar, double value) {
+        return soFar + term(value);
+    }
+
+    @Override
+    protected double combine(double a, double b) {
+        return a + b;
+    }
+
+    @Override
+    protected double reduce(DataBuffer data, int offset, int n, int stride) {
+        double sum = 0;
+        double compensation = 0;
+        for (int i = 0, idx = offset; i < n; i++, idx += stride) {
+            double y = term(data.getDouble(idx)) - compensation;
+            double t = sum + y;
+            compensation = (t - sum) - y;
+            sum = t;
+        }
+        return sum;
+    }
+}
@@ -23,9 +23,9 @@ import org.nd4j.linalg.api.ndarray.INDArray;
  *
  * @author Adam Gibson
  */
-public class Max extends BaseScalarOp {
+public class Max extends BaseCombinableOp {
     public Max() {
-        super(0.0);
+        super(Double.NEGATIVE_INFINITY);
     }
 
     @Override
@@ -33,4 +33,14 @@ public class Max extends BaseScalarOp {
         double curr = arr.getDouble(i);
         return soFar > curr ? soFar : curr;
     }
+
+    @Override
+    protected double update(double soFar, double value) {
+        return soFar > value ? soFar : value;
+    }
+
+    @Override
+    protected double combine(double a, double b) {
+        return a > b ? a : b;
+    }
 }
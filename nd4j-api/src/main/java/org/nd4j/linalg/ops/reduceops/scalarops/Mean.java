@@ -21,10 +21,9 @@ import org.nd4j.linalg.api.ndarray.INDArray;
 /**
  * @author Adam Gibson
  */
-public class Mean extends BaseScalarOp {
+public class Mean extends BaseSumOp {
 
     public Mean() {
-        super(0);
     }
 
     @Override
@@ -48,4 +47,9 @@ public class Mean extends BaseScalarOp {
         }
 
     }
+
+    @Override
+    protected double finish(double accum, int length) {
+        return accum / length;
+    }
 }
@@ -22,10 +22,10 @@ import org.nd4j.linalg.api.ndarray.INDArray;
 /**
  * @author Adam Gibson
  */
-public class Min extends BaseScalarOp {
+public class Min extends BaseCombinableOp {
 
     public Min() {
-        super(Float.MAX_VALUE);
+        super(Double.POSITIVE_INFINITY);
     }
 
     @Override
@@ -33,4 +33,14 @@ public class Min extends BaseScalarOp {
         double curr = arr.getFloat(i);
         return soFar < curr ? soFar : curr;
     }
+
+    @Override
+    protected double update(double soFar, double value) {
+        return soFar < value ? soFar : value;
+    }
+
+    @Override
+    protected double combine(double a, double b) {
+        return a < b ? a : b;
+    }
 }
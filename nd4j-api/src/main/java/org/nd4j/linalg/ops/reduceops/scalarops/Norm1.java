@@ -23,13 +23,17 @@ import org.nd4j.linalg.api.ndarray.INDArray;
  *
  * @author Adam Gibson
  */
-public class Norm1 extends BaseScalarOp {
+public class Norm1 extends BaseSumOp {
     public Norm1() {
-        super(0);
     }
 
     @Override
     public double accumulate(INDArray arr, int i, double soFar) {
         return soFar + Math.abs(arr.getFloat(i));
     }
+
+    @Override
+    protected double term(double value) {
+        return Math.abs(value);
+    }
 }
@@ -24,9 +24,8 @@ import org.nd4j.linalg.api.ndarray.INDArray;
  *
  * @author Adam Gibson
  */
-public class Norm2 extends BaseScalarOp {
+public class Norm2 extends BaseSumOp {
     public Norm2() {
-        super(0);
     }
 
     @Override
@@ -36,4 +35,14 @@ public class Norm2 extends BaseScalarOp {
             return FastMath.sqrt(ret);
         return ret;
     }
+
+    @Override
+    protected double term(double value) {
+        return value * value;
+    }
+
+    @Override
+    protected double finish(double accum, int length) {
+        return FastMath.sqrt(accum);
+    }
 }
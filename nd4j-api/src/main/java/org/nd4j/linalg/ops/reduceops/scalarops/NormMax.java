@@ -23,7 +23,7 @@ import org.nd4j.linalg.api.ndarray.INDArray;
  *
  * @author Adam Gibson1
  */
-public class NormMax extends BaseScalarOp {
+public class NormMax extends BaseCombinableOp {
     public NormMax() {
         super(0);
     }
@@ -33,4 +33,15 @@ public class NormMax extends BaseScalarOp {
         double abs = Math.abs(arr.getDouble(i));
         return abs > soFar ? abs : soFar;
     }
+
+    @Override
+    protected double update(double soFar, double value) {
+        double abs = Math.abs(value);
+        return abs > soFar ? abs : soFar;
+    }
+
+    @Override
+    protected double combine(double a, double b) {
+        return a > b ? a : b;
+    }
 }
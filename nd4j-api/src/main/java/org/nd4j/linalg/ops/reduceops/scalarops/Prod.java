@@ -23,7 +23,7 @@ import org.nd4j.linalg.api.ndarray.INDArray;
  *
  * @author Adam Gibson
  */
-public class Prod extends BaseScalarOp {
+public class Prod extends BaseCombinableOp {
 
     public Prod() {
         super(1);
@@ -33,4 +33,14 @@ public class Prod extends BaseScalarOp {
     public double accumulate(INDArray arr, int i, double soFar) {
         return soFar * (double) arr.getFloat(i);
     }
+
+    @Override
+    protected double update(double soFar, double value) {
+        return soFar * value;
+    }
+
+    @Override
+    protected double combine(double a, double b) {
+        return a * b;
+    }
 }
@@ -29,16 +29,9 @@ public class StandardDeviation extends BaseScalarOp {
     }
 
     public double std(INDArray arr) {
-        org.apache.commons.math3.stat.descriptive.moment.StandardDeviation dev = new org.apache.commons.math3.stat.descriptive.moment.StandardDeviation();
-        double[] test = new double[arr.length()];
-        INDArray linear = arr.linearView();
-        for (int i = 0; i < linear.length(); i++)
-            test[i] = linear.getDouble(i);
-        double std = dev.evaluate(test);
-        return std;
+        return Math.sqrt(new Variance().var(arr));
     }
 
-
     @Override
     public Double apply(INDArray input) {
         return std(input);
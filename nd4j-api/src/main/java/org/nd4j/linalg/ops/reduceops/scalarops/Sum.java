@@ -23,10 +23,9 @@ import org.nd4j.linalg.api.ndarray.INDArray;
  *
  * @author Adam Gibson
  */
-public class Sum extends BaseScalarOp {
+public class Sum extends BaseSumOp {
 
     public Sum() {
-        super(0);
     }
 
     @Override
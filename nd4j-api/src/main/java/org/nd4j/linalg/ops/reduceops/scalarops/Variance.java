@@ -16,7 +16,9 @@
 
 package org.nd4j.linalg.ops.reduceops.scalarops;
 
+import org.nd4j.linalg.api.buffer.DataBuffer;
 import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.parallel.Parallel;
 
 /**
  * Return the variance of an ndarray
@@ -31,30 +33,62 @@ public class Variance extends BaseScalarOp {
 
 
     /**
-     * Variance (see: apache commons)
+     * Bias corrected variance computed in a single pass.
+     * Each chunk of the input is reduced with Welford's update
+     * and the chunks are merged with Chan's formula.
      *
      * @param arr the ndarray to getDouble the variance of
      * @return the variance for this ndarray
      */
     public double var(INDArray arr) {
-        double mean = new Mean().apply(arr);
-        double accum = 0.0f;
-        double dev = 0.0f;
-        double accum2 = 0.0f;
-        for (int i = 0; i < arr.length(); i++) {
-            dev = arr.getDouble(i) - mean;
-            accum += dev * dev;
-            accum2 += dev;
-        }
+        INDArray vector = arr.isVector() ? arr : arr.linearView();
+        final DataBuffer data = vector.data();
+        final int offset = vector.offset();
+        final int stride = vector.majorStride();
+        int length = vector.length();
+        if (length < 2)
+            return 0;
 
-        double len = arr.length();
-        //bias corrected
-        return (accum - (accum2 * accum2 / len)) / (len - 1.0f);
+        int chunks = Parallel.numRanges(length);
+        final double[] counts = new double[chunks];
+        final double[] means = new double[chunks];
+        final double[] m2s = new double[chunks];
+        Parallel.forEachChunk(length, chunks, new Parallel.ChunkTask() {
+            @Override
+            public void run(int chunk, int from, int to) {
+                double mean = 0;
+                double m2 = 0;
+                int count = 0;
+                for (int i = from, idx = offset + from * stride; i < to; i++, idx += stride) {
+                    double d = data.getDouble(idx);
+                    count++;
+                    double delta = d - mean;
+                    mean += delta / count;
+                    m2 += delta * (d - mean);
+                }
+                counts[chunk] = count;
+                means[chunk] = mean;
+                m2s[chunk] = m2;
+            }
+        });
 
+        double n = counts[0];
+        double mean = means[0];
+        double m2 = m2s[0];
+        for (int i = 1; i < chunks; i++) {
+            if (counts[i] == 0)
+                continue;
+            double delta = means[i] - mean;
+            double total = n + counts[i];
+            mean += delta * counts[i] / total;
+            m2 += m2s[i] + delta * delta * n * counts[i] / total;
+            n = total;
+        }
 
+        //bias corrected
+        return m2 / (n - 1.0);
     }
 
-
     @Override
     public Double apply(INDArray input) {
         return var(input);
@@ -19,12 +19,13 @@ package org.nd4j.linalg.ops.transforms;
 import org.nd4j.linalg.api.complex.IComplexNumber;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.ops.BaseElementWiseOp;
+import org.nd4j.linalg.ops.PrimitiveElementWiseOp;
 import org.nd4j.linalg.util.ComplexUtil;
 
 /**
  * Absolute value
  */
-public class Abs extends BaseElementWiseOp {
+public class Abs extends BaseElementWiseOp implements PrimitiveElementWiseOp {
     /**
      * The transformation for a given value (a scalar ndarray)
      *
@@ -37,7 +38,17 @@ public class Abs extends BaseElementWiseOp {
         if (value instanceof IComplexNumber) {
             return ComplexUtil.abs((org.nd4j.linalg.api.complex.IComplexNumber) value);
         }
-        return Math.abs((double) value);
+        return apply((double) value);
+    }
+
+    @Override
+    public double apply(double value) {
+        return Math.abs(value);
+    }
+
+    @Override
+    public float apply(float value) {
+        return Math.abs(value);
     }
 
     @Override
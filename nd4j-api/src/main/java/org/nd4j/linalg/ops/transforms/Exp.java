@@ -21,6 +21,7 @@ import org.nd4j.linalg.api.buffer.DataBuffer;
 import org.nd4j.linalg.api.complex.IComplexNumber;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.ops.BaseElementWiseOp;
+import org.nd4j.linalg.ops.PrimitiveElementWiseOp;
 import org.nd4j.linalg.util.ComplexUtil;
 
 /**
@@ -28,7 +29,7 @@ import org.nd4j.linalg.util.ComplexUtil;
  *
  * @author Adam Gibson
  */
-public class Exp extends BaseElementWiseOp {
+public class Exp extends BaseElementWiseOp implements PrimitiveElementWiseOp {
     /**
      * The transformation for a given value (a scalar ndarray)
      *
@@ -42,20 +43,9 @@ public class Exp extends BaseElementWiseOp {
             IComplexNumber c = (IComplexNumber) value;
             return ComplexUtil.exp(c);
         } else {
-            if (from.data().dataType() == (DataBuffer.FLOAT)) {
-                double val = (double) value;
-                return FastMath.exp(val);
-            } else {
-                double val = (double) value;
-                if (val < 0) {
-                    double ret = FastMath.exp(val);
-                    return ret;
-                } else
-                    return Math.exp(val);
-
-
-            }
-
+            if (from != null && from.data().dataType() == (DataBuffer.FLOAT))
+                return FastMath.exp((double) value);
+            return apply((double) value);
         }
 
     }
@@ -70,6 +60,18 @@ public class Exp extends BaseElementWiseOp {
         return Double.longBitsToDouble((tmp - error) << 32);
     }
 
+    @Override
+    public double apply(double value) {
+        if (value < 0)
+            return FastMath.exp(value);
+        return Math.exp(value);
+    }
+
+    @Override
+    public float apply(float value) {
+        return (float) FastMath.exp(value);
+    }
+
     @Override
     public String name() {
         return "exp";
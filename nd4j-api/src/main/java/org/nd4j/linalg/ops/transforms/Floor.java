@@ -16,11 +16,11 @@
 
 package org.nd4j.linalg.ops.transforms;
 
-import org.nd4j.linalg.api.buffer.DataBuffer;
 import org.nd4j.linalg.api.complex.IComplexNumber;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.linalg.ops.BaseElementWiseOp;
+import org.nd4j.linalg.ops.PrimitiveElementWiseOp;
 import org.nd4j.linalg.util.ComplexUtil;
 
 /**
@@ -28,7 +28,7 @@ import org.nd4j.linalg.util.ComplexUtil;
  *
  * @author Adam Gibson
  */
-public class Floor extends BaseElementWiseOp {
+public class Floor extends BaseElementWiseOp implements PrimitiveElementWiseOp {
     /**
      * The transformation for a given value (a scalar ndarray)
      *
@@ -42,13 +42,19 @@ public class Floor extends BaseElementWiseOp {
             IComplexNumber c = (IComplexNumber) value;
             return Nd4j.scalar(ComplexUtil.floor(c));
         }
-        if (from.data().dataType() == (DataBuffer.FLOAT)) {
-            float val = (float) value;
-            return (float) Math.floor(val);
-        }
+        if (value instanceof Float)
+            return apply((float) value);
+        return apply((double) value);
+    }
+
+    @Override
+    public double apply(double value) {
+        return Math.floor(value);
+    }
 
-        double val = (double) value;
-        return Math.floor(val);
+    @Override
+    public float apply(float value) {
+        return (float) Math.floor(value);
     }
 
     @Override
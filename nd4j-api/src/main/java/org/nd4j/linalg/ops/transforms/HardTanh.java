@@ -20,6 +20,7 @@ import org.nd4j.linalg.api.complex.IComplexNumber;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.linalg.ops.BaseElementWiseOp;
+import org.nd4j.linalg.ops.PrimitiveElementWiseOp;
 import org.nd4j.linalg.util.ComplexUtil;
 
 /**
@@ -29,7 +30,7 @@ import org.nd4j.linalg.util.ComplexUtil;
  *
  * @author Adam Gibson
  */
-public class HardTanh extends BaseElementWiseOp {
+public class HardTanh extends BaseElementWiseOp implements PrimitiveElementWiseOp {
 
 
     /**
@@ -50,17 +51,26 @@ public class HardTanh extends BaseElementWiseOp {
                 ret.set(1, ret.imaginaryComponent().doubleValue());
             return Nd4j.scalar(ret);
         } else {
-            double d = (double) value;
-            double ret = Math.tanh(d);
-            if (ret < -1)
-                return -1;
-            else if (ret > 1)
-                return (double) 1;
-            else
-                return ret;
+            return apply((double) value);
         }
     }
 
+    @Override
+    public double apply(double value) {
+        double ret = Math.tanh(value);
+        if (ret < -1)
+            return -1;
+        else if (ret > 1)
+            return 1;
+        else
+            return ret;
+    }
+
+    @Override
+    public float apply(float value) {
+        return (float) apply((double) value);
+    }
+
     @Override
     public String name() {
         return "hardtanh";
@@ -18,13 +18,14 @@ package org.nd4j.linalg.ops.transforms;
 
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.ops.BaseElementWiseOp;
+import org.nd4j.linalg.ops.PrimitiveElementWiseOp;
 
 /**
  * The identity function
  *
  * @author Adam Gibson
  */
-public class Identity extends BaseElementWiseOp {
+public class Identity extends BaseElementWiseOp implements PrimitiveElementWiseOp {
     /**
      * The transformation for a given value (a scalar ndarray)
      *
@@ -37,6 +38,16 @@ public class Identity extends BaseElementWiseOp {
         return value;
     }
 
+    @Override
+    public double apply(double value) {
+        return value;
+    }
+
+    @Override
+    public float apply(float value) {
+        return value;
+    }
+
     @Override
     public String name() {
         return "identity";
@@ -20,6 +20,7 @@ import org.nd4j.linalg.api.complex.IComplexNumber;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.linalg.ops.BaseElementWiseOp;
+import org.nd4j.linalg.ops.PrimitiveElementWiseOp;
 import org.nd4j.linalg.util.ComplexUtil;
 
 /**
@@ -27,7 +28,7 @@ import org.nd4j.linalg.util.ComplexUtil;
  *
  * @author Adam Gibson
  */
-public class Log extends BaseElementWiseOp {
+public class Log extends BaseElementWiseOp implements PrimitiveElementWiseOp {
     /**
      * The transformation for a given value (a scalar ndarray)
      *
@@ -40,12 +41,22 @@ public class Log extends BaseElementWiseOp {
         if (value instanceof IComplexNumber) {
             return ComplexUtil.abs((org.nd4j.linalg.api.complex.IComplexNumber) value);
         }
-        double ret = Math.log((double) value);
+        return apply((double) value);
+    }
+
+    @Override
+    public double apply(double value) {
+        double ret = Math.log(value);
         if (Double.isNaN(ret) || Double.isInfinite(ret))
             return Nd4j.EPS_THRESHOLD;
         return ret;
     }
 
+    @Override
+    public float apply(float value) {
+        return (float) apply((double) value);
+    }
+
     @Override
     public String name() {
         return "log";
@@ -19,13 +19,14 @@ package org.nd4j.linalg.ops.transforms;
 import org.nd4j.linalg.api.complex.IComplexNumber;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.ops.BaseElementWiseOp;
+import org.nd4j.linalg.ops.PrimitiveElementWiseOp;
 
 /**
  * Max function. (The max of zero and a number)
  *
  * @author Adam Gibson
  */
-public class Max extends BaseElementWiseOp {
+public class Max extends BaseElementWiseOp implements PrimitiveElementWiseOp {
     private Number max = 0;
 
     public Max(Double max) {
@@ -59,8 +60,17 @@ public class Max extends BaseElementWiseOp {
             return num.set(max, num.imaginaryComponent());
         }
 
-        double val = (double) value;
-        return Math.max(max.doubleValue(), val);
+        return apply((double) value);
+    }
+
+    @Override
+    public double apply(double value) {
+        return Math.max(max.doubleValue(), value);
+    }
+
+    @Override
+    public float apply(float value) {
+        return Math.max(max.floatValue(), value);
     }
 
     @Override
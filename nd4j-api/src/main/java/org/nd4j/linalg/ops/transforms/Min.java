@@ -19,13 +19,14 @@ package org.nd4j.linalg.ops.transforms;
 import org.nd4j.linalg.api.complex.IComplexNumber;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.ops.BaseElementWiseOp;
+import org.nd4j.linalg.ops.PrimitiveElementWiseOp;
 
 /**
  * Min function
  *
  * @author Adam Gibson
  */
-public class Min extends BaseElementWiseOp {
+public class Min extends BaseElementWiseOp implements PrimitiveElementWiseOp {
     private Number min = 0;
 
     public Min(Double min) {
@@ -59,8 +60,17 @@ public class Min extends BaseElementWiseOp {
             return num.set(min, num.imaginaryComponent());
         }
 
-        double val = (double) value;
-        return Math.min(min.doubleValue(), val);
+        return apply((double) value);
+    }
+
+    @Override
+    public double apply(double value) {
+        return Math.min(min.doubleValue(), value);
+    }
+
+    @Override
+    public float apply(float value) {
+        return Math.min(min.floatValue(), value);
     }
 
     @Override
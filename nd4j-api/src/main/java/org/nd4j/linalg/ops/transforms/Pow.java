@@ -19,6 +19,7 @@ package org.nd4j.linalg.ops.transforms;
 import org.nd4j.linalg.api.complex.IComplexNumber;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.ops.BaseElementWiseOp;
+import org.nd4j.linalg.ops.PrimitiveElementWiseOp;
 import org.nd4j.linalg.util.ComplexUtil;
 
 /**
@@ -26,7 +27,7 @@ import org.nd4j.linalg.util.ComplexUtil;
  *
  * @author Adam Gibson
  */
-public class Pow extends BaseElementWiseOp {
+public class Pow extends BaseElementWiseOp implements PrimitiveElementWiseOp {
 
 
     private double power;
@@ -89,12 +90,21 @@ public class Pow extends BaseElementWiseOp {
             IComplexNumber n = (IComplexNumber) value;
             return ComplexUtil.pow(n, power);
         }
-        double d = (double) value;
-        if(power != 0)
-            return Math.pow(d,power);
-        else if(floatPower != 0)
-            return Math.pow(d,floatPower);
-        return Math.pow(d,power);
+        return apply((double) value);
+    }
+
+    @Override
+    public double apply(double value) {
+        if (power != 0)
+            return Math.pow(value, power);
+        else if (floatPower != 0)
+            return Math.pow(value, floatPower);
+        return Math.pow(value, power);
+    }
+
+    @Override
+    public float apply(float value) {
+        return (float) apply((double) value);
     }
 
     @Override
@@ -19,6 +19,7 @@ package org.nd4j.linalg.ops.transforms;
 import org.nd4j.linalg.api.complex.IComplexNumber;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.ops.BaseElementWiseOp;
+import org.nd4j.linalg.ops.PrimitiveElementWiseOp;
 import org.nd4j.linalg.util.ComplexUtil;
 
 /**
@@ -26,7 +27,7 @@ import org.nd4j.linalg.util.ComplexUtil;
  *
  * @author Adam Gibson
  */
-public class Round extends BaseElementWiseOp {
+public class Round extends BaseElementWiseOp implements PrimitiveElementWiseOp {
     /**
      * The transformation for a given value (a scalar ndarray)
      *
@@ -39,12 +40,21 @@ public class Round extends BaseElementWiseOp {
         if (value instanceof IComplexNumber) {
             return ComplexUtil.round((org.nd4j.linalg.api.complex.IComplexNumber) value);
         } else {
-            double val = (double) value;
-            return (double) Math.round(val);
+            return apply((double) value);
         }
 
     }
 
+    @Override
+    public double apply(double value) {
+        return Math.round(value);
+    }
+
+    @Override
+    public float apply(float value) {
+        return Math.round(value);
+    }
+
     @Override
     public String name() {
         return "round";
@@ -21,13 +21,14 @@ import org.nd4j.linalg.api.complex.IComplexNumber;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.linalg.ops.BaseElementWiseOp;
+import org.nd4j.linalg.ops.PrimitiveElementWiseOp;
 
 /**
  * Sigmoid operation
  *
  * @author Adam Gibson
  */
-public class Sigmoid extends BaseElementWiseOp {
+public class Sigmoid extends BaseElementWiseOp implements PrimitiveElementWiseOp {
     /**
      * The transformation for a given value (a scalar ndarray)
      *
@@ -45,16 +46,25 @@ public class Sigmoid extends BaseElementWiseOp {
             return Nd4j.createDouble(ret, 0);
 
         } else {
-            double inputf = (double) input;
-            double val = 1 / (1 + FastMath.exp(-inputf));
-            if (Nd4j.ENFORCE_NUMERICAL_STABILITY) {
-                if (Double.isNaN(val) || Double.isInfinite(val))
-                    val = Nd4j.EPS_THRESHOLD;
-            }
-            return val;
+            return apply((double) input);
         }
     }
 
+    @Override
+    public double apply(double value) {
+        double val = 1 / (1 + FastMath.exp(-value));
+        if (Nd4j.ENFORCE_NUMERICAL_STABILITY) {
+            if (Double.isNaN(val) || Double.isInfinite(val))
+                val = Nd4j.EPS_THRESHOLD;
+        }
+        return val;
+    }
+
+    @Override
+    public float apply(float value) {
+        return (float) apply((double) value);
+    }
+
     @Override
     public String name() {
         return "sigmoid";
@@ -20,13 +20,14 @@ import org.nd4j.linalg.api.complex.IComplexNumber;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.linalg.ops.BaseElementWiseOp;
+import org.nd4j.linalg.ops.PrimitiveElementWiseOp;
 
 /**
  * Signum function
  *
  * @author Adam Gibson
  */
-public class Sign extends BaseElementWiseOp {
+public class Sign extends BaseElementWiseOp implements PrimitiveElementWiseOp {
     /**
      * The transformation for a given value (a scalar ndarray)
      *
@@ -47,16 +48,25 @@ public class Sign extends BaseElementWiseOp {
                 return Nd4j.createDouble(val, 0);
             }
         } else {
-            double n = (double) value;
-            if (n < 0)
-                return (double) -1;
-            else if (n > 0)
-                return (double) 1;
-            return (double) 0;
+            return apply((double) value);
         }
 
     }
 
+    @Override
+    public double apply(double value) {
+        if (value < 0)
+            return -1;
+        else if (value > 0)
+            return 1;
+        return 0;
+    }
+
+    @Override
+    public float apply(float value) {
+        return (float) apply((double) value);
+    }
+
     @Override
     public String name() {
         return "sign";
@@ -20,6 +20,7 @@ import org.apache.commons.math3.util.FastMath;
 import org.nd4j.linalg.api.complex.IComplexNumber;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.ops.BaseElementWiseOp;
+import org.nd4j.linalg.ops.PrimitiveElementWiseOp;
 import org.nd4j.linalg.util.ComplexUtil;
 
 /**
@@ -27,7 +28,7 @@ import org.nd4j.linalg.util.ComplexUtil;
  *
  * @author Adam Gibson
  */
-public class Sqrt extends BaseElementWiseOp {
+public class Sqrt extends BaseElementWiseOp implements PrimitiveElementWiseOp {
     /**
      * The transformation for a given value (a scalar ndarray)
      *
@@ -41,7 +42,17 @@ public class Sqrt extends BaseElementWiseOp {
             return ComplexUtil.sqrt((org.nd4j.linalg.api.complex.IComplexNumber) value);
         }
 
-        return FastMath.sqrt((double) value);
+        return apply((double) value);
+    }
+
+    @Override
+    public double apply(double value) {
+        return FastMath.sqrt(value);
+    }
+
+    @Override
+    public float apply(float value) {
+        return (float) FastMath.sqrt(value);
     }
 
     @Override
@@ -21,6 +21,7 @@ import org.nd4j.linalg.api.complex.IComplexNumber;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.linalg.ops.BaseElementWiseOp;
+import org.nd4j.linalg.ops.PrimitiveElementWiseOp;
 
 /**
  * Ensures numerical stability.
@@ -29,7 +30,9 @@ import org.nd4j.linalg.ops.BaseElementWiseOp;
  *
  * @author Adam Gibson
  */
-public class Stabilize extends BaseElementWiseOp {
+public class Stabilize extends BaseElementWiseOp implements PrimitiveElementWiseOp {
+    //log of the smallest normal float
+    private static final double CUT_OFF = FastMath.log(1.1755e-38f);
     private double k = 1;
 
     public Stabilize(Double k) {
@@ -68,18 +71,27 @@ public class Stabilize extends BaseElementWiseOp {
 
 
         } else {
-            double curr = (double) value;
-            if (curr * k > -cutOff)
-                return -cutOff / k;
-            else if (curr * k < cutOff)
-                return cutOff / k;
-
+            return apply((double) value);
         }
 
 
         return value;
     }
 
+    @Override
+    public double apply(double value) {
+        if (value * k > -CUT_OFF)
+            return -CUT_OFF / k;
+        else if (value * k < CUT_OFF)
+            return CUT_OFF / k;
+        return value;
+    }
+
+    @Override
+    public float apply(float value) {
+        return (float) apply((double) value);
+    }
+
     @Override
     public String name() {
         return "stabilize";
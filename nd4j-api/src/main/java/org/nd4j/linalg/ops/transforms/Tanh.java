@@ -20,6 +20,7 @@ import org.apache.commons.math3.util.FastMath;
 import org.nd4j.linalg.api.complex.IComplexNumber;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.ops.BaseElementWiseOp;
+import org.nd4j.linalg.ops.PrimitiveElementWiseOp;
 import org.nd4j.linalg.util.ComplexUtil;
 
 /**
@@ -27,7 +28,7 @@ import org.nd4j.linalg.util.ComplexUtil;
  *
  * @author Adam Gibson
  */
-public class Tanh extends BaseElementWiseOp {
+public class Tanh extends BaseElementWiseOp implements PrimitiveElementWiseOp {
 
 
     /**
@@ -43,11 +44,20 @@ public class Tanh extends BaseElementWiseOp {
             IComplexNumber element = (IComplexNumber) value;
             return ComplexUtil.tanh(element);
         } else {
-            double d = (double) value;
-            return FastMath.tanh(d);
+            return apply((double) value);
         }
     }
 
+    @Override
+    public double apply(double value) {
+        return FastMath.tanh(value);
+    }
+
+    @Override
+    public float apply(float value) {
+        return (float) FastMath.tanh(value);
+    }
+
     @Override
     public String name() {
         return "tanh";
@@ -18,8 +18,14 @@ package org.nd4j.linalg.ops.transforms;
 
 import org.junit.Test;
 import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.convolution.Pooling;
 import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.indexing.conditions.Conditions;
+import org.nd4j.linalg.ops.ElementWiseOpCompose;
+import org.nd4j.linalg.ops.factory.ElementWiseOpFactories;
+import org.nd4j.linalg.transformation.AddScalar;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 
 
@@ -33,14 +39,46 @@ public abstract class TransformTests {
     public void testPooling() {
         INDArray twoByTwo = Nd4j.ones(new int[]{2, 2, 2});
         INDArray pool = Transforms.pool(twoByTwo, new int[]{1, 2});
-
+        assertEquals(Nd4j.valueArrayOf(new int[]{2, 2, 2}, 2), pool);
     }
 
     @Test
     public void testMaxPooling() {
         INDArray nd = Nd4j.rand(new int[]{1, 2, 3, 4});
         INDArray pool = Transforms.maxPool(nd, new int[]{1, 2}, false);
+        assertArrayEquals(new int[]{1, 2, 3, 2}, pool.shape());
         pool = Transforms.maxPool(nd, new int[]{1, 2}, true);
+        assertEquals(Math.max(nd.getDouble(0, 1, 2, 2), nd.getDouble(0, 1, 2, 3)), pool.getDouble(0, 1, 2, 1), 1e-6);
+    }
+
+    @Test
+    public void testPoolingKernels() {
+        INDArray image = Nd4j.create(new int[]{2, 1, 4, 4});
+        for (int i = 0; i < 2; i++)
+            for (int r = 0; r < 4; r++)
+                for (int c = 0; c < 4; c++)
+                    image.putScalar(new int[]{i, 0, r, c}, i * 16 + r * 4 + c + 1);
+
+        INDArray argMax = Nd4j.create(new int[]{2, 1, 2, 2});
+        INDArray max = Pooling.maxPool(image, new int[]{2, 2}, new int[]{2, 2}, true, argMax);
+        INDArray avg = Pooling.avgPool(image, new int[]{2, 2}, new int[]{2, 2}, true);
+        INDArray clipped = Pooling.maxPool(image, new int[]{3, 3}, new int[]{2, 2}, false);
+        double[] expectedMax = {6, 8, 14, 16};
+        double[] expectedAvg = {3.5, 5.5, 11.5, 13.5};
+        double[] expectedClipped = {11, 12, 15, 16};
+        for (int i = 0; i < 2; i++)
+            for (int j = 0; j < 4; j++) {
+                int[] index = {i, 0, j / 2, j % 2};
+                assertEquals(expectedMax[j] + i * 16, max.getDouble(index), 1e-6);
+                assertEquals(expectedMax[j] - 1, argMax.getDouble(index), 1e-6);
+                assertEquals(expectedAvg[j] + i * 16, avg.getDouble(index), 1e-6);
+                assertEquals(expectedClipped[j] + i * 16, clipped.getDouble(index), 1e-6);
+            }
+
+        INDArray gradient = Pooling.maxUnpool(Nd4j.ones(new int[]{2, 1, 2, 2}), argMax, image.shape());
+        assertEquals(8, gradient.sum(Integer.MAX_VALUE).getDouble(0), 1e-6);
+        assertEquals(1, gradient.getDouble(1, 0, 1, 1), 1e-6);
+        assertEquals(0, gradient.getDouble(1, 0, 0, 0), 1e-6);
     }
 
 
@@ -51,5 +89,23 @@ public abstract class TransformTests {
         assertEquals(Nd4j.valueArrayOf(2, 4), pow);
     }
 
+    @Test
+    public void testFusedCompose() {
+        INDArray in = Nd4j.linspace(1, 4, 4);
+        INDArray result = Nd4j.create(4);
+        new ElementWiseOpCompose()
+                .op(ElementWiseOpFactories.exp().create())
+                .transform(new AddScalar(1))
+                .op(ElementWiseOpFactories.log().create())
+                .replaceWhere(Conditions.greaterThan(3), 3)
+                .exec(in, result);
+
+        assertEquals(Nd4j.linspace(1, 4, 4), in);
+        for (int i = 0; i < result.length(); i++) {
+            double expected = Math.min(Math.log(Math.exp(i + 1) + 1), 3);
+            assertEquals(expected, result.getDouble(i), 1e-3);
+        }
+    }
+
 
 }
@@ -20,9 +20,8 @@ import org.nd4j.linalg.api.buffer.DataBuffer;
 import org.nd4j.linalg.api.complex.IComplexNDArray;
 import org.nd4j.linalg.api.complex.IComplexNumber;
 import org.nd4j.linalg.api.ndarray.INDArray;
-import org.nd4j.linalg.convolution.Convolution;
+import org.nd4j.linalg.convolution.Pooling;
 import org.nd4j.linalg.factory.Nd4j;
-import org.nd4j.linalg.indexing.NDArrayIndex;
 import org.nd4j.linalg.ops.ArrayOps;
 import org.nd4j.linalg.ops.ElementWiseOp;
 import org.nd4j.linalg.ops.factory.ElementWiseOpFactories;
@@ -38,90 +37,43 @@ public class Transforms {
 
 
     /**
-     * Max pooling
+     * Max pooling over the last two dimensions
+     * of a tensor of shape [batch, channels, rows, columns]
+     * with non overlapping windows
      *
-     * @param input
-     * @param ds    the strides with which to pool expectations
-     * @return
-     * @parma ignoreBorder whether to ignore the borders of images
+     * @param input        the ndarray to pool
+     * @param ds           the size of the windows along rows and columns
+     * @param ignoreBorder whether to drop windows hanging over the edge of the images
+     * @return the pooled ndarray
      */
     public static INDArray maxPool(INDArray input, int[] ds, boolean ignoreBorder) {
-        assert input.length() >= 2 : "Max pooling requires an ndarray of >= length 2";
-        assert ds.length == 2 : "Down sampling must be of length 2 (the factors used for each image size";
-        assert input.shape().length == 4 : "Only supports 4 dimensional tensors";
-        int batchSize = ArrayUtil.prod(new int[]{input.size(0) * input.size(1)});
-        //possibly look at a input implementation instead (looping over the outer dimension slice wise with calling input repeatedly)
-        //use the given rows and columns if ignoring borders
-        int rows = input.size(2);
-        int cols = input.size(3);
-
-        INDArray signalNDArray = input.reshape(batchSize, 1, rows, cols);
-        INDArray zz = Nd4j.create(signalNDArray.shape()).assign(Float.MIN_VALUE);
-
-        int rowIter = ignoreBorder ? rows / (int) Math.pow(ds[0], 2) : rows;
-        int colIter = ignoreBorder ? cols / (int) Math.pow(ds[1], 2) : cols;
-
-        for (int i = 0; i < signalNDArray.size(0); i++) {
-            for (int j = 0; j < signalNDArray.size(1); j++) {
-                for (int k = 0; k < rowIter; k++) {
-                    int zk = k / ds[0];
-                    for (int l = 0; l < colIter; l++) {
-                        int zl = l / ds[1];
-                        double num = input.getDouble(i, j, k, l);
-                        double zzGet = zz.getDouble(i, j, zk, zl);
-                        zz.putScalar(new int[]{i, j, zk, zl}, Math.max(num, zzGet));
-                    }
-                }
-            }
-        }
-
-        return zz.reshape(signalNDArray.shape());
+        return Pooling.maxPool(input, ds, ds, ignoreBorder);
     }
 
     /**
-     * Down sampling a signal (specifically the first 2 dimensions)
+     * Down sampling a signal (specifically the last 2 dimensions)
+     * by averaging non overlapping windows
      *
-     * @param d1
-     * @param stride
-     * @return
+     * @param d1     the signal to down sample
+     * @param stride the size of the windows along rows and columns
+     * @return the down sampled signal
      */
     public static INDArray downSample(INDArray d1, int[] stride) {
-        INDArray d = Nd4j.ones(stride);
-        d.divi(ArrayUtil.prod(stride));
-        INDArray ret = Convolution.convn(d1, d, Convolution.Type.VALID);
-        ret = ret.get(NDArrayIndex.interval(0, stride[0]), NDArrayIndex.interval(0, stride[1]));
-        return ret;
+        return Pooling.avgPool(d1, stride, stride, true);
     }
 
 
     /**
-     * Pooled expectations
+     * Pooled expectations: every element is replaced
+     * by the sum of the block it lies in
      *
      * @param toPool the ndarray to pool
      * @param stride the 2d stride across the ndarray
-     * @return
+     * @return an ndarray of the shape of toPool holding the block sums
      */
     public static INDArray pool(INDArray toPool, int[] stride) {
-
-        int nDims = toPool.shape().length;
-        assert nDims == 3 : "NDArray must have 3 dimensions";
-        int nRows = toPool.shape()[nDims - 2];
-        int nCols = toPool.shape()[nDims - 1];
-        int yStride = stride[0], xStride = stride[1];
-        INDArray blocks = Nd4j.create(toPool.shape());
-        for (int iR = 0; iR < Math.ceil(nRows / yStride); iR++) {
-            NDArrayIndex rows = NDArrayIndex.interval(iR * yStride, iR * yStride, true);
-            for (int jC = 0; jC < Math.ceil(nCols / xStride); jC++) {
-                NDArrayIndex cols = NDArrayIndex.interval(jC * xStride, (jC * xStride) + 1, true);
-                INDArray blockVal = toPool.get(rows, cols).sum(toPool.shape().length - 1).sum(toPool.shape().length - 1);
-                blocks.put(
-                        new NDArrayIndex[]{rows, cols},
-                        blockVal.permute(new int[]{1, 2, 0}))
-                        .repmat(new int[]{rows.length(), cols.length()});
-            }
-        }
-
-        return blocks;
+        INDArray sums = Pooling.pool(toPool, stride, stride, false, Pooling.Type.SUM, null);
+        return Pooling.upsample(sums, stride, toPool.shape());
     }
 
     /**
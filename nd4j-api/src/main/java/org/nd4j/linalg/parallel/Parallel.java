@@ -0,0 +1,259 @@
+/*
+ * Copyright 2015 Skymind,Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.nd4j.linalg.parallel;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fork join execution of loops over large buffers.
+ *
+ * A loop of n iterations is split in to contiguous ranges which are
+ * run on a shared {@link ForkJoinPool}. Loops shorter than the threshold
+ * run on the calling thread.
+ *
+ * The threshold and pool size are configured via
+ * {@link org.nd4j.linalg.factory.Nd4j#PARALLEL_THRESHOLD} and
+ * {@link org.nd4j.linalg.factory.Nd4j#PARALLEL_POOL_SIZE}
+ * in nd4j.properties.
+ *
+ * @author Adam Gibson
+ */
+public class Parallel {
+
+    public final static int DEFAULT_THRESHOLD = 1 << 16;
+    //number of ranges per thread, extra ranges balance uneven work
+    private final static int RANGES_PER_THREAD = 4;
+
+    private static volatile int threshold = DEFAULT_THRESHOLD;
+    private static volatile int poolSize = Runtime.getRuntime().availableProcessors();
+    private static volatile ForkJoinPool pool;
+
+    private Parallel() {
+    }
+
+    /**
+     * A loop body over the iterations [from, to)
+     */
+    public interface RangeTask {
+        /**
+         * Run the iterations from (inclusive) to to (exclusive)
+         *
+         * @param from the first iteration
+         * @param to   the end of the range (exclusive)
+         */
+        void run(int from, int to);
+    }
+
+    /**
+     * A loop body over one of the chunks a loop is split in to
+     */
+    public interface ChunkTask {
+        /**
+         * Run the iterations from (inclusive) to to (exclusive)
+         *
+         * @param chunk the index of the chunk
+         * @param from  the first iteration
+         * @param to    the end of the chunk (exclusive)
+         */
+        void run(int chunk, int from, int to);
+    }
+
+    /**
+     * The minimum number of iterations
+     * for a loop to be run in parallel
+     *
+     * @return the threshold
+     */
+    public static int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Set the minimum number of iterations
+     * for a loop to be run in parallel
+     *
+     * @param threshold the threshold
+     */
+    public static void setThreshold(int threshold) {
+        if (threshold < 1)
+            throw new IllegalArgumentException("Threshold must be >= 1");
+        Parallel.threshold = threshold;
+    }
+
+    /**
+     * The number of threads used for parallel loops
+     *
+     * @return the pool size
+     */
+    public static int getPoolSize() {
+        return poolSize;
+    }
+
+    /**
+     * Set the number of threads used for parallel loops.
+     * A pool size of 1 runs everything on the calling thread.
+     *
+     * @param poolSize the pool size
+     */
+    public static synchronized void setPoolSize(int poolSize) {
+        if (poolSize < 1)
+            throw new IllegalArgumentException("Pool size must be >= 1");
+        if (poolSize == Parallel.poolSize)
+            return;
+        Parallel.poolSize = poolSize;
+        if (pool != null) {
+            pool.shutdown();
+            pool = null;
+        }
+    }
+
+    /**
+     * Whether a loop of the given length would be run in parallel
+     *
+     * @param n the number of iterations
+     * @return true if the loop is split across the pool
+     */
+    public static boolean isParallel(int n) {
+        return poolSize > 1 && n >= threshold;
+    }
+
+    /**
+     * The number of ranges a loop of the given
+     * length is split in to
+     *
+     * @param n the number of iterations
+     * @return the number of ranges
+     */
+    public static int numRanges(int n) {
+        if (!isParallel(n))
+            return 1;
+        int ranges = poolSize * RANGES_PER_THREAD;
+        //keep each range at least half the threshold long
+        int maxRanges = Math.max(1, n / Math.max(1, threshold / 2));
+        return Math.min(ranges, maxRanges);
+    }
+
+    /**
+     * Run the iterations [0, n) of the task,
+     * in parallel when n is above the threshold.
+     * Ranges are disjoint so tasks writing to
+     * distinct indices give deterministic results.
+     *
+     * @param n    the number of iterations
+     * @param task the loop body
+     */
+    public static void forEach(int n, RangeTask task) {
+        if (n <= 0)
+            return;
+        int ranges = numRanges(n);
+        if (ranges <= 1) {
+            task.run(0, n);
+            return;
+        }
+
+        pool().invoke(new RangeAction(task, 0, n, (n + ranges - 1) / ranges));
+    }
+
+    /**
+     * Run the iterations [0, n) of the task where each
+     * iteration does a non trivial amount of work
+     * (for example reducing a whole vector).
+     * The loop is split when the total work is above the threshold.
+     *
+     * @param n    the number of iterations
+     * @param work the total number of elements touched by the loop
+     * @param task the loop body
+     */
+    public static void forEach(int n, long work, RangeTask task) {
+        if (n <= 0)
+            return;
+        int ranges = poolSize > 1 && work >= threshold ? Math.min(n, poolSize * RANGES_PER_THREAD) : 1;
+        if (ranges <= 1) {
+            task.run(0, n);
+            return;
+        }
+
+        pool().invoke(new RangeAction(task, 0, n, (n + ranges - 1) / ranges));
+    }
+
+    /**
+     * Split the iterations [0, n) in to the given number of
+     * contiguous chunks (usually {@link #numRanges(int)})
+     * and run the task once per chunk.
+     * Useful for reductions where each chunk produces
+     * a partial result in its own slot.
+     *
+     * @param n      the number of iterations
+     * @param chunks the number of chunks
+     * @param task   the chunk body
+     */
+    public static void forEachChunk(final int n, int chunks, final ChunkTask task) {
+        if (chunks < 1)
+            throw new IllegalArgumentException("Number of chunks must be >= 1");
+        final int chunkSize = (n + chunks - 1) / chunks;
+        if (chunks == 1) {
+            task.run(0, 0, n);
+            return;
+        }
+
+        forEach(chunks, (long) n, new RangeTask() {
+            @Override
+            public void run(int from, int to) {
+                for (int chunk = from; chunk < to; chunk++) {
+                    int start = Math.min(n, chunk * chunkSize);
+                    task.run(chunk, start, Math.min(n, start + chunkSize));
+                }
+            }
+        });
+    }
+
+    private static ForkJoinPool pool() {
+        ForkJoinPool ret = pool;
+        if (ret == null) {
+            synchronized (Parallel.class) {
+                if (pool == null)
+                    pool = new ForkJoinPool(poolSize);
+                ret = pool;
+            }
+        }
+        return ret;
+    }
+
+    private static class RangeAction extends RecursiveAction {
+        private RangeTask task;
+        private int from, to, grain;
+
+        private RangeAction(RangeTask task, int from, int to, int grain) {
+            this.task = task;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= grain) {
+                task.run(from, to);
+                return;
+            }
+
+            int mid = from + (to - from) / 2;
+            invokeAll(new RangeAction(task, from, mid, grain), new RangeAction(task, mid, to, grain));
+        }
+    }
+}
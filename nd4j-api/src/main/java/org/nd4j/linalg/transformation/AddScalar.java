@@ -34,5 +34,14 @@ public class AddScalar extends ScalarMatrixTransform {
         return input.add(scaleBy);
     }
 
+    @Override
+    public double apply(double value) {
+        return value + scaleBy;
+    }
+
+    @Override
+    public float apply(float value) {
+        return (float) (value + scaleBy);
+    }
 
 }
@@ -35,4 +35,14 @@ public class DivideScalar extends ScalarMatrixTransform {
         return input.div(scaleBy);
     }
 
+    @Override
+    public double apply(double value) {
+        return value / scaleBy;
+    }
+
+    @Override
+    public float apply(float value) {
+        return (float) (value / scaleBy);
+    }
+
 }
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2015 Skymind,Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package org.nd4j.linalg.transformation;
+
+/**
+ * A matrix transform that acts on each element independently.
+ * These can be fused with other element wise operations
+ * via {@link org.nd4j.linalg.ops.ElementWiseOpCompose}
+ *
+ * @author Adam Gibson
+ */
+public interface ElementWiseTransform extends MatrixTransform {
+
+    /**
+     * Transform a single double
+     *
+     * @param value the value to transform
+     * @return the transformed value
+     */
+    double apply(double value);
+
+    /**
+     * Transform a single float
+     *
+     * @param value the value to transform
+     * @return the transformed value
+     */
+    float apply(float value);
+
+}
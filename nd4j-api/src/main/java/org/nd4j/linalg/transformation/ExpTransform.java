@@ -17,19 +17,30 @@
 package org.nd4j.linalg.transformation;
 
 import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.ops.transforms.Exp;
 import org.nd4j.linalg.ops.transforms.Transforms;
 
-public class ExpTransform implements MatrixTransform {
+public class ExpTransform implements ElementWiseTransform {
 
     /**
      *
      */
     private static final long serialVersionUID = 5544429281399904369L;
+    private static final Exp EXP = new Exp();
 
     @Override
     public INDArray apply(INDArray input) {
         return Transforms.exp(input.dup());
     }
 
+    @Override
+    public double apply(double value) {
+        return EXP.apply(value);
+    }
+
+    @Override
+    public float apply(float value) {
+        return EXP.apply(value);
+    }
 
 }
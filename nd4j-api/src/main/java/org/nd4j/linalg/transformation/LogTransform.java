@@ -17,20 +17,31 @@
 package org.nd4j.linalg.transformation;
 
 import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.ops.transforms.Log;
 import org.nd4j.linalg.ops.transforms.Transforms;
 
 
-public class LogTransform implements MatrixTransform {
+public class LogTransform implements ElementWiseTransform {
 
     /**
      *
      */
     private static final long serialVersionUID = 8144081928477158772L;
+    private static final Log LOG = new Log();
 
     @Override
     public INDArray apply(INDArray input) {
         return Transforms.log(input.dup());
     }
 
+    @Override
+    public double apply(double value) {
+        return LOG.apply(value);
+    }
+
+    @Override
+    public float apply(float value) {
+        return LOG.apply(value);
+    }
 
 }
@@ -36,5 +36,14 @@ public class PowScale extends ScalarMatrixTransform {
         return Transforms.pow(input.dup(), scaleBy);
     }
 
+    @Override
+    public double apply(double value) {
+        return Math.pow(value, scaleBy);
+    }
+
+    @Override
+    public float apply(float value) {
+        return (float) Math.pow(value, scaleBy);
+    }
 
 }
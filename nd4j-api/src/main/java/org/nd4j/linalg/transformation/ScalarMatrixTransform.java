@@ -19,7 +19,7 @@ package org.nd4j.linalg.transformation;
 
 import org.nd4j.linalg.api.ndarray.INDArray;
 
-public abstract class ScalarMatrixTransform implements MatrixTransform {
+public abstract class ScalarMatrixTransform implements ElementWiseTransform {
 
     /**
      *
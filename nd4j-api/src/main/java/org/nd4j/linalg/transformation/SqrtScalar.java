@@ -18,14 +18,16 @@ package org.nd4j.linalg.transformation;
 
 
 import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.ops.transforms.Sqrt;
 import org.nd4j.linalg.ops.transforms.Transforms;
 
-public class SqrtScalar implements MatrixTransform {
+public class SqrtScalar implements ElementWiseTransform {
 
     /**
      *
      */
     private static final long serialVersionUID = 6829106644052110114L;
+    private static final Sqrt SQRT = new Sqrt();
 
 
     @Override
@@ -33,5 +35,14 @@ public class SqrtScalar implements MatrixTransform {
         return Transforms.sqrt(input);
     }
 
+    @Override
+    public double apply(double value) {
+        return SQRT.apply(value);
+    }
+
+    @Override
+    public float apply(float value) {
+        return SQRT.apply(value);
+    }
 
 }
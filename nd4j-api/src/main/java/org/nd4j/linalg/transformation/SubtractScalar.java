@@ -35,5 +35,14 @@ public class SubtractScalar extends ScalarMatrixTransform {
         return input.sub(scaleBy);
     }
 
+    @Override
+    public double apply(double value) {
+        return value - scaleBy;
+    }
+
+    @Override
+    public float apply(float value) {
+        return (float) (value - scaleBy);
+    }
 
 }
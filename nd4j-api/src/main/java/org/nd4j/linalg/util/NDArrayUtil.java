@@ -17,6 +17,7 @@
 package org.nd4j.linalg.util;
 
 import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.NDArrayFactory;
 import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.linalg.indexing.NDArrayIndex;
 
@@ -196,6 +197,61 @@ public class NDArrayUtil {
                         op == MatrixOp.COLUMN_MEAN;
     }
 
+    /**
+     * Copy a region of an ndarray in to a new ndarray of the given shape.
+     * Element idx of the result is element start + idx of arr, positions
+     * outside of arr are zero. Pads when the shape is larger than arr
+     * and crops (for example to the center) when it is smaller.
+     *
+     * @param arr   the ndarray to copy from
+     * @param start the index in arr of the first element of the result
+     * @param shape the shape of the result
+     * @return the copied region
+     */
+    public static INDArray copyRegion(INDArray arr, int[] start, int[] shape) {
+        int rank = arr.shape().length;
+        if (start.length != rank || shape.length != rank)
+            throw new IllegalArgumentException("Start and shape must be of rank " + rank);
+        if (arr.stride().length != rank)
+            throw new IllegalArgumentException("Unable to copy from an ndarray whose strides do not match its shape");
+
+        INDArray ret = Nd4j.create(shape);
+        //the region of the result that overlaps arr
+        int[] count = new int[rank];
+        for (int i = 0; i < rank; i++) {
+            if (start[i] < 0)
+                throw new IllegalArgumentException("Start must be >= 0");
+            count[i] = Math.max(0, Math.min(shape[i], arr.size(i) - start[i]));
+            if (count[i] == 0)
+                return ret;
+        }
+
+        int[] srcStride = arr.stride();
+        //vector shapes may be collapsed by create, so use the dense strides of the shape
+        int[] destStride = ret.ordering() == NDArrayFactory.C
+                ? ArrayUtil.calcStrides(shape) : ArrayUtil.calcStridesFortran(shape);
+        int src = arr.offset();
+        for (int i = 0; i < rank; i++)
+            src += start[i] * srcStride[i];
+        int dest = ret.offset();
+        int[] index = new int[rank];
+        int total = ArrayUtil.prod(count);
+        for (int n = 0; n < total; n++) {
+            ret.data().put(dest, arr.data().getDouble(src));
+            for (int k = rank - 1; k >= 0; k--) {
+                index[k]++;
+                src += srcStride[k];
+                dest += destStride[k];
+                if (index[k] < count[k])
+                    break;
+                src -= srcStride[k] * count[k];
+                dest -= destStride[k] * count[k];
+                index[k] = 0;
+            }
+        }
+        return ret;
+    }
+
     public static enum ScalarOp {
         SUM,
         MEAN,
@@ -16,6 +16,8 @@
 
 package org.nd4j.linalg.util;
 
+import org.nd4j.linalg.factory.NDArrayFactory;
+
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -181,5 +183,96 @@ public class Shape {
         return scalarEquals(s1, s2) || Arrays.equals(s1, s2);
     }
 
+    /**
+     * Whether the given shape and stride describe a broadcast view:
+     * a dimension of size > 1 whose stride is zero,
+     * so every index along it maps to the same elements
+     *
+     * @param shape  the shape to test
+     * @param stride the stride to test
+     * @return true if any non singleton dimension has a zero stride
+     */
+    public static boolean isBroadcast(int[] shape, int[] stride) {
+        if (stride == null || stride.length != shape.length)
+            return false;
+        for (int i = 0; i < shape.length; i++)
+            if (stride[i] == 0 && shape[i] > 1)
+                return true;
+        return false;
+    }
+
+    /**
+     * The shape two shapes broadcast to.
+     * Shapes are aligned on their last dimensions, missing
+     * leading dimensions are treated as 1 and every pair of
+     * dimensions must either be equal or contain a 1.
+     *
+     * @param shape1 the first shape
+     * @param shape2 the second shape
+     * @return the broadcast shape
+     */
+    public static int[] broadcastShape(int[] shape1, int[] shape2) {
+        int[] ret = new int[Math.max(shape1.length, shape2.length)];
+        for (int i = 1; i <= ret.length; i++) {
+            int size1 = i <= shape1.length ? shape1[shape1.length - i] : 1;
+            int size2 = i <= shape2.length ? shape2[shape2.length - i] : 1;
+            if (size1 != size2 && size1 != 1 && size2 != 1)
+                throw new IllegalArgumentException("Incompatible broadcast from " + Arrays.toString(shape1) + " to " + Arrays.toString(shape2));
+            ret[ret.length - i] = size1 == 1 ? size2 : size1;
+        }
+        return ret;
+    }
+
+    /**
+     * The strides viewing an ndarray as the given (broadcast) shape:
+     * dimensions being expanded or added get a stride of zero
+     *
+     * @param shape  the shape of the ndarray
+     * @param stride the stride of the ndarray
+     * @param target the shape to view the ndarray as
+     * @return the strides of the view
+     */
+    public static int[] broadcastStrides(int[] shape, int[] stride, int[] target) {
+        if (stride.length != shape.length || target.length < shape.length)
+            throw new IllegalArgumentException("Unable to broadcast " + Arrays.toString(shape) + " to " + Arrays.toString(target));
+        int[] ret = new int[target.length];
+        for (int i = 1; i <= shape.length; i++) {
+            int size = shape[shape.length - i];
+            int targetSize = target[target.length - i];
+            if (size == targetSize && size != 1)
+                ret[target.length - i] = stride[stride.length - i];
+            else if (size != 1)
+                throw new IllegalArgumentException("Unable to broadcast " + Arrays.toString(shape) + " to " + Arrays.toString(target));
+        }
+        return ret;
+    }
+
+    /**
+     * The offset (relative to the offset of the view) of the i'th element
+     * of a view with the given shape and stride, counting elements in the
+     * given ordering: the last dimension varies fastest for c and
+     * the first for fortran
+     *
+     * @param shape    the shape of the view
+     * @param stride   the stride of the view
+     * @param ordering the ordering to count elements in
+     * @param i        the linear index of the element
+     * @return the offset of the element
+     */
+    public static int linearOffset(int[] shape, int[] stride, char ordering, int i) {
+        int ret = 0;
+        if (ordering == NDArrayFactory.FORTRAN) {
+            for (int k = 0; k < shape.length; k++) {
+                ret += (i % shape[k]) * stride[k];
+                i /= shape[k];
+            }
+        } else {
+            for (int k = shape.length - 1; k >= 0; k--) {
+                ret += (i % shape[k]) * stride[k];
+                i /= shape[k];
+            }
+        }
+        return ret;
+    }
 
 }
@@ -18,9 +18,23 @@ package org.nd4j.linalg.buffer;
 
 import org.junit.Test;
 import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.buffer.DirectDoubleBuffer;
+import org.nd4j.linalg.api.buffer.DirectFloatBuffer;
 import org.nd4j.linalg.api.buffer.DoubleBuffer;
+import org.nd4j.linalg.api.buffer.FloatBuffer;
+import org.nd4j.linalg.api.buffer.MappedFloatBuffer;
+import org.nd4j.linalg.api.buffer.factory.DataBufferFactory;
+import org.nd4j.linalg.api.buffer.factory.DefaultDataBufferFactory;
+import org.nd4j.linalg.api.buffer.factory.DirectDataBufferFactory;
+import org.nd4j.linalg.ops.transforms.Abs;
+import org.nd4j.linalg.ops.transforms.Exp;
+import org.nd4j.linalg.parallel.Parallel;
 
-import static org.junit.Assert.assertEquals;
+import java.io.File;
+import java.nio.ByteOrder;
+import java.nio.ReadOnlyBufferException;
+
+import static org.junit.Assert.*;
 
 /**
  * Created by agibsonccc on 10/11/14.
@@ -34,4 +48,206 @@ public class BufferTests {
         assertEquals(1, d.getDouble(0), 1e-1);
     }
 
+    @Test
+    public void testDirectFloatBuffer() {
+        float[] data = {1, 2, 3, 4};
+        DirectFloatBuffer d = new DirectFloatBuffer(data);
+        assertArrayEquals(data, d.asFloat(), 1e-1f);
+        d.put(1, 5.0f);
+        assertEquals(5, d.getDouble(1), 1e-1);
+        assertEquals(d, d.dup());
+        assertArrayEquals(new FloatBuffer(d.asFloat()).asBytes(), d.asBytes());
+    }
+
+    @Test
+    public void testDirectDoubleBuffer() {
+        double[] data = {1, 2, 3, 4};
+        DirectDoubleBuffer d = new DirectDoubleBuffer(data);
+        assertArrayEquals(data, d.asDouble(), 1e-1);
+        DataBuffer dup = d.dup();
+        dup.put(0, 6.0);
+        assertEquals(1, d.getDouble(0), 1e-1);
+        assertEquals(6, dup.getDouble(0), 1e-1);
+    }
+
+    @Test
+    public void testLongLengths() {
+        DataBufferFactory factory = new DefaultDataBufferFactory();
+        DataBuffer d = factory.createDouble(4L);
+        assertTrue(d instanceof DoubleBuffer);
+        assertEquals(4, d.length());
+        assertTrue(factory.createFloat(4L) instanceof FloatBuffer);
+        assertEquals(4, new DirectDataBufferFactory().createFloat(4L).length());
+    }
+
+    @Test
+    public void testDirectBufferRelease() {
+        DirectDoubleBuffer d = new DirectDoubleBuffer(4);
+        d.retain();
+        assertFalse(d.release());
+        assertTrue(d.release());
+        assertTrue(d.isDestroyed());
+        try {
+            d.getDouble(0);
+            fail();
+        } catch (IllegalStateException e) {
+            //expected
+        }
+    }
+
+    @Test
+    public void testPrimitiveApply() {
+        DataBuffer d = new DoubleBuffer(new double[]{0, 1, 2});
+        d.apply(new Exp());
+        assertArrayEquals(new double[]{1, Math.exp(1), Math.exp(2)}, d.asDouble(), 1e-6);
+
+        DataBuffer f = new FloatBuffer(new float[]{-1, 2, -3});
+        f.apply(new Abs(), 1);
+        assertArrayEquals(new float[]{-1, 2, 3}, f.asFloat(), 1e-6f);
+
+        DataBuffer direct = new DirectFloatBuffer(new float[]{-1, 2, -3});
+        direct.apply(new Abs());
+        assertArrayEquals(new float[]{1, 2, 3}, direct.asFloat(), 1e-6f);
+    }
+
+    @Test
+    public void testParallelArithmetic() {
+        int threshold = Parallel.getThreshold();
+        int poolSize = Parallel.getPoolSize();
+        Parallel.setThreshold(4);
+        Parallel.setPoolSize(4);
+        try {
+            double[] data = new double[1000];
+            for (int i = 0; i < data.length; i++)
+                data[i] = i + 1;
+            DataBuffer d = new DoubleBuffer(data);
+            d.addi(1, 2, 1);
+            d.rsubi(1);
+            DataBuffer other = new DoubleBuffer(data);
+            d.muli(other);
+            for (int i = 0; i < data.length; i++) {
+                double expected = i % 2 == 1 ? 1 - (data[i] + 1) : 1 - data[i];
+                assertEquals(expected * data[i], d.getDouble(i), 1e-6);
+            }
+
+            d.apply(new Abs(), 0);
+            for (int i = 0; i < data.length; i++)
+                assertTrue(d.getDouble(i) >= 0);
+        } finally {
+            Parallel.setThreshold(threshold);
+            Parallel.setPoolSize(poolSize);
+        }
+    }
+
+    @Test
+    public void testBulkAccess() {
+        DataBuffer[] buffers = {
+                new DoubleBuffer(new double[]{0, 1, 2, 3, 4, 5}),
+                new FloatBuffer(new float[]{0, 1, 2, 3, 4, 5}),
+                new DirectDoubleBuffer(new double[]{0, 1, 2, 3, 4, 5}),
+                new DirectFloatBuffer(new float[]{0, 1, 2, 3, 4, 5})
+        };
+        for (DataBuffer d : buffers) {
+            assertArrayEquals(new double[]{1, 3, 5}, d.getDoublesAt(1, 2, 3), 1e-6);
+            assertArrayEquals(new float[]{0, 3}, d.getFloatsAt(0, 3, 5), 1e-6f);
+            assertArrayEquals(new double[]{2, 3, 4, 5}, d.getDoublesAt(2, 10), 1e-6);
+
+            d.putDoubles(0, 2, new double[]{-1, -2, -3, -4}, 1, 3);
+            assertArrayEquals(new double[]{-2, 1, -3, 3, -4, 5}, d.asDouble(), 1e-6);
+            d.putFloats(4, 1, new float[]{7, 8}, 0, 2);
+            float[] dest = new float[3];
+            d.getFloats(3, 1, dest, 0, 3);
+            assertArrayEquals(new float[]{3, 7, 8}, dest, 1e-6f);
+
+            try {
+                d.getDoubles(2, 2, new double[3], 0, 3);
+                fail();
+            } catch (IllegalArgumentException e) {
+                //expected
+            }
+        }
+    }
+
+    @Test
+    public void testCopyTo() {
+        DataBuffer[] buffers = {
+                new DoubleBuffer(new double[]{0, 1, 2, 3, 4, 5}),
+                new FloatBuffer(new float[]{0, 1, 2, 3, 4, 5}),
+                new DirectDoubleBuffer(new double[]{0, 1, 2, 3, 4, 5}),
+                new DirectFloatBuffer(new float[]{0, 1, 2, 3, 4, 5})
+        };
+        for (DataBuffer from : buffers)
+            for (DataBuffer to : new DataBuffer[]{new DoubleBuffer(6), new FloatBuffer(6), new DirectDoubleBuffer(6)}) {
+                from.copyTo(1, 2, to, 0, 1, 3);
+                from.copyTo(0, 1, to, 3, 1, 3);
+                assertArrayEquals(new double[]{1, 3, 5, 0, 1, 2}, to.asDouble(), 1e-6);
+                from.copyTo(4, 1, to, 1, 3, 2);
+                assertArrayEquals(new double[]{1, 4, 5, 0, 5, 2}, to.asDouble(), 1e-6);
+            }
+    }
+
+    @Test
+    public void testNioViews() {
+        DataBuffer heap = new DoubleBuffer(new double[]{1, 2, 3});
+        heap.asNioDouble().put(1, 5);
+        assertEquals(5, heap.getDouble(1), 1e-6);
+
+        DataBuffer direct = new DirectFloatBuffer(new float[]{1, 2, 3});
+        java.nio.FloatBuffer view = direct.asNioFloat();
+        assertEquals(3, view.remaining());
+        view.put(2, 6);
+        assertEquals(6, direct.getFloat(2), 1e-6);
+
+        try {
+            heap.asNioFloat();
+            fail();
+        } catch (IllegalStateException e) {
+            //expected
+        }
+    }
+
+    @Test
+    public void testAssignBuffer() {
+        DataBuffer d = new DoubleBuffer(3);
+        d.assign(new DirectFloatBuffer(new float[]{1, 2, 3}));
+        assertArrayEquals(new double[]{1, 2, 3}, d.asDouble(), 1e-6);
+
+        DataBuffer direct = new DirectDoubleBuffer(3);
+        direct.assign(d);
+        assertArrayEquals(new double[]{1, 2, 3}, direct.asDouble(), 1e-6);
+    }
+
+    @Test
+    public void testMappedFloatBuffer() throws Exception {
+        File file = File.createTempFile("nd4j", ".bin");
+        file.deleteOnExit();
+        MappedFloatBuffer writable = new MappedFloatBuffer(file, 0, 4, false, ByteOrder.nativeOrder());
+        writable.setData(new float[]{1, 2, 3, 4});
+        writable.put(3L, 5.0f);
+        writable.destroy();
+        assertEquals(16, file.length());
+
+        MappedFloatBuffer readOnly = new MappedFloatBuffer(file, true);
+        assertEquals(4, readOnly.longLength());
+        assertArrayEquals(new float[]{1, 2, 3, 5}, readOnly.asFloat(), 1e-6f);
+        try {
+            readOnly.put(0L, 1.0f);
+            fail();
+        } catch (ReadOnlyBufferException e) {
+            //expected
+        }
+        readOnly.destroy();
+        assertTrue(file.delete());
+    }
+
+    @Test
+    public void testFlushHeapBuffer() {
+        DataBuffer d = new FloatBuffer(new float[]{1, 2, 3});
+        d.flush();
+        assertEquals(2, d.getFloat(1), 1e-6);
+        d.put(1, 4.0f);
+        assertArrayEquals(new float[]{1, 4, 3}, d.asFloat(), 1e-6f);
+        d.destroy();
+    }
+
 }
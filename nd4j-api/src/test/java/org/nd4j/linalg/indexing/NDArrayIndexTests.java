@@ -42,4 +42,17 @@ public class NDArrayIndexTests {
 
     }
 
+    @Test
+    public void testStridedInterval() {
+        NDArrayIndex interval = NDArrayIndex.interval(1, 2, 6);
+        assertEquals(3, interval.size());
+        assertEquals(1, interval.offset());
+        assertEquals(5, interval.end());
+        assertTrue(Arrays.equals(new int[]{1, 3, 5}, interval.indices()));
+        assertEquals(new NDArrayIndex(1, 3, 5), interval);
+        assertEquals(4, NDArrayIndex.interval(1, 2, 7, true).size());
+        assertTrue(NDArrayIndex.point(2).isPoint());
+        assertEquals(1, NDArrayIndex.point(2).size());
+    }
+
 }
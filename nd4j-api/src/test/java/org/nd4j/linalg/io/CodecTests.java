@@ -0,0 +1,126 @@
+/*
+ * Copyright 2015 Skymind,Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package org.nd4j.linalg.io;
+
+import org.junit.Test;
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.io.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Codec tests
+ *
+ * @author Adam Gibson
+ */
+public class CodecTests {
+
+    private double[] values() {
+        Random random = new Random(123);
+        double[] ret = new double[300 * 700];
+        for (int i = 0; i < ret.length; i++)
+            if (i % 7 == 0)
+                ret[i] = random.nextGaussian() * (1 + i % 300);
+        return ret;
+    }
+
+    private double rowMax(double[] values, int offset, int length) {
+        double ret = 0;
+        for (int i = offset; i < offset + length; i++)
+            ret = Math.max(ret, Math.abs(values[i]));
+        return ret;
+    }
+
+    private byte[] encode(Codec codec, BinaryFormat.Header header, double[] values) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        Codec.Encoder encoder = codec.encoder(header, Channels.newChannel(bos));
+        //uneven chunks cross row and block boundaries
+        for (int i = 0; i < values.length; i += 12345)
+            encoder.encode(values, i, Math.min(12345, values.length - i));
+        encoder.flush();
+        return bos.toByteArray();
+    }
+
+    private double[] decode(Codec codec, BinaryFormat.Header header, byte[] bytes, int length) throws IOException {
+        ByteArrayInputStream bis = new ByteArrayInputStream(bytes);
+        Codec.Decoder decoder = codec.decoder(header, Channels.newChannel(bis));
+        double[] ret = new double[length];
+        for (int i = 0; i < length; i += 9876)
+            decoder.decode(ret, i, Math.min(9876, length - i));
+        //exactly the encoded bytes are consumed
+        assertEquals(0, bis.available());
+        return ret;
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        double[] values = values();
+        BinaryFormat.Header header = new BinaryFormat.Header(DataBuffer.DOUBLE, false, 'c', new int[]{300, 700});
+        int raw = values.length * 8;
+        Codec[] codecs = {new RawCodec(), new DeflateCodec(), new SparseCodec(), new Float16Codec(), new Int8Codec()};
+        for (Codec codec : codecs) {
+            byte[] bytes = encode(codec, header, values);
+            double[] decoded = decode(codec, header, bytes, values.length);
+            if (codec.id() != Codec.RAW)
+                assertTrue(codec + " " + bytes.length, bytes.length < raw / 2);
+            for (int i = 0; i < values.length; i++) {
+                if (codec.isLossless())
+                    assertEquals(values[i], decoded[i], 0);
+                else if (codec.id() == Codec.FLOAT16)
+                    assertEquals(values[i], decoded[i], Math.abs(values[i]) * 1e-3);
+                else
+                    //half a step of the largest magnitude of the row
+                    assertEquals(values[i], decoded[i], rowMax(values, i / 700 * 700, 700) / 254 + 1e-6);
+            }
+        }
+    }
+
+    @Test
+    public void testInt8LongRows() throws IOException {
+        double[] values = new double[2000];
+        for (int i = 0; i < values.length; i++)
+            values[i] = i % 2 == 0 ? i : -i;
+        //block writers size their encoders for the largest number of slices
+        BinaryFormat.Header longest = new BinaryFormat.Header(DataBuffer.DOUBLE, true, 'c', new int[]{Integer.MAX_VALUE});
+        BinaryFormat.Header header = new BinaryFormat.Header(DataBuffer.DOUBLE, true, 'c', new int[]{values.length / 2});
+        Codec codec = new Int8Codec();
+        double[] decoded = decode(codec, header, encode(codec, longest, values), values.length);
+        for (int i = 0; i < values.length; i++)
+            assertEquals(values[i], decoded[i], rowMax(values, 0, values.length) / 254 + 1e-6);
+    }
+
+    @Test
+    public void testHalf() {
+        float[] floats = {0, -0f, 1, -2.5f, 65504, 6.1035156e-5f, 5.9604645e-8f, Float.POSITIVE_INFINITY};
+        for (float f : floats)
+            assertEquals(f, Float16Codec.toFloat(Float16Codec.toHalf(f)), 0);
+        assertEquals(Float.POSITIVE_INFINITY, Float16Codec.toFloat(Float16Codec.toHalf(1e6f)), 0);
+        assertTrue(Float.isNaN(Float16Codec.toFloat(Float16Codec.toHalf(Float.NaN))));
+        //ties round to even
+        assertEquals(2048, Float16Codec.toFloat(Float16Codec.toHalf(2049)), 0);
+        assertEquals(2052, Float16Codec.toFloat(Float16Codec.toHalf(2051)), 0);
+        assertEquals(0.33325195f, Float16Codec.toFloat(Float16Codec.toHalf(1 / 3f)), 0);
+    }
+}
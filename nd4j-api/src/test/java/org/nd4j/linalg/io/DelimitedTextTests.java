@@ -0,0 +1,60 @@
+/*
+ * Copyright 2015 Skymind,Inc.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+
+package org.nd4j.linalg.io;
+
+import org.junit.Test;
+import org.nd4j.linalg.api.io.DelimitedText;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Delimited text tests
+ *
+ * @author Adam Gibson
+ */
+public class DelimitedTextTests {
+
+    @Test
+    public void testParse() {
+        String[] numbers = {"0", "-0.0", "1", "-12.5", "3.14159", "0.10000000149011612", "1e-5", "2.5E10",
+                "123456789012345678", "1234567890123456789012", "4.9e-324", "1.7976931348623157E308", "NaN", "-Infinity", "+7."};
+        for (String number : numbers) {
+            ByteBuffer bytes = ByteBuffer.wrap((" " + number + ",").getBytes(StandardCharsets.US_ASCII));
+            assertEquals(number, Double.parseDouble(number), DelimitedText.parse(bytes, 1, number.length() + 1), 0);
+        }
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void testParseInvalid() {
+        ByteBuffer bytes = ByteBuffer.wrap("1.2.3".getBytes(StandardCharsets.US_ASCII));
+        DelimitedText.parse(bytes, 0, bytes.limit());
+    }
+
+    @Test
+    public void testDelimiter() {
+        assertEquals(',', DelimitedText.delimiter(","));
+        assertEquals('\t', DelimitedText.delimiter("\t"));
+        assertEquals('\t', DelimitedText.delimiter("\\t"));
+        assertEquals('|', DelimitedText.delimiter("\\|"));
+        assertEquals(-1, DelimitedText.delimiter("|"));
+        assertEquals(-1, DelimitedText.delimiter("\\s+"));
+    }
+}
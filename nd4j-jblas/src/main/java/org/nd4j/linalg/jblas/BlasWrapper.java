@@ -19,15 +19,18 @@ package org.nd4j.linalg.jblas;
 import org.jblas.JavaBlas;
 import org.jblas.NativeBlas;
 import org.jblas.exceptions.*;
+import org.nd4j.linalg.api.buffer.BaseDirectDataBuffer;
 import org.nd4j.linalg.api.buffer.DataBuffer;
 import org.nd4j.linalg.api.complex.IComplexDouble;
 import org.nd4j.linalg.api.complex.IComplexFloat;
 import org.nd4j.linalg.api.complex.IComplexNDArray;
 import org.nd4j.linalg.api.complex.IComplexNumber;
 import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.BatchedGemm;
 import org.nd4j.linalg.factory.DataTypeValidation;
 import org.nd4j.linalg.jblas.complex.ComplexDouble;
 import org.nd4j.linalg.jblas.complex.ComplexFloat;
+import org.nd4j.linalg.ops.BroadcastOps;
 
 import static org.jblas.util.Functions.*;
 
@@ -50,24 +53,33 @@ public class BlasWrapper implements org.nd4j.linalg.factory.BlasWrapper {
     public INDArray swap(INDArray x, INDArray y) {
         //NativeBlas.dswap(x.length(), x.data(), 0, 1, y.data(), 0, 1);
         DataTypeValidation.assertSameDataType(x, y);
-        if (x.data().dataType() == DataBuffer.FLOAT)
+        if (x.data().dataType() == DataBuffer.FLOAT) {
+            float[] xData = x.data().asFloat();
+            float[] yData = y.data().asFloat();
             JavaBlas.rswap(
                     x.length(),
-                    x.data().asFloat(),
+                    xData,
                     x.offset(),
                     x.secondaryStride(),
-                    y.data().asFloat(),
+                    yData,
                     y.offset(),
                     y.secondaryStride());
-        else
+            sync(x, xData);
+            sync(y, yData);
+        } else {
+            double[] xData = x.data().asDouble();
+            double[] yData = y.data().asDouble();
             JavaBlas.rswap(
                     x.length(),
-                    x.data().asDouble(),
+                    xData,
                     x.offset(),
                     x.secondaryStride(),
-                    y.data().asDouble(),
+                    yData,
                     y.offset(),
                     y.secondaryStride());
+            sync(x, xData);
+            sync(y, yData);
+        }
         return y;
     }
 
@@ -77,7 +89,9 @@ public class BlasWrapper implements org.nd4j.linalg.factory.BlasWrapper {
     @Override
     public INDArray scal(double alpha, INDArray x) {
         DataTypeValidation.assertDouble(x);
-        NativeBlas.dscal(x.length(), alpha, x.data().asDouble(), x.offset(), x.secondaryStride());
+        double[] xData = x.data().asDouble();
+        NativeBlas.dscal(x.length(), alpha, xData, x.offset(), x.secondaryStride());
+        sync(x, xData);
         return x;
     }
 
@@ -87,25 +101,31 @@ public class BlasWrapper implements org.nd4j.linalg.factory.BlasWrapper {
     @Override
     public INDArray scal(float alpha, INDArray x) {
         DataTypeValidation.assertFloat(x);
-        NativeBlas.sscal(x.length(), alpha, x.data().asFloat(), x.offset(), x.secondaryStride());
+        float[] xData = x.data().asFloat();
+        NativeBlas.sscal(x.length(), alpha, xData, x.offset(), x.secondaryStride());
+        sync(x, xData);
         return x;
     }
 
     @Override
     public IComplexNDArray scal(IComplexFloat alpha, IComplexNDArray x) {
         DataTypeValidation.assertFloat(x);
+        float[] xData = x.data().asFloat();
         NativeBlas.cscal(x.length(),
                 new ComplexFloat(alpha.realComponent().floatValue(), alpha.imaginaryComponent().floatValue()),
-                x.data().asFloat(), x.offset(), x.secondaryStride());
+                xData, x.offset(), x.secondaryStride());
+        sync(x, xData);
         return x;
     }
 
     @Override
     public IComplexNDArray scal(IComplexDouble alpha, IComplexNDArray x) {
         DataTypeValidation.assertDouble(x);
+        double[] xData = x.data().asDouble();
         NativeBlas.zscal(x.length(),
                 new ComplexDouble(alpha.realComponent().doubleValue(), alpha.imaginaryComponent().doubleValue()),
-                x.data().asDouble(), x.offset(), x.secondaryStride());
+                xData, x.offset(), x.secondaryStride());
+        sync(x, xData);
         return x;
     }
 
@@ -115,50 +135,64 @@ public class BlasWrapper implements org.nd4j.linalg.factory.BlasWrapper {
      */
     @Override
     public INDArray copy(INDArray x, INDArray y) {
+        x = BroadcastOps.dense(x);
+        BroadcastOps.assertWritable(y);
         DataTypeValidation.assertSameDataType(x, y);
-        if (x.data().dataType() == DataBuffer.DOUBLE)
+        if (x.data().dataType() == DataBuffer.DOUBLE) {
+            double[] yData = y.data().asDouble();
             JavaBlas.rcopy(
                     x.length(),
                     x.data().asDouble(),
                     x.offset(),
                     x.secondaryStride(),
-                    y.data().asDouble(),
+                    yData,
                     y.offset(),
                     y.secondaryStride());
-        else
+            sync(y, yData);
+        } else {
+            float[] yData = y.data().asFloat();
             JavaBlas.rcopy(
                     x.length(),
                     x.data().asFloat(),
                     x.offset(),
                     x.secondaryStride(),
-                    y.data().asFloat(),
+                    yData,
                     y.offset(),
                     y.secondaryStride());
+            sync(y, yData);
+        }
 
         return y;
     }
 
     @Override
     public IComplexNDArray copy(IComplexNDArray x, IComplexNDArray y) {
+        x = BroadcastOps.dense(x);
+        BroadcastOps.assertWritable(y);
         DataTypeValidation.assertSameDataType(x, y);
-        if (x.data().dataType() == DataBuffer.DOUBLE)
+        if (x.data().dataType() == DataBuffer.DOUBLE) {
+            double[] yData = y.data().asDouble();
             NativeBlas.dcopy(
                     x.length(),
                     x.data().asDouble(),
                     x.offset(),
                     x.secondaryStride(),
-                    y.data().asDouble(),
+                    yData,
                     y.offset(),
                     y.secondaryStride());
-        else
+            sync(y, yData);
+        } else {
+            float[] yData = y.data().asFloat();
             NativeBlas.scopy(
                     x.length(),
                     x.data().asFloat(),
                     x.offset(),
                     x.secondaryStride(),
-                    y.data().asFloat(),
+                    yData,
                     y.offset(),
                     y.secondaryStride());
+            sync(y, yData);
+        }
         return y;
     }
 
@@ -171,15 +205,17 @@ public class BlasWrapper implements org.nd4j.linalg.factory.BlasWrapper {
         if (dx.length() != dy.length())
             throw new IllegalArgumentException("Dx and dy must be same length");
         DataTypeValidation.assertDouble(dx, dy);
+        double[] dyData = dy.data().asDouble();
         JavaBlas.raxpy(
                 dx.length(),
                 da,
                 dx.data().asDouble(),
                 dx.offset(),
                 dx.secondaryStride(),
-                dy.data().asDouble(),
+                dyData,
                 dy.offset(),
                 dy.secondaryStride());
+        sync(dy, dyData);
 
         return dy;
     }
@@ -192,15 +228,17 @@ public class BlasWrapper implements org.nd4j.linalg.factory.BlasWrapper {
         //NativeBlas.daxpy(dx.length(), da, dx.data(), 0, 1, dy.data(), 0, 1);
         assert dx.length() == dy.length() : "Dx length must be the same as dy length";
         DataTypeValidation.assertFloat(dx, dy);
+        float[] dyData = dy.data().asFloat();
         JavaBlas.raxpy(
                 dx.length(),
                 da,
                 dx.data().asFloat(),
                 dx.offset(),
                 dx.secondaryStride(),
-                dy.data().asFloat(),
+                dyData,
                 dy.offset(),
                 dy.secondaryStride());
+        sync(dy, dyData);
 
         return dy;
     }
@@ -208,7 +246,8 @@ public class BlasWrapper implements org.nd4j.linalg.factory.BlasWrapper {
     @Override
     public IComplexNDArray axpy(IComplexNumber da, IComplexNDArray dx, IComplexNDArray dy) {
         DataTypeValidation.assertSameDataType(dx, dy);
-        if (da instanceof IComplexFloat)
+        if (da instanceof IComplexFloat) {
+            float[] dyData = dy.data().asFloat();
             NativeBlas.caxpy(
                     dx.length(),
                     new org.jblas.ComplexFloat(da.realComponent().floatValue(),
@@ -216,10 +255,12 @@ public class BlasWrapper implements org.nd4j.linalg.factory.BlasWrapper {
                     dx.data().asFloat(),
                     dx.offset(),
                     dx.secondaryStride(),
-                    dy.data().asFloat(),
+                    dyData,
                     dy.offset(),
                     dy.secondaryStride());
-        else if (da instanceof IComplexDouble)
+            sync(dy, dyData);
+        } else if (da instanceof IComplexDouble) {
+            double[] dyData = dy.data().asDouble();
             NativeBlas.zaxpy(
                     dx.length(),
                     new org.jblas.ComplexDouble(
@@ -229,9 +270,11 @@ public class BlasWrapper implements org.nd4j.linalg.factory.BlasWrapper {
                     dx.data().asDouble(),
                     dx.offset(),
                     dx.secondaryStride(),
-                    dy.data().asDouble(),
+                    dyData,
                     dy.offset(),
                     dy.secondaryStride());
+            sync(dy, dyData);
+        }
 
 
         return dy;
@@ -467,6 +510,9 @@ public class BlasWrapper implements org.nd4j.linalg.factory.BlasWrapper {
     @Override
     public INDArray gemv(double alpha, INDArray a,
                          INDArray x, double beta, INDArray y) {
+        a = BroadcastOps.dense(a);
+        x = BroadcastOps.dense(x);
+        BroadcastOps.assertWritable(y);
         DataTypeValidation.assertDouble(a, x, y);
         if (beta == 0.0) {
             for (int j = 0; j < a.columns(); j++) {
@@ -497,6 +543,9 @@ public class BlasWrapper implements org.nd4j.linalg.factory.BlasWrapper {
     @Override
     public INDArray gemv(float alpha, INDArray a,
                          INDArray x, float beta, INDArray y) {
+        a = BroadcastOps.dense(a);
+        x = BroadcastOps.dense(x);
+        BroadcastOps.assertWritable(y);
         DataTypeValidation.assertFloat(a, x, y);
         if (beta == 0.0) {
             for (int j = 0; j < a.columns(); j++) {
@@ -528,6 +577,7 @@ public class BlasWrapper implements org.nd4j.linalg.factory.BlasWrapper {
     public INDArray ger(double alpha, INDArray x,
                         INDArray y, INDArray a) {
         DataTypeValidation.assertDouble(x, y, a);
+        double[] aData = a.data().asDouble();
         NativeBlas.dger(
                 a.rows(),
                 a.columns(),
@@ -538,9 +588,10 @@ public class BlasWrapper implements org.nd4j.linalg.factory.BlasWrapper {
                 y.data().asDouble(),
                 y.offset(),
                 y.majorStride(),
-                a.data().asDouble(),
+                aData,
                 a.offset(),
                 a.rows());
+        sync(a, aData);
         return a;
     }
 
@@ -552,6 +603,7 @@ public class BlasWrapper implements org.nd4j.linalg.factory.BlasWrapper {
     public INDArray ger(float alpha, INDArray x,
                         INDArray y, INDArray a) {
         DataTypeValidation.assertFloat(x, y, a);
+        float[] aData = a.data().asFloat();
         NativeBlas.sger(
                 a.rows(),
                 a.columns(),
@@ -562,17 +614,22 @@ public class BlasWrapper implements org.nd4j.linalg.factory.BlasWrapper {
                 y.data().asFloat(),
                 y.offset(),
                 y.majorStride(),
-                a.data().asFloat(),
+                aData,
                 a.offset(),
                 a.rows());
+        sync(a, aData);
         return a;
     }
 
     @Override
     public IComplexNDArray gemv(IComplexDouble alpha, IComplexNDArray a, IComplexNDArray x, IComplexDouble beta, IComplexNDArray y) {
+        a = BroadcastOps.dense(a);
+        x = BroadcastOps.dense(x);
+        BroadcastOps.assertWritable(y);
         DataTypeValidation.assertDouble(a, x, y);
         if (y.isScalar())
             return y.putScalar(0, dotc(a, x));
+        double[] yData = y.data().asDouble();
         NativeBlas.zgemv(
                 'N',
                 a.rows(),
@@ -585,16 +642,21 @@ public class BlasWrapper implements org.nd4j.linalg.factory.BlasWrapper {
                 x.offset(),
                 x.secondaryStride(),
                 (ComplexDouble) beta,
-                y.data().asDouble(),
+                yData,
                 y.blasOffset(),
                 y.secondaryStride()
         );
+        sync(y, yData);
         return y;
     }
 
     @Override
     public IComplexNDArray gemv(IComplexFloat alpha, IComplexNDArray a, IComplexNDArray x, IComplexFloat beta, IComplexNDArray y) {
+        a = BroadcastOps.dense(a);
+        x = BroadcastOps.dense(x);
+        BroadcastOps.assertWritable(y);
         DataTypeValidation.assertDouble(a, x, y);
+        float[] yData = y.data().asFloat();
         NativeBlas.cgemv(
                 'N',
                 a.rows(),
@@ -607,10 +669,11 @@ public class BlasWrapper implements org.nd4j.linalg.factory.BlasWrapper {
                 x.offset(),
                 x.secondaryStride(),
                 (ComplexFloat) beta,
-                y.data().asFloat(),
+                yData,
                 y.blasOffset(),
                 y.secondaryStride()
         );
+        sync(y, yData);
         return y;
     }
 
@@ -625,6 +688,7 @@ public class BlasWrapper implements org.nd4j.linalg.factory.BlasWrapper {
     @Override
     public IComplexNDArray geru(IComplexDouble alpha, IComplexNDArray x, IComplexNDArray y, IComplexNDArray a) {
         DataTypeValidation.assertDouble(x, y, a);
+        double[] aData = a.data().asDouble();
         NativeBlas.zgeru(
                 a.rows(),
                 a.columns(),
@@ -635,9 +699,10 @@ public class BlasWrapper implements org.nd4j.linalg.factory.BlasWrapper {
                 y.data().asDouble(),
                 y.offset(),
                 y.majorStride(),
-                a.data().asDouble(),
+                aData,
                 a.offset(),
                 a.rows());
+        sync(a, aData);
         return a;
     }
 
@@ -652,6 +717,7 @@ public class BlasWrapper implements org.nd4j.linalg.factory.BlasWrapper {
     @Override
     public IComplexNDArray geru(IComplexFloat alpha, IComplexNDArray x, IComplexNDArray y, IComplexNDArray a) {
         DataTypeValidation.assertFloat(x, y, a);
+        float[] aData = a.data().asFloat();
         NativeBlas.cgeru(
                 a.rows(),
                 a.columns(),
@@ -662,9 +728,10 @@ public class BlasWrapper implements org.nd4j.linalg.factory.BlasWrapper {
                 y.data().asFloat(),
                 y.offset(),
                 y.majorStride(),
-                a.data().asFloat(),
+                aData,
                 a.offset(),
                 a.rows());
+        sync(a, aData);
         return a;
     }
 
@@ -676,6 +743,7 @@ public class BlasWrapper implements org.nd4j.linalg.factory.BlasWrapper {
     public IComplexNDArray gerc(IComplexDouble alpha, IComplexNDArray x,
                                 IComplexNDArray y, IComplexNDArray a) {
         DataTypeValidation.assertDouble(x, y, a);
+        double[] aData = a.data().asDouble();
         NativeBlas.zgerc(
                 a.rows(),
                 a.columns(),
@@ -686,9 +754,10 @@ public class BlasWrapper implements org.nd4j.linalg.factory.BlasWrapper {
                 y.data().asDouble(),
                 y.offset(),
                 y.majorStride(),
-                a.data().asDouble(),
+                aData,
                 a.offset(),
                 a.rows());
+        sync(a, aData);
         return a;
     }
 
@@ -699,6 +768,7 @@ public class BlasWrapper implements org.nd4j.linalg.factory.BlasWrapper {
     public IComplexNDArray gerc(IComplexFloat alpha, IComplexNDArray x,
                                 IComplexNDArray y, IComplexNDArray a) {
         DataTypeValidation.assertFloat(x, y, a);
+        float[] aData = a.data().asFloat();
         NativeBlas.cgerc(
                 a.rows(),
                 a.columns(),
@@ -709,9 +779,10 @@ public class BlasWrapper implements org.nd4j.linalg.factory.BlasWrapper {
                 y.data().asFloat(),
                 y.offset(),
                 y.majorStride(),
-                a.data().asFloat(),
+                aData,
                 a.offset(),
                 a.rows());
+        sync(a, aData);
         return a;
     }
 
@@ -727,6 +798,9 @@ public class BlasWrapper implements org.nd4j.linalg.factory.BlasWrapper {
     @Override
     public INDArray gemm(double alpha, INDArray a,
                          INDArray b, double beta, INDArray c) {
+        a = BroadcastOps.dense(a);
+        b = BroadcastOps.dense(b);
+        BroadcastOps.assertWritable(c);
         DataTypeValidation.assertDouble(a, b, c);
         if (a.shape().length > 2) {
             for (int i = 0; i < a.slices(); i++) {
@@ -736,6 +810,7 @@ public class BlasWrapper implements org.nd4j.linalg.factory.BlasWrapper {
             return c;
         }
 
+        double[] cData = c.data().asDouble();
         NativeBlas.dgemm(
                 'N',
                 'N',
@@ -750,9 +825,10 @@ public class BlasWrapper implements org.nd4j.linalg.factory.BlasWrapper {
                 b.offset(),
                 b.rows(),
                 beta,
-                c.data().asDouble(),
+                cData,
                 c.offset(),
                 c.rows());
+        sync(c, cData);
 
         return c;
     }
@@ -764,6 +840,9 @@ public class BlasWrapper implements org.nd4j.linalg.factory.BlasWrapper {
     @Override
     public INDArray gemm(float alpha, INDArray a,
                          INDArray b, float beta, INDArray c) {
+        a = BroadcastOps.dense(a);
+        b = BroadcastOps.dense(b);
+        BroadcastOps.assertWritable(c);
         DataTypeValidation.assertFloat(a, b, c);
         if (a.shape().length > 2) {
             for (int i = 0; i < a.slices(); i++) {
@@ -774,6 +853,7 @@ public class BlasWrapper implements org.nd4j.linalg.factory.BlasWrapper {
         }
 
 
+        float[] cData = c.data().asFloat();
         NativeBlas.sgemm(
                 'N',
                 'N',
@@ -788,18 +868,54 @@ public class BlasWrapper implements org.nd4j.linalg.factory.BlasWrapper {
                 b.offset(),
                 b.rows(),
                 beta,
-                c.data().asFloat(),
+                cData,
                 c.offset(),
                 c.rows());
+        sync(c, cData);
 
         return c;
     }
 
 
+    /**
+     * Compute c[i] <- alpha * a[i] * b[i] + beta * c[i]
+     * for every matrix in a stack, batches run in parallel
+     */
+    @Override
+    public INDArray gemmBatched(double alpha, INDArray a,
+                                INDArray b, double beta, INDArray c) {
+        return BatchedGemm.exec(alpha, a, b, beta, c, new BatchedGemm.DoubleKernel() {
+            @Override
+            public void gemm(char transA, char transB, int m, int n, int k, double alpha, double[] a, int aOffset, int lda, double[] b, int bOffset, int ldb, double beta, double[] c, int cOffset, int ldc) {
+                NativeBlas.dgemm(transA, transB, m, n, k, alpha, a, aOffset, lda, b, bOffset, ldb, beta, c, cOffset, ldc);
+            }
+        });
+    }
+
+    /**
+     * Compute c[i] <- alpha * a[i] * b[i] + beta * c[i]
+     * for every matrix in a stack, batches run in parallel
+     */
+    @Override
+    public INDArray gemmBatched(float alpha, INDArray a,
+                                INDArray b, float beta, INDArray c) {
+        return BatchedGemm.exec(alpha, a, b, beta, c, new BatchedGemm.FloatKernel() {
+            @Override
+            public void gemm(char transA, char transB, int m, int n, int k, float alpha, float[] a, int aOffset, int lda, float[] b, int bOffset, int ldb, float beta, float[] c, int cOffset, int ldc) {
+                NativeBlas.sgemm(transA, transB, m, n, k, alpha, a, aOffset, lda, b, bOffset, ldb, beta, c, cOffset, ldc);
+            }
+        });
+    }
+
+
     @Override
     public IComplexNDArray gemm(IComplexNumber alpha, IComplexNDArray a, IComplexNDArray b, IComplexNumber beta, IComplexNDArray c) {
+        a = BroadcastOps.dense(a);
+        b = BroadcastOps.dense(b);
+        BroadcastOps.assertWritable(c);
         DataTypeValidation.assertSameDataType(a, b, c);
-        if (a.data().dataType() == DataBuffer.FLOAT)
+        if (a.data().dataType() == DataBuffer.FLOAT) {
+            float[] cData = c.data().asFloat();
             NativeBlas.cgemm(
                     'N',
                     'N',
@@ -814,10 +930,12 @@ public class BlasWrapper implements org.nd4j.linalg.factory.BlasWrapper {
                     b.blasOffset(),
                     b.rows(),
                     new ComplexFloat(beta.realComponent().floatValue(), beta.imaginaryComponent().floatValue())
-                    , c.data().asFloat(),
+                    , cData,
                     c.blasOffset(),
                     c.rows());
-        else
+            sync(c, cData);
+        } else {
+            double[] cData = c.data().asDouble();
             NativeBlas.zgemm(
                     'N',
                     'N',
@@ -832,9 +950,11 @@ public class BlasWrapper implements org.nd4j.linalg.factory.BlasWrapper {
                     b.blasOffset(),
                     b.rows(),
                     new ComplexDouble(beta.realComponent().floatValue(), beta.imaginaryComponent().floatValue())
-                    , c.data().asDouble(),
+                    , cData,
                     c.blasOffset(),
                     c.rows());
+            sync(c, cData);
+        }
         return c;
 
     }
@@ -1481,4 +1601,23 @@ public class BlasWrapper implements org.nd4j.linalg.factory.BlasWrapper {
 
     }
 
+    /**
+     * Direct buffers only hand out copies via asFloat()/asDouble(),
+     * write the result of an in place routine back in to the buffer
+     *
+     * @param arr  the ndarray that was written to
+     * @param data the array the routine wrote to
+     */
+    private static void sync(INDArray arr, float[] data) {
+        if (arr.data() instanceof BaseDirectDataBuffer)
+            arr.data().setData(data);
+    }
+
+    /**
+     * @see #sync(INDArray, float[])
+     */
+    private static void sync(INDArray arr, double[] data) {
+        if (arr.data() instanceof BaseDirectDataBuffer)
+            arr.data().setData(data);
+    }
 }
@@ -18,6 +18,7 @@ package org.nd4j.linalg.jblas.io;
 
 import org.nd4j.linalg.api.complex.IComplexNDArray;
 import org.nd4j.linalg.api.io.BaseNDArrayIO;
+import org.nd4j.linalg.api.io.BinaryFormat;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.linalg.jblas.util.JblasSerde;
@@ -38,7 +39,10 @@ public class JblasNDArrayIO extends BaseNDArrayIO {
      */
     @Override
     public INDArray read(InputStream is) throws IOException {
-        return JblasSerde.readJblasBinary(new DataInputStream(is));
+        DataInputStream dis = new DataInputStream(new BufferedInputStream(is));
+        if (isBinaryFormat(dis))
+            return BinaryFormat.read(dis);
+        return JblasSerde.readJblasBinary(dis);
     }
 
     /**
@@ -49,7 +53,10 @@ public class JblasNDArrayIO extends BaseNDArrayIO {
      */
     @Override
     public IComplexNDArray readComplex(InputStream is) throws IOException {
-        return Nd4j.createComplex(read(is));
+        INDArray ret = read(is);
+        if (ret instanceof IComplexNDArray)
+            return (IComplexNDArray) ret;
+        return Nd4j.createComplex(ret);
     }
 
     /**
@@ -73,4 +80,16 @@ public class JblasNDArrayIO extends BaseNDArrayIO {
     public void writeComplex(IComplexNDArray out, OutputStream to) throws IOException {
         Nd4j.writeComplex(out, new DataOutputStream(to));
     }
+
+    //peek at the magic number without consuming it
+    private boolean isBinaryFormat(DataInputStream dis) throws IOException {
+        dis.mark(4);
+        try {
+            return dis.readInt() == BinaryFormat.MAGIC;
+        } catch (EOFException e) {
+            return false;
+        } finally {
+            dis.reset();
+        }
+    }
 }
@@ -21,6 +21,7 @@ import org.nd4j.linalg.api.complex.IComplexFloat;
 import org.nd4j.linalg.api.complex.IComplexNDArray;
 import org.nd4j.linalg.api.complex.IComplexNumber;
 import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.ops.BroadcastOps;
 
 
 /**
@@ -63,12 +64,16 @@ public class JCublasWrapper implements org.nd4j.linalg.factory.BlasWrapper {
 
     @Override
     public INDArray copy(INDArray x, INDArray y) {
+        x = BroadcastOps.dense(x);
+        BroadcastOps.assertWritable(y);
         SimpleJCublas.copy(x, y);
         return y;
     }
 
     @Override
     public IComplexNDArray copy(IComplexNDArray x, IComplexNDArray y) {
+        x = BroadcastOps.dense(x);
+        BroadcastOps.assertWritable(y);
         SimpleJCublas.copy(x, y);
         return y;
     }
@@ -150,12 +155,18 @@ public class JCublasWrapper implements org.nd4j.linalg.factory.BlasWrapper {
 
     @Override
     public INDArray gemv(double alpha, INDArray a, INDArray x, double beta, INDArray y) {
+        a = BroadcastOps.dense(a);
+        x = BroadcastOps.dense(x);
+        BroadcastOps.assertWritable(y);
         SimpleJCublas.gemv(a, x, y, alpha, beta);
         return y;
     }
 
     @Override
     public INDArray gemv(float alpha, INDArray a, INDArray x, float beta, INDArray y) {
+        a = BroadcastOps.dense(a);
+        x = BroadcastOps.dense(x);
+        BroadcastOps.assertWritable(y);
         return SimpleJCublas.gemv(a, x, y, alpha, beta);
     }
 
@@ -171,12 +182,18 @@ public class JCublasWrapper implements org.nd4j.linalg.factory.BlasWrapper {
 
     @Override
     public IComplexNDArray gemv(IComplexDouble alpha, IComplexNDArray a, IComplexNDArray x, IComplexDouble beta, IComplexNDArray y) {
+        a = BroadcastOps.dense(a);
+        x = BroadcastOps.dense(x);
+        BroadcastOps.assertWritable(y);
         return SimpleJCublas.gemv(a, x, alpha, y, beta);
 
     }
 
     @Override
     public IComplexNDArray gemv(IComplexFloat alpha, IComplexNDArray a, IComplexNDArray x, IComplexFloat beta, IComplexNDArray y) {
+        a = BroadcastOps.dense(a);
+        x = BroadcastOps.dense(x);
+        BroadcastOps.assertWritable(y);
         return SimpleJCublas.gemv(a, x, alpha, y, beta);
     }
 
@@ -204,17 +221,26 @@ public class JCublasWrapper implements org.nd4j.linalg.factory.BlasWrapper {
 
     @Override
     public INDArray gemm(double alpha, INDArray a, INDArray b, double beta, INDArray c) {
+        a = BroadcastOps.dense(a);
+        b = BroadcastOps.dense(b);
+        BroadcastOps.assertWritable(c);
         return SimpleJCublas.gemm(a, b, c, alpha, beta);
     }
 
     @Override
     public INDArray gemm(float alpha, INDArray a, INDArray b, float beta, INDArray c) {
+        a = BroadcastOps.dense(a);
+        b = BroadcastOps.dense(b);
+        BroadcastOps.assertWritable(c);
         return SimpleJCublas.gemm(a, b, c, alpha, beta);
     }
 
 
     @Override
     public IComplexNDArray gemm(IComplexNumber alpha, IComplexNDArray a, IComplexNDArray b, IComplexNumber beta, IComplexNDArray c) {
+        a = BroadcastOps.dense(a);
+        b = BroadcastOps.dense(b);
+        BroadcastOps.assertWritable(c);
         if (beta instanceof IComplexDouble)
             SimpleJCublas.gemm(a, b, alpha.asDouble(), c, beta.asDouble());
         else
@@ -223,6 +249,16 @@ public class JCublasWrapper implements org.nd4j.linalg.factory.BlasWrapper {
         return c;
     }
 
+    @Override
+    public INDArray gemmBatched(double alpha, INDArray a, INDArray b, double beta, INDArray c) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public INDArray gemmBatched(float alpha, INDArray a, INDArray b, float beta, INDArray c) {
+        throw new UnsupportedOperationException();
+    }
+
     @Override
     public INDArray gesv(INDArray a, int[] ipiv, INDArray b) {
         throw new UnsupportedOperationException();
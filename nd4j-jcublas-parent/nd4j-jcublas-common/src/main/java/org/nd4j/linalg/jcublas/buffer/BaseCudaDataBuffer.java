@@ -312,6 +312,46 @@ public abstract class BaseCudaDataBuffer implements JCudaBuffer {
         return getFloatsAt(offset, 1, length);
     }
 
+    @Override
+    public void getDoubles(int offset, int inc, double[] dest, int destOffset, int length) {
+        System.arraycopy(getDoublesAt(offset, inc, length), 0, dest, destOffset, length);
+    }
+
+    @Override
+    public void getFloats(int offset, int inc, float[] dest, int destOffset, int length) {
+        System.arraycopy(getFloatsAt(offset, inc, length), 0, dest, destOffset, length);
+    }
+
+    @Override
+    public void putDoubles(int offset, int inc, double[] src, int srcOffset, int length) {
+        for (int j = 0, i = offset; j < length; j++, i += inc)
+            put(i, src[srcOffset + j]);
+    }
+
+    @Override
+    public void putFloats(int offset, int inc, float[] src, int srcOffset, int length) {
+        for (int j = 0, i = offset; j < length; j++, i += inc)
+            put(i, src[srcOffset + j]);
+    }
+
+    @Override
+    public void copyTo(int offset, int inc, DataBuffer dest, int destOffset, int destInc, int length) {
+        if (dest.dataType() == DataBuffer.FLOAT)
+            dest.putFloats(destOffset, destInc, getFloatsAt(offset, inc, length), 0, length);
+        else
+            dest.putDoubles(destOffset, destInc, getDoublesAt(offset, inc, length), 0, length);
+    }
+
+    @Override
+    public java.nio.DoubleBuffer asNioDouble() {
+        throw new UnsupportedOperationException("Device memory can not be viewed as a nio buffer");
+    }
+
+    @Override
+    public java.nio.FloatBuffer asNioFloat() {
+        throw new UnsupportedOperationException("Device memory can not be viewed as a nio buffer");
+    }
+
     @Override
     public int elementSize() {
         return elementSize;
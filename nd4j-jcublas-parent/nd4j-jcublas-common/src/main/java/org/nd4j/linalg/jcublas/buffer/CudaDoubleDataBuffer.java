@@ -115,7 +115,7 @@ public class CudaDoubleDataBuffer extends BaseCudaDataBuffer {
 
     @Override
     public float[] getFloatsAt(int offset, int inc, int length) {
-        return ArrayUtil.toFloats(getDoublesAt(offset, 1, length));
+        return ArrayUtil.toFloats(getDoublesAt(offset, inc, length));
     }
 
     @Override
@@ -38,6 +38,20 @@ public class CudaDataBufferFactory implements DataBufferFactory {
         return new CudaFloatDataBuffer(length);
     }
 
+    @Override
+    public DataBuffer createDouble(long length) {
+        if (length > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Unable to create a cuda buffer of " + length + " elements, the maximum is " + Integer.MAX_VALUE);
+        return createDouble((int) length);
+    }
+
+    @Override
+    public DataBuffer createFloat(long length) {
+        if (length > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Unable to create a cuda buffer of " + length + " elements, the maximum is " + Integer.MAX_VALUE);
+        return createFloat((int) length);
+    }
+
     @Override
     public DataBuffer createInt(int length) {
         return new IntBuffer(length);
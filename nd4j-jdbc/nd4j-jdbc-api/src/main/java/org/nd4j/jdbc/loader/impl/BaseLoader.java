@@ -20,6 +20,8 @@ import com.mchange.v2.c3p0.ComboPooledDataSource;
 import org.nd4j.jdbc.driverfinder.DriverFinder;
 import org.nd4j.jdbc.loader.api.JDBCNDArrayIO;
 import org.nd4j.linalg.api.complex.IComplexNDArray;
+import org.nd4j.linalg.api.io.Codec;
+import org.nd4j.linalg.api.io.RawCodec;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.factory.Nd4j;
 
@@ -40,6 +42,8 @@ public abstract class BaseLoader implements JDBCNDArrayIO {
 
     protected String tableName, columnName, idColumnName, jdbcUrl;
     protected DataSource dataSource;
+    //how the elements of saved ndarrays are encoded
+    protected Codec codec = new RawCodec();
 
     protected BaseLoader(DataSource dataSource, String jdbcUrl, String tableName, String idColumnName, String columnName) throws Exception {
         this.dataSource = dataSource;
@@ -74,6 +78,25 @@ public abstract class BaseLoader implements JDBCNDArrayIO {
 
     }
 
+    /**
+     * The codec the elements of saved ndarrays are encoded with.
+     * Loading reads the codec of each blob, so it may be changed at any time.
+     *
+     * @return the codec for saving
+     */
+    public Codec getCodec() {
+        return codec;
+    }
+
+    /**
+     * Set the codec to encode the elements of saved ndarrays with
+     *
+     * @param codec the codec for saving
+     */
+    public void setCodec(Codec codec) {
+        this.codec = codec;
+    }
+
     /**
      * Convert an ndarray to a blob
      *
@@ -85,7 +108,7 @@ public abstract class BaseLoader implements JDBCNDArrayIO {
         ByteArrayOutputStream bos = new ByteArrayOutputStream();
         DataOutputStream dos = new DataOutputStream(bos);
 
-        Nd4j.writeComplex(toConvert, dos);
+        Nd4j.write(toConvert, dos, codec);
 
         byte[] bytes = bos.toByteArray();
         Connection c = dataSource.getConnection();
@@ -106,7 +129,7 @@ public abstract class BaseLoader implements JDBCNDArrayIO {
         ByteArrayOutputStream bos = new ByteArrayOutputStream();
         DataOutputStream dos = new DataOutputStream(bos);
 
-        Nd4j.write(toConvert, dos);
+        Nd4j.write(toConvert, dos, codec);
 
         byte[] bytes = bos.toByteArray();
         Connection c = dataSource.getConnection();
@@ -168,11 +191,7 @@ public abstract class BaseLoader implements JDBCNDArrayIO {
         Connection c = dataSource.getConnection();
         ByteArrayOutputStream bos = new ByteArrayOutputStream();
         DataOutputStream dos = new DataOutputStream(bos);
-        if (save instanceof IComplexNDArray) {
-            IComplexNDArray c2 = (IComplexNDArray) save;
-            Nd4j.writeComplex(c2, dos);
-        } else
-            Nd4j.write(save, dos);
+        Nd4j.write(save, dos, codec);
 
         byte[] bytes = bos.toByteArray();
 
@@ -28,6 +28,7 @@ import org.nd4j.linalg.api.complex.IComplexNDArray;
 import org.nd4j.linalg.api.complex.IComplexNumber;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.factory.DataTypeValidation;
+import org.nd4j.linalg.ops.BroadcastOps;
 import org.netlib.util.intW;
 
 import static org.jblas.util.Functions.*;
@@ -73,12 +74,16 @@ public class NetlibBlasWrapper implements org.nd4j.linalg.factory.BlasWrapper {
 
     @Override
     public INDArray copy(INDArray x, INDArray y) {
+        x = BroadcastOps.dense(x);
+        BroadcastOps.assertWritable(y);
         SimpleNetlibBlas.copy(x, y);
         return y;
     }
 
     @Override
     public IComplexNDArray copy(IComplexNDArray x, IComplexNDArray y) {
+        x = BroadcastOps.dense(x);
+        BroadcastOps.assertWritable(y);
         SimpleNetlibBlas.copy(x, y);
         return y;
     }
@@ -155,12 +160,18 @@ public class NetlibBlasWrapper implements org.nd4j.linalg.factory.BlasWrapper {
 
     @Override
     public INDArray gemv(double alpha, INDArray a, INDArray x, double beta, INDArray y) {
+        a = BroadcastOps.dense(a);
+        x = BroadcastOps.dense(x);
+        BroadcastOps.assertWritable(y);
         return SimpleNetlibBlas.gemv(a, x, y, alpha, beta);
 
     }
 
     @Override
     public INDArray gemv(float alpha, INDArray a, INDArray x, float beta, INDArray y) {
+        a = BroadcastOps.dense(a);
+        x = BroadcastOps.dense(x);
+        BroadcastOps.assertWritable(y);
         return SimpleNetlibBlas.gemv(a, x, y, alpha, beta);
     }
 
@@ -199,17 +210,36 @@ public class NetlibBlasWrapper implements org.nd4j.linalg.factory.BlasWrapper {
 
     @Override
     public INDArray gemm(double alpha, INDArray a, INDArray b, double beta, INDArray c) {
+        a = BroadcastOps.dense(a);
+        b = BroadcastOps.dense(b);
+        BroadcastOps.assertWritable(c);
         return SimpleNetlibBlas.gemm(a, b, c, alpha, beta);
     }
 
     @Override
     public INDArray gemm(float alpha, INDArray a, INDArray b, float beta, INDArray c) {
+        a = BroadcastOps.dense(a);
+        b = BroadcastOps.dense(b);
+        BroadcastOps.assertWritable(c);
         return SimpleNetlibBlas.gemm(a, b, c, alpha, beta);
     }
 
+    @Override
+    public INDArray gemmBatched(double alpha, INDArray a, INDArray b, double beta, INDArray c) {
+        return SimpleNetlibBlas.gemmBatched(a, b, c, alpha, beta);
+    }
+
+    @Override
+    public INDArray gemmBatched(float alpha, INDArray a, INDArray b, float beta, INDArray c) {
+        return SimpleNetlibBlas.gemmBatched(a, b, c, alpha, beta);
+    }
+
 
     @Override
     public IComplexNDArray gemm(IComplexNumber alpha, IComplexNDArray a, IComplexNDArray b, IComplexNumber beta, IComplexNDArray c) {
+        a = BroadcastOps.dense(a);
+        b = BroadcastOps.dense(b);
+        BroadcastOps.assertWritable(c);
         SimpleNetlibBlas.gemm(a, b, alpha, c, beta);
         return c;
     }
@@ -217,9 +247,13 @@ public class NetlibBlasWrapper implements org.nd4j.linalg.factory.BlasWrapper {
 
     @Override
     public IComplexNDArray gemv(IComplexDouble alpha, IComplexNDArray a, IComplexNDArray x, IComplexDouble beta, IComplexNDArray y) {
+        a = BroadcastOps.dense(a);
+        x = BroadcastOps.dense(x);
+        BroadcastOps.assertWritable(y);
         DataTypeValidation.assertDouble(a, x, y);
         if (y.isScalar())
             return y.putScalar(0, dotc(a, x));
+        double[] yData = y.data().asDouble();
         NativeBlas.zgemv(
                 'N',
                 a.rows(),
@@ -232,17 +266,22 @@ public class NetlibBlasWrapper implements org.nd4j.linalg.factory.BlasWrapper {
                 x.offset(),
                 x.secondaryStride(),
                 (ComplexDouble) beta,
-                y.data().asDouble(),
+                yData,
                 y.blasOffset(),
                 y.secondaryStride()
         );
+        SimpleNetlibBlas.sync(y, yData);
         return y;
 
     }
 
     @Override
     public IComplexNDArray gemv(IComplexFloat alpha, IComplexNDArray a, IComplexNDArray x, IComplexFloat beta, IComplexNDArray y) {
+        a = BroadcastOps.dense(a);
+        x = BroadcastOps.dense(x);
+        BroadcastOps.assertWritable(y);
         DataTypeValidation.assertDouble(a, x, y);
+        float[] yData = y.data().asFloat();
         NativeBlas.cgemv(
                 'N',
                 a.rows(),
@@ -255,10 +294,11 @@ public class NetlibBlasWrapper implements org.nd4j.linalg.factory.BlasWrapper {
                 x.offset(),
                 x.secondaryStride(),
                 (ComplexFloat) beta,
-                y.data().asFloat(),
+                yData,
                 y.blasOffset(),
                 y.secondaryStride()
         );
+        SimpleNetlibBlas.sync(y, yData);
         return y;
     }
 
@@ -19,12 +19,14 @@ package org.nd4j.linalg.netlib;
 import com.github.fommil.netlib.BLAS;
 import com.github.fommil.netlib.LAPACK;
 import org.jblas.NativeBlas;
+import org.nd4j.linalg.api.buffer.BaseDirectDataBuffer;
 import org.nd4j.linalg.api.buffer.DataBuffer;
 import org.nd4j.linalg.api.complex.IComplexDouble;
 import org.nd4j.linalg.api.complex.IComplexFloat;
 import org.nd4j.linalg.api.complex.IComplexNDArray;
 import org.nd4j.linalg.api.complex.IComplexNumber;
 import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.BatchedGemm;
 import org.nd4j.linalg.factory.DataTypeValidation;
 import org.nd4j.linalg.factory.NDArrayFactory;
 import org.nd4j.linalg.netlib.complex.ComplexDouble;
@@ -48,6 +50,7 @@ public class SimpleNetlibBlas {
      * @return
      */
     public static INDArray gemv(INDArray A, INDArray B, INDArray C, double alpha, double beta) {
+        double[] CData = C.data().asDouble();
         BLAS.getInstance().dgemv(
                 "N",
                 A.rows(),
@@ -60,9 +63,10 @@ public class SimpleNetlibBlas {
                 B.offset(),
                 C.majorStride(),
                 beta,
-                C.data().asDouble(),
+                CData,
                 C.offset(),
                 C.majorStride());
+        sync(C, CData);
 
 
         return C;
@@ -81,6 +85,7 @@ public class SimpleNetlibBlas {
      */
     public static INDArray gemv(INDArray A, INDArray B, INDArray C, float alpha, float beta) {
         DataTypeValidation.assertFloat(A, B, C);
+        float[] CData = C.data().asFloat();
         BLAS.getInstance().sgemv(
                 "N",
                 A.rows(),
@@ -93,9 +98,10 @@ public class SimpleNetlibBlas {
                 B.offset(),
                 C.majorStride(),
                 beta,
-                C.data().asFloat(),
+                CData,
                 C.offset(),
                 C.majorStride());
+        sync(C, CData);
 
 
         return C;
@@ -115,7 +121,8 @@ public class SimpleNetlibBlas {
     public static IComplexNDArray gemm(IComplexNDArray A, IComplexNDArray B, IComplexNumber a, IComplexNDArray C
             , IComplexNumber b) {
         DataTypeValidation.assertSameDataType(A, B, C);
-        if (A.data().dataType() == DataBuffer.FLOAT)
+        if (A.data().dataType() == DataBuffer.FLOAT) {
+            float[] CData = C.data().asFloat();
             NativeBlas.cgemm(
                     'N',
                     'N',
@@ -131,10 +138,12 @@ public class SimpleNetlibBlas {
                     B.rows(),
                     new ComplexFloat(b.realComponent().floatValue(), b.imaginaryComponent().floatValue())
                     ,
-                    C.data().asFloat(),
+                    CData,
                     C.offset() / 2,
                     C.rows());
-        else if (A.data().dataType() == DataBuffer.DOUBLE) {
+            sync(C, CData);
+        } else if (A.data().dataType() == DataBuffer.DOUBLE) {
+            double[] CData = C.data().asDouble();
             NativeBlas.zgemm(
                     'N',
                     'N',
@@ -150,9 +159,10 @@ public class SimpleNetlibBlas {
                     B.rows(),
                     new ComplexDouble(b.realComponent().doubleValue(), b.imaginaryComponent().doubleValue())
                     ,
-                    C.data().asDouble(),
+                    CData,
                     C.offset() / 2,
                     C.rows());
+            sync(C, CData);
         }
         return C;
 
@@ -173,6 +183,7 @@ public class SimpleNetlibBlas {
 
 
         DataTypeValidation.assertDouble(A, B, C);
+        double[] CData = C.data().asDouble();
         BLAS.getInstance().dgemm(
                 "N",
                 "N",
@@ -187,9 +198,10 @@ public class SimpleNetlibBlas {
                 B.offset(),
                 B.rows(),
                 beta,
-                C.data().asDouble(),
+                CData,
                 C.offset(),
                 C.rows());
+        sync(C, CData);
 
         return C;
 
@@ -210,6 +222,7 @@ public class SimpleNetlibBlas {
 
         DataTypeValidation.assertFloat(A, B, C);
 
+        float[] CData = C.data().asFloat();
         BLAS.getInstance().sgemm(
                 "N",
                 "N",
@@ -224,14 +237,55 @@ public class SimpleNetlibBlas {
                 B.offset(),
                 B.rows(),
                 beta,
-                C.data().asFloat(),
+                CData,
                 C.offset(),
                 C.rows());
+        sync(C, CData);
 
         return C;
 
     }
 
+    /**
+     * Batched general matrix multiply
+     *
+     * @param A a stack of shape [batch, m, k] or a shared matrix
+     * @param B a stack of shape [batch, k, n] or a shared matrix
+     * @param C the result stack of shape [batch, m, n]
+     * @param alpha
+     * @param beta
+     * @return C
+     */
+    public static INDArray gemmBatched(INDArray A, INDArray B, INDArray C,
+                                       double alpha, double beta) {
+        return BatchedGemm.exec(alpha, A, B, beta, C, new BatchedGemm.DoubleKernel() {
+            @Override
+            public void gemm(char transA, char transB, int m, int n, int k, double alpha, double[] a, int aOffset, int lda, double[] b, int bOffset, int ldb, double beta, double[] c, int cOffset, int ldc) {
+                BLAS.getInstance().dgemm(String.valueOf(transA), String.valueOf(transB), m, n, k, alpha, a, aOffset, lda, b, bOffset, ldb, beta, c, cOffset, ldc);
+            }
+        });
+    }
+
+    /**
+     * Batched general matrix multiply
+     *
+     * @param A a stack of shape [batch, m, k] or a shared matrix
+     * @param B a stack of shape [batch, k, n] or a shared matrix
+     * @param C the result stack of shape [batch, m, n]
+     * @param alpha
+     * @param beta
+     * @return C
+     */
+    public static INDArray gemmBatched(INDArray A, INDArray B, INDArray C,
+                                       float alpha, float beta) {
+        return BatchedGemm.exec(alpha, A, B, beta, C, new BatchedGemm.FloatKernel() {
+            @Override
+            public void gemm(char transA, char transB, int m, int n, int k, float alpha, float[] a, int aOffset, int lda, float[] b, int bOffset, int ldb, float beta, float[] c, int cOffset, int ldc) {
+                BLAS.getInstance().sgemm(String.valueOf(transA), String.valueOf(transB), m, n, k, alpha, a, aOffset, lda, b, bOffset, ldb, beta, c, cOffset, ldc);
+            }
+        });
+    }
+
     /**
      * Calculate eigen values
      *
@@ -393,21 +447,25 @@ public class SimpleNetlibBlas {
      */
     public static void copy(IComplexNDArray x, IComplexNDArray y) {
         DataTypeValidation.assertSameDataType(x, y);
-        if (x.data().dataType() == DataBuffer.FLOAT)
-
+        if (x.data().dataType() == DataBuffer.FLOAT) {
+            float[] yData = y.data().asFloat();
             BLAS.getInstance().scopy(
                     x.length(),
                     x.data().asFloat(),
                     x.majorStride(),
-                    y.data().asFloat(),
+                    yData,
                     y.majorStride());
-        else
+            sync(y, yData);
+        } else {
+            double[] yData = y.data().asDouble();
             BLAS.getInstance().dcopy(
                     x.length(),
                     x.data().asDouble(),
                     x.majorStride(),
-                    y.data().asDouble(),
+                    yData,
                     y.majorStride());
+            sync(y, yData);
+        }
     }
 
 
@@ -446,24 +504,33 @@ public class SimpleNetlibBlas {
      */
     public static void swap(INDArray x, INDArray y) {
         DataTypeValidation.assertSameDataType(x, y);
-        if (x.data().dataType() == DataBuffer.FLOAT)
+        if (x.data().dataType() == DataBuffer.FLOAT) {
+            float[] xData = x.data().asFloat();
+            float[] yData = y.data().asFloat();
             BLAS.getInstance().sswap(
                     x.length(),
-                    x.data().asFloat(),
+                    xData,
                     x.offset(),
                     x.majorStride(),
-                    y.data().asFloat(),
+                    yData,
                     y.offset(),
                     y.majorStride());
-        else
+            sync(x, xData);
+            sync(y, yData);
+        } else {
+            double[] xData = x.data().asDouble();
+            double[] yData = y.data().asDouble();
             BLAS.getInstance().dswap(
                     x.length(),
-                    x.data().asDouble(),
+                    xData,
                     x.offset(),
                     x.majorStride(),
-                    y.data().asDouble(),
+                    yData,
                     y.offset(),
                     y.majorStride());
+            sync(x, xData);
+            sync(y, yData);
+        }
 
     }
 
@@ -536,28 +603,32 @@ public class SimpleNetlibBlas {
         DataTypeValidation.assertDouble(A, B);
         if (A.ordering() == NDArrayFactory.C) {
 
+            double[] BData = B.data().asDouble();
             BLAS.getInstance().daxpy(
                     A.length(),
                     da,
                     A.data().asDouble(),
                     A.offset(),
                     A.majorStride(),
-                    B.data().asDouble(),
+                    BData,
                     B.offset(),
                     B.majorStride());
+            sync(B, BData);
 
 
         } else {
 
+            double[] BData = B.data().asDouble();
             BLAS.getInstance().daxpy(
                     A.length(),
                     da,
                     A.data().asDouble(),
                     A.offset(),
                     A.majorStride(),
-                    B.data().asDouble(),
+                    BData,
                     B.offset(),
                     B.majorStride());
+            sync(B, BData);
 
         }
 
@@ -574,27 +645,31 @@ public class SimpleNetlibBlas {
     public static void axpy(float da, INDArray A, INDArray B) {
         DataTypeValidation.assertFloat(A, B);
         if (A.ordering() == NDArrayFactory.C) {
+            float[] BData = B.data().asFloat();
             BLAS.getInstance().saxpy(
                     A.length(),
                     da,
                     A.data().asFloat(),
                     A.offset(),
                     A.majorStride(),
-                    B.data().asFloat(),
+                    BData,
                     B.offset(),
                     B.majorStride());
+            sync(B, BData);
 
 
         } else {
+            float[] BData = B.data().asFloat();
             BLAS.getInstance().saxpy(
                     A.length(),
                     da,
                     A.data().asFloat(),
                     A.offset(),
                     A.majorStride(),
-                    B.data().asFloat(),
+                    BData,
                     B.offset(),
                     B.majorStride());
+            sync(B, BData);
 
 
         }
@@ -610,26 +685,31 @@ public class SimpleNetlibBlas {
      */
     public static void axpy(IComplexNumber da, IComplexNDArray A, IComplexNDArray B) {
         DataTypeValidation.assertSameDataType(A, B);
-        if (A.data().dataType() == DataBuffer.FLOAT)
+        if (A.data().dataType() == DataBuffer.FLOAT) {
+            float[] BData = B.data().asFloat();
             NativeBlas.caxpy(
                     A.length(),
                     new org.jblas.ComplexFloat(da.realComponent().floatValue(), da.imaginaryComponent().floatValue()),
                     A.data().asFloat(),
                     A.offset(),
                     A.majorStride(),
-                    B.data().asFloat(),
+                    BData,
                     B.offset(),
                     A.majorStride());
-        else
+            sync(B, BData);
+        } else {
+            double[] BData = B.data().asDouble();
             NativeBlas.zaxpy(
                     A.length(),
                     new org.jblas.ComplexDouble(da.realComponent().doubleValue(), da.imaginaryComponent().doubleValue()),
                     A.data().asDouble(),
                     A.offset(),
                     A.majorStride(),
-                    B.data().asDouble(),
+                    BData,
                     B.offset(),
                     B.majorStride());
+            sync(B, BData);
+        }
 
 
     }
@@ -645,12 +725,14 @@ public class SimpleNetlibBlas {
      */
     public static INDArray scal(double alpha, INDArray x) {
         DataTypeValidation.assertDouble(x);
+        double[] xData = x.data().asDouble();
         BLAS.getInstance().dscal(
                 x.length(),
                 alpha,
-                x.data().asDouble(),
+                xData,
                 x.offset(),
                 x.majorStride());
+        sync(x, xData);
 
         return x;
 
@@ -667,12 +749,14 @@ public class SimpleNetlibBlas {
     public static INDArray scal(float alpha, INDArray x) {
         DataTypeValidation.assertFloat(x);
 
+        float[] xData = x.data().asFloat();
         BLAS.getInstance().sscal(
                 x.length(),
                 alpha,
-                x.data().asFloat(),
+                xData,
                 x.offset(),
                 x.majorStride());
+        sync(x, xData);
 
         return x;
 
@@ -686,23 +770,28 @@ public class SimpleNetlibBlas {
      */
     public static void copy(INDArray x, INDArray y) {
         DataTypeValidation.assertSameDataType(x, y);
-        if (x.data().dataType() == DataBuffer.FLOAT)
+        if (x.data().dataType() == DataBuffer.FLOAT) {
+            float[] yData = y.data().asFloat();
             BLAS.getInstance().scopy(x.length(),
                     x.data().asFloat(),
                     x.offset(),
                     x.majorStride(),
-                    y.data().asFloat(),
+                    yData,
                     y.offset(),
                     y.majorStride());
-        else
+            sync(y, yData);
+        } else {
+            double[] yData = y.data().asDouble();
             BLAS.getInstance().dcopy(
                     x.length(),
                     x.data().asDouble(),
                     x.offset(),
                     x.majorStride(),
-                    y.data().asDouble(),
+                    yData,
                     y.offset(),
                     y.majorStride());
+            sync(y, yData);
+        }
 
 
     }
@@ -783,6 +872,7 @@ public class SimpleNetlibBlas {
 
         DataTypeValidation.assertDouble(A, B, C);
         // = alpha * A * transpose(B) + C
+        double[] CData = C.data().asDouble();
         BLAS.getInstance().dger(
                 A.rows(),   // m
                 A.columns(),// n
@@ -791,9 +881,10 @@ public class SimpleNetlibBlas {
                 A.rows(),   // incx
                 B.data().asDouble(),        // dB or y
                 B.rows(),   // incy
-                C.data().asDouble(),        // dC or A
+                CData,        // dC or A
                 C.rows()    // lda
         );
+        sync(C, CData);
 
 
         return C;
@@ -804,6 +895,7 @@ public class SimpleNetlibBlas {
         DataTypeValidation.assertFloat(A, B, C);
 
         // = alpha * A * transpose(B) + C
+        float[] CData = C.data().asFloat();
         BLAS.getInstance().sger(
                 A.rows(),   // m
                 A.columns(),// n
@@ -812,9 +904,10 @@ public class SimpleNetlibBlas {
                 A.rows(),   // incx
                 B.data().asFloat(),        // dB or y
                 B.rows(),   // incy
-                C.data().asFloat(),        // dC or A
+                CData,        // dC or A
                 C.rows()    // lda
         );
+        sync(C, CData);
 
 
         return C;
@@ -863,7 +956,8 @@ public class SimpleNetlibBlas {
      */
     public static IComplexNDArray geru(IComplexNumber alpha, IComplexNDArray x, IComplexNDArray y, IComplexNDArray a) {
         DataTypeValidation.assertSameDataType(x, y, a);
-        if (x.data().dataType() == DataBuffer.FLOAT)
+        if (x.data().dataType() == DataBuffer.FLOAT) {
+            float[] aData = a.data().asFloat();
             NativeBlas.cgeru(
                     a.rows(),
                     a.columns(),
@@ -874,10 +968,12 @@ public class SimpleNetlibBlas {
                     y.data().asFloat(),
                     y.offset(),
                     y.majorStride(),
-                    a.data().asFloat(),
+                    aData,
                     a.offset(),
                     a.rows());
-        else
+            sync(a, aData);
+        } else {
+            double[] aData = a.data().asDouble();
             NativeBlas.zgeru(
                     a.rows(),
                     a.columns(),
@@ -888,9 +984,11 @@ public class SimpleNetlibBlas {
                     y.data().asDouble(),
                     y.offset(),
                     y.majorStride(),
-                    a.data().asDouble(),
+                    aData,
                     a.offset(),
                     a.rows());
+            sync(a, aData);
+        }
         return a;
     }
 
@@ -904,7 +1002,8 @@ public class SimpleNetlibBlas {
     public static IComplexNDArray gerc(IComplexNDArray x, IComplexNDArray y, IComplexNDArray a,
                                        IComplexDouble alpha) {
         DataTypeValidation.assertDouble(x, y, a);
-        if (x.data().dataType() == DataBuffer.FLOAT)
+        if (x.data().dataType() == DataBuffer.FLOAT) {
+            float[] aData = a.data().asFloat();
             NativeBlas.cgerc(
                     a.rows(),
                     a.columns(),
@@ -915,10 +1014,12 @@ public class SimpleNetlibBlas {
                     y.data().asFloat(),
                     y.offset(),
                     y.majorStride(),
-                    a.data().asFloat(),
+                    aData,
                     a.offset(),
                     a.rows());
-        else
+            sync(a, aData);
+        } else {
+            double[] aData = a.data().asDouble();
             NativeBlas.zgerc(
                     a.rows(),
                     a.columns(),
@@ -929,9 +1030,11 @@ public class SimpleNetlibBlas {
                     y.data().asDouble(),
                     y.offset(),
                     y.majorStride(),
-                    a.data().asDouble(),
+                    aData,
                     a.offset(),
                     a.rows());
+            sync(a, aData);
+        }
         return a;
     }
 
@@ -944,7 +1047,9 @@ public class SimpleNetlibBlas {
      * @return
      */
     public static IComplexNDArray dscal(IComplexDouble alpha, IComplexNDArray x) {
-        NativeBlas.zscal(x.length(), (org.jblas.ComplexDouble) alpha, x.data().asDouble(), x.offset(), x.majorStride());
+        double[] xData = x.data().asDouble();
+        NativeBlas.zscal(x.length(), (org.jblas.ComplexDouble) alpha, xData, x.offset(), x.majorStride());
+        sync(x, xData);
         return x;
     }
 
@@ -957,9 +1062,29 @@ public class SimpleNetlibBlas {
      */
     public static IComplexNDArray sscal(IComplexFloat alpha, IComplexNDArray x) {
         DataTypeValidation.assertFloat(x);
-        NativeBlas.cscal(x.length(), (org.jblas.ComplexFloat) alpha, x.data().asFloat(), x.offset(), x.majorStride());
+        float[] xData = x.data().asFloat();
+        NativeBlas.cscal(x.length(), (org.jblas.ComplexFloat) alpha, xData, x.offset(), x.majorStride());
+        sync(x, xData);
         return x;
     }
 
+    /**
+     * Direct buffers only hand out copies via asFloat()/asDouble(),
+     * write the result of an in place routine back in to the buffer
+     *
+     * @param arr  the ndarray that was written to
+     * @param data the array the routine wrote to
+     */
+    static void sync(INDArray arr, float[] data) {
+        if (arr.data() instanceof BaseDirectDataBuffer)
+            arr.data().setData(data);
+    }
 
+    /**
+     * @see #sync(INDArray, float[])
+     */
+    static void sync(INDArray arr, double[] data) {
+        if (arr.data() instanceof BaseDirectDataBuffer)
+            arr.data().setData(data);
+    }
 }